@@ -45,6 +45,53 @@ public class ApplicationManagementConstants {
     private static final Map<String, String> OAUTH_GRANT_TYPE_NAMES = new LinkedHashMap<>();
     public static final String DEFAULT_NAME_ID_FORMAT = "urn:oasis:names:tc:SAML:1.1:nameid-format:emailAddress";
     public static final String DEFAULT_CERTIFICATE_ALIAS = "wso2carbon";
+    // Timeout of the cached authentication configuration of the 'default' application, in milliseconds.
+    public static final long DEFAULT_AUTHENTICATION_CONFIG_CACHE_TIMEOUT = 60000L;
+    // Timeout of the cached application counts used for paginated listing, in milliseconds.
+    public static final long APPLICATION_COUNT_CACHE_TIMEOUT = 30000L;
+    // Timeout of the cached applications that are sorted or filtered in memory for paginated listing, in milliseconds.
+    public static final long APPLICATION_LIST_CACHE_TIMEOUT = 30000L;
+    // Maximum number of cached application lists used for paginated listing.
+    public static final int APPLICATION_LIST_CACHE_SIZE = 100;
+    // Maximum number of compiled application listing filters to be cached.
+    public static final int APPLICATION_FILTER_CACHE_SIZE = 100;
+    // Timeout of the cached inbound protocol metadata, in milliseconds.
+    public static final long APPLICATION_METADATA_CACHE_TIMEOUT = 300000L;
+    // Maximum size of an imported application file, in bytes.
+    public static final long MAX_IMPORT_FILE_SIZE = 10L * 1024 * 1024;
+    public static final int IMPORT_FILE_READ_BUFFER_SIZE = 8192;
+    // Application archive related constants.
+    public static final String APPLICATION_ARCHIVE_FILE_NAME = "applications.zip";
+    public static final String ARCHIVE_FILE_EXTENSION = ".xml";
+    public static final int MAX_ARCHIVE_APPLICATION_COUNT = 5000;
+    // Workers used for archive imports and for batched inbound protocol updates.
+    public static final int APPLICATION_MGT_WORKER_COUNT = 4;
+    public static final int APPLICATION_MGT_QUEUE_SIZE = 16;
+    public static final long APPLICATION_MGT_WORKER_KEEP_ALIVE_TIME = 60000L;
+    // SAML metadata URL fetching related constants. Timeouts and times are in milliseconds.
+    public static final int SAML_METADATA_CONNECT_TIMEOUT = 5000;
+    public static final int SAML_METADATA_READ_TIMEOUT = 10000;
+    public static final int MAX_SAML_METADATA_SIZE = 1024 * 1024;
+    // Time for which fetched metadata is used without revalidating it with the metadata host.
+    public static final long SAML_METADATA_FRESHNESS_TIME = 300000L;
+    // Kept longer than the refresh interval, so that refreshes can revalidate the cached metadata.
+    public static final long SAML_METADATA_CACHE_TIMEOUT = 86400000L;
+    public static final int SAML_METADATA_FETCH_WORKER_COUNT = 4;
+    public static final int SAML_METADATA_FETCH_QUEUE_SIZE = 100;
+    public static final long SAML_METADATA_FETCH_WORKER_KEEP_ALIVE_TIME = 60000L;
+    // Time for which the status of an asynchronous SAML inbound update is available.
+    public static final long SAML_INBOUND_OPERATION_TIMEOUT = 3600000L;
+    public static final int SAML_INBOUND_OPERATION_CACHE_SIZE = 10000;
+    // Time after which a rejected asynchronous SAML inbound update can be retried, in seconds.
+    public static final int SAML_INBOUND_OPERATION_RETRY_AFTER = 30;
+    // Interval at which the metadata of the SAML inbounds configured with a metadata URL is refreshed. Each refresh
+    // is randomly moved by up to the jitter ratio of the interval, so that refreshes do not run at once.
+    public static final long SAML_METADATA_REFRESH_INTERVAL = 3600000L;
+    public static final double SAML_METADATA_REFRESH_JITTER_RATIO = 0.1;
+    public static final int SAML_METADATA_REFRESH_WORKER_COUNT = 2;
+    // Application property which keeps the metadata URL of a SAML inbound, so that its refreshes survive restarts.
+    public static final String SAML_METADATA_URL_PROPERTY = "samlMetadataURL";
+    public static final String SAML_METADATA_URL_PROPERTY_DISPLAY_NAME = "SAML Metadata URL";
 
     /**
      * Enums for error messages.
@@ -54,14 +101,18 @@ public class ApplicationManagementConstants {
         // Client errors with codes defined at Application Management Layer.
         UNSUPPORTED_FILTER_ATTRIBUTE("60004", "Filtering using the attempted attribute is not supported.",
                 "Filtering cannot be done with the '%s' attribute. " +
-                        "Filtering is only supported with the 'name' attribute."),
+                        "Filtering is only supported with the 'name', 'clientId' and 'issuer' attributes."),
         INVALID_FILTER_FORMAT("60004",
                 "Invalid format user for filtering.",
-                "Filter needs to be in the format <attribute>+<operation>+<value>. Eg: name+eq+john"),
+                "Filter needs to be in the format <attribute>+<operation>+<value>, optionally joined with 'and' " +
+                        "or 'or'. Eg: name+eq+john or name+sw+\"my app\"+and+clientId+eq+s6BhdRkqt3"),
         INVALID_FILTER_OPERATION("60004",
                 "Attempted filtering operation is invalid.",
                 "Attempted filtering operation '%s' is invalid. " +
                         "Please use one of the supported filtering operations such as 'eq', 'co', 'sw' or 'ew'."),
+        UNSUPPORTED_INBOUND_KEY_FILTER_OPERATION("60004",
+                "Attempted filtering operation is not supported for the attribute.",
+                "Filtering with the '%s' attribute is only supported with the 'eq' operation."),
         APPLICATION_NOT_FOUND("60006",
                 "Application not found.",
                 "Application cannot be found for the provided id: %s in the tenantDomain: %s."),
@@ -73,6 +124,37 @@ public class ApplicationManagementConstants {
         INBOUND_NOT_CONFIGURED("60502",
                 "Inbound protocol not configured.",
                 "Inbound protocol: %s not configured for application id: %s."),
+        UNSUPPORTED_SORT_ATTRIBUTE("60503",
+                "Sorting using the attempted attribute is not supported.",
+                "Sorting cannot be done with the '%s' attribute. " +
+                        "Sorting is only supported with the 'name' and 'created' attributes."),
+        INVALID_SORT_ORDER("60503",
+                "Attempted sort order is invalid.",
+                "Attempted sort order '%s' is invalid. Please use either 'ASC' or 'DESC'."),
+        IMPORT_FILE_SIZE_EXCEEDED("60505",
+                "Application file is too large.",
+                "Size of the application file exceeds the maximum allowed size of %s bytes."),
+        INVALID_APPLICATION_ARCHIVE("60506",
+                "Invalid application archive.",
+                "Application archive could not be read. The archive needs to be a ZIP archive of application files."),
+        ARCHIVE_APPLICATION_COUNT_EXCEEDED("60507",
+                "Too many applications in the archive.",
+                "Only the first %s applications of an archive are imported."),
+        SAML_METADATA_RETRIEVAL_FAILED("60508",
+                "Unable to retrieve SAML metadata.",
+                "SAML metadata could not be retrieved from the URL: %s. %s"),
+        SAML_METADATA_SIZE_EXCEEDED("60509",
+                "SAML metadata is too large.",
+                "SAML metadata of the URL: %s exceeds the maximum allowed size of %s bytes."),
+        INVALID_SAML_METADATA_URL("60510",
+                "Invalid SAML metadata URL.",
+                "SAML metadata URL: %s is invalid. Only http and https URLs are supported."),
+        INVALID_SAML_METADATA("60512",
+                "Invalid SAML metadata.",
+                "SAML metadata is invalid. %s"),
+        SAML_INBOUND_OPERATION_NOT_FOUND("60511",
+                "SAML inbound operation not found.",
+                "SAML inbound operation cannot be found for the provided id: %s of the application: %s."),
 
         // Server Errors.
         ERROR_RETRIEVING_SAML_METADATA("65001",
@@ -81,9 +163,6 @@ public class ApplicationManagementConstants {
         ERROR_RETRIEVING_WS_TRUST_METADATA("65001",
                 "Error occurred while retrieving WS Trust Metadata.",
                 "Unexpected error occurred while retrieving WS Trust Metadata."),
-        SORTING_NOT_IMPLEMENTED("65002",
-                "Sorting not supported.",
-                "Sorting capability is not supported in this version of the API."),
         ATTRIBUTE_FILTERING_NOT_IMPLEMENTED("65003",
                 "Attribute filtering not supported.",
                 "Attribute filtering capability is not supported in this version of the API."),
@@ -93,6 +172,9 @@ public class ApplicationManagementConstants {
         ERROR_RESOLVING_APPLICATION_TEMPLATE("65005",
                 "Error occurred while retrieving application template.",
                 "Unexpected error occurred while retrieving application template."),
+        SAML_METADATA_FETCH_QUEUE_FULL("65006",
+                "Too many pending SAML inbound updates.",
+                "The SAML inbound update cannot be accepted since too many updates are pending. Retry later."),
 
         // Server errors defined at REST API layer.
         APPLICATION_CREATION_WITH_TEMPLATES_NOT_IMPLEMENTED("65501",
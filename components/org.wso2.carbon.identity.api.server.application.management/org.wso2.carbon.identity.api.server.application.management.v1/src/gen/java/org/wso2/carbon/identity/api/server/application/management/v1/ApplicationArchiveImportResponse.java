@@ -0,0 +1,173 @@
+/*
+* Copyright (c) 2020, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+*
+* Licensed under the Apache License, Version 2.0 (the "License");
+* you may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+*
+* http://www.apache.org/licenses/LICENSE-2.0
+*
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+*/
+
+package org.wso2.carbon.identity.api.server.application.management.v1;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.annotation.JsonCreator;
+import io.swagger.annotations.ApiModel;
+import io.swagger.annotations.ApiModelProperty;
+import java.util.ArrayList;
+import java.util.List;
+import org.wso2.carbon.identity.api.server.application.management.v1.ApplicationImportResult;
+import javax.validation.constraints.*;
+
+
+import io.swagger.annotations.*;
+import java.util.Objects;
+import javax.validation.Valid;
+import javax.xml.bind.annotation.*;
+
+public class ApplicationArchiveImportResponse  {
+  
+    private Integer totalResults;
+    private Integer succeeded;
+    private Integer failed;
+    private List<ApplicationImportResult> results = null;
+
+    /**
+    * Number of application files in the archive.
+    **/
+    public ApplicationArchiveImportResponse totalResults(Integer totalResults) {
+
+        this.totalResults = totalResults;
+        return this;
+    }
+    
+    @ApiModelProperty(example = "2", value = "Number of application files in the archive.")
+    @JsonProperty("totalResults")
+    @Valid
+    public Integer getTotalResults() {
+        return totalResults;
+    }
+    public void setTotalResults(Integer totalResults) {
+        this.totalResults = totalResults;
+    }
+
+    /**
+    * Number of applications imported successfully.
+    **/
+    public ApplicationArchiveImportResponse succeeded(Integer succeeded) {
+
+        this.succeeded = succeeded;
+        return this;
+    }
+    
+    @ApiModelProperty(example = "1", value = "Number of applications imported successfully.")
+    @JsonProperty("succeeded")
+    @Valid
+    public Integer getSucceeded() {
+        return succeeded;
+    }
+    public void setSucceeded(Integer succeeded) {
+        this.succeeded = succeeded;
+    }
+
+    /**
+    * Number of applications that failed to be imported.
+    **/
+    public ApplicationArchiveImportResponse failed(Integer failed) {
+
+        this.failed = failed;
+        return this;
+    }
+    
+    @ApiModelProperty(example = "1", value = "Number of applications that failed to be imported.")
+    @JsonProperty("failed")
+    @Valid
+    public Integer getFailed() {
+        return failed;
+    }
+    public void setFailed(Integer failed) {
+        this.failed = failed;
+    }
+
+    /**
+    **/
+    public ApplicationArchiveImportResponse results(List<ApplicationImportResult> results) {
+
+        this.results = results;
+        return this;
+    }
+    
+    @ApiModelProperty(value = "")
+    @JsonProperty("results")
+    @Valid
+    public List<ApplicationImportResult> getResults() {
+        return results;
+    }
+    public void setResults(List<ApplicationImportResult> results) {
+        this.results = results;
+    }
+
+    public ApplicationArchiveImportResponse addResultsItem(ApplicationImportResult resultsItem) {
+        if (this.results == null) {
+            this.results = new ArrayList<>();
+        }
+        this.results.add(resultsItem);
+        return this;
+    }
+
+
+
+    @Override
+    public boolean equals(java.lang.Object o) {
+
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        ApplicationArchiveImportResponse applicationArchiveImportResponse = (ApplicationArchiveImportResponse) o;
+        return Objects.equals(this.totalResults, applicationArchiveImportResponse.totalResults) &&
+            Objects.equals(this.succeeded, applicationArchiveImportResponse.succeeded) &&
+            Objects.equals(this.failed, applicationArchiveImportResponse.failed) &&
+            Objects.equals(this.results, applicationArchiveImportResponse.results);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(totalResults, succeeded, failed, results);
+    }
+
+    @Override
+    public String toString() {
+
+        StringBuilder sb = new StringBuilder();
+        sb.append("class ApplicationArchiveImportResponse {\n");
+        
+        sb.append("    totalResults: ").append(toIndentedString(totalResults)).append("\n");
+        sb.append("    succeeded: ").append(toIndentedString(succeeded)).append("\n");
+        sb.append("    failed: ").append(toIndentedString(failed)).append("\n");
+        sb.append("    results: ").append(toIndentedString(results)).append("\n");
+        sb.append("}");
+        return sb.toString();
+    }
+
+    /**
+    * Convert the given object to string with each line indented by 4 spaces
+    * (except the first line).
+    */
+    private String toIndentedString(java.lang.Object o) {
+
+        if (o == null) {
+            return "null";
+        }
+        return o.toString().replace("\n", "\n");
+    }
+}
+
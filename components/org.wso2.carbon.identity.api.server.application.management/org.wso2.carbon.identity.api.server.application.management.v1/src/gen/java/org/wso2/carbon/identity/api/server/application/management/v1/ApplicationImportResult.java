@@ -0,0 +1,217 @@
+/*
+* Copyright (c) 2020, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+*
+* Licensed under the Apache License, Version 2.0 (the "License");
+* you may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+*
+* http://www.apache.org/licenses/LICENSE-2.0
+*
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+*/
+
+package org.wso2.carbon.identity.api.server.application.management.v1;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.annotation.JsonCreator;
+import io.swagger.annotations.ApiModel;
+import io.swagger.annotations.ApiModelProperty;
+import javax.validation.constraints.*;
+
+
+import io.swagger.annotations.*;
+import java.util.Objects;
+import javax.validation.Valid;
+import javax.xml.bind.annotation.*;
+
+public class ApplicationImportResult  {
+  
+
+@XmlType(name="StatusEnum")
+@XmlEnum(String.class)
+public enum StatusEnum {
+
+    @XmlEnumValue("SUCCESS") SUCCESS(String.valueOf("SUCCESS")), @XmlEnumValue("FAILED") FAILED(String.valueOf("FAILED"));
+
+
+    private String value;
+
+    StatusEnum(String v) {
+        value = v;
+    }
+
+    public String value() {
+        return value;
+    }
+
+    @Override
+    public String toString() {
+        return String.valueOf(value);
+    }
+
+    public static StatusEnum fromValue(String value) {
+        for (StatusEnum b : StatusEnum.values()) {
+            if (b.value.equals(value)) {
+                return b;
+            }
+        }
+        throw new IllegalArgumentException("Unexpected value '" + value + "'");
+    }
+}
+
+    private String fileName;
+    private StatusEnum status;
+    private String applicationId;
+    private String errorCode;
+    private String errorDescription;
+    /**
+    * Name of the application file in the archive.
+    **/
+    public ApplicationImportResult fileName(String fileName) {
+
+        this.fileName = fileName;
+        return this;
+    }
+    
+    @ApiModelProperty(example = "user-portal.xml", value = "Name of the application file in the archive.")
+    @JsonProperty("fileName")
+    @Valid
+    public String getFileName() {
+        return fileName;
+    }
+    public void setFileName(String fileName) {
+        this.fileName = fileName;
+    }
+
+    /**
+    * Status of the import of the application file.
+    **/
+    public ApplicationImportResult status(StatusEnum status) {
+
+        this.status = status;
+        return this;
+    }
+    
+    @ApiModelProperty(value = "Status of the import of the application file.")
+    @JsonProperty("status")
+    @Valid
+    public StatusEnum getStatus() {
+        return status;
+    }
+    public void setStatus(StatusEnum status) {
+        this.status = status;
+    }
+
+    /**
+    * ID of the imported application. Available only if the import succeeded.
+    **/
+    public ApplicationImportResult applicationId(String applicationId) {
+
+        this.applicationId = applicationId;
+        return this;
+    }
+    
+    @ApiModelProperty(example = "85e3f4b8-0d22-4181-b1e3-1651f71b88bd", value = "ID of the imported application. Available only if the import succeeded.")
+    @JsonProperty("applicationId")
+    @Valid
+    public String getApplicationId() {
+        return applicationId;
+    }
+    public void setApplicationId(String applicationId) {
+        this.applicationId = applicationId;
+    }
+
+    /**
+    * Error code. Available only if the import failed.
+    **/
+    public ApplicationImportResult errorCode(String errorCode) {
+
+        this.errorCode = errorCode;
+        return this;
+    }
+    
+    @ApiModelProperty(example = "60004", value = "Error code. Available only if the import failed.")
+    @JsonProperty("errorCode")
+    @Valid
+    public String getErrorCode() {
+        return errorCode;
+    }
+    public void setErrorCode(String errorCode) {
+        this.errorCode = errorCode;
+    }
+
+    /**
+    * Description of the error. Available only if the import failed.
+    **/
+    public ApplicationImportResult errorDescription(String errorDescription) {
+
+        this.errorDescription = errorDescription;
+        return this;
+    }
+    
+    @ApiModelProperty(value = "Description of the error. Available only if the import failed.")
+    @JsonProperty("errorDescription")
+    @Valid
+    public String getErrorDescription() {
+        return errorDescription;
+    }
+    public void setErrorDescription(String errorDescription) {
+        this.errorDescription = errorDescription;
+    }
+
+
+
+    @Override
+    public boolean equals(java.lang.Object o) {
+
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        ApplicationImportResult applicationImportResult = (ApplicationImportResult) o;
+        return Objects.equals(this.fileName, applicationImportResult.fileName) &&
+            Objects.equals(this.status, applicationImportResult.status) &&
+            Objects.equals(this.applicationId, applicationImportResult.applicationId) &&
+            Objects.equals(this.errorCode, applicationImportResult.errorCode) &&
+            Objects.equals(this.errorDescription, applicationImportResult.errorDescription);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(fileName, status, applicationId, errorCode, errorDescription);
+    }
+
+    @Override
+    public String toString() {
+
+        StringBuilder sb = new StringBuilder();
+        sb.append("class ApplicationImportResult {\n");
+        
+        sb.append("    fileName: ").append(toIndentedString(fileName)).append("\n");
+        sb.append("    status: ").append(toIndentedString(status)).append("\n");
+        sb.append("    applicationId: ").append(toIndentedString(applicationId)).append("\n");
+        sb.append("    errorCode: ").append(toIndentedString(errorCode)).append("\n");
+        sb.append("    errorDescription: ").append(toIndentedString(errorDescription)).append("\n");
+        sb.append("}");
+        return sb.toString();
+    }
+
+    /**
+    * Convert the given object to string with each line indented by 4 spaces
+    * (except the first line).
+    */
+    private String toIndentedString(java.lang.Object o) {
+
+        if (o == null) {
+            return "null";
+        }
+        return o.toString().replace("\n", "\n");
+    }
+}
+
@@ -23,6 +23,7 @@ import org.apache.cxf.jaxrs.ext.multipart.Multipart;
 import java.io.InputStream;
 
 import org.wso2.carbon.identity.api.server.application.management.v1.AdaptiveAuthTemplates;
+import org.wso2.carbon.identity.api.server.application.management.v1.ApplicationArchiveImportResponse;
 import org.wso2.carbon.identity.api.server.application.management.v1.ApplicationListResponse;
 import org.wso2.carbon.identity.api.server.application.management.v1.ApplicationModel;
 import org.wso2.carbon.identity.api.server.application.management.v1.ApplicationPatchModel;
@@ -35,6 +36,7 @@ import org.wso2.carbon.identity.api.server.application.management.v1.CustomInbou
 import org.wso2.carbon.identity.api.server.application.management.v1.Error;
 import java.io.File;
 import org.wso2.carbon.identity.api.server.application.management.v1.InboundProtocolListItem;
+import org.wso2.carbon.identity.api.server.application.management.v1.InboundProtocols;
 import org.wso2.carbon.identity.api.server.application.management.v1.OIDCMetaData;
 import org.wso2.carbon.identity.api.server.application.management.v1.OpenIDConnectConfiguration;
 import org.wso2.carbon.identity.api.server.application.management.v1.PassiveStsConfiguration;
@@ -42,7 +44,9 @@ import org.wso2.carbon.identity.api.server.application.management.v1.Provisionin
 import org.wso2.carbon.identity.api.server.application.management.v1.ResidentApplication;
 import org.wso2.carbon.identity.api.server.application.management.v1.SAML2Configuration;
 import org.wso2.carbon.identity.api.server.application.management.v1.SAML2ServiceProvider;
+import org.wso2.carbon.identity.api.server.application.management.v1.SAMLInboundOperation;
 import org.wso2.carbon.identity.api.server.application.management.v1.SAMLMetaData;
+import org.wso2.carbon.identity.api.server.application.management.v1.SAMLMetadataRefreshStatus;
 import org.wso2.carbon.identity.api.server.application.management.v1.WSTrustConfiguration;
 import org.wso2.carbon.identity.api.server.application.management.v1.WSTrustMetaData;
 import org.wso2.carbon.identity.api.server.application.management.v1.ApplicationsApiService;
@@ -305,6 +309,29 @@ public class ApplicationsApi  {
         return delegate.exportApplication(applicationId,  exportSecrets );
     }
 
+    @Valid
+    @GET
+    @Path("/export")
+    
+    @Produces({ "application/zip", "application/json" })
+    @ApiOperation(value = "Export applications as a ZIP archive ", notes = "This API provides the capability to retrieve all the applications, or the applications matching a filter, as a ZIP archive of XML files.<br>   <b>Permission required:</b> <br>       * /permission/admin/manage/identity/applicationmgt/view <br>   <b>Scope required:</b> <br>       * internal_application_mgt_view ", response = Object.class, authorizations = {
+        @Authorization(value = "BasicAuth"),
+        @Authorization(value = "OAuth2", scopes = {
+            
+        })
+    }, tags={ "Applications", })
+    @ApiResponses(value = { 
+        @ApiResponse(code = 200, message = "OK", response = Object.class),
+        @ApiResponse(code = 400, message = "Bad Request", response = Error.class),
+        @ApiResponse(code = 401, message = "Unauthorized", response = Void.class),
+        @ApiResponse(code = 403, message = "Forbidden", response = Void.class),
+        @ApiResponse(code = 500, message = "Server Error", response = Error.class)
+    })
+    public Response exportApplications(    @Valid@ApiParam(value = "Condition to filter the retrieval of records. The supported attributes and operations are:   - 'name' with the 'eq', 'sw', 'ew' and 'co' operations.   - 'clientId', the OAuth2 client id of the application, with the 'eq' operation only.   - 'issuer', the SAML issuer of the application, with the 'eq' operation only.  Conditions can be joined with 'and' and 'or', where 'and' takes precedence. Values containing spaces can be enclosed in double quotes, within which a double quote or a backslash is escaped with a backslash.  /applications?filter=name+eq+user_portal /applications?filter=name+co+prod /applications?filter=clientId+eq+s6BhdRkqt3 /applications?filter=name+sw+\"my app\"+and+issuer+eq+travelocity.com ")  @QueryParam("filter") String filter,     @Valid@ApiParam(value = "Specifies whether to export secrets when exporting an application. ", defaultValue="false") @DefaultValue("false")  @QueryParam("exportSecrets") Boolean exportSecrets) {
+
+        return delegate.exportApplications(filter,  exportSecrets );
+    }
+
     @Valid
     @GET
     @Path("/meta/adaptive-auth-templates")
@@ -318,14 +345,15 @@ public class ApplicationsApi  {
     }, tags={ "Application Metadata", })
     @ApiResponses(value = { 
         @ApiResponse(code = 200, message = "OK", response = AdaptiveAuthTemplates.class),
+        @ApiResponse(code = 304, message = "Not Modified", response = Void.class),
         @ApiResponse(code = 401, message = "Unauthorized", response = Void.class),
         @ApiResponse(code = 403, message = "Forbidden", response = Void.class),
         @ApiResponse(code = 404, message = "Not Found", response = Error.class),
         @ApiResponse(code = 500, message = "Server Error", response = Error.class)
     })
-    public Response getAdaptiveAuthTemplates() {
+    public Response getAdaptiveAuthTemplates(@ApiParam(value = "ETag of the metadata cached by the client. The metadata is not returned if it is not modified." ) @HeaderParam("If-None-Match") String ifNoneMatch) {
 
-        return delegate.getAdaptiveAuthTemplates();
+        return delegate.getAdaptiveAuthTemplates(ifNoneMatch );
     }
 
     @Valid
@@ -376,7 +404,7 @@ public class ApplicationsApi  {
         @ApiResponse(code = 500, message = "Server Error", response = Error.class),
         @ApiResponse(code = 501, message = "Not Implemented", response = Error.class)
     })
-    public Response getAllApplications(    @Valid @Min(1)@ApiParam(value = "Maximum number of records to return. ", defaultValue="30") @DefaultValue("30")  @QueryParam("limit") Integer limit,     @Valid@ApiParam(value = "Number of records to skip for pagination. ", defaultValue="0") @DefaultValue("0")  @QueryParam("offset") Integer offset,     @Valid@ApiParam(value = "Condition to filter the retrieval of records. Supports 'sw', 'co', 'ew' and 'eq' operations. Currently supports only filtering based on the 'name' attribute.  /applications?filter=name+eq+user_portal /applications?filter=name+co+prod ")  @QueryParam("filter") String filter,     @Valid@ApiParam(value = "Define the order in which the retrieved records should be sorted. _This parameter is not supported yet._ ", allowableValues="ASC, DESC")  @QueryParam("sortOrder") String sortOrder,     @Valid@ApiParam(value = "Attribute by which the retrieved records should be sorted. _This parameter is not supported yet._ ")  @QueryParam("sortBy") String sortBy,     @Valid@ApiParam(value = "Specifies the required parameters in the response _This parameter is not supported yet_ ")  @QueryParam("attributes") String attributes) {
+    public Response getAllApplications(    @Valid @Min(1)@ApiParam(value = "Maximum number of records to return. ", defaultValue="30") @DefaultValue("30")  @QueryParam("limit") Integer limit,     @Valid@ApiParam(value = "Number of records to skip for pagination. ", defaultValue="0") @DefaultValue("0")  @QueryParam("offset") Integer offset,     @Valid@ApiParam(value = "Condition to filter the retrieval of records. The supported attributes and operations are:   - 'name' with the 'eq', 'sw', 'ew' and 'co' operations.   - 'clientId', the OAuth2 client id of the application, with the 'eq' operation only.   - 'issuer', the SAML issuer of the application, with the 'eq' operation only.  Conditions can be joined with 'and' and 'or', where 'and' takes precedence. Values containing spaces can be enclosed in double quotes, within which a double quote or a backslash is escaped with a backslash.  /applications?filter=name+eq+user_portal /applications?filter=name+co+prod /applications?filter=clientId+eq+s6BhdRkqt3 /applications?filter=name+sw+\"my app\"+and+issuer+eq+travelocity.com ")  @QueryParam("filter") String filter,     @Valid@ApiParam(value = "Define the order in which the retrieved records should be sorted. Defaults to 'ASC' when 'sortBy' is specified. ", allowableValues="ASC, DESC")  @QueryParam("sortOrder") String sortOrder,     @Valid@ApiParam(value = "Attribute by which the retrieved records should be sorted. Supports sorting by 'name' and by 'created', which is the order in which the applications were created. Defaults to 'created' when only 'sortOrder' is specified. ")  @QueryParam("sortBy") String sortBy,     @Valid@ApiParam(value = "Attributes to be returned in addition to the default attributes of the listed applications. This version of the API does not support attribute projection, and requests with this parameter fail with '501 Not Implemented'. The listed applications always have the 'id', 'name', 'description', 'image', 'accessUrl' and 'self' attributes. Other attributes, such as the inbound protocols, are read from the resource of each application. ")  @QueryParam("attributes") String attributes) {
 
         return delegate.getAllApplications(limit,  offset,  filter,  sortOrder,  sortBy,  attributes );
     }
@@ -466,14 +494,15 @@ public class ApplicationsApi  {
     }, tags={ "Application Metadata", })
     @ApiResponses(value = { 
         @ApiResponse(code = 200, message = "OK", response = CustomInboundProtocolMetaData.class),
+        @ApiResponse(code = 304, message = "Not Modified", response = Void.class),
         @ApiResponse(code = 401, message = "Unauthorized", response = Void.class),
         @ApiResponse(code = 403, message = "Forbidden", response = Void.class),
         @ApiResponse(code = 404, message = "Not Found", response = Error.class),
         @ApiResponse(code = 500, message = "Server Error", response = Error.class)
     })
-    public Response getCustomProtocolMetadata(@ApiParam(value = "Inbound Authentication Protocol ID",required=true) @PathParam("inboundProtocolId") String inboundProtocolId) {
+    public Response getCustomProtocolMetadata(@ApiParam(value = "Inbound Authentication Protocol ID",required=true) @PathParam("inboundProtocolId") String inboundProtocolId, @ApiParam(value = "ETag of the metadata cached by the client. The metadata is not returned if it is not modified." ) @HeaderParam("If-None-Match") String ifNoneMatch) {
 
-        return delegate.getCustomProtocolMetadata(inboundProtocolId );
+        return delegate.getCustomProtocolMetadata(inboundProtocolId,  ifNoneMatch );
     }
 
     @Valid
@@ -537,14 +566,15 @@ public class ApplicationsApi  {
     }, tags={ "Application Metadata", })
     @ApiResponses(value = { 
         @ApiResponse(code = 200, message = "OK", response = AuthProtocolMetadata.class, responseContainer = "List"),
+        @ApiResponse(code = 304, message = "Not Modified", response = Void.class),
         @ApiResponse(code = 401, message = "Unauthorized", response = Void.class),
         @ApiResponse(code = 403, message = "Forbidden", response = Void.class),
         @ApiResponse(code = 404, message = "Not Found", response = Error.class),
         @ApiResponse(code = 500, message = "Server Error", response = Error.class)
     })
-    public Response getInboundProtocols(    @Valid@ApiParam(value = "Send only the custom inbound protocols. ", defaultValue="false") @DefaultValue("false")  @QueryParam("customOnly") Boolean customOnly) {
+    public Response getInboundProtocols(    @Valid@ApiParam(value = "Send only the custom inbound protocols. ", defaultValue="false") @DefaultValue("false")  @QueryParam("customOnly") Boolean customOnly, @ApiParam(value = "ETag of the metadata cached by the client. The metadata is not returned if it is not modified." ) @HeaderParam("If-None-Match") String ifNoneMatch) {
 
-        return delegate.getInboundProtocols(customOnly );
+        return delegate.getInboundProtocols(customOnly,  ifNoneMatch );
     }
 
     @Valid
@@ -584,14 +614,15 @@ public class ApplicationsApi  {
     }, tags={ "Application Metadata", })
     @ApiResponses(value = { 
         @ApiResponse(code = 200, message = "OK", response = OIDCMetaData.class),
+        @ApiResponse(code = 304, message = "Not Modified", response = Void.class),
         @ApiResponse(code = 401, message = "Unauthorized", response = Void.class),
         @ApiResponse(code = 403, message = "Forbidden", response = Void.class),
         @ApiResponse(code = 404, message = "Not Found", response = Error.class),
         @ApiResponse(code = 500, message = "Server Error", response = Error.class)
     })
-    public Response getOIDCMetadata() {
+    public Response getOIDCMetadata(@ApiParam(value = "ETag of the metadata cached by the client. The metadata is not returned if it is not modified." ) @HeaderParam("If-None-Match") String ifNoneMatch) {
 
-        return delegate.getOIDCMetadata();
+        return delegate.getOIDCMetadata(ifNoneMatch );
     }
 
     @Valid
@@ -642,6 +673,29 @@ public class ApplicationsApi  {
         return delegate.getResidentApplication();
     }
 
+    @Valid
+    @GET
+    @Path("/{applicationId}/inbound-protocols/saml/operations/{operationId}")
+    
+    @Produces({ "application/json" })
+    @ApiOperation(value = "Retrieve the status of a background SAML2 inbound update ", notes = "This API provides the capability to retrieve the status of a SAML2 authentication protocol update of an application, which was accepted to be done in the background. <br>   <b>Permission required:</b> <br>       * /permission/admin/manage/identity/applicationmgt/update <br>   <b>Scope required:</b> <br>       * internal_application_mgt_update ", response = SAMLInboundOperation.class, authorizations = {
+        @Authorization(value = "BasicAuth"),
+        @Authorization(value = "OAuth2", scopes = {
+            
+        })
+    }, tags={ "Inbound Protocols - SAML", })
+    @ApiResponses(value = { 
+        @ApiResponse(code = 200, message = "OK", response = SAMLInboundOperation.class),
+        @ApiResponse(code = 401, message = "Unauthorized", response = Void.class),
+        @ApiResponse(code = 403, message = "Forbidden", response = Void.class),
+        @ApiResponse(code = 404, message = "Not Found", response = Error.class),
+        @ApiResponse(code = 500, message = "Server Error", response = Error.class)
+    })
+    public Response getSAMLInboundOperation(@ApiParam(value = "ID of the application.",required=true) @PathParam("applicationId") String applicationId, @ApiParam(value = "ID of the SAML2 inbound update operation.",required=true) @PathParam("operationId") String operationId) {
+
+        return delegate.getSAMLInboundOperation(applicationId,  operationId );
+    }
+
     @Valid
     @GET
     @Path("/meta/inbound-protocols/saml")
@@ -655,14 +709,37 @@ public class ApplicationsApi  {
     }, tags={ "Application Metadata", })
     @ApiResponses(value = { 
         @ApiResponse(code = 200, message = "OK", response = SAMLMetaData.class),
+        @ApiResponse(code = 304, message = "Not Modified", response = Void.class),
         @ApiResponse(code = 401, message = "Unauthorized", response = Error.class),
         @ApiResponse(code = 403, message = "Forbidden", response = Error.class),
         @ApiResponse(code = 404, message = "Not Found", response = Error.class),
         @ApiResponse(code = 500, message = "Server Error", response = Error.class)
     })
-    public Response getSAMLMetadata() {
+    public Response getSAMLMetadata(@ApiParam(value = "ETag of the metadata cached by the client. The metadata is not returned if it is not modified." ) @HeaderParam("If-None-Match") String ifNoneMatch) {
+
+        return delegate.getSAMLMetadata(ifNoneMatch );
+    }
+
+    @Valid
+    @GET
+    @Path("/meta/inbound-protocols/saml/refresh-status")
+    
+    @Produces({ "application/json" })
+    @ApiOperation(value = "Retrieve the refresh status of the SAML2 metadata URLs ", notes = "This API provides the capability to retrieve the refresh status of the SAML2 service providers configured with a metadata URL, including the latency and the failures of the metadata fetches of the server node. <br>   <b>Permission required:</b> <br>       * /permission/admin/manage/identity/applicationmgt/view <br>   <b>Scope required:</b> <br>       * internal_application_mgt_view ", response = SAMLMetadataRefreshStatus.class, responseContainer = "List", authorizations = {
+        @Authorization(value = "BasicAuth"),
+        @Authorization(value = "OAuth2", scopes = {
+            
+        })
+    }, tags={ "Application Metadata", })
+    @ApiResponses(value = { 
+        @ApiResponse(code = 200, message = "OK", response = SAMLMetadataRefreshStatus.class, responseContainer = "List"),
+        @ApiResponse(code = 401, message = "Unauthorized", response = Error.class),
+        @ApiResponse(code = 403, message = "Forbidden", response = Error.class),
+        @ApiResponse(code = 500, message = "Server Error", response = Error.class)
+    })
+    public Response getSAMLMetadataRefreshStatus() {
 
-        return delegate.getSAMLMetadata();
+        return delegate.getSAMLMetadataRefreshStatus();
     }
 
     @Valid
@@ -702,14 +779,15 @@ public class ApplicationsApi  {
     }, tags={ "Application Metadata", })
     @ApiResponses(value = { 
         @ApiResponse(code = 200, message = "OK", response = WSTrustMetaData.class),
+        @ApiResponse(code = 304, message = "Not Modified", response = Void.class),
         @ApiResponse(code = 401, message = "Unauthorized", response = Void.class),
         @ApiResponse(code = 403, message = "Forbidden", response = Void.class),
         @ApiResponse(code = 404, message = "Not Found", response = Error.class),
         @ApiResponse(code = 500, message = "Server Error", response = Error.class)
     })
-    public Response getWSTrustMetadata() {
+    public Response getWSTrustMetadata(@ApiParam(value = "ETag of the metadata cached by the client. The metadata is not returned if it is not modified." ) @HeaderParam("If-None-Match") String ifNoneMatch) {
 
-        return delegate.getWSTrustMetadata();
+        return delegate.getWSTrustMetadata(ifNoneMatch );
     }
 
     @Valid
@@ -736,6 +814,52 @@ public class ApplicationsApi  {
         return delegate.importApplication(fileInputStream, fileDetail );
     }
 
+    @Valid
+    @POST
+    @Path("/import-archive")
+    @Consumes({ "multipart/form-data" })
+    @Produces({ "application/json" })
+    @ApiOperation(value = "Create applications from a ZIP archive of exported XML files ", notes = "This API provides the capability to create the applications of a ZIP archive of exported XML files. The status of the import of each application is reported separately.<br>   <b>Permission required:</b> <br>       * /permission/admin/manage/identity/applicationmgt/create <br>   <b>Scope required:</b> <br>       * internal_application_mgt_create ", response = ApplicationArchiveImportResponse.class, authorizations = {
+        @Authorization(value = "BasicAuth"),
+        @Authorization(value = "OAuth2", scopes = {
+            
+        })
+    }, tags={ "Applications", })
+    @ApiResponses(value = { 
+        @ApiResponse(code = 200, message = "Processed the archive.", response = ApplicationArchiveImportResponse.class),
+        @ApiResponse(code = 400, message = "Bad Request", response = Error.class),
+        @ApiResponse(code = 401, message = "Unauthorized", response = Void.class),
+        @ApiResponse(code = 403, message = "Forbidden", response = Void.class),
+        @ApiResponse(code = 500, message = "Server Error", response = Error.class)
+    })
+    public Response importApplicationArchive( @Multipart(value = "file", required = false) InputStream fileInputStream, @Multipart(value = "file" , required = false) Attachment fileDetail) {
+
+        return delegate.importApplicationArchive(fileInputStream, fileDetail );
+    }
+
+    @Valid
+    @PUT
+    @Path("/import-archive")
+    @Consumes({ "multipart/form-data" })
+    @Produces({ "application/json" })
+    @ApiOperation(value = "Update applications from a ZIP archive of exported XML files ", notes = "This API provides the capability to update the applications of a ZIP archive of exported XML files. The status of the import of each application is reported separately.<br>   <b>Permission required:</b> <br>       * /permission/admin/manage/identity/applicationmgt/update <br>   <b>Scope required:</b> <br>       * internal_application_mgt_update ", response = ApplicationArchiveImportResponse.class, authorizations = {
+        @Authorization(value = "BasicAuth"),
+        @Authorization(value = "OAuth2", scopes = {
+            
+        })
+    }, tags={ "Applications", })
+    @ApiResponses(value = { 
+        @ApiResponse(code = 200, message = "Processed the archive.", response = ApplicationArchiveImportResponse.class),
+        @ApiResponse(code = 400, message = "Bad Request", response = Error.class),
+        @ApiResponse(code = 401, message = "Unauthorized", response = Void.class),
+        @ApiResponse(code = 403, message = "Forbidden", response = Void.class),
+        @ApiResponse(code = 500, message = "Server Error", response = Error.class)
+    })
+    public Response importApplicationArchiveForUpdate( @Multipart(value = "file", required = false) InputStream fileInputStream, @Multipart(value = "file" , required = false) Attachment fileDetail) {
+
+        return delegate.importApplicationArchiveForUpdate(fileInputStream, fileDetail );
+    }
+
     @Valid
     @PUT
     @Path("/import")
@@ -910,12 +1034,37 @@ public class ApplicationsApi  {
         return delegate.updateInboundOAuthConfiguration(applicationId,  openIDConnectConfiguration );
     }
 
+    @Valid
+    @PUT
+    @Path("/{applicationId}/inbound-protocols/")
+    @Consumes({ "application/json" })
+    @Produces({ "application/json" })
+    @ApiOperation(value = "Update inbound protocol configurations of the application ", notes = "This API provides the capability to create or replace a set of authentication protocol configurations of an application with a single update. Inbound protocols that are not included in the request are not changed. If any of the configurations fails, none of them is applied. <br>   <b>Permission required:</b> <br>       * /permission/admin/manage/identity/applicationmgt/update <br>   <b>Scope required:</b> <br>       * internal_application_mgt_update ", response = Void.class, authorizations = {
+        @Authorization(value = "BasicAuth"),
+        @Authorization(value = "OAuth2", scopes = {
+            
+        })
+    }, tags={ "Inbound Protocols", })
+    @ApiResponses(value = { 
+        @ApiResponse(code = 200, message = "Successful", response = Void.class),
+        @ApiResponse(code = 400, message = "Bad Request", response = Error.class),
+        @ApiResponse(code = 401, message = "Unauthorized", response = Void.class),
+        @ApiResponse(code = 403, message = "Forbidden", response = Void.class),
+        @ApiResponse(code = 404, message = "Not Found", response = Error.class),
+        @ApiResponse(code = 409, message = "Conflict", response = Error.class),
+        @ApiResponse(code = 500, message = "Server Error", response = Error.class)
+    })
+    public Response updateInboundProtocols(@ApiParam(value = "ID of the application.",required=true) @PathParam("applicationId") String applicationId, @ApiParam(value = "This represents the inbound protocol configurations to be applied to the application." ,required=true) @Valid InboundProtocols inboundProtocols) {
+
+        return delegate.updateInboundProtocols(applicationId,  inboundProtocols );
+    }
+
     @Valid
     @PUT
     @Path("/{applicationId}/inbound-protocols/saml")
     @Consumes({ "application/json" })
     @Produces({ "application/json" })
-    @ApiOperation(value = "Update SAML2 authentication protocol parameters of application ", notes = "This API provides the capability to store SAML2 authentication protocol parameters of an application. <br>   <b>Permission required:</b> <br>       * /permission/admin/manage/identity/applicationmgt/update <br>   <b>Scope required:</b> <br>       * internal_application_mgt_update  - There are three methods to create/update SAML2 authentication protocol configuration.     1. Metadata File (by sending the Base64 encoded content of the metadata file.)     2. Metadata URL     3. Manual configuration ", response = Void.class, authorizations = {
+    @ApiOperation(value = "Update SAML2 authentication protocol parameters of application ", notes = "This API provides the capability to store SAML2 authentication protocol parameters of an application. <br>   <b>Permission required:</b> <br>       * /permission/admin/manage/identity/applicationmgt/update <br>   <b>Scope required:</b> <br>       * internal_application_mgt_update  - There are three methods to create/update SAML2 authentication protocol configuration.     1. Metadata File (by sending the Base64 encoded content of the metadata file.)     2. Metadata URL     3. Manual configuration  - Configurations with a metadata URL can be updated in the background by setting the 'async' query   parameter to true. Such requests are accepted with a 202 response, which refers to the operation that   tracks the status of the update. ", response = Void.class, authorizations = {
         @Authorization(value = "BasicAuth"),
         @Authorization(value = "OAuth2", scopes = {
             
@@ -924,16 +1073,18 @@ public class ApplicationsApi  {
     @ApiResponses(value = { 
         @ApiResponse(code = 200, message = "Successful", response = Void.class),
         @ApiResponse(code = 201, message = "Successful response.", response = Void.class),
+        @ApiResponse(code = 202, message = "Accepted", response = SAMLInboundOperation.class),
         @ApiResponse(code = 400, message = "Bad Request", response = Error.class),
         @ApiResponse(code = 401, message = "Unauthorized", response = Void.class),
         @ApiResponse(code = 403, message = "Forbidden", response = Void.class),
         @ApiResponse(code = 404, message = "Not Found", response = Error.class),
         @ApiResponse(code = 409, message = "Conflict", response = Error.class),
-        @ApiResponse(code = 500, message = "Server Error", response = Error.class)
+        @ApiResponse(code = 500, message = "Server Error", response = Error.class),
+        @ApiResponse(code = 503, message = "Service Unavailable", response = Error.class)
     })
-    public Response updateInboundSAMLConfiguration(@ApiParam(value = "ID of the application.",required=true) @PathParam("applicationId") String applicationId, @ApiParam(value = "This represents the SAML2 protocol attributes of the application." ,required=true) @Valid SAML2Configuration saML2Configuration) {
+    public Response updateInboundSAMLConfiguration(@ApiParam(value = "ID of the application.",required=true) @PathParam("applicationId") String applicationId, @ApiParam(value = "This represents the SAML2 protocol attributes of the application." ,required=true) @Valid SAML2Configuration saML2Configuration,     @Valid@ApiParam(value = "Update the configuration in the background. Applies only to configurations with a metadata URL, which are accepted with a 202 response that refers to the operation of the update. ", defaultValue="false") @DefaultValue("false")  @QueryParam("async") Boolean async) {
 
-        return delegate.updateInboundSAMLConfiguration(applicationId,  saML2Configuration );
+        return delegate.updateInboundSAMLConfiguration(applicationId,  saML2Configuration,  async );
     }
 
     @Valid
@@ -23,6 +23,7 @@ import org.apache.cxf.jaxrs.ext.multipart.Attachment;
 import org.apache.cxf.jaxrs.ext.multipart.Multipart;
 import java.io.InputStream;
 import org.wso2.carbon.identity.api.server.application.management.v1.AdaptiveAuthTemplates;
+import org.wso2.carbon.identity.api.server.application.management.v1.ApplicationArchiveImportResponse;
 import org.wso2.carbon.identity.api.server.application.management.v1.ApplicationListResponse;
 import org.wso2.carbon.identity.api.server.application.management.v1.ApplicationModel;
 import org.wso2.carbon.identity.api.server.application.management.v1.ApplicationPatchModel;
@@ -35,6 +36,7 @@ import org.wso2.carbon.identity.api.server.application.management.v1.CustomInbou
 import org.wso2.carbon.identity.api.server.application.management.v1.Error;
 import java.io.File;
 import org.wso2.carbon.identity.api.server.application.management.v1.InboundProtocolListItem;
+import org.wso2.carbon.identity.api.server.application.management.v1.InboundProtocols;
 import org.wso2.carbon.identity.api.server.application.management.v1.OIDCMetaData;
 import org.wso2.carbon.identity.api.server.application.management.v1.OpenIDConnectConfiguration;
 import org.wso2.carbon.identity.api.server.application.management.v1.PassiveStsConfiguration;
@@ -42,7 +44,9 @@ import org.wso2.carbon.identity.api.server.application.management.v1.Provisionin
 import org.wso2.carbon.identity.api.server.application.management.v1.ResidentApplication;
 import org.wso2.carbon.identity.api.server.application.management.v1.SAML2Configuration;
 import org.wso2.carbon.identity.api.server.application.management.v1.SAML2ServiceProvider;
+import org.wso2.carbon.identity.api.server.application.management.v1.SAMLInboundOperation;
 import org.wso2.carbon.identity.api.server.application.management.v1.SAMLMetaData;
+import org.wso2.carbon.identity.api.server.application.management.v1.SAMLMetadataRefreshStatus;
 import org.wso2.carbon.identity.api.server.application.management.v1.WSTrustConfiguration;
 import org.wso2.carbon.identity.api.server.application.management.v1.WSTrustMetaData;
 import javax.ws.rs.core.Response;
@@ -70,7 +74,9 @@ public interface ApplicationsApiService {
 
       public Response exportApplication(String applicationId, Boolean exportSecrets);
 
-      public Response getAdaptiveAuthTemplates();
+      public Response exportApplications(String filter, Boolean exportSecrets);
+
+      public Response getAdaptiveAuthTemplates(String ifNoneMatch);
 
       public Response getAllApplicationTemplates(Integer limit, Integer offset, SearchContext searchContext);
 
@@ -82,30 +88,38 @@ public interface ApplicationsApiService {
 
       public Response getCustomInboundConfiguration(String applicationId, String inboundProtocolId);
 
-      public Response getCustomProtocolMetadata(String inboundProtocolId);
+      public Response getCustomProtocolMetadata(String inboundProtocolId, String ifNoneMatch);
 
       public Response getInboundAuthenticationConfigurations(String applicationId);
 
       public Response getInboundOAuthConfiguration(String applicationId);
 
-      public Response getInboundProtocols(Boolean customOnly);
+      public Response getInboundProtocols(Boolean customOnly, String ifNoneMatch);
 
       public Response getInboundSAMLConfiguration(String applicationId);
 
-      public Response getOIDCMetadata();
+      public Response getOIDCMetadata(String ifNoneMatch);
 
       public Response getPassiveStsConfiguration(String applicationId);
 
       public Response getResidentApplication();
 
-      public Response getSAMLMetadata();
+      public Response getSAMLInboundOperation(String applicationId, String operationId);
+
+      public Response getSAMLMetadata(String ifNoneMatch);
+
+      public Response getSAMLMetadataRefreshStatus();
 
       public Response getWSTrustConfiguration(String applicationId);
 
-      public Response getWSTrustMetadata();
+      public Response getWSTrustMetadata(String ifNoneMatch);
 
       public Response importApplication(InputStream fileInputStream, Attachment fileDetail);
 
+      public Response importApplicationArchive(InputStream fileInputStream, Attachment fileDetail);
+
+      public Response importApplicationArchiveForUpdate(InputStream fileInputStream, Attachment fileDetail);
+
       public Response importApplicationForUpdate(InputStream fileInputStream, Attachment fileDetail);
 
       public Response patchApplication(String applicationId, ApplicationPatchModel applicationPatchModel);
@@ -120,7 +134,9 @@ public interface ApplicationsApiService {
 
       public Response updateInboundOAuthConfiguration(String applicationId, OpenIDConnectConfiguration openIDConnectConfiguration);
 
-      public Response updateInboundSAMLConfiguration(String applicationId, SAML2Configuration saML2Configuration);
+      public Response updateInboundProtocols(String applicationId, InboundProtocols inboundProtocols);
+
+      public Response updateInboundSAMLConfiguration(String applicationId, SAML2Configuration saML2Configuration, Boolean async);
 
       public Response updatePassiveStsConfiguration(String applicationId, PassiveStsConfiguration passiveStsConfiguration);
 
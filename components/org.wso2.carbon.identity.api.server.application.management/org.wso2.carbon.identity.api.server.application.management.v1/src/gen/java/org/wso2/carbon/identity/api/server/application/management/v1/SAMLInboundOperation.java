@@ -0,0 +1,217 @@
+/*
+* Copyright (c) 2020, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+*
+* Licensed under the Apache License, Version 2.0 (the "License");
+* you may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+*
+* http://www.apache.org/licenses/LICENSE-2.0
+*
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+*/
+
+package org.wso2.carbon.identity.api.server.application.management.v1;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.annotation.JsonCreator;
+import io.swagger.annotations.ApiModel;
+import io.swagger.annotations.ApiModelProperty;
+import javax.validation.constraints.*;
+
+
+import io.swagger.annotations.*;
+import java.util.Objects;
+import javax.validation.Valid;
+import javax.xml.bind.annotation.*;
+
+public class SAMLInboundOperation  {
+  
+
+@XmlType(name="StatusEnum")
+@XmlEnum(String.class)
+public enum StatusEnum {
+
+    @XmlEnumValue("PENDING") PENDING(String.valueOf("PENDING")), @XmlEnumValue("IN_PROGRESS") IN_PROGRESS(String.valueOf("IN_PROGRESS")), @XmlEnumValue("SUCCESS") SUCCESS(String.valueOf("SUCCESS")), @XmlEnumValue("FAILED") FAILED(String.valueOf("FAILED"));
+
+
+    private String value;
+
+    StatusEnum(String v) {
+        value = v;
+    }
+
+    public String value() {
+        return value;
+    }
+
+    @Override
+    public String toString() {
+        return String.valueOf(value);
+    }
+
+    public static StatusEnum fromValue(String value) {
+        for (StatusEnum b : StatusEnum.values()) {
+            if (b.value.equals(value)) {
+                return b;
+            }
+        }
+        throw new IllegalArgumentException("Unexpected value '" + value + "'");
+    }
+}
+
+    private String operationId;
+    private String applicationId;
+    private StatusEnum status;
+    private String errorCode;
+    private String errorDescription;
+    /**
+    * ID of the operation.
+    **/
+    public SAMLInboundOperation operationId(String operationId) {
+
+        this.operationId = operationId;
+        return this;
+    }
+    
+    @ApiModelProperty(example = "2b2ba5b4-7c2f-4a53-a1d5-2e5c2e3c1d4e", value = "ID of the operation.")
+    @JsonProperty("operationId")
+    @Valid
+    public String getOperationId() {
+        return operationId;
+    }
+    public void setOperationId(String operationId) {
+        this.operationId = operationId;
+    }
+
+    /**
+    * ID of the application of which the SAML2 configuration is updated.
+    **/
+    public SAMLInboundOperation applicationId(String applicationId) {
+
+        this.applicationId = applicationId;
+        return this;
+    }
+    
+    @ApiModelProperty(example = "85e3f4b8-0d22-4181-b1e3-1651f71b88bd", value = "ID of the application of which the SAML2 configuration is updated.")
+    @JsonProperty("applicationId")
+    @Valid
+    public String getApplicationId() {
+        return applicationId;
+    }
+    public void setApplicationId(String applicationId) {
+        this.applicationId = applicationId;
+    }
+
+    /**
+    * Status of the operation.
+    **/
+    public SAMLInboundOperation status(StatusEnum status) {
+
+        this.status = status;
+        return this;
+    }
+    
+    @ApiModelProperty(value = "Status of the operation.")
+    @JsonProperty("status")
+    @Valid
+    public StatusEnum getStatus() {
+        return status;
+    }
+    public void setStatus(StatusEnum status) {
+        this.status = status;
+    }
+
+    /**
+    * Error code. Available only if the operation failed.
+    **/
+    public SAMLInboundOperation errorCode(String errorCode) {
+
+        this.errorCode = errorCode;
+        return this;
+    }
+    
+    @ApiModelProperty(example = "60508", value = "Error code. Available only if the operation failed.")
+    @JsonProperty("errorCode")
+    @Valid
+    public String getErrorCode() {
+        return errorCode;
+    }
+    public void setErrorCode(String errorCode) {
+        this.errorCode = errorCode;
+    }
+
+    /**
+    * Description of the error. Available only if the operation failed.
+    **/
+    public SAMLInboundOperation errorDescription(String errorDescription) {
+
+        this.errorDescription = errorDescription;
+        return this;
+    }
+    
+    @ApiModelProperty(value = "Description of the error. Available only if the operation failed.")
+    @JsonProperty("errorDescription")
+    @Valid
+    public String getErrorDescription() {
+        return errorDescription;
+    }
+    public void setErrorDescription(String errorDescription) {
+        this.errorDescription = errorDescription;
+    }
+
+
+
+    @Override
+    public boolean equals(java.lang.Object o) {
+
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        SAMLInboundOperation sAMLInboundOperation = (SAMLInboundOperation) o;
+        return Objects.equals(this.operationId, sAMLInboundOperation.operationId) &&
+            Objects.equals(this.applicationId, sAMLInboundOperation.applicationId) &&
+            Objects.equals(this.status, sAMLInboundOperation.status) &&
+            Objects.equals(this.errorCode, sAMLInboundOperation.errorCode) &&
+            Objects.equals(this.errorDescription, sAMLInboundOperation.errorDescription);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(operationId, applicationId, status, errorCode, errorDescription);
+    }
+
+    @Override
+    public String toString() {
+
+        StringBuilder sb = new StringBuilder();
+        sb.append("class SAMLInboundOperation {\n");
+        
+        sb.append("    operationId: ").append(toIndentedString(operationId)).append("\n");
+        sb.append("    applicationId: ").append(toIndentedString(applicationId)).append("\n");
+        sb.append("    status: ").append(toIndentedString(status)).append("\n");
+        sb.append("    errorCode: ").append(toIndentedString(errorCode)).append("\n");
+        sb.append("    errorDescription: ").append(toIndentedString(errorDescription)).append("\n");
+        sb.append("}");
+        return sb.toString();
+    }
+
+    /**
+    * Convert the given object to string with each line indented by 4 spaces
+    * (except the first line).
+    */
+    private String toIndentedString(java.lang.Object o) {
+
+        if (o == null) {
+            return "null";
+        }
+        return o.toString().replace("\n", "\n");
+    }
+}
+
@@ -0,0 +1,316 @@
+/*
+* Copyright (c) 2020, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+*
+* Licensed under the Apache License, Version 2.0 (the "License");
+* you may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+*
+* http://www.apache.org/licenses/LICENSE-2.0
+*
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+*/
+
+package org.wso2.carbon.identity.api.server.application.management.v1;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.annotation.JsonCreator;
+import io.swagger.annotations.ApiModel;
+import io.swagger.annotations.ApiModelProperty;
+import javax.validation.constraints.*;
+
+
+import io.swagger.annotations.*;
+import java.util.Objects;
+import javax.validation.Valid;
+import javax.xml.bind.annotation.*;
+
+public class SAMLMetadataRefreshStatus  {
+  
+    private String issuer;
+    private String metadataURL;
+    private Long fetchCount;
+    private Long failureCount;
+    private Integer consecutiveFailures;
+    private Long lastFetchLatency;
+    private Long averageFetchLatency;
+    private Long lastRefreshTime;
+    private Long lastUpdateTime;
+    private Long nextRefreshTime;
+    private String lastError;
+    /**
+    * Issuer of the SAML service provider.
+    **/
+    public SAMLMetadataRefreshStatus issuer(String issuer) {
+
+        this.issuer = issuer;
+        return this;
+    }
+    
+    @ApiModelProperty(example = "http://sample.sp.com/saml", value = "Issuer of the SAML service provider.")
+    @JsonProperty("issuer")
+    @Valid
+    public String getIssuer() {
+        return issuer;
+    }
+    public void setIssuer(String issuer) {
+        this.issuer = issuer;
+    }
+
+    /**
+    * Metadata URL of the SAML service provider.
+    **/
+    public SAMLMetadataRefreshStatus metadataURL(String metadataURL) {
+
+        this.metadataURL = metadataURL;
+        return this;
+    }
+    
+    @ApiModelProperty(example = "https://sp.example.com/saml/metadata", value = "Metadata URL of the SAML service provider.")
+    @JsonProperty("metadataURL")
+    @Valid
+    public String getMetadataURL() {
+        return metadataURL;
+    }
+    public void setMetadataURL(String metadataURL) {
+        this.metadataURL = metadataURL;
+    }
+
+    /**
+    * Number of times the metadata was fetched.
+    **/
+    public SAMLMetadataRefreshStatus fetchCount(Long fetchCount) {
+
+        this.fetchCount = fetchCount;
+        return this;
+    }
+    
+    @ApiModelProperty(example = "24", value = "Number of times the metadata was fetched.")
+    @JsonProperty("fetchCount")
+    @Valid
+    public Long getFetchCount() {
+        return fetchCount;
+    }
+    public void setFetchCount(Long fetchCount) {
+        this.fetchCount = fetchCount;
+    }
+
+    /**
+    * Number of refreshes that failed.
+    **/
+    public SAMLMetadataRefreshStatus failureCount(Long failureCount) {
+
+        this.failureCount = failureCount;
+        return this;
+    }
+    
+    @ApiModelProperty(example = "1", value = "Number of refreshes that failed.")
+    @JsonProperty("failureCount")
+    @Valid
+    public Long getFailureCount() {
+        return failureCount;
+    }
+    public void setFailureCount(Long failureCount) {
+        this.failureCount = failureCount;
+    }
+
+    /**
+    * Number of refreshes that failed since the last successful refresh.
+    **/
+    public SAMLMetadataRefreshStatus consecutiveFailures(Integer consecutiveFailures) {
+
+        this.consecutiveFailures = consecutiveFailures;
+        return this;
+    }
+    
+    @ApiModelProperty(example = "0", value = "Number of refreshes that failed since the last successful refresh.")
+    @JsonProperty("consecutiveFailures")
+    @Valid
+    public Integer getConsecutiveFailures() {
+        return consecutiveFailures;
+    }
+    public void setConsecutiveFailures(Integer consecutiveFailures) {
+        this.consecutiveFailures = consecutiveFailures;
+    }
+
+    /**
+    * Time taken by the last metadata fetch in milliseconds.
+    **/
+    public SAMLMetadataRefreshStatus lastFetchLatency(Long lastFetchLatency) {
+
+        this.lastFetchLatency = lastFetchLatency;
+        return this;
+    }
+    
+    @ApiModelProperty(example = "120", value = "Time taken by the last metadata fetch in milliseconds.")
+    @JsonProperty("lastFetchLatency")
+    @Valid
+    public Long getLastFetchLatency() {
+        return lastFetchLatency;
+    }
+    public void setLastFetchLatency(Long lastFetchLatency) {
+        this.lastFetchLatency = lastFetchLatency;
+    }
+
+    /**
+    * Average time taken by the metadata fetches in milliseconds.
+    **/
+    public SAMLMetadataRefreshStatus averageFetchLatency(Long averageFetchLatency) {
+
+        this.averageFetchLatency = averageFetchLatency;
+        return this;
+    }
+    
+    @ApiModelProperty(example = "98", value = "Average time taken by the metadata fetches in milliseconds.")
+    @JsonProperty("averageFetchLatency")
+    @Valid
+    public Long getAverageFetchLatency() {
+        return averageFetchLatency;
+    }
+    public void setAverageFetchLatency(Long averageFetchLatency) {
+        this.averageFetchLatency = averageFetchLatency;
+    }
+
+    /**
+    * Time of the last refresh in milliseconds since the epoch.
+    **/
+    public SAMLMetadataRefreshStatus lastRefreshTime(Long lastRefreshTime) {
+
+        this.lastRefreshTime = lastRefreshTime;
+        return this;
+    }
+    
+    @ApiModelProperty(example = "1590000000000", value = "Time of the last refresh in milliseconds since the epoch.")
+    @JsonProperty("lastRefreshTime")
+    @Valid
+    public Long getLastRefreshTime() {
+        return lastRefreshTime;
+    }
+    public void setLastRefreshTime(Long lastRefreshTime) {
+        this.lastRefreshTime = lastRefreshTime;
+    }
+
+    /**
+    * Time at which a refresh last updated the service provider in milliseconds since the epoch.
+    **/
+    public SAMLMetadataRefreshStatus lastUpdateTime(Long lastUpdateTime) {
+
+        this.lastUpdateTime = lastUpdateTime;
+        return this;
+    }
+    
+    @ApiModelProperty(example = "1589000000000", value = "Time at which a refresh last updated the service provider in milliseconds since the epoch.")
+    @JsonProperty("lastUpdateTime")
+    @Valid
+    public Long getLastUpdateTime() {
+        return lastUpdateTime;
+    }
+    public void setLastUpdateTime(Long lastUpdateTime) {
+        this.lastUpdateTime = lastUpdateTime;
+    }
+
+    /**
+    * Time of the next refresh in milliseconds since the epoch.
+    **/
+    public SAMLMetadataRefreshStatus nextRefreshTime(Long nextRefreshTime) {
+
+        this.nextRefreshTime = nextRefreshTime;
+        return this;
+    }
+    
+    @ApiModelProperty(example = "1590003600000", value = "Time of the next refresh in milliseconds since the epoch.")
+    @JsonProperty("nextRefreshTime")
+    @Valid
+    public Long getNextRefreshTime() {
+        return nextRefreshTime;
+    }
+    public void setNextRefreshTime(Long nextRefreshTime) {
+        this.nextRefreshTime = nextRefreshTime;
+    }
+
+    /**
+    * Error of the last refresh. Available only if the last refresh failed.
+    **/
+    public SAMLMetadataRefreshStatus lastError(String lastError) {
+
+        this.lastError = lastError;
+        return this;
+    }
+    
+    @ApiModelProperty(value = "Error of the last refresh. Available only if the last refresh failed.")
+    @JsonProperty("lastError")
+    @Valid
+    public String getLastError() {
+        return lastError;
+    }
+    public void setLastError(String lastError) {
+        this.lastError = lastError;
+    }
+
+
+
+    @Override
+    public boolean equals(java.lang.Object o) {
+
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        SAMLMetadataRefreshStatus sAMLMetadataRefreshStatus = (SAMLMetadataRefreshStatus) o;
+        return Objects.equals(this.issuer, sAMLMetadataRefreshStatus.issuer) &&
+            Objects.equals(this.metadataURL, sAMLMetadataRefreshStatus.metadataURL) &&
+            Objects.equals(this.fetchCount, sAMLMetadataRefreshStatus.fetchCount) &&
+            Objects.equals(this.failureCount, sAMLMetadataRefreshStatus.failureCount) &&
+            Objects.equals(this.consecutiveFailures, sAMLMetadataRefreshStatus.consecutiveFailures) &&
+            Objects.equals(this.lastFetchLatency, sAMLMetadataRefreshStatus.lastFetchLatency) &&
+            Objects.equals(this.averageFetchLatency, sAMLMetadataRefreshStatus.averageFetchLatency) &&
+            Objects.equals(this.lastRefreshTime, sAMLMetadataRefreshStatus.lastRefreshTime) &&
+            Objects.equals(this.lastUpdateTime, sAMLMetadataRefreshStatus.lastUpdateTime) &&
+            Objects.equals(this.nextRefreshTime, sAMLMetadataRefreshStatus.nextRefreshTime) &&
+            Objects.equals(this.lastError, sAMLMetadataRefreshStatus.lastError);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(issuer, metadataURL, fetchCount, failureCount, consecutiveFailures, lastFetchLatency, averageFetchLatency, lastRefreshTime, lastUpdateTime, nextRefreshTime, lastError);
+    }
+
+    @Override
+    public String toString() {
+
+        StringBuilder sb = new StringBuilder();
+        sb.append("class SAMLMetadataRefreshStatus {\n");
+        
+        sb.append("    issuer: ").append(toIndentedString(issuer)).append("\n");
+        sb.append("    metadataURL: ").append(toIndentedString(metadataURL)).append("\n");
+        sb.append("    fetchCount: ").append(toIndentedString(fetchCount)).append("\n");
+        sb.append("    failureCount: ").append(toIndentedString(failureCount)).append("\n");
+        sb.append("    consecutiveFailures: ").append(toIndentedString(consecutiveFailures)).append("\n");
+        sb.append("    lastFetchLatency: ").append(toIndentedString(lastFetchLatency)).append("\n");
+        sb.append("    averageFetchLatency: ").append(toIndentedString(averageFetchLatency)).append("\n");
+        sb.append("    lastRefreshTime: ").append(toIndentedString(lastRefreshTime)).append("\n");
+        sb.append("    lastUpdateTime: ").append(toIndentedString(lastUpdateTime)).append("\n");
+        sb.append("    nextRefreshTime: ").append(toIndentedString(nextRefreshTime)).append("\n");
+        sb.append("    lastError: ").append(toIndentedString(lastError)).append("\n");
+        sb.append("}");
+        return sb.toString();
+    }
+
+    /**
+    * Convert the given object to string with each line indented by 4 spaces
+    * (except the first line).
+    */
+    private String toIndentedString(java.lang.Object o) {
+
+        if (o == null) {
+            return "null";
+        }
+        return o.toString().replace("\n", "\n");
+    }
+}
+
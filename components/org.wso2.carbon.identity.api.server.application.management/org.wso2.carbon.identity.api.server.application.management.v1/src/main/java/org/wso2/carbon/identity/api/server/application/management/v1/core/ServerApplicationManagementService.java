@@ -16,6 +16,7 @@
 package org.wso2.carbon.identity.api.server.application.management.v1.core;
 
 import org.apache.commons.io.IOUtils;
+import org.apache.commons.io.input.CountingInputStream;
 import org.apache.commons.lang.ArrayUtils;
 import org.apache.commons.lang.StringUtils;
 import org.apache.commons.logging.Log;
@@ -29,6 +30,8 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.wso2.carbon.identity.api.server.application.management.common.ApplicationManagementConstants;
 import org.wso2.carbon.identity.api.server.application.management.common.ApplicationManagementConstants.ErrorMessage;
 import org.wso2.carbon.identity.api.server.application.management.common.ApplicationManagementServiceHolder;
+import org.wso2.carbon.identity.api.server.application.management.v1.ApplicationArchiveImportResponse;
+import org.wso2.carbon.identity.api.server.application.management.v1.ApplicationImportResult;
 import org.wso2.carbon.identity.api.server.application.management.v1.ApplicationListItem;
 import org.wso2.carbon.identity.api.server.application.management.v1.ApplicationListResponse;
 import org.wso2.carbon.identity.api.server.application.management.v1.ApplicationModel;
@@ -40,6 +43,7 @@ import org.wso2.carbon.identity.api.server.application.management.v1.Application
 import org.wso2.carbon.identity.api.server.application.management.v1.AuthProtocolMetadata;
 import org.wso2.carbon.identity.api.server.application.management.v1.CustomInboundProtocolConfiguration;
 import org.wso2.carbon.identity.api.server.application.management.v1.InboundProtocolListItem;
+import org.wso2.carbon.identity.api.server.application.management.v1.InboundProtocols;
 import org.wso2.carbon.identity.api.server.application.management.v1.Link;
 import org.wso2.carbon.identity.api.server.application.management.v1.OpenIDConnectConfiguration;
 import org.wso2.carbon.identity.api.server.application.management.v1.PassiveStsConfiguration;
@@ -47,12 +51,21 @@ import org.wso2.carbon.identity.api.server.application.management.v1.Provisionin
 import org.wso2.carbon.identity.api.server.application.management.v1.ResidentApplication;
 import org.wso2.carbon.identity.api.server.application.management.v1.SAML2Configuration;
 import org.wso2.carbon.identity.api.server.application.management.v1.SAML2ServiceProvider;
+import org.wso2.carbon.identity.api.server.application.management.v1.SAMLInboundOperation;
 import org.wso2.carbon.identity.api.server.application.management.v1.WSTrustConfiguration;
 import org.wso2.carbon.identity.api.server.application.management.v1.core.functions.Utils;
 import org.wso2.carbon.identity.api.server.application.management.v1.core.functions.application
         .ApiModelToServiceProvider;
 import org.wso2.carbon.identity.api.server.application.management.v1.core.functions.application
         .ApplicationBasicInfoToApiModel;
+import org.wso2.carbon.identity.api.server.application.management.v1.core.functions.application
+        .ApplicationCountCache;
+import org.wso2.carbon.identity.api.server.application.management.v1.core.functions.application
+        .ApplicationListCache;
+import org.wso2.carbon.identity.api.server.application.management.v1.core.functions.application
+        .ApplicationFilter;
+import org.wso2.carbon.identity.api.server.application.management.v1.core.functions.application
+        .DefaultAuthenticationConfigCache;
 import org.wso2.carbon.identity.api.server.application.management.v1.core.functions.application
         .ServiceProviderToApiModel;
 import org.wso2.carbon.identity.api.server.application.management.v1.core.functions.application.UpdateServiceProvider;
@@ -68,6 +81,10 @@ import org.wso2.carbon.identity.api.server.application.management.v1.core.functi
         .oauth2.OAuthInboundFunctions;
 import org.wso2.carbon.identity.api.server.application.management.v1.core.functions.application.inbound.saml
         .SAMLInboundFunctions;
+import org.wso2.carbon.identity.api.server.application.management.v1.core.functions.application.inbound.saml
+        .SAMLInboundOperationManager;
+import org.wso2.carbon.identity.api.server.application.management.v1.core.functions.application.inbound.saml
+        .SAMLMetadataFetcher;
 import org.wso2.carbon.identity.api.server.application.management.v1.core.functions.application.provisioning
         .BuildProvisioningConfiguration;
 import org.wso2.carbon.identity.api.server.application.management.v1.core.functions.application.provisioning
@@ -105,16 +122,45 @@ import org.wso2.carbon.identity.template.mgt.model.Template;
 
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Reader;
+import java.io.Writer;
 import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.BiFunction;
+import java.util.function.Consumer;
 import java.util.function.Function;
 import java.util.stream.Collectors;
-
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+import java.util.zip.ZipOutputStream;
+import javax.ws.rs.core.StreamingOutput;
+
+import static org.wso2.carbon.identity.api.server.application.management.common.ApplicationManagementConstants.APPLICATION_MGT_QUEUE_SIZE;
+import static org.wso2.carbon.identity.api.server.application.management.common.ApplicationManagementConstants.APPLICATION_MGT_WORKER_COUNT;
+import static org.wso2.carbon.identity.api.server.application.management.common.ApplicationManagementConstants.APPLICATION_MGT_WORKER_KEEP_ALIVE_TIME;
 import static org.wso2.carbon.identity.api.server.application.management.common.ApplicationManagementConstants.APPLICATION_MANAGEMENT_PATH_COMPONENT;
+import static org.wso2.carbon.identity.api.server.application.management.common.ApplicationManagementConstants.ARCHIVE_FILE_EXTENSION;
+import static org.wso2.carbon.identity.api.server.application.management.common.ApplicationManagementConstants.IMPORT_FILE_READ_BUFFER_SIZE;
+import static org.wso2.carbon.identity.api.server.application.management.common.ApplicationManagementConstants.MAX_ARCHIVE_APPLICATION_COUNT;
+import static org.wso2.carbon.identity.api.server.application.management.common.ApplicationManagementConstants.MAX_IMPORT_FILE_SIZE;
 import static org.wso2.carbon.identity.api.server.application.management.common.ApplicationManagementConstants.ErrorMessage.APPLICATION_CREATION_WITH_TEMPLATES_NOT_IMPLEMENTED;
 import static org.wso2.carbon.identity.api.server.application.management.common.ApplicationManagementConstants.ErrorMessage.INBOUND_NOT_CONFIGURED;
 import static org.wso2.carbon.identity.api.server.application.management.v1.core.functions.Utils.buildBadRequestError;
@@ -123,6 +169,7 @@ import static org.wso2.carbon.identity.api.server.application.management.v1.core
 import static org.wso2.carbon.identity.api.server.application.management.v1.core.functions.application.inbound.InboundFunctions.getInboundAuthenticationRequestConfig;
 import static org.wso2.carbon.identity.api.server.application.management.v1.core.functions.application.inbound.InboundFunctions.rollbackInbound;
 import static org.wso2.carbon.identity.api.server.application.management.v1.core.functions.application.inbound.InboundFunctions.rollbackInbounds;
+import static org.wso2.carbon.identity.api.server.application.management.v1.core.functions.application.inbound.InboundFunctions.snapshotInbound;
 import static org.wso2.carbon.identity.api.server.application.management.v1.core.functions.application.inbound.InboundFunctions.updateOrInsertInbound;
 import static org.wso2.carbon.identity.application.authentication.framework.util.FrameworkConstants.StandardInboundProtocols.OAUTH2;
 import static org.wso2.carbon.identity.application.authentication.framework.util.FrameworkConstants.StandardInboundProtocols.PASSIVE_STS;
@@ -139,41 +186,89 @@ public class ServerApplicationManagementService {
 
     private static final Log log = LogFactory.getLog(ServerApplicationManagementService.class);
 
-    private static final List<String> SEARCH_SUPPORTED_FIELDS = new ArrayList<>();
     private static final String APP_NAME = "name";
 
-    // Filter related constants.
-    private static final String FILTER_STARTS_WITH = "sw";
-    private static final String FILTER_ENDS_WITH = "ew";
-    private static final String FILTER_EQUALS = "eq";
-    private static final String FILTER_CONTAINS = "co";
+    // Sort related constants.
+    private static final String SORT_BY_CREATED = "created";
+    private static final String SORT_ORDER_ASC = "ASC";
+    private static final String SORT_ORDER_DESC = "DESC";
+    // Application ids are assigned incrementally, so they reflect the order in which the applications were created.
+    private static final Comparator<ApplicationBasicInfo> CREATION_ORDER =
+            Comparator.comparingInt(ApplicationBasicInfo::getApplicationId);
+    // The backend returns paginated applications in the descending order of their ids, i.e. the newest first.
+    private static final Comparator<ApplicationBasicInfo> BACKEND_ORDER = CREATION_ORDER.reversed();
+
     private static final int DEFAULT_OFFSET = 0;
 
-    static {
-        SEARCH_SUPPORTED_FIELDS.add(APP_NAME);
-    }
+    // Imports the applications of archives and creates the inbound artifacts of batched inbound updates. The queue is
+    // bounded and the request thread runs the task itself when the queue is full, which bounds the number of archived
+    // applications held in memory.
+    private static final ExecutorService APPLICATION_MGT_EXECUTOR = createApplicationMgtExecutor();
 
     @Autowired
     private ServerApplicationMetadataService applicationMetadataService;
 
+    private static ExecutorService createApplicationMgtExecutor() {
+
+        AtomicInteger threadCount = new AtomicInteger();
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(APPLICATION_MGT_WORKER_COUNT,
+                APPLICATION_MGT_WORKER_COUNT, APPLICATION_MGT_WORKER_KEEP_ALIVE_TIME, TimeUnit.MILLISECONDS,
+                new LinkedBlockingQueue<>(APPLICATION_MGT_QUEUE_SIZE), runnable -> {
+                    Thread thread = new Thread(runnable, "application-mgt-worker-" + threadCount.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                }, new ThreadPoolExecutor.CallerRunsPolicy());
+        executor.allowCoreThreadTimeOut(true);
+        return executor;
+    }
+
     public ApplicationListResponse getAllApplications(Integer limit, Integer offset, String filter, String sortOrder,
                                                       String sortBy, String requiredAttributes) {
 
-        handleNotImplementedCapabilities(sortOrder, sortBy, requiredAttributes);
-
         limit = validateAndGetLimit(limit);
         offset = validateAndGetOffset(offset);
+        Comparator<ApplicationBasicInfo> sortComparator = buildSortComparator(sortOrder, sortBy);
+        validateAttributeFilteringSupport(requiredAttributes);
 
-        // Format the filter to a value that can be interpreted by the backend.
-        String formattedFilter = buildFilter(filter);
+        ApplicationFilter applicationFilter = ApplicationFilter.compile(filter);
         String tenantDomain = ContextLoader.getTenantDomainFromContext();
         String username = ContextLoader.getUsernameFromContext();
         try {
-            int totalResults = getApplicationManagementService()
-                    .getCountOfApplications(tenantDomain, username, formattedFilter);
-
-            ApplicationBasicInfo[] filteredAppList = getApplicationManagementService()
-                    .getApplicationBasicInfo(tenantDomain, username, formattedFilter, offset, limit);
+            ApplicationBasicInfo[] filteredAppList;
+            int totalResults;
+            boolean filteredByBackend = applicationFilter.isEvaluatedByBackend();
+            if (filteredByBackend && (sortComparator == null || sortComparator == BACKEND_ORDER)) {
+                // Format the filter to a value that can be interpreted by the backend.
+                String formattedFilter = applicationFilter.getBackendFilter();
+                filteredAppList = getApplicationManagementService()
+                        .getApplicationBasicInfo(tenantDomain, username, formattedFilter, offset, limit);
+                totalResults = getTotalResults(tenantDomain, username, formattedFilter, offset, limit,
+                        filteredAppList.length);
+            } else if (filteredByBackend && sortComparator == CREATION_ORDER) {
+                // The page is read from the other end of the backend order and reversed, so that the ascending
+                // creation order is paginated by the backend as well.
+                String formattedFilter = applicationFilter.getBackendFilter();
+                totalResults = ApplicationCountCache.getInstance().getCountOfApplications(tenantDomain, username,
+                        formattedFilter);
+                int backendOffset = Math.max(0, totalResults - offset - limit);
+                int backendLimit = totalResults - offset - backendOffset;
+                filteredAppList = backendLimit > 0 ? getApplicationManagementService().getApplicationBasicInfo(
+                        tenantDomain, username, formattedFilter, backendOffset, backendLimit) :
+                        new ApplicationBasicInfo[0];
+                Arrays.sort(filteredAppList, CREATION_ORDER);
+            } else {
+                // The backend can neither sort by the attribute nor evaluate the filter. Therefore all the matching
+                // applications are retrieved, which also gives the total number of results, and sorted and paginated
+                // here. The matching applications are cached, so that they are not retrieved again for each page.
+                List<ApplicationBasicInfo> allMatchingApps = ApplicationListCache.getInstance().getApplications(
+                        tenantDomain, username, filter);
+                totalResults = allMatchingApps.size();
+                filteredAppList = allMatchingApps.stream()
+                        .sorted(sortComparator != null ? sortComparator : CREATION_ORDER)
+                        .skip(offset)
+                        .limit(limit)
+                        .toArray(ApplicationBasicInfo[]::new);
+            }
             int resultsInCurrentPage = filteredAppList.length;
 
             return new ApplicationListResponse()
@@ -193,6 +288,59 @@ public class ServerApplicationManagementService {
         }
     }
 
+    private int getTotalResults(String tenantDomain, String username, String filter, int offset, int limit,
+                                int resultsInCurrentPage) throws IdentityApplicationManagementException {
+
+        if (resultsInCurrentPage > 0 && resultsInCurrentPage < limit || offset == 0 && resultsInCurrentPage == 0) {
+            // A page that is not full is the last page, so the total can be derived without counting the results.
+            return offset + resultsInCurrentPage;
+        }
+        return ApplicationCountCache.getInstance().getCountOfApplications(tenantDomain, username, filter);
+    }
+
+    private Comparator<ApplicationBasicInfo> buildSortComparator(String sortOrder, String sortBy) {
+
+        if (sortOrder == null && sortBy == null) {
+            return null;
+        }
+
+        boolean descending;
+        if (sortOrder == null || SORT_ORDER_ASC.equalsIgnoreCase(sortOrder)) {
+            descending = false;
+        } else if (SORT_ORDER_DESC.equalsIgnoreCase(sortOrder)) {
+            descending = true;
+        } else {
+            throw buildClientError(ErrorMessage.INVALID_SORT_ORDER, sortOrder);
+        }
+
+        if (sortBy == null || SORT_BY_CREATED.equals(sortBy)) {
+            // The shared comparators are returned, so that the listing can recognize the orders the backend can page.
+            return descending ? BACKEND_ORDER : CREATION_ORDER;
+        } else if (APP_NAME.equals(sortBy)) {
+            Comparator<ApplicationBasicInfo> comparator = Comparator.comparing(
+                    ApplicationBasicInfo::getApplicationName, String.CASE_INSENSITIVE_ORDER)
+                    .thenComparingInt(ApplicationBasicInfo::getApplicationId);
+            return descending ? comparator.reversed() : comparator;
+        } else {
+            throw buildClientError(ErrorMessage.UNSUPPORTED_SORT_ATTRIBUTE, sortBy);
+        }
+    }
+
+    /**
+     * Reject attribute projection, which this version of the API does not support. The framework cannot return the
+     * inbound configurations of a page of applications, so projecting them would load every listed application in
+     * full.
+     *
+     * @param requiredAttributes Attributes requested in addition to the default attributes.
+     */
+    private void validateAttributeFilteringSupport(String requiredAttributes) {
+
+        if (requiredAttributes != null) {
+            ErrorMessage errorEnum = ErrorMessage.ATTRIBUTE_FILTERING_NOT_IMPLEMENTED;
+            throw Utils.buildNotImplementedError(errorEnum.getCode(), errorEnum.getDescription());
+        }
+    }
+
     private int validateAndGetOffset(Integer offset) {
 
         if (offset != null && offset >= 0) {
@@ -237,6 +385,26 @@ public class ServerApplicationManagementService {
         }
     }
 
+    /**
+     * Export an application identified by the applicationId, as an output that writes the XML to the response. The
+     * framework exports the application as a complete XML string, so the XML is not streamed. It is exported before
+     * the output is returned, so that errors can still be reported with the appropriate status, and only its encoding
+     * is written incrementally, so that no encoded copy of the whole XML is made.
+     *
+     * @param applicationId ID of the application to be exported.
+     * @param exportSecrets If True, all hashed or encrypted secrets will also be exported.
+     * @return Output that writes the XML of the application.
+     */
+    public StreamingOutput exportApplicationAsOutput(String applicationId, Boolean exportSecrets) {
+
+        String application = exportApplication(applicationId, exportSecrets);
+        return outputStream -> {
+            Writer writer = new OutputStreamWriter(outputStream, StandardCharsets.UTF_8);
+            writer.write(application);
+            writer.flush();
+        };
+    }
+
     /**
      * Create a new application by importing an XML configuration file.
      *
@@ -268,32 +436,246 @@ public class ServerApplicationManagementService {
 
             String tenantDomain = ContextLoader.getTenantDomainFromContext();
             String username = ContextLoader.getUsernameFromContext();
+            return importSpFileContent(spFileContent, tenantDomain, username, isAppUpdate);
+        } catch (IOException e) {
+            throw Utils.buildServerError("Error importing application from XML file.", e);
+        } finally {
+            IOUtils.closeQuietly(fileInputStream);
+        }
+    }
+
+    private String importSpFileContent(SpFileContent spFileContent, String tenantDomain, String username,
+                                       boolean isAppUpdate) {
 
+        try {
             ImportResponse importResponse = getApplicationManagementService()
                     .importSPApplication(spFileContent, tenantDomain, username, isAppUpdate);
 
             if (importResponse.getResponseCode() == ImportResponse.FAILED) {
                 throw handleErrorResponse(importResponse);
             } else {
+                invalidateApplicationCaches(tenantDomain);
                 return importResponse.getApplicationResourceId();
             }
-        } catch (IOException e) {
-            throw Utils.buildServerError("Error importing application from XML file.", e);
         } catch (IdentityApplicationManagementException e) {
             throw handleIdentityApplicationManagementException(e, "Error importing application from XML file.");
-        } finally {
-            IOUtils.closeQuietly(fileInputStream);
         }
     }
 
+    /**
+     * Export the applications matching the given filter as a ZIP archive of XML files. The applications are exported
+     * one at a time while the archive is being streamed, so that only one exported application is held in memory.
+     *
+     * @param filter        Filter of the applications to be exported. All applications are exported if null.
+     * @param exportSecrets If True, all hashed or encrypted secrets will also be exported.
+     * @return Output that streams the ZIP archive.
+     */
+    public StreamingOutput exportApplications(String filter, Boolean exportSecrets) {
+
+        ApplicationFilter applicationFilter = ApplicationFilter.compile(filter);
+        String tenantDomain = ContextLoader.getTenantDomainFromContext();
+        String username = ContextLoader.getUsernameFromContext();
+        List<ApplicationBasicInfo> applications;
+        try {
+            applications = applicationFilter.apply(getApplicationManagementService(), tenantDomain, username);
+        } catch (IdentityApplicationManagementException e) {
+            String msg = "Error listing applications of tenantDomain: " + tenantDomain;
+            throw handleIdentityApplicationManagementException(e, msg);
+        }
+
+        return outputStream -> {
+            ZipOutputStream zipOutputStream = new ZipOutputStream(outputStream);
+            Writer writer = new OutputStreamWriter(zipOutputStream, StandardCharsets.UTF_8);
+            Set<String> fileNames = new HashSet<>();
+            for (ApplicationBasicInfo application : applications) {
+                String applicationId = application.getApplicationResourceId();
+                String exportedApplication;
+                try {
+                    exportedApplication = getApplicationManagementService().exportSPApplicationFromAppID(
+                            applicationId, exportSecrets, tenantDomain);
+                } catch (IdentityApplicationManagementException e) {
+                    // The archive is already being streamed, so the error can only be reported by aborting it.
+                    throw new IOException("Error exporting application with id: " + applicationId, e);
+                }
+                zipOutputStream.putNextEntry(new ZipEntry(buildArchiveFileName(application, fileNames)));
+                writer.write(exportedApplication);
+                writer.flush();
+                zipOutputStream.closeEntry();
+            }
+            zipOutputStream.finish();
+        };
+    }
+
+    private String buildArchiveFileName(ApplicationBasicInfo application, Set<String> fileNames) {
+
+        String fileName = application.getApplicationName().replaceAll("[^\\w.-]", "_");
+        if (!fileNames.add(fileName)) {
+            // Names that only differ in the replaced characters are made unique with the application id.
+            fileName = fileName + "_" + application.getApplicationResourceId();
+            fileNames.add(fileName);
+        }
+        return fileName + ARCHIVE_FILE_EXTENSION;
+    }
+
+    /**
+     * Create the applications of a ZIP archive of exported XML files.
+     *
+     * @param fileInputStream Archive to be imported as an input stream.
+     * @return Status of the import of each application of the archive.
+     */
+    public ApplicationArchiveImportResponse importApplicationArchive(InputStream fileInputStream) {
+
+        return doImportApplicationArchive(fileInputStream, false);
+    }
+
+    /**
+     * Update the applications of a ZIP archive of exported XML files.
+     *
+     * @param fileInputStream Archive to be imported as an input stream.
+     * @return Status of the import of each application of the archive.
+     */
+    public ApplicationArchiveImportResponse importApplicationArchiveForUpdate(InputStream fileInputStream) {
+
+        return doImportApplicationArchive(fileInputStream, true);
+    }
+
+    private ApplicationArchiveImportResponse doImportApplicationArchive(InputStream fileInputStream,
+                                                                        boolean isAppUpdate) {
+
+        String tenantDomain = ContextLoader.getTenantDomainFromContext();
+        String username = ContextLoader.getUsernameFromContext();
+
+        // The archive is read sequentially while the applications read so far are imported by a bounded pool of
+        // workers. Each application is imported on its own, so a failed import only rolls back that application.
+        List<Future<ApplicationImportResult>> importResults = new ArrayList<>();
+        ZipEntry entry = null;
+        try (ZipInputStream zipInputStream = new ZipInputStream(fileInputStream)) {
+            while ((entry = zipInputStream.getNextEntry()) != null) {
+                if (entry.isDirectory()) {
+                    continue;
+                }
+                if (importResults.size() >= MAX_ARCHIVE_APPLICATION_COUNT) {
+                    importResults.add(CompletableFuture.completedFuture(buildFailedImportResult(entry.getName(),
+                            ErrorMessage.ARCHIVE_APPLICATION_COUNT_EXCEEDED,
+                            String.valueOf(MAX_ARCHIVE_APPLICATION_COUNT))));
+                    continue;
+                }
+
+                SpFileContent spFileContent = new SpFileContent();
+                spFileContent.setFileName(entry.getName());
+                try {
+                    spFileContent.setContent(readFileContent(zipInputStream));
+                } catch (APIError e) {
+                    importResults.add(CompletableFuture.completedFuture(buildFailedImportResult(entry.getName(), e)));
+                    continue;
+                }
+                importResults.add(APPLICATION_MGT_EXECUTOR.submit(() ->
+                        importArchivedApplication(spFileContent, tenantDomain, username, isAppUpdate)));
+            }
+        } catch (IOException e) {
+            if (importResults.isEmpty()) {
+                throw buildClientError(ErrorMessage.INVALID_APPLICATION_ARCHIVE);
+            }
+            // Report the applications imported before the archive turned out to be corrupted.
+            log.error("Error reading application archive after " + importResults.size() + " applications.", e);
+            importResults.add(CompletableFuture.completedFuture(buildFailedImportResult(
+                    entry != null ? entry.getName() : null, ErrorMessage.INVALID_APPLICATION_ARCHIVE)));
+        }
+
+        ApplicationArchiveImportResponse response = new ApplicationArchiveImportResponse();
+        int succeeded = 0;
+        for (Future<ApplicationImportResult> importResult : importResults) {
+            ApplicationImportResult result = getImportResult(importResult);
+            if (result.getStatus() == ApplicationImportResult.StatusEnum.SUCCESS) {
+                succeeded++;
+            }
+            response.addResultsItem(result);
+        }
+        return response
+                .totalResults(importResults.size())
+                .succeeded(succeeded)
+                .failed(importResults.size() - succeeded);
+    }
+
+    private ApplicationImportResult importArchivedApplication(SpFileContent spFileContent, String tenantDomain,
+                                                              String username, boolean isAppUpdate) {
+
+        try {
+            String applicationId = Util.runInTenantFlow(tenantDomain, username,
+                    () -> importSpFileContent(spFileContent, tenantDomain, username, isAppUpdate));
+            return new ApplicationImportResult()
+                    .fileName(spFileContent.getFileName())
+                    .status(ApplicationImportResult.StatusEnum.SUCCESS)
+                    .applicationId(applicationId);
+        } catch (APIError e) {
+            return buildFailedImportResult(spFileContent.getFileName(), e);
+        } catch (RuntimeException e) {
+            log.error("Error importing application from archived file: " + spFileContent.getFileName(), e);
+            return new ApplicationImportResult()
+                    .fileName(spFileContent.getFileName())
+                    .status(ApplicationImportResult.StatusEnum.FAILED)
+                    .errorCode(UNEXPECTED_SERVER_ERROR.getCode())
+                    .errorDescription("Unexpected error occurred while importing the application.");
+        }
+    }
+
+    private ApplicationImportResult getImportResult(Future<ApplicationImportResult> importResult) {
+
+        try {
+            return importResult.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw Utils.buildServerError("Interrupted while importing applications from archive.", e);
+        } catch (ExecutionException e) {
+            throw Utils.buildServerError("Error importing applications from archive.", e);
+        }
+    }
+
+    private ApplicationImportResult buildFailedImportResult(String fileName, APIError error) {
+
+        return new ApplicationImportResult()
+                .fileName(fileName)
+                .status(ApplicationImportResult.StatusEnum.FAILED)
+                .errorCode(error.getCode())
+                .errorDescription(error.getResponseEntity().getDescription());
+    }
+
+    private ApplicationImportResult buildFailedImportResult(String fileName, ErrorMessage errorEnum,
+                                                            String... args) {
+
+        return new ApplicationImportResult()
+                .fileName(fileName)
+                .status(ApplicationImportResult.StatusEnum.FAILED)
+                .errorCode(errorEnum.getCode())
+                .errorDescription(buildFormattedDescription(errorEnum.getDescription(), args));
+    }
+
     private SpFileContent buildSpFileContent(InputStream fileInputStream, Attachment fileDetail) throws IOException {
 
         SpFileContent spFileContent = new SpFileContent();
-        spFileContent.setContent(IOUtils.toString(fileInputStream, StandardCharsets.UTF_8.name()));
+        spFileContent.setContent(readFileContent(fileInputStream));
         spFileContent.setFileName(fileDetail.getDataHandler().getName());
         return spFileContent;
     }
 
+    private String readFileContent(InputStream fileInputStream) throws IOException {
+
+        // Read the file through a fixed size buffer, so that a file exceeding the size limit is rejected as soon as
+        // the limit is reached instead of after being read into memory completely.
+        CountingInputStream countingInputStream = new CountingInputStream(fileInputStream);
+        Reader reader = new InputStreamReader(countingInputStream, StandardCharsets.UTF_8);
+        StringBuilder content = new StringBuilder();
+        char[] buffer = new char[IMPORT_FILE_READ_BUFFER_SIZE];
+        int charsRead;
+        while ((charsRead = reader.read(buffer)) != -1) {
+            if (countingInputStream.getByteCount() > MAX_IMPORT_FILE_SIZE) {
+                throw buildClientError(ErrorMessage.IMPORT_FILE_SIZE_EXCEEDED, String.valueOf(MAX_IMPORT_FILE_SIZE));
+            }
+            content.append(buffer, 0, charsRead);
+        }
+        return content.toString();
+    }
+
     private APIError handleErrorResponse(ImportResponse importResponse) {
 
         String errorCode = importResponse.getErrorCode() != null ?
@@ -319,7 +701,10 @@ public class ServerApplicationManagementService {
 
         ServiceProvider application = new ApiModelToServiceProvider().apply(applicationModel);
         try {
-            return getApplicationManagementService().createApplication(application, tenantDomain, username);
+            String applicationId = getApplicationManagementService().createApplication(application, tenantDomain,
+                    username);
+            invalidateApplicationCaches(tenantDomain);
+            return applicationId;
         } catch (IdentityApplicationManagementException e) {
             if (log.isDebugEnabled()) {
                 log.debug("Error while creating application. Rolling back possibly created inbound config data.");
@@ -343,6 +728,7 @@ public class ServerApplicationManagementService {
             String username = ContextLoader.getUsernameFromContext();
             getApplicationManagementService()
                     .updateApplicationByResourceId(applicationId, appToUpdate, tenantDomain, username);
+            invalidateApplicationCaches(tenantDomain);
         } catch (IdentityApplicationManagementException e) {
             String msg = "Error patching application with id: " + applicationId;
             throw handleIdentityApplicationManagementException(e, msg);
@@ -355,6 +741,7 @@ public class ServerApplicationManagementService {
         String tenantDomain = ContextLoader.getTenantDomainFromContext();
         try {
             getApplicationManagementService().deleteApplicationByResourceId(applicationId, tenantDomain, username);
+            invalidateApplicationCaches(tenantDomain);
         } catch (IdentityApplicationManagementException e) {
             String msg = "Error deleting application with id: " + applicationId;
             throw handleIdentityApplicationManagementException(e, msg);
@@ -467,7 +854,8 @@ public class ServerApplicationManagementService {
 
     private boolean isUnknownInboundType(String inboundType) {
 
-        List<AuthProtocolMetadata> inboundProtocols = applicationMetadataService.getInboundProtocols(true);
+        List<AuthProtocolMetadata> inboundProtocols =
+                applicationMetadataService.getInboundProtocols(true).getMetadata();
         return inboundProtocols.stream()
                 .noneMatch(metadata -> StringUtils.equals(metadata.getName(), inboundType));
     }
@@ -488,6 +876,34 @@ public class ServerApplicationManagementService {
         putInbound(applicationId, saml2Configuration, SAMLInboundFunctions::putSAMLInbound);
     }
 
+    /**
+     * Create or replace the SAML2 inbound configuration of an application in the background. Used for configurations
+     * with a metadata URL, so that the request does not wait until the metadata is fetched.
+     *
+     * @param applicationId      Unique id of the app
+     * @param saml2Configuration SAML2 inbound configuration with a metadata URL
+     * @return Operation which tracks the status of the update.
+     */
+    public SAMLInboundOperation putInboundSAMLConfigurationAsync(String applicationId,
+                                                                 SAML2Configuration saml2Configuration) {
+
+        // Validate the request before accepting it, so that only the failures of the update are reported later.
+        SAMLMetadataFetcher.getInstance().validateMetadataUrl(saml2Configuration.getMetadataURL());
+        getServiceProvider(applicationId);
+
+        String tenantDomain = ContextLoader.getTenantDomainFromContext();
+        String username = ContextLoader.getUsernameFromContext();
+        return SAMLInboundOperationManager.getInstance().submit(tenantDomain, applicationId,
+                () -> Util.runInTenantFlow(tenantDomain, username,
+                        () -> putInboundSAMLConfiguration(applicationId, saml2Configuration)));
+    }
+
+    public SAMLInboundOperation getSAMLInboundOperation(String applicationId, String operationId) {
+
+        return SAMLInboundOperationManager.getInstance()
+                .getOperation(ContextLoader.getTenantDomainFromContext(), applicationId, operationId);
+    }
+
     public void putInboundPassiveSTSConfiguration(String applicationId,
                                                   PassiveStsConfiguration passiveStsConfiguration) {
 
@@ -510,6 +926,177 @@ public class ServerApplicationManagementService {
         putInbound(applicationId, customInbound, CustomInboundFunctions::putCustomInbound);
     }
 
+    /**
+     * Create or replace a set of inbound configurations of an application with a single application update. Inbound
+     * protocols not included in the request are left unchanged.
+     *
+     * @param applicationId    Unique id of the app
+     * @param inboundProtocols Inbound configurations to be created or replaced
+     */
+    public void putInbounds(String applicationId, InboundProtocols inboundProtocols) {
+
+        List<InboundAuthenticationRequestConfig> customInbounds = buildCustomInbounds(inboundProtocols.getCustom());
+        if (inboundProtocols.getOidc() == null && inboundProtocols.getSaml() == null
+                && inboundProtocols.getWsTrust() == null && inboundProtocols.getPassiveSts() == null
+                && customInbounds.isEmpty()) {
+            throw buildBadRequestError("No inbound protocol configurations provided for application: "
+                    + applicationId);
+        }
+
+        ServiceProvider appToUpdate = cloneApplication(applicationId);
+        // Keep the current configurations of the inbounds to be replaced, so that they can be restored on a failure.
+        Map<String, Consumer<InboundAuthenticationRequestConfig>> inboundRestorers =
+                snapshotInbounds(appToUpdate, inboundProtocols);
+
+        // OIDC, SAML and WS-Trust inbounds keep their configurations in separate backends, so their artifacts are
+        // created in parallel. The application is only read until all of them are created.
+        String tenantDomain = ContextLoader.getTenantDomainFromContext();
+        String username = ContextLoader.getUsernameFromContext();
+        List<Future<InboundAuthenticationRequestConfig>> inboundResults = new ArrayList<>();
+        if (inboundProtocols.getOidc() != null) {
+            inboundResults.add(submitInbound(appToUpdate, inboundProtocols.getOidc(),
+                    OAuthInboundFunctions::putOAuthInbound, tenantDomain, username));
+        }
+        if (inboundProtocols.getSaml() != null) {
+            inboundResults.add(submitInbound(appToUpdate, inboundProtocols.getSaml(),
+                    SAMLInboundFunctions::putSAMLInbound, tenantDomain, username));
+        }
+        if (inboundProtocols.getWsTrust() != null) {
+            inboundResults.add(submitInbound(appToUpdate, inboundProtocols.getWsTrust(),
+                    WSTrustInboundFunctions::putWSTrustConfiguration, tenantDomain, username));
+        }
+
+        List<InboundAuthenticationRequestConfig> updatedInbounds = new ArrayList<>();
+        APIError inboundError = null;
+        for (Future<InboundAuthenticationRequestConfig> inboundResult : inboundResults) {
+            try {
+                updatedInbounds.add(getInboundResult(inboundResult));
+            } catch (APIError e) {
+                // Wait for the remaining inbounds, so that all of the created artifacts can be rolled back.
+                if (inboundError == null) {
+                    inboundError = e;
+                }
+            }
+        }
+        if (inboundError != null) {
+            if (log.isDebugEnabled()) {
+                log.debug("Error while updating inbound protocols of application: " + applicationId + ". Attempting " +
+                        "to rollback inbound configurations updated before the error.");
+            }
+            rollbackUpdatedInbounds(applicationId, inboundRestorers, updatedInbounds);
+            throw inboundError;
+        }
+
+        if (inboundProtocols.getPassiveSts() != null) {
+            updatedInbounds.add(PassiveSTSInboundFunctions.putPassiveSTSInbound(appToUpdate,
+                    inboundProtocols.getPassiveSts()));
+        }
+        updatedInbounds.addAll(customInbounds);
+
+        updatedInbounds.forEach(updatedInbound -> updateOrInsertInbound(appToUpdate, updatedInbound));
+        try {
+            // Do a single service provider update for all the inbounds.
+            updateServiceProvider(applicationId, appToUpdate);
+        } catch (APIError error) {
+            if (log.isDebugEnabled()) {
+                log.debug("Error while updating application: " + applicationId + ". Attempting to rollback possible " +
+                        "inbound configurations updated before the update.");
+            }
+            rollbackUpdatedInbounds(applicationId, inboundRestorers, updatedInbounds);
+            throw error;
+        }
+    }
+
+    private List<InboundAuthenticationRequestConfig> buildCustomInbounds(
+            List<CustomInboundProtocolConfiguration> customInbounds) {
+
+        if (customInbounds == null) {
+            return Collections.emptyList();
+        }
+
+        List<InboundAuthenticationRequestConfig> inbounds = new ArrayList<>();
+        for (CustomInboundProtocolConfiguration customInbound : customInbounds) {
+            // Validate all the custom inbounds before any inbound artifact is created.
+            if (isUnknownInboundType(customInbound.getName())) {
+                throw buildBadRequestError("Unknown inbound type: " + customInbound.getName());
+            }
+            inbounds.add(CustomInboundFunctions.createCustomInbound(customInbound));
+        }
+        return inbounds;
+    }
+
+    private <I> Future<InboundAuthenticationRequestConfig> submitInbound(
+            ServiceProvider application, I inboundApiModel,
+            BiFunction<ServiceProvider, I, InboundAuthenticationRequestConfig> getUpdatedInbound,
+            String tenantDomain, String username) {
+
+        return APPLICATION_MGT_EXECUTOR.submit(() -> Util.runInTenantFlow(tenantDomain, username,
+                () -> getUpdatedInbound.apply(application, inboundApiModel)));
+    }
+
+    private InboundAuthenticationRequestConfig getInboundResult(
+            Future<InboundAuthenticationRequestConfig> inboundResult) {
+
+        try {
+            return inboundResult.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw Utils.buildServerError("Interrupted while updating inbound protocols.", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof APIError) {
+                throw (APIError) e.getCause();
+            }
+            throw Utils.buildServerError("Error updating inbound protocols.", e);
+        }
+    }
+
+    private Map<String, Consumer<InboundAuthenticationRequestConfig>> snapshotInbounds(
+            ServiceProvider application, InboundProtocols inboundProtocols) {
+
+        List<String> inboundTypes = new ArrayList<>();
+        if (inboundProtocols.getOidc() != null) {
+            inboundTypes.add(OAUTH2);
+        }
+        if (inboundProtocols.getSaml() != null) {
+            inboundTypes.add(SAML2);
+        }
+        if (inboundProtocols.getWsTrust() != null) {
+            inboundTypes.add(WS_TRUST);
+        }
+
+        Map<String, Consumer<InboundAuthenticationRequestConfig>> inboundRestorers = new HashMap<>();
+        for (String inboundType : inboundTypes) {
+            InboundAuthenticationRequestConfig currentInbound =
+                    getInboundAuthenticationRequestConfig(application, inboundType);
+            if (currentInbound != null) {
+                inboundRestorers.put(inboundType, snapshotInbound(currentInbound));
+            }
+        }
+        return inboundRestorers;
+    }
+
+    private void rollbackUpdatedInbounds(String applicationId,
+                                         Map<String, Consumer<InboundAuthenticationRequestConfig>> inboundRestorers,
+                                         List<InboundAuthenticationRequestConfig> updatedInbounds) {
+
+        for (InboundAuthenticationRequestConfig updatedInbound : updatedInbounds) {
+            Consumer<InboundAuthenticationRequestConfig> inboundRestorer =
+                    inboundRestorers.get(updatedInbound.getInboundAuthType());
+            try {
+                if (inboundRestorer != null) {
+                    // The inbound replaced an existing configuration, which is restored.
+                    inboundRestorer.accept(updatedInbound);
+                } else {
+                    rollbackInbound(updatedInbound);
+                }
+            } catch (APIError e) {
+                // Continue with the rest of the inbounds, so that as many of them as possible are restored.
+                log.error("Error while rolling back the " + updatedInbound.getInboundAuthType() + " inbound of " +
+                        "application: " + applicationId + ". " + e.getResponseEntity().getDescription());
+            }
+        }
+    }
+
     /**
      * Create a new template object.
      *
@@ -843,53 +1430,6 @@ public class ServerApplicationManagementService {
                 .collect(Collectors.toList());
     }
 
-    private String buildFilter(String filter) {
-
-        if (StringUtils.isNotBlank(filter)) {
-            String[] filterArgs = filter.split("\\s+");
-            if (filterArgs.length == 3) {
-                String searchField = filterArgs[0];
-                if (SEARCH_SUPPORTED_FIELDS.contains(searchField)) {
-                    String searchOperation = filterArgs[1];
-                    String searchValue = filterArgs[2];
-                    return generateFilterStringForBackend(searchField, searchOperation, searchValue);
-                } else {
-                    throw buildClientError(ErrorMessage.UNSUPPORTED_FILTER_ATTRIBUTE, searchField);
-                }
-
-            } else {
-                throw buildClientError(ErrorMessage.INVALID_FILTER_FORMAT);
-            }
-        } else {
-            return null;
-        }
-    }
-
-    private String generateFilterStringForBackend(String searchField, String searchOperation, String searchValue) {
-
-        // We do not have support for searching any fields other than the name. Therefore we simply format the search
-        // value based on the search operation.
-        String formattedFilter;
-        switch (searchOperation) {
-            case FILTER_STARTS_WITH:
-                formattedFilter = searchValue + "*";
-                break;
-            case FILTER_ENDS_WITH:
-                formattedFilter = "*" + searchValue;
-                break;
-            case FILTER_EQUALS:
-                formattedFilter = searchValue;
-                break;
-            case FILTER_CONTAINS:
-                formattedFilter = "*" + searchValue + "*";
-                break;
-            default:
-                throw buildClientError(ErrorMessage.INVALID_FILTER_OPERATION, searchOperation);
-        }
-
-        return formattedFilter;
-    }
-
     /**
      * Create or replace the provided inbound configuration.
      *
@@ -949,26 +1489,13 @@ public class ServerApplicationManagementService {
 
             getApplicationManagementService().updateApplicationByResourceId(
                     applicationId, updatedApplication, tenantDomain, username);
+            invalidateApplicationCaches(tenantDomain);
         } catch (IdentityApplicationManagementException e) {
             String msg = "Error updating application with id: " + applicationId;
             throw handleIdentityApplicationManagementException(e, msg);
         }
     }
 
-    private void handleNotImplementedCapabilities(String sortOrder, String sortBy, String requiredAttributes) {
-
-        ErrorMessage errorEnum = null;
-        if (sortBy != null || sortOrder != null) {
-            errorEnum = ErrorMessage.SORTING_NOT_IMPLEMENTED;
-        } else if (requiredAttributes != null) {
-            errorEnum = ErrorMessage.ATTRIBUTE_FILTERING_NOT_IMPLEMENTED;
-        }
-
-        if (errorEnum != null) {
-            throw Utils.buildServerError(errorEnum.getCode(), errorEnum.getMessage(), errorEnum.getDescription());
-        }
-    }
-
     private void validatePaginationSupport(Integer limit, Integer offset) {
 
         if (limit != null || offset != null) {
@@ -977,6 +1504,13 @@ public class ServerApplicationManagementService {
         }
     }
 
+    private void invalidateApplicationCaches(String tenantDomain) {
+
+        DefaultAuthenticationConfigCache.getInstance().invalidate(tenantDomain);
+        ApplicationCountCache.getInstance().invalidate(tenantDomain);
+        ApplicationListCache.getInstance().invalidate(tenantDomain);
+    }
+
     private ApplicationManagementService getApplicationManagementService() {
 
         return ApplicationManagementServiceHolder.getInstance().getApplicationManagementService();
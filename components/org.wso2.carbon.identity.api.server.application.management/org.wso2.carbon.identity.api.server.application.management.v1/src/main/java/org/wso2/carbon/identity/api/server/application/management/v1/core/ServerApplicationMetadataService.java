@@ -18,6 +18,7 @@
 
 package org.wso2.carbon.identity.api.server.application.management.v1.core;
 
+import com.fasterxml.jackson.core.type.TypeReference;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
@@ -32,14 +33,23 @@ import org.wso2.carbon.identity.api.server.application.management.v1.GrantTypeMe
 import org.wso2.carbon.identity.api.server.application.management.v1.MetadataProperty;
 import org.wso2.carbon.identity.api.server.application.management.v1.OIDCMetaData;
 import org.wso2.carbon.identity.api.server.application.management.v1.SAMLMetaData;
+import org.wso2.carbon.identity.api.server.application.management.v1.SAMLMetadataRefreshStatus;
 import org.wso2.carbon.identity.api.server.application.management.v1.WSTrustMetaData;
 import org.wso2.carbon.identity.api.server.application.management.v1.core.functions.Utils;
+import org.wso2.carbon.identity.api.server.application.management.v1.core.functions.application
+        .ApplicationMetadataCache;
+import org.wso2.carbon.identity.api.server.application.management.v1.core.functions.application
+        .ApplicationMetadataCache.CachedMetadata;
+import org.wso2.carbon.identity.api.server.application.management.v1.core.functions.application.inbound.saml
+        .SAMLMetadataRefresher;
+import org.wso2.carbon.identity.api.server.common.ContextLoader;
 import org.wso2.carbon.identity.api.server.common.error.APIError;
 import org.wso2.carbon.identity.application.common.model.Property;
 import org.wso2.carbon.identity.application.mgt.AbstractInboundAuthenticatorConfig;
 import org.wso2.carbon.identity.base.IdentityException;
 import org.wso2.carbon.identity.oauth.OAuthAdminServiceImpl;
 import org.wso2.carbon.identity.oauth.dto.OAuthIDTokenAlgorithmDTO;
+import org.wso2.carbon.identity.oauth.dto.OAuthTokenExpiryTimeDTO;
 import org.wso2.carbon.identity.sso.saml.SAMLSSOConfigServiceImpl;
 import org.wso2.carbon.security.SecurityConfigException;
 
@@ -50,6 +60,7 @@ import java.util.LinkedList;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
+import java.util.function.Supplier;
 
 import static org.wso2.carbon.identity.api.server.application.management.common.ApplicationManagementConstants.DEFAULT_CERTIFICATE_ALIAS;
 import static org.wso2.carbon.identity.api.server.application.management.common.ApplicationManagementConstants.DEFAULT_NAME_ID_FORMAT;
@@ -57,12 +68,21 @@ import static org.wso2.carbon.identity.api.server.application.management.common.
 import static org.wso2.carbon.identity.api.server.application.management.common.ApplicationManagementConstants.getOAuthGrantTypeNames;
 
 /**
- * Calls internal osgi services to get required application metadata.
+ * Calls internal osgi services to get required application metadata. The metadata is cached per tenant, along with
+ * an ETag of its content.
  */
 public class ServerApplicationMetadataService {
 
     private static final Log LOG = LogFactory.getLog(ServerApplicationMetadataService.class);
 
+    private static final String INBOUND_PROTOCOLS_METADATA = "inbound-protocols";
+    private static final String CUSTOM_INBOUND_PROTOCOLS_METADATA = "custom-inbound-protocols";
+    private static final String CUSTOM_PROTOCOL_METADATA = "custom-protocol:";
+    private static final String SAML_METADATA = "saml";
+    private static final String OIDC_METADATA = "oidc";
+    private static final String WS_TRUST_METADATA = "ws-trust";
+    private static final String ADAPTIVE_AUTH_TEMPLATES_METADATA = "adaptive-auth-templates";
+
     /**
      * Return a list of all available inbound protocols. If the customOnly parameter set to True, will return only the
      * custom protocols.
@@ -70,7 +90,82 @@ public class ServerApplicationMetadataService {
      * @param customOnly Set to True to get only custom protocols. Default value: False.
      * @return The list of inbound protocols.
      */
-    public List<AuthProtocolMetadata> getInboundProtocols(Boolean customOnly) {
+    public CachedMetadata<List<AuthProtocolMetadata>> getInboundProtocols(Boolean customOnly) {
+
+        boolean isCustomOnly = customOnly != null && customOnly;
+        return ApplicationMetadataCache.getInstance().getMetadata(ContextLoader.getTenantDomainFromContext(),
+                isCustomOnly ? CUSTOM_INBOUND_PROTOCOLS_METADATA : INBOUND_PROTOCOLS_METADATA,
+                new TypeReference<List<AuthProtocolMetadata>>() { }, () -> buildInboundProtocols(isCustomOnly));
+    }
+
+    /**
+     * Pull SAML metadata from the SAMLSSOConfigServiceImpl and return.
+     *
+     * @return Populated SAMLMetaData object.
+     */
+    public CachedMetadata<SAMLMetaData> getSAMLMetadata() {
+
+        return getCachedMetadata(SAML_METADATA, SAMLMetaData.class, this::buildSAMLMetadata);
+    }
+
+    /**
+     * Get the refresh status of the SAML service providers of the tenant, which were configured with a metadata URL.
+     * The status is not cached, as it changes with each refresh.
+     *
+     * @return Refresh status of the service providers.
+     */
+    public List<SAMLMetadataRefreshStatus> getSAMLMetadataRefreshStatus() {
+
+        return SAMLMetadataRefresher.getInstance().getRefreshStatus(ContextLoader.getTenantDomainFromContext());
+    }
+
+    /**
+     * Pull OAuth/OIDC Metadata from OAuthAdminServiceImpl and return.
+     *
+     * @return Populated OIDCMetadata object.
+     */
+    public CachedMetadata<OIDCMetaData> getOIDCMetadata() {
+
+        return getCachedMetadata(OIDC_METADATA, OIDCMetaData.class, this::buildOIDCMetadata);
+    }
+
+    /**
+     * Pull WS Trust metadata from STSAdminServiceInterface and return.
+     *
+     * @return Populated WSTrustMetadata object.
+     */
+    public CachedMetadata<WSTrustMetaData> getWSTrustMetadata() {
+
+        return getCachedMetadata(WS_TRUST_METADATA, WSTrustMetaData.class, this::buildWSTrustMetadata);
+    }
+
+    /**
+     * Pull property metadata of the custom inbound protocol that matches to the protocol name.
+     *
+     * @param inboundProtocolName URL encoded protocol name.
+     * @return Populated CustomInboundProtocolMetaData object.
+     */
+    public CachedMetadata<CustomInboundProtocolMetaData> getCustomProtocolMetadata(String inboundProtocolName) {
+
+        String protocolName = URLDecoder.decode(inboundProtocolName);
+        return getCachedMetadata(CUSTOM_PROTOCOL_METADATA + protocolName, CustomInboundProtocolMetaData.class,
+                () -> buildCustomProtocolMetadata(inboundProtocolName, protocolName));
+    }
+
+    public CachedMetadata<AdaptiveAuthTemplates> getAdaptiveAuthTemplates() {
+
+        return getCachedMetadata(ADAPTIVE_AUTH_TEMPLATES_METADATA, AdaptiveAuthTemplates.class,
+                () -> new AdaptiveAuthTemplates().templatesJSON(ApplicationManagementServiceHolder.getInstance()
+                        .getApplicationManagementService().getAuthenticationTemplatesJSON()));
+    }
+
+    private <T> CachedMetadata<T> getCachedMetadata(String metadataType, Class<T> metadataClass, Supplier<T> loader) {
+
+        return ApplicationMetadataCache.getInstance()
+                .getMetadata(ContextLoader.getTenantDomainFromContext(), metadataType, metadataClass, loader);
+    }
+
+    private List<AuthProtocolMetadata> buildInboundProtocols(boolean customOnly) {
 
         List<AuthProtocolMetadata> authProtocolMetadataList = new ArrayList<>();
 
@@ -87,7 +182,7 @@ public class ServerApplicationMetadataService {
             authProtocolMetadataList.add(protocol);
         }
 
-        if (customOnly == null || !customOnly) {
+        if (!customOnly) {
             // Add default inbound protocols. WS-Federation (Passive) is not added because it doesn't have metadata,
             authProtocolMetadataList.add(new AuthProtocolMetadata().name("saml")
                     .displayName("SAML2 Web SSO Configuration"));
@@ -100,12 +195,7 @@ public class ServerApplicationMetadataService {
         return authProtocolMetadataList;
     }
 
-    /**
-     * Pull SAML metadata from the SAMLSSOConfigServiceImpl and return.
-     *
-     * @return Populated SAMLMetaData object.
-     */
-    public SAMLMetaData getSAMLMetadata() {
+    private SAMLMetaData buildSAMLMetadata() {
 
         SAMLMetaData samlMetaData = new SAMLMetaData();
         SAMLSSOConfigServiceImpl samlSSOConfigService = ApplicationManagementServiceHolder.getInstance()
@@ -140,12 +230,7 @@ public class ServerApplicationMetadataService {
         return samlMetaData;
     }
 
-    /**
-     * Pull OAuth/OIDC Metadata from OAuthAdminServiceImpl and return.
-     *
-     * @return Populated OIDCMetadata object.
-     */
-    public OIDCMetaData getOIDCMetadata() {
+    private OIDCMetaData buildOIDCMetadata() {
 
         OIDCMetaData oidcMetaData = new OIDCMetaData();
         OAuthAdminServiceImpl oAuthAdminService = ApplicationManagementServiceHolder.getInstance()
@@ -153,16 +238,13 @@ public class ServerApplicationMetadataService {
 
         List<String> supportedGrantTypes = new LinkedList<>(Arrays.asList(oAuthAdminService.getAllowedGrantTypes()));
         List<GrantType> supportedGrantTypeNames = new ArrayList<>();
+        Map<String, String> grantTypeDisplayNames = getOAuthGrantTypeNames();
         // Iterate through the standard grant type names and add matching elements.
         for (String supportedGrantTypeName : supportedGrantTypes) {
             GrantType grantType = new GrantType();
-            if (getOAuthGrantTypeNames().keySet().contains(supportedGrantTypeName)) {
-                grantType.setName(supportedGrantTypeName);
-                grantType.setDisplayName(getOAuthGrantTypeNames().get(supportedGrantTypeName));
-            } else {
-                grantType.setName(supportedGrantTypeName);
-                grantType.setDisplayName(supportedGrantTypeName);
-            }
+            grantType.setName(supportedGrantTypeName);
+            grantType.setDisplayName(grantTypeDisplayNames.getOrDefault(supportedGrantTypeName,
+                    supportedGrantTypeName));
             supportedGrantTypeNames.add(grantType);
         }
         // Set extracted grant types.
@@ -170,14 +252,15 @@ public class ServerApplicationMetadataService {
                 new GrantTypeMetaData()
                         .options(supportedGrantTypeNames));
 
+        OAuthTokenExpiryTimeDTO tokenExpiryTimes = oAuthAdminService.getTokenExpiryTimes();
         oidcMetaData.setDefaultUserAccessTokenExpiryTime(
-                String.valueOf(oAuthAdminService.getTokenExpiryTimes().getUserAccessTokenExpiryTime()));
+                String.valueOf(tokenExpiryTimes.getUserAccessTokenExpiryTime()));
         oidcMetaData.defaultApplicationAccessTokenExpiryTime(
-                String.valueOf(oAuthAdminService.getTokenExpiryTimes().getApplicationAccessTokenExpiryTime()));
+                String.valueOf(tokenExpiryTimes.getApplicationAccessTokenExpiryTime()));
         oidcMetaData.defaultRefreshTokenExpiryTime(
-                String.valueOf(oAuthAdminService.getTokenExpiryTimes().getRefreshTokenExpiryTime()));
+                String.valueOf(tokenExpiryTimes.getRefreshTokenExpiryTime()));
         oidcMetaData.defaultIdTokenExpiryTime(
-                String.valueOf(oAuthAdminService.getTokenExpiryTimes().getIdTokenExpiryTime()));
+                String.valueOf(tokenExpiryTimes.getIdTokenExpiryTime()));
 
         OAuthIDTokenAlgorithmDTO idTokenAlgorithmDTO = oAuthAdminService.getSupportedIDTokenAlgorithms();
         oidcMetaData.setIdTokenEncryptionAlgorithm(
@@ -202,12 +285,7 @@ public class ServerApplicationMetadataService {
         return oidcMetaData;
     }
 
-    /**
-     * Pull WS Trust metadata from STSAdminServiceInterface and return.
-     *
-     * @return Populated WSTrustMetadata object.
-     */
-    public WSTrustMetaData getWSTrustMetadata() {
+    private WSTrustMetaData buildWSTrustMetadata() {
 
         WSTrustMetaData wsTrustMetaData = new WSTrustMetaData();
         try {
@@ -221,15 +299,9 @@ public class ServerApplicationMetadataService {
         return wsTrustMetaData;
     }
 
-    /**
-     * Pull property metadata of the custom inbound protocol that matches to the protocol name.
-     *
-     * @param inboundProtocolName URL encoded protocol name.
-     * @return Populated CustomInboundProtocolMetaData object.
-     */
-    public CustomInboundProtocolMetaData getCustomProtocolMetadata(String inboundProtocolName) {
+    private CustomInboundProtocolMetaData buildCustomProtocolMetadata(String inboundProtocolName,
+                                                                      String protocolName) {
 
-        String protocolName = URLDecoder.decode(inboundProtocolName);
         Map<String, AbstractInboundAuthenticatorConfig> allCustomAuthenticators =
                 ApplicationManagementServiceHolder.getInstance().getApplicationManagementService()
                         .getAllInboundAuthenticatorConfig();
@@ -291,14 +363,6 @@ public class ServerApplicationMetadataService {
         return protocolProperties;
     }
 
-    public AdaptiveAuthTemplates getAdaptiveAuthTemplates() {
-
-        AdaptiveAuthTemplates adaptiveAuthTemplates = new AdaptiveAuthTemplates();
-        adaptiveAuthTemplates.setTemplatesJSON(ApplicationManagementServiceHolder.getInstance()
-                .getApplicationManagementService().getAuthenticationTemplatesJSON());
-        return adaptiveAuthTemplates;
-    }
-
     /**
      * If the passed exception has an error message, set it to the description of the API error response.
      *
@@ -17,15 +17,11 @@ package org.wso2.carbon.identity.api.server.application.management.v1.core.funct
 
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
+import org.wso2.carbon.identity.api.server.application.management.v1.core.functions.application.ServiceProviderCopier;
 import org.wso2.carbon.identity.api.server.common.error.APIError;
 import org.wso2.carbon.identity.api.server.common.error.ErrorResponse;
 import org.wso2.carbon.identity.application.common.model.ServiceProvider;
 
-import java.io.ByteArrayInputStream;
-import java.io.ByteArrayOutputStream;
-import java.io.IOException;
-import java.io.ObjectInputStream;
-import java.io.ObjectOutputStream;
 import java.util.function.Consumer;
 import java.util.stream.Stream;
 import javax.ws.rs.core.Response;
@@ -63,23 +59,16 @@ public class Utils {
         return object != null ? Stream.of(object) : Stream.empty();
     }
 
+    /**
+     * Copy an application so that it can be modified without making the cached application dirty.
+     *
+     * @param application Application to copy.
+     * @return Copy of the application.
+     * @see ServiceProviderCopier
+     */
     public static ServiceProvider deepCopyApplication(ServiceProvider application) {
 
-        ObjectOutputStream objOutPutStream;
-        ObjectInputStream objInputStream;
-        ServiceProvider newObject;
-        try {
-            ByteArrayOutputStream byteArrayOutPutStream = new ByteArrayOutputStream();
-            objOutPutStream = new ObjectOutputStream(byteArrayOutPutStream);
-            objOutPutStream.writeObject(application);
-
-            ByteArrayInputStream byteArrayInputStream = new ByteArrayInputStream(byteArrayOutPutStream.toByteArray());
-            objInputStream = new ObjectInputStream(byteArrayInputStream);
-            newObject = (ServiceProvider) objInputStream.readObject();
-        } catch (ClassNotFoundException | IOException e) {
-            throw buildServerError("Error deep cloning application object.", e);
-        }
-        return newObject;
+        return ServiceProviderCopier.copy(application);
     }
 
     public static APIError buildBadRequestError(String description) {
@@ -157,6 +146,18 @@ public class Utils {
         return new APIError(status, errorResponse);
     }
 
+    public static APIError buildServiceUnavailableError(String errorCode, String message, String description) {
+
+        ErrorResponse errorResponse = new ErrorResponse.Builder()
+                .withCode(errorCode)
+                .withMessage(message)
+                .withDescription(description)
+                .build(log, description);
+
+        Response.Status status = Response.Status.SERVICE_UNAVAILABLE;
+        return new APIError(status, errorResponse);
+    }
+
     public static APIError buildNotFoundError(String errorCode, String message, String description) {
 
         ErrorResponse errorResponse = new ErrorResponse.Builder()
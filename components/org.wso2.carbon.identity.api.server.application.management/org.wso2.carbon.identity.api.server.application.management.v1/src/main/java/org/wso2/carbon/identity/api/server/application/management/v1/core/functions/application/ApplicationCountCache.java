@@ -0,0 +1,72 @@
+/*
+ * Copyright (c) 2020, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.wso2.carbon.identity.api.server.application.management.v1.core.functions.application;
+
+import org.wso2.carbon.identity.api.server.application.management.common.ApplicationManagementServiceHolder;
+import org.wso2.carbon.identity.api.server.common.cache.ExpiringCache;
+import org.wso2.carbon.identity.application.common.IdentityApplicationManagementException;
+
+import static org.wso2.carbon.identity.api.server.application.management.common.ApplicationManagementConstants.APPLICATION_COUNT_CACHE_TIMEOUT;
+
+/**
+ * Cache of the number of applications matching a listing filter, keyed by the tenant domain, the user and the
+ * filter. Listing the applications page by page requests the same count for each page, so caching it avoids
+ * counting the applications again for each page.
+ */
+public class ApplicationCountCache {
+
+    private static final ApplicationCountCache INSTANCE = new ApplicationCountCache();
+
+    private final ExpiringCache<ApplicationListingKey, Integer> cache =
+            new ExpiringCache<>(APPLICATION_COUNT_CACHE_TIMEOUT);
+
+    private ApplicationCountCache() {
+
+    }
+
+    public static ApplicationCountCache getInstance() {
+
+        return INSTANCE;
+    }
+
+    /**
+     * Get the number of applications of a tenant that are visible to a user and match the given filter.
+     *
+     * @param tenantDomain Tenant domain.
+     * @param username     Username of the user listing the applications.
+     * @param filter       Filter in the format understood by the backend. Can be null.
+     * @return Number of matching applications.
+     * @throws IdentityApplicationManagementException If an error occurred while counting the applications.
+     */
+    public int getCountOfApplications(String tenantDomain, String username, String filter)
+            throws IdentityApplicationManagementException {
+
+        return cache.get(new ApplicationListingKey(tenantDomain, username, filter), key ->
+                ApplicationManagementServiceHolder.getInstance().getApplicationManagementService()
+                        .getCountOfApplications(key.getTenantDomain(), key.getUsername(), key.getFilter()));
+    }
+
+    /**
+     * Invalidate the cached counts of a tenant. Must be called when an application of the tenant is created, renamed
+     * or deleted.
+     *
+     * @param tenantDomain Tenant domain.
+     */
+    public void invalidate(String tenantDomain) {
+
+        cache.removeIf(key -> key.isOfTenant(tenantDomain));
+    }
+}
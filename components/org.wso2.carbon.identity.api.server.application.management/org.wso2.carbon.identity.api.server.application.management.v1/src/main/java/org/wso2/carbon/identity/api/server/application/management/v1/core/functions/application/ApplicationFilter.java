@@ -0,0 +1,382 @@
+/*
+ * Copyright (c) 2020, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.wso2.carbon.identity.api.server.application.management.v1.core.functions.application;
+
+import org.apache.commons.lang.StringUtils;
+import org.wso2.carbon.identity.api.server.application.management.common.ApplicationManagementConstants.ErrorMessage;
+import org.wso2.carbon.identity.api.server.application.management.v1.core.functions.Utils;
+import org.wso2.carbon.identity.api.server.common.error.APIError;
+import org.wso2.carbon.identity.application.common.IdentityApplicationManagementException;
+import org.wso2.carbon.identity.application.common.model.ApplicationBasicInfo;
+import org.wso2.carbon.identity.application.common.util.IdentityApplicationConstants;
+import org.wso2.carbon.identity.application.mgt.ApplicationManagementService;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.wso2.carbon.identity.api.server.application.management.common.ApplicationManagementConstants.APPLICATION_FILTER_CACHE_SIZE;
+import static org.wso2.carbon.identity.application.authentication.framework.util.FrameworkConstants.StandardInboundProtocols.OAUTH2;
+import static org.wso2.carbon.identity.application.authentication.framework.util.FrameworkConstants.StandardInboundProtocols.SAML2;
+
+/**
+ * Compiled plan of an application listing filter. A filter is one or more conditions of the form
+ * {@code <attribute> <eq|sw|ew|co> <value>} joined with {@code and} or {@code or}, where {@code and} takes precedence
+ * over {@code or}. The value can be enclosed in double quotes, within which a double quote or a backslash is escaped
+ * with a backslash. The supported attributes and operations are:
+ * <ul>
+ * <li>'name' with the 'eq', 'sw', 'ew' and 'co' operations.</li>
+ * <li>'clientId', the OAuth2 client id of the application, with the 'eq' operation only.</li>
+ * <li>'issuer', the SAML issuer of the application, with the 'eq' operation only.</li>
+ * </ul>
+ * These are also documented with the 'filter' parameter of the API, and must be kept in sync with it.
+ * <p>
+ * Filters with a single condition on the 'name' attribute are evaluated by the backend along with the pagination.
+ * For other filters, an OAuth2 client id or a SAML issuer is resolved to its application directly by the backend,
+ * while a condition on the name is used as a backend name filter. The rest of the name conditions are evaluated on
+ * the basic information of the resolved applications, so that applications are never loaded in full.
+ * <p>
+ * Compiled plans are immutable and cached by the filter string.
+ */
+public class ApplicationFilter {
+
+    private static final ApplicationFilter EMPTY_FILTER = new ApplicationFilter(Collections.emptyList());
+
+    private static final Pattern TOKEN_PATTERN = Pattern.compile("\"((?:[^\"\\\\]|\\\\.)*)\"|(\\S+)");
+    private static final Pattern ESCAPED_CHARACTER_PATTERN = Pattern.compile("\\\\(.)");
+    private static final String AND = "and";
+    private static final String OR = "or";
+
+    private static final Map<String, ApplicationFilter> PLAN_CACHE = Collections.synchronizedMap(
+            new LinkedHashMap<String, ApplicationFilter>(16, 0.75f, true) {
+
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<String, ApplicationFilter> eldest) {
+
+                    return size() > APPLICATION_FILTER_CACHE_SIZE;
+                }
+            });
+
+    // Groups of conditions joined with 'and', which are in turn joined with 'or'.
+    private final List<List<Condition>> conditionGroups;
+
+    private ApplicationFilter(List<List<Condition>> conditionGroups) {
+
+        this.conditionGroups = conditionGroups;
+    }
+
+    /**
+     * Get the compiled plan of the given filter.
+     *
+     * @param filter Filter string. Can be null.
+     * @return Compiled plan of the filter.
+     * @throws APIError If the filter is malformed or uses an unsupported attribute or operation.
+     */
+    public static ApplicationFilter compile(String filter) {
+
+        if (StringUtils.isBlank(filter)) {
+            return EMPTY_FILTER;
+        }
+
+        ApplicationFilter applicationFilter = PLAN_CACHE.get(filter);
+        if (applicationFilter == null) {
+            applicationFilter = parse(filter);
+            PLAN_CACHE.put(filter, applicationFilter);
+        }
+        return applicationFilter;
+    }
+
+    /**
+     * Check whether the filter can be evaluated by the backend along with the pagination, i.e. whether it is empty or
+     * has a single condition on the name.
+     *
+     * @return True if the filter can be evaluated by the backend.
+     */
+    public boolean isEvaluatedByBackend() {
+
+        return conditionGroups.isEmpty() ||
+                conditionGroups.size() == 1 && conditionGroups.get(0).size() == 1 &&
+                        conditionGroups.get(0).get(0).attribute == Attribute.NAME;
+    }
+
+    /**
+     * Get the filter in the format understood by the backend. Only applicable if the filter is evaluated by the
+     * backend.
+     *
+     * @return Backend filter or null if the filter is empty.
+     */
+    public String getBackendFilter() {
+
+        return conditionGroups.isEmpty() ? null : conditionGroups.get(0).get(0).toBackendFilter();
+    }
+
+    /**
+     * Get the applications matching the filter.
+     *
+     * @param applicationManagementService Application management service.
+     * @param tenantDomain                 Tenant domain.
+     * @param username                     Username of the user listing the applications.
+     * @return Matching applications, in no particular order.
+     * @throws IdentityApplicationManagementException If an error occurred while retrieving the applications.
+     */
+    public List<ApplicationBasicInfo> apply(ApplicationManagementService applicationManagementService,
+                                            String tenantDomain, String username)
+            throws IdentityApplicationManagementException {
+
+        if (conditionGroups.isEmpty()) {
+            ApplicationBasicInfo[] applications = applicationManagementService.getAllApplicationBasicInfo(tenantDomain,
+                    username);
+            return applications != null ? Arrays.asList(applications) : Collections.emptyList();
+        }
+
+        Map<String, ApplicationBasicInfo> matchingApplications = new LinkedHashMap<>();
+        for (List<Condition> conditionGroup : conditionGroups) {
+            for (ApplicationBasicInfo candidate : getCandidates(conditionGroup, applicationManagementService,
+                    tenantDomain, username)) {
+                if (!matchingApplications.containsKey(candidate.getApplicationResourceId()) &&
+                        matches(conditionGroup, candidate)) {
+                    matchingApplications.put(candidate.getApplicationResourceId(), candidate);
+                }
+            }
+        }
+        return new ArrayList<>(matchingApplications.values());
+    }
+
+    private List<ApplicationBasicInfo> getCandidates(List<Condition> conditionGroup,
+                                                     ApplicationManagementService applicationManagementService,
+                                                     String tenantDomain, String username)
+            throws IdentityApplicationManagementException {
+
+        String resolvedApplicationName = null;
+        Condition nameCondition = null;
+        for (Condition condition : conditionGroup) {
+            if (condition.attribute.inboundType != null) {
+                // The application of an inbound key is resolved directly. All the inbound keys of the group need to
+                // belong to the same application.
+                String applicationName = applicationManagementService.getServiceProviderNameByClientId(
+                        condition.value, condition.attribute.inboundType, tenantDomain);
+                if (applicationName == null ||
+                        IdentityApplicationConstants.DEFAULT_SP_CONFIG.equals(applicationName) ||
+                        resolvedApplicationName != null && !resolvedApplicationName.equals(applicationName)) {
+                    // The backend falls back to the 'default' application when there is no application for the key.
+                    return Collections.emptyList();
+                }
+                resolvedApplicationName = applicationName;
+            } else if (nameCondition == null) {
+                nameCondition = condition;
+            }
+        }
+
+        if (resolvedApplicationName != null) {
+            return getApplicationsByName(resolvedApplicationName, applicationManagementService, tenantDomain,
+                    username);
+        }
+        ApplicationBasicInfo[] candidates;
+        if (nameCondition != null) {
+            candidates = applicationManagementService.getApplicationBasicInfo(tenantDomain, username,
+                    nameCondition.toBackendFilter());
+        } else {
+            candidates = applicationManagementService.getAllApplicationBasicInfo(tenantDomain, username);
+        }
+        return candidates != null ? Arrays.asList(candidates) : Collections.emptyList();
+    }
+
+    private List<ApplicationBasicInfo> getApplicationsByName(String applicationName,
+                                                             ApplicationManagementService applicationManagementService,
+                                                             String tenantDomain, String username)
+            throws IdentityApplicationManagementException {
+
+        ApplicationBasicInfo[] applications = applicationManagementService.getApplicationBasicInfo(tenantDomain,
+                username, applicationName);
+        List<ApplicationBasicInfo> matchingApplications = new ArrayList<>();
+        if (applications != null) {
+            for (ApplicationBasicInfo application : applications) {
+                if (applicationName.equals(application.getApplicationName())) {
+                    matchingApplications.add(application);
+                }
+            }
+        }
+        return matchingApplications;
+    }
+
+    private boolean matches(List<Condition> conditionGroup, ApplicationBasicInfo application) {
+
+        // Conditions on inbound keys are already satisfied by the candidates.
+        for (Condition condition : conditionGroup) {
+            if (condition.attribute == Attribute.NAME && !condition.matches(application.getApplicationName())) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static ApplicationFilter parse(String filter) {
+
+        List<String> tokens = new ArrayList<>();
+        List<Boolean> quoted = new ArrayList<>();
+        Matcher matcher = TOKEN_PATTERN.matcher(filter);
+        while (matcher.find()) {
+            if (matcher.group(1) != null) {
+                tokens.add(ESCAPED_CHARACTER_PATTERN.matcher(matcher.group(1)).replaceAll("$1"));
+                quoted.add(true);
+            } else {
+                tokens.add(matcher.group(2));
+                quoted.add(false);
+            }
+        }
+
+        // Each condition takes three tokens and is followed by a logical operator, unless it is the last one.
+        if (tokens.size() % 4 != 3) {
+            throw buildClientError(ErrorMessage.INVALID_FILTER_FORMAT);
+        }
+
+        List<List<Condition>> conditionGroups = new ArrayList<>();
+        List<Condition> conditionGroup = new ArrayList<>();
+        for (int i = 0; i < tokens.size(); i += 4) {
+            if (quoted.get(i) || quoted.get(i + 1)) {
+                throw buildClientError(ErrorMessage.INVALID_FILTER_FORMAT);
+            }
+            Attribute attribute = Attribute.fromName(tokens.get(i));
+            Operation operation = Operation.fromName(tokens.get(i + 1));
+            if (attribute.inboundType != null && operation != Operation.EQ) {
+                // Only exact inbound keys can be resolved to their applications without loading every application.
+                throw buildClientError(ErrorMessage.UNSUPPORTED_INBOUND_KEY_FILTER_OPERATION, attribute.name);
+            }
+            conditionGroup.add(new Condition(attribute, operation, tokens.get(i + 2)));
+
+            if (i + 3 < tokens.size()) {
+                String logicalOperator = tokens.get(i + 3);
+                if (quoted.get(i + 3)) {
+                    throw buildClientError(ErrorMessage.INVALID_FILTER_FORMAT);
+                } else if (OR.equalsIgnoreCase(logicalOperator)) {
+                    conditionGroups.add(Collections.unmodifiableList(conditionGroup));
+                    conditionGroup = new ArrayList<>();
+                } else if (!AND.equalsIgnoreCase(logicalOperator)) {
+                    throw buildClientError(ErrorMessage.INVALID_FILTER_FORMAT);
+                }
+            }
+        }
+        conditionGroups.add(Collections.unmodifiableList(conditionGroup));
+        return new ApplicationFilter(Collections.unmodifiableList(conditionGroups));
+    }
+
+    private static APIError buildClientError(ErrorMessage errorEnum, String... args) {
+
+        return Utils.buildClientError(errorEnum.getCode(), errorEnum.getMessage(),
+                String.format(errorEnum.getDescription(), (Object[]) args));
+    }
+
+    /**
+     * Attributes supported in the filter, along with the inbound type whose inbound key they refer to.
+     */
+    private enum Attribute {
+
+        NAME("name", null),
+        CLIENT_ID("clientId", OAUTH2),
+        ISSUER("issuer", SAML2);
+
+        private final String name;
+        private final String inboundType;
+
+        Attribute(String name, String inboundType) {
+
+            this.name = name;
+            this.inboundType = inboundType;
+        }
+
+        static Attribute fromName(String name) {
+
+            for (Attribute attribute : values()) {
+                if (attribute.name.equals(name)) {
+                    return attribute;
+                }
+            }
+            throw buildClientError(ErrorMessage.UNSUPPORTED_FILTER_ATTRIBUTE, name);
+        }
+    }
+
+    /**
+     * Operations supported in the filter.
+     */
+    private enum Operation {
+
+        EQ, SW, EW, CO;
+
+        static Operation fromName(String name) {
+
+            for (Operation operation : values()) {
+                if (operation.name().equalsIgnoreCase(name)) {
+                    return operation;
+                }
+            }
+            throw buildClientError(ErrorMessage.INVALID_FILTER_OPERATION, name);
+        }
+    }
+
+    /**
+     * A single condition of the filter. Application names are matched case insensitively.
+     */
+    private static class Condition {
+
+        private final Attribute attribute;
+        private final Operation operation;
+        private final String value;
+
+        Condition(Attribute attribute, Operation operation, String value) {
+
+            this.attribute = attribute;
+            this.operation = operation;
+            this.value = value;
+        }
+
+        boolean matches(String attributeValue) {
+
+            if (attributeValue == null) {
+                return false;
+            }
+            switch (operation) {
+                case EQ:
+                    return StringUtils.equalsIgnoreCase(attributeValue, value);
+                case SW:
+                    return StringUtils.startsWithIgnoreCase(attributeValue, value);
+                case EW:
+                    return StringUtils.endsWithIgnoreCase(attributeValue, value);
+                default:
+                    return StringUtils.containsIgnoreCase(attributeValue, value);
+            }
+        }
+
+        String toBackendFilter() {
+
+            // The backend only supports filtering the name using wildcards.
+            switch (operation) {
+                case EQ:
+                    return value;
+                case SW:
+                    return value + "*";
+                case EW:
+                    return "*" + value;
+                default:
+                    return "*" + value + "*";
+            }
+        }
+    }
+}
@@ -0,0 +1,78 @@
+/*
+ * Copyright (c) 2020, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.wso2.carbon.identity.api.server.application.management.v1.core.functions.application;
+
+import org.wso2.carbon.identity.api.server.application.management.common.ApplicationManagementServiceHolder;
+import org.wso2.carbon.identity.api.server.common.cache.ExpiringCache;
+import org.wso2.carbon.identity.application.common.IdentityApplicationManagementException;
+import org.wso2.carbon.identity.application.common.model.ApplicationBasicInfo;
+
+import java.util.Collections;
+import java.util.List;
+
+import static org.wso2.carbon.identity.api.server.application.management.common.ApplicationManagementConstants.APPLICATION_LIST_CACHE_SIZE;
+import static org.wso2.carbon.identity.api.server.application.management.common.ApplicationManagementConstants.APPLICATION_LIST_CACHE_TIMEOUT;
+
+/**
+ * Cache of the applications matching a listing filter, keyed by the tenant domain, the user and the filter. Listings
+ * which the backend cannot sort or filter are sorted and paginated in memory, so caching the matching applications
+ * avoids loading all of them again for each page.
+ */
+public class ApplicationListCache {
+
+    private static final ApplicationListCache INSTANCE = new ApplicationListCache();
+
+    private final ExpiringCache<ApplicationListingKey, List<ApplicationBasicInfo>> cache =
+            new ExpiringCache<>(APPLICATION_LIST_CACHE_TIMEOUT, APPLICATION_LIST_CACHE_SIZE);
+
+    private ApplicationListCache() {
+
+    }
+
+    public static ApplicationListCache getInstance() {
+
+        return INSTANCE;
+    }
+
+    /**
+     * Get the applications of a tenant that are visible to a user and match the given filter.
+     *
+     * @param tenantDomain Tenant domain.
+     * @param username     Username of the user listing the applications.
+     * @param filter       Listing filter of the API. Can be null.
+     * @return Unmodifiable list of the matching applications, in no particular order.
+     * @throws IdentityApplicationManagementException If an error occurred while retrieving the applications.
+     */
+    public List<ApplicationBasicInfo> getApplications(String tenantDomain, String username, String filter)
+            throws IdentityApplicationManagementException {
+
+        return cache.get(new ApplicationListingKey(tenantDomain, username, filter), key ->
+                Collections.unmodifiableList(ApplicationFilter.compile(key.getFilter()).apply(
+                        ApplicationManagementServiceHolder.getInstance().getApplicationManagementService(),
+                        key.getTenantDomain(), key.getUsername())));
+    }
+
+    /**
+     * Invalidate the cached applications of a tenant. Must be called when an application of the tenant is created,
+     * updated or deleted.
+     *
+     * @param tenantDomain Tenant domain.
+     */
+    public void invalidate(String tenantDomain) {
+
+        cache.removeIf(key -> key.isOfTenant(tenantDomain));
+    }
+}
@@ -0,0 +1,76 @@
+/*
+ * Copyright (c) 2020, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.wso2.carbon.identity.api.server.application.management.v1.core.functions.application;
+
+import java.util.Objects;
+
+/**
+ * Key of the cached results of an application listing: the tenant, the user listing the applications, who may only
+ * see some of them, and the listing filter.
+ */
+final class ApplicationListingKey {
+
+    private final String tenantDomain;
+    private final String username;
+    private final String filter;
+
+    ApplicationListingKey(String tenantDomain, String username, String filter) {
+
+        this.tenantDomain = tenantDomain;
+        this.username = username;
+        this.filter = filter;
+    }
+
+    String getTenantDomain() {
+
+        return tenantDomain;
+    }
+
+    String getUsername() {
+
+        return username;
+    }
+
+    String getFilter() {
+
+        return filter;
+    }
+
+    boolean isOfTenant(String tenantDomain) {
+
+        return Objects.equals(this.tenantDomain, tenantDomain);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        ApplicationListingKey that = (ApplicationListingKey) o;
+        return Objects.equals(tenantDomain, that.tenantDomain) && Objects.equals(username, that.username) &&
+                Objects.equals(filter, that.filter);
+    }
+
+    @Override
+    public int hashCode() {
+
+        return Objects.hash(tenantDomain, username, filter);
+    }
+}
@@ -0,0 +1,188 @@
+/*
+ * Copyright (c) 2020, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.api.server.application.management.v1.core.functions.application;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.wso2.carbon.identity.api.server.application.management.common.ApplicationManagementServiceHolder;
+import org.wso2.carbon.identity.api.server.common.cache.ExpiringCache;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.function.Supplier;
+
+import static org.wso2.carbon.identity.api.server.application.management.common.ApplicationManagementConstants.APPLICATION_METADATA_CACHE_TIMEOUT;
+
+/**
+ * Cache of the inbound protocol metadata responses, keyed by the tenant domain and the type of the metadata. Each
+ * cached response carries an ETag computed from its content, so that clients can revalidate the metadata with
+ * conditional requests.
+ * <p>
+ * The cache is cleared when the registered inbound authenticators change. Changes to the server configuration which
+ * are not visible to this API are bounded by the time-to-live of the entries. The cached metadata is never handed
+ * out, callers get a copy of it, so that modifying a response cannot affect the responses of other requests.
+ */
+public class ApplicationMetadataCache {
+
+    private static final Log log = LogFactory.getLog(ApplicationMetadataCache.class);
+    private static final ApplicationMetadataCache INSTANCE = new ApplicationMetadataCache();
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+    private static final String ETAG_DIGEST_ALGORITHM = "SHA-256";
+
+    private final ExpiringCache<String, CachedMetadata<?>> cache =
+            new ExpiringCache<>(APPLICATION_METADATA_CACHE_TIMEOUT);
+    private volatile Set<String> registeredInboundAuthenticators;
+
+    private ApplicationMetadataCache() {
+
+    }
+
+    public static ApplicationMetadataCache getInstance() {
+
+        return INSTANCE;
+    }
+
+    /**
+     * Get the cached metadata of a tenant, building and caching it with the given loader if it is not available.
+     *
+     * @param tenantDomain  Tenant domain.
+     * @param metadataType  Type of the metadata, unique among the metadata responses.
+     * @param metadataClass Class of the metadata, used to copy it.
+     * @param loader        Builds the metadata on a cache miss.
+     * @param <T>           Type of the metadata.
+     * @return Cached or built metadata along with its ETag.
+     */
+    public <T> CachedMetadata<T> getMetadata(String tenantDomain, String metadataType, Class<T> metadataClass,
+                                             Supplier<T> loader) {
+
+        return getMetadata(tenantDomain, metadataType, OBJECT_MAPPER.constructType(metadataClass), loader);
+    }
+
+    /**
+     * Get the cached metadata of a tenant, building and caching it with the given loader if it is not available.
+     *
+     * @param tenantDomain  Tenant domain.
+     * @param metadataType  Type of the metadata, unique among the metadata responses.
+     * @param typeReference Generic type of the metadata, used to copy it.
+     * @param loader        Builds the metadata on a cache miss.
+     * @param <T>           Type of the metadata.
+     * @return Cached or built metadata along with its ETag.
+     */
+    public <T> CachedMetadata<T> getMetadata(String tenantDomain, String metadataType, TypeReference<T> typeReference,
+                                             Supplier<T> loader) {
+
+        return getMetadata(tenantDomain, metadataType, OBJECT_MAPPER.getTypeFactory().constructType(typeReference),
+                loader);
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> CachedMetadata<T> getMetadata(String tenantDomain, String metadataType, JavaType type,
+                                              Supplier<T> loader) {
+
+        clearOnInboundAuthenticatorChange();
+        return (CachedMetadata<T>) cache.get(tenantDomain + ":" + metadataType, key -> {
+            T metadata = loader.get();
+            return new CachedMetadata<>(OBJECT_MAPPER.valueToTree(metadata), type, buildETag(metadata));
+        });
+    }
+
+    /**
+     * Remove all the cached metadata. Must be called when a configuration the metadata is built from is modified.
+     */
+    public void clear() {
+
+        cache.clear();
+    }
+
+    private void clearOnInboundAuthenticatorChange() {
+
+        // Inbound authenticators are registered as OSGi services, so compare the registered names on each request.
+        Set<String> currentInboundAuthenticators = new HashSet<>(ApplicationManagementServiceHolder.getInstance()
+                .getApplicationManagementService().getAllInboundAuthenticatorConfig().keySet());
+        if (!currentInboundAuthenticators.equals(registeredInboundAuthenticators)) {
+            if (registeredInboundAuthenticators != null && log.isDebugEnabled()) {
+                log.debug("Registered inbound authenticators changed. Clearing the cached application metadata.");
+            }
+            registeredInboundAuthenticators = currentInboundAuthenticators;
+            cache.clear();
+        }
+    }
+
+    private String buildETag(Object metadata) {
+
+        try {
+            MessageDigest messageDigest = MessageDigest.getInstance(ETAG_DIGEST_ALGORITHM);
+            return Base64.getUrlEncoder().withoutPadding()
+                    .encodeToString(messageDigest.digest(OBJECT_MAPPER.writeValueAsBytes(metadata)));
+        } catch (JsonProcessingException | NoSuchAlgorithmException e) {
+            // The metadata can still be served, only without conditional request support.
+            log.error("Error while computing the ETag of application metadata.", e);
+            return null;
+        }
+    }
+
+    /**
+     * Cached metadata along with the ETag of its content. The metadata is cached as a JSON tree, which is only read to
+     * create copies of the metadata. The tree is converted rather than the metadata itself, since
+     * ObjectMapper.convertValue returns the same instance when converting a value to its own type.
+     *
+     * @param <T> Type of the metadata.
+     */
+    public static class CachedMetadata<T> {
+
+        private final JsonNode metadata;
+        private final JavaType type;
+        private final String eTag;
+
+        CachedMetadata(JsonNode metadata, JavaType type, String eTag) {
+
+            this.metadata = metadata;
+            this.type = type;
+            this.eTag = eTag;
+        }
+
+        /**
+         * Get a copy of the metadata, which the caller can modify.
+         *
+         * @return Copy of the metadata.
+         */
+        public T getMetadata() {
+
+            return OBJECT_MAPPER.convertValue(metadata, type);
+        }
+
+        /**
+         * Get the ETag of the metadata.
+         *
+         * @return ETag or null if it could not be computed.
+         */
+        public String getETag() {
+
+            return eTag;
+        }
+    }
+}
@@ -0,0 +1,78 @@
+/*
+ * Copyright (c) 2020, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.wso2.carbon.identity.api.server.application.management.v1.core.functions.application;
+
+import org.wso2.carbon.identity.api.server.application.management.common.ApplicationManagementServiceHolder;
+import org.wso2.carbon.identity.api.server.common.cache.ExpiringCache;
+import org.wso2.carbon.identity.application.common.IdentityApplicationManagementException;
+import org.wso2.carbon.identity.application.common.model.LocalAndOutboundAuthenticationConfig;
+import org.wso2.carbon.identity.application.common.model.ServiceProvider;
+import org.wso2.carbon.identity.application.common.util.IdentityApplicationConstants;
+
+import static org.wso2.carbon.identity.api.server.application.management.common.ApplicationManagementConstants.DEFAULT_AUTHENTICATION_CONFIG_CACHE_TIMEOUT;
+
+/**
+ * Cache of the local and outbound authentication configuration of the 'default' application, keyed by the tenant
+ * domain the 'default' application is loaded from. Applications using the default authentication sequence render the
+ * sequence of the 'default' application, so caching it avoids loading the 'default' application for each of them.
+ * <p>
+ * The cached configuration is shared and must not be modified.
+ */
+public class DefaultAuthenticationConfigCache {
+
+    private static final DefaultAuthenticationConfigCache INSTANCE = new DefaultAuthenticationConfigCache();
+
+    private final ExpiringCache<String, LocalAndOutboundAuthenticationConfig> cache =
+            new ExpiringCache<>(DEFAULT_AUTHENTICATION_CONFIG_CACHE_TIMEOUT);
+
+    private DefaultAuthenticationConfigCache() {
+
+    }
+
+    public static DefaultAuthenticationConfigCache getInstance() {
+
+        return INSTANCE;
+    }
+
+    /**
+     * Get the local and outbound authentication configuration of the 'default' application of a tenant.
+     *
+     * @param tenantDomain Tenant domain of the 'default' application.
+     * @return Local and outbound authentication configuration or null if it is not available.
+     * @throws IdentityApplicationManagementException If an error occurred while loading the 'default' application.
+     */
+    public LocalAndOutboundAuthenticationConfig getAuthenticationConfig(String tenantDomain)
+            throws IdentityApplicationManagementException {
+
+        return cache.get(tenantDomain, tenant -> {
+            ServiceProvider defaultSP = ApplicationManagementServiceHolder.getInstance()
+                    .getApplicationManagementService()
+                    .getServiceProvider(IdentityApplicationConstants.DEFAULT_SP_CONFIG, tenant);
+            return defaultSP != null ? defaultSP.getLocalAndOutBoundAuthenticationConfig() : null;
+        });
+    }
+
+    /**
+     * Invalidate the cached configuration of a tenant. Must be called when an application of the tenant is modified,
+     * since the modified application can be the 'default' application.
+     *
+     * @param tenantDomain Tenant domain.
+     */
+    public void invalidate(String tenantDomain) {
+
+        cache.remove(tenantDomain);
+    }
+}
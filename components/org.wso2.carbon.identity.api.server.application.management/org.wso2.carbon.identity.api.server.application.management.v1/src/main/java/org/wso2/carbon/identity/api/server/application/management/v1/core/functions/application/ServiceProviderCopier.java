@@ -0,0 +1,169 @@
+/*
+ * Copyright (c) 2020, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.wso2.carbon.identity.api.server.application.management.v1.core.functions.application;
+
+import org.wso2.carbon.identity.application.common.model.AuthenticationStep;
+import org.wso2.carbon.identity.application.common.model.InboundAuthenticationConfig;
+import org.wso2.carbon.identity.application.common.model.InboundAuthenticationRequestConfig;
+import org.wso2.carbon.identity.application.common.model.LocalAndOutboundAuthenticationConfig;
+import org.wso2.carbon.identity.application.common.model.Property;
+import org.wso2.carbon.identity.application.common.model.ServiceProvider;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.wso2.carbon.identity.api.server.application.management.v1.core.functions.Utils.buildServerError;
+
+/**
+ * Copies a service provider so that it can be modified without making the cached service provider dirty.
+ * <p>
+ * Only the objects that are modified by the update functions of this API, and by the application management
+ * listeners during an update, are copied: the service provider itself, its claim, permission and role, provisioning,
+ * inbound and local and outbound authentication configurations, the inbound request configurations along with their
+ * properties and the authentication steps. The update functions replace arrays of the other nested objects as a
+ * whole instead of modifying their elements, so those elements (e.g. claim mappings, identity providers and the
+ * authentication script) are shared with the original.
+ * <p>
+ * Each object is copied field by field, so all the fields of the model are retained regardless of its accessors.
+ */
+public class ServiceProviderCopier {
+
+    private static final Map<Class<?>, List<Field>> FIELD_CACHE = new ConcurrentHashMap<>();
+
+    private ServiceProviderCopier() {
+
+    }
+
+    /**
+     * Copy the given service provider.
+     *
+     * @param application Service provider to copy.
+     * @return Copy of the service provider.
+     */
+    public static ServiceProvider copy(ServiceProvider application) {
+
+        if (application == null) {
+            return null;
+        }
+
+        ServiceProvider copy = shallowCopy(application);
+        copy.setClaimConfig(shallowCopy(application.getClaimConfig()));
+        copy.setPermissionAndRoleConfig(shallowCopy(application.getPermissionAndRoleConfig()));
+        copy.setInboundProvisioningConfig(shallowCopy(application.getInboundProvisioningConfig()));
+        copy.setOutboundProvisioningConfig(shallowCopy(application.getOutboundProvisioningConfig()));
+        copy.setInboundAuthenticationConfig(copyInboundAuthenticationConfig(
+                application.getInboundAuthenticationConfig()));
+        copy.setLocalAndOutBoundAuthenticationConfig(copyLocalAndOutboundAuthenticationConfig(
+                application.getLocalAndOutBoundAuthenticationConfig()));
+        return copy;
+    }
+
+    private static InboundAuthenticationConfig copyInboundAuthenticationConfig(
+            InboundAuthenticationConfig inboundAuthenticationConfig) {
+
+        InboundAuthenticationConfig copy = shallowCopy(inboundAuthenticationConfig);
+        if (copy != null && copy.getInboundAuthenticationRequestConfigs() != null) {
+            InboundAuthenticationRequestConfig[] inbounds = copy.getInboundAuthenticationRequestConfigs();
+            InboundAuthenticationRequestConfig[] inboundCopies =
+                    new InboundAuthenticationRequestConfig[inbounds.length];
+            for (int i = 0; i < inbounds.length; i++) {
+                inboundCopies[i] = shallowCopy(inbounds[i]);
+                if (inboundCopies[i] != null) {
+                    inboundCopies[i].setProperties(copyProperties(inboundCopies[i].getProperties()));
+                }
+            }
+            copy.setInboundAuthenticationRequestConfigs(inboundCopies);
+        }
+        return copy;
+    }
+
+    private static LocalAndOutboundAuthenticationConfig copyLocalAndOutboundAuthenticationConfig(
+            LocalAndOutboundAuthenticationConfig localAndOutboundAuthenticationConfig) {
+
+        LocalAndOutboundAuthenticationConfig copy = shallowCopy(localAndOutboundAuthenticationConfig);
+        if (copy != null && copy.getAuthenticationSteps() != null) {
+            AuthenticationStep[] steps = copy.getAuthenticationSteps();
+            AuthenticationStep[] stepCopies = new AuthenticationStep[steps.length];
+            for (int i = 0; i < steps.length; i++) {
+                stepCopies[i] = shallowCopy(steps[i]);
+            }
+            copy.setAuthenticationSteps(stepCopies);
+        }
+        return copy;
+    }
+
+    private static Property[] copyProperties(Property[] properties) {
+
+        if (properties == null) {
+            return null;
+        }
+
+        Property[] copies = new Property[properties.length];
+        for (int i = 0; i < properties.length; i++) {
+            copies[i] = shallowCopy(properties[i]);
+        }
+        return copies;
+    }
+
+    /**
+     * Create a new instance of the object's class and copy all the instance fields of the object to it.
+     *
+     * @param object Object to copy.
+     * @param <T>    Type of the object.
+     * @return Shallow copy of the object.
+     */
+    @SuppressWarnings("unchecked")
+    private static <T> T shallowCopy(T object) {
+
+        if (object == null) {
+            return null;
+        }
+
+        try {
+            Constructor<?> constructor = object.getClass().getDeclaredConstructor();
+            constructor.setAccessible(true);
+            T copy = (T) constructor.newInstance();
+            for (Field field : getInstanceFields(object.getClass())) {
+                field.set(copy, field.get(object));
+            }
+            return copy;
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            throw buildServerError("Error deep cloning application object.", e);
+        }
+    }
+
+    private static List<Field> getInstanceFields(Class<?> clazz) {
+
+        return FIELD_CACHE.computeIfAbsent(clazz, key -> {
+            List<Field> fields = new ArrayList<>();
+            for (Class<?> current = key; current != null && current != Object.class;
+                 current = current.getSuperclass()) {
+                for (Field field : current.getDeclaredFields()) {
+                    if (!Modifier.isStatic(field.getModifiers())) {
+                        field.setAccessible(true);
+                        fields.add(field);
+                    }
+                }
+            }
+            return fields;
+        });
+    }
+}
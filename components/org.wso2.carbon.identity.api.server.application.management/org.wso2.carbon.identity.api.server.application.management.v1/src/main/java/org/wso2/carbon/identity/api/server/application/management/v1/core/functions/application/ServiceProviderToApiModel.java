@@ -18,7 +18,6 @@ package org.wso2.carbon.identity.api.server.application.management.v1.core.funct
 import org.apache.commons.lang.StringUtils;
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
-import org.wso2.carbon.identity.api.server.application.management.common.ApplicationManagementServiceHolder;
 import org.wso2.carbon.identity.api.server.application.management.v1.AdvancedApplicationConfiguration;
 import org.wso2.carbon.identity.api.server.application.management.v1.ApplicationResponseModel;
 import org.wso2.carbon.identity.api.server.application.management.v1.AuthenticationSequence;
@@ -45,7 +44,6 @@ import org.wso2.carbon.identity.application.common.model.LocalAuthenticatorConfi
 import org.wso2.carbon.identity.application.common.model.RequestPathAuthenticatorConfig;
 import org.wso2.carbon.identity.application.common.model.RoleMapping;
 import org.wso2.carbon.identity.application.common.model.ServiceProvider;
-import org.wso2.carbon.identity.application.common.util.IdentityApplicationConstants;
 import org.wso2.carbon.identity.application.mgt.ApplicationConstants;
 import org.wso2.carbon.utils.multitenancy.MultitenantConstants;
 
@@ -161,8 +159,12 @@ public class ServiceProviderToApiModel implements Function<ServiceProvider, Appl
 
     private LocalAndOutboundAuthenticationConfig getDefaultAuthenticationConfig() {
 
-        ServiceProvider defaultSP = getDefaultServiceProvider();
-        return defaultSP.getLocalAndOutBoundAuthenticationConfig();
+        try {
+            return DefaultAuthenticationConfigCache.getInstance()
+                    .getAuthenticationConfig(MultitenantConstants.SUPER_TENANT_DOMAIN_NAME);
+        } catch (IdentityApplicationManagementException e) {
+            throw Utils.buildServerError("Error while loading default SP configurations.", e);
+        }
     }
 
     private AuthenticationSequence.TypeEnum getAuthenticationType(LocalAndOutboundAuthenticationConfig authConfig) {
@@ -177,19 +179,6 @@ public class ServiceProviderToApiModel implements Function<ServiceProvider, Appl
         return authenticationType;
     }
 
-    private ServiceProvider getDefaultServiceProvider() {
-
-        ServiceProvider defaultSP;
-        try {
-            defaultSP = ApplicationManagementServiceHolder.getInstance().getApplicationManagementService()
-                    .getServiceProvider(IdentityApplicationConstants.DEFAULT_SP_CONFIG,
-                            MultitenantConstants.SUPER_TENANT_DOMAIN_NAME);
-        } catch (IdentityApplicationManagementException e) {
-            throw Utils.buildServerError("Error while loading default SP configurations.", e);
-        }
-        return defaultSP;
-    }
-
     private AuthenticationStepModel buildAuthStep(AuthenticationStep authenticationStep) {
 
         AuthenticationStepModel authStep = new AuthenticationStepModel();
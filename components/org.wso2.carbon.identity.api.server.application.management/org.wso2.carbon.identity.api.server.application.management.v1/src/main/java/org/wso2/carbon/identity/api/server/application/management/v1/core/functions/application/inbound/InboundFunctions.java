@@ -25,6 +25,7 @@ import org.wso2.carbon.identity.application.common.model.ServiceProvider;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Map;
+import java.util.function.Consumer;
 import java.util.function.Function;
 import java.util.stream.Collectors;
 
@@ -104,6 +105,29 @@ public class InboundFunctions {
         }
     }
 
+    /**
+     * Capture the current configuration of an inbound from its protocol backend, so that the configuration can be
+     * restored if a replacement of the inbound has to be rolled back.
+     *
+     * @param inbound Current inbound of the application.
+     * @return Restores the captured configuration, given the inbound which replaced it, or null if the inbound keeps
+     * no configuration outside the application.
+     */
+    public static Consumer<InboundAuthenticationRequestConfig> snapshotInbound(
+            InboundAuthenticationRequestConfig inbound) {
+
+        switch (inbound.getInboundAuthType()) {
+            case FrameworkConstants.StandardInboundProtocols.SAML2:
+                return SAMLInboundFunctions.snapshotSAMLInbound(inbound);
+            case FrameworkConstants.StandardInboundProtocols.OAUTH2:
+                return OAuthInboundFunctions.snapshotOAuthInbound(inbound);
+            case FrameworkConstants.StandardInboundProtocols.WS_TRUST:
+                return WSTrustInboundFunctions.snapshotWSTrustInbound(inbound);
+            default:
+                return null;
+        }
+    }
+
     public static void updateOrInsertInbound(ServiceProvider application,
                                              InboundAuthenticationRequestConfig newInbound) {
 
@@ -33,6 +33,7 @@ import static org.wso2.carbon.identity.api.server.application.management.v1.core
 import static org.wso2.carbon.identity.api.server.application.management.v1.core.functions.application.inbound.custom.CustomInboundFunctions.createCustomInbound;
 import static org.wso2.carbon.identity.api.server.application.management.v1.core.functions.application.inbound.oauth2.OAuthInboundFunctions.createOAuthInbound;
 import static org.wso2.carbon.identity.api.server.application.management.v1.core.functions.application.inbound.saml.SAMLInboundFunctions.createSAMLInbound;
+import static org.wso2.carbon.identity.api.server.application.management.v1.core.functions.application.inbound.saml.SAMLInboundFunctions.setMetadataUrlProperty;
 
 /**
  * Updates the inbound authentication protocols defined by the API model in the Service Provider model.
@@ -53,6 +54,7 @@ public class UpdateInboundProtocols implements UpdateFunction<ServiceProvider, I
 
             if (inboundProtocols.getSaml() != null) {
                 inbounds.add(createSAMLInbound(inboundProtocols.getSaml()));
+                setMetadataUrlProperty(application, inboundProtocols.getSaml());
             }
 
             if (inboundProtocols.getWsTrust() != null) {
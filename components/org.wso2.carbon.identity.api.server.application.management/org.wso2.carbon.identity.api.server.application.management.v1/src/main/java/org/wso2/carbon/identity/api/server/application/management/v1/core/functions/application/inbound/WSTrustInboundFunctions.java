@@ -24,6 +24,7 @@ import org.wso2.carbon.security.SecurityConfigException;
 import org.wso2.carbon.security.sts.service.util.TrustedServiceData;
 
 import java.util.Arrays;
+import java.util.function.Consumer;
 
 import static org.wso2.carbon.identity.api.server.application.management.v1.core.functions.Utils.buildBadRequestError;
 import static org.wso2.carbon.identity.api.server.application.management.v1.core.functions.Utils.buildServerError;
@@ -101,6 +102,24 @@ public class WSTrustInboundFunctions {
         }
     }
 
+    /**
+     * Capture the current trusted service of an inbound, so that it can be restored after the inbound is replaced.
+     *
+     * @param inbound Current WSTrust inbound.
+     * @return Removes the trusted service which replaced the captured one and recreates the captured one.
+     */
+    public static Consumer<InboundAuthenticationRequestConfig> snapshotWSTrustInbound(
+            InboundAuthenticationRequestConfig inbound) {
+
+        WSTrustConfiguration originalWSTrustConfiguration = getWSTrustConfiguration(inbound);
+        return updatedInbound -> {
+            deleteWSTrustConfiguration(updatedInbound);
+            if (originalWSTrustConfiguration != null) {
+                createWsTrustInbound(originalWSTrustConfiguration);
+            }
+        };
+    }
+
     public static void deleteWSTrustConfiguration(InboundAuthenticationRequestConfig inbound) {
 
         try {
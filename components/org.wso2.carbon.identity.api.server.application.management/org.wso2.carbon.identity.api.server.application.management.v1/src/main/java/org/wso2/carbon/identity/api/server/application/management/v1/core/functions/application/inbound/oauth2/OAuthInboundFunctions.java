@@ -29,6 +29,7 @@ import org.wso2.carbon.identity.oauth.common.OAuthConstants;
 import org.wso2.carbon.identity.oauth.dto.OAuthConsumerAppDTO;
 
 import java.util.UUID;
+import java.util.function.Consumer;
 
 import static org.wso2.carbon.identity.api.server.application.management.v1.core.functions.Utils.buildBadRequestError;
 import static org.wso2.carbon.identity.api.server.application.management.v1.core.functions.Utils.buildServerError;
@@ -138,6 +139,35 @@ public class OAuthInboundFunctions {
         }
     }
 
+    /**
+     * Capture the current OAuth application of an inbound, so that it can be restored after the inbound is updated.
+     *
+     * @param inbound Current OAuth inbound.
+     * @return Restores the captured OAuth application.
+     */
+    public static Consumer<InboundAuthenticationRequestConfig> snapshotOAuthInbound(
+            InboundAuthenticationRequestConfig inbound) {
+
+        String clientId = inbound.getInboundAuthKey();
+        OAuthConsumerAppDTO originalOAuthApp;
+        try {
+            originalOAuthApp = ApplicationManagementServiceHolder.getInstance().getOAuthAdminService()
+                    .getOAuthApplicationData(clientId);
+        } catch (IdentityOAuthAdminException e) {
+            throw buildServerError("Error while retrieving oauth application for clientId: " + clientId, e);
+        }
+        // The client id cannot be changed by an update, so the captured application is updated back in place.
+        return updatedInbound -> {
+            try {
+                ApplicationManagementServiceHolder.getInstance().getOAuthAdminService()
+                        .updateConsumerApplication(originalOAuthApp);
+            } catch (IdentityOAuthAdminException e) {
+                throw buildServerError("Error while trying to rollback OAuth2/OpenIDConnect " +
+                        "configuration." + e.getMessage(), e);
+            }
+        };
+    }
+
     public static void deleteOAuthInbound(InboundAuthenticationRequestConfig inbound) {
 
         try {
@@ -15,27 +15,39 @@
  */
 package org.wso2.carbon.identity.api.server.application.management.v1.core.functions.application.inbound.saml;
 
+import org.apache.commons.lang.StringUtils;
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
+import org.wso2.carbon.identity.api.server.application.management.common.ApplicationManagementConstants.ErrorMessage;
 import org.wso2.carbon.identity.api.server.application.management.common.ApplicationManagementServiceHolder;
 import org.wso2.carbon.identity.api.server.application.management.v1.SAML2Configuration;
 import org.wso2.carbon.identity.api.server.application.management.v1.SAML2ServiceProvider;
 import org.wso2.carbon.identity.api.server.application.management.v1.core.functions.Utils;
 import org.wso2.carbon.identity.api.server.application.management.v1.core.functions.application.inbound.InboundFunctions;
+import org.wso2.carbon.identity.api.server.common.ContextLoader;
 import org.wso2.carbon.identity.api.server.common.error.APIError;
 import org.wso2.carbon.identity.application.authentication.framework.util.FrameworkConstants;
 import org.wso2.carbon.identity.application.authentication.framework.util.FrameworkConstants.StandardInboundProtocols;
 import org.wso2.carbon.identity.application.common.model.InboundAuthenticationRequestConfig;
 import org.wso2.carbon.identity.application.common.model.ServiceProvider;
+import org.wso2.carbon.identity.application.common.model.ServiceProviderProperty;
 import org.wso2.carbon.identity.base.IdentityException;
 import org.wso2.carbon.identity.sso.saml.SAMLSSOConfigServiceImpl;
 import org.wso2.carbon.identity.sso.saml.dto.SAMLSSOServiceProviderDTO;
+import org.wso2.carbon.identity.sso.saml.dto.SAMLSSOServiceProviderInfoDTO;
 import org.wso2.carbon.identity.sso.saml.exception.IdentitySAML2ClientException;
 import org.wso2.carbon.identity.sso.saml.exception.IdentitySAML2SSOException;
 import org.wso2.carbon.identity.sso.saml.util.SAMLSSOUtil;
 
 import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Base64;
+import java.util.List;
+import java.util.function.Consumer;
+
+import static org.wso2.carbon.identity.api.server.application.management.common.ApplicationManagementConstants.SAML_METADATA_URL_PROPERTY;
+import static org.wso2.carbon.identity.api.server.application.management.common.ApplicationManagementConstants.SAML_METADATA_URL_PROPERTY_DISPLAY_NAME;
 
 /**
  * Helper functions for SAML inbound management.
@@ -43,6 +55,8 @@ import java.util.Base64;
 public class SAMLInboundFunctions {
 
     private static final Log logger = LogFactory.getLog(SAMLInboundFunctions.class);
+    private static final int SAML_SP_LOCK_COUNT = 64;
+    private static final Object[] SAML_SP_LOCKS = createSAMLSpLocks();
 
     private SAMLInboundFunctions() {
 
@@ -54,25 +68,261 @@ public class SAMLInboundFunctions {
         // First we identify whether this is a insert or update.
         String currentIssuer = InboundFunctions.getInboundAuthKey(application, StandardInboundProtocols.SAML2);
         SAMLSSOServiceProviderDTO oldSAMLSp = null;
+        String oldMetadataUrl = null;
         try {
             if (currentIssuer != null) {
                 // Delete the current app.
                 oldSAMLSp = getSamlSsoConfigService().getServiceProvider(currentIssuer);
                 getSamlSsoConfigService().removeServiceProvider(currentIssuer);
+                oldMetadataUrl = SAMLMetadataRefresher.getInstance()
+                        .unregister(ContextLoader.getTenantDomainFromContext(), currentIssuer);
             }
         } catch (IdentityException e) {
             throw handleException(e);
         }
 
         try {
-            return createSAMLInbound(saml2Configuration);
+            InboundAuthenticationRequestConfig samlInbound = createSAMLInbound(saml2Configuration);
+            setMetadataUrlProperty(application, saml2Configuration);
+            return samlInbound;
         } catch (APIError error) {
             // Try to rollback by recreating the previous SAML SP.
             rollbackSAMLSpRemoval(oldSAMLSp);
+            if (oldMetadataUrl != null) {
+                SAMLMetadataRefresher.getInstance().register(ContextLoader.getTenantDomainFromContext(),
+                        currentIssuer, oldMetadataUrl);
+            }
             throw error;
         }
     }
 
+    /**
+     * Keep the metadata URL of a SAML configuration in the properties of the application, so that the service
+     * provider can be registered to be refreshed again after a restart. The property is removed if the configuration
+     * does not use a metadata URL.
+     *
+     * @param application        Application of the SAML configuration.
+     * @param saml2Configuration SAML configuration of the application.
+     */
+    public static void setMetadataUrlProperty(ServiceProvider application, SAML2Configuration saml2Configuration) {
+
+        // A metadata file takes precedence over a metadata URL, same as when the service provider is created.
+        String metadataUrl = saml2Configuration.getMetadataFile() == null ? saml2Configuration.getMetadataURL() : null;
+        List<ServiceProviderProperty> spProperties = new ArrayList<>();
+        if (application.getSpProperties() != null) {
+            for (ServiceProviderProperty spProperty : application.getSpProperties()) {
+                if (!SAML_METADATA_URL_PROPERTY.equals(spProperty.getName())) {
+                    spProperties.add(spProperty);
+                }
+            }
+        }
+        if (metadataUrl != null) {
+            ServiceProviderProperty metadataUrlProperty = new ServiceProviderProperty();
+            metadataUrlProperty.setName(SAML_METADATA_URL_PROPERTY);
+            metadataUrlProperty.setDisplayName(SAML_METADATA_URL_PROPERTY_DISPLAY_NAME);
+            metadataUrlProperty.setValue(metadataUrl);
+            spProperties.add(metadataUrlProperty);
+        }
+        application.setSpProperties(spProperties.toArray(new ServiceProviderProperty[0]));
+    }
+
+    /**
+     * Get the metadata URL kept in the properties of an application.
+     *
+     * @param application Application.
+     * @return Metadata URL of the SAML inbound of the application, or null if it does not use a metadata URL.
+     */
+    public static String getMetadataUrlProperty(ServiceProvider application) {
+
+        if (application.getSpProperties() != null) {
+            for (ServiceProviderProperty spProperty : application.getSpProperties()) {
+                if (SAML_METADATA_URL_PROPERTY.equals(spProperty.getName())) {
+                    return spProperty.getValue();
+                }
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Get the issuers of the SAML service providers of the tenant in the context.
+     *
+     * @return Issuers of the service providers, along with their qualifiers.
+     */
+    public static List<String> getSAMLServiceProviderIssuers() {
+
+        List<String> issuers = new ArrayList<>();
+        try {
+            SAMLSSOServiceProviderInfoDTO samlSps = getSamlSsoConfigService().getServiceProviders();
+            if (samlSps != null && samlSps.getServiceProviders() != null) {
+                for (SAMLSSOServiceProviderDTO samlSp : samlSps.getServiceProviders()) {
+                    issuers.add(SAMLSSOUtil.getIssuerWithQualifier(samlSp.getIssuer(), samlSp.getIssuerQualifier()));
+                }
+            }
+        } catch (IdentityException e) {
+            throw buildServerError("Error while retrieving SAML service providers.", e);
+        }
+        return issuers;
+    }
+
+    /**
+     * Update a SAML service provider with the certificate and the endpoints of its metadata. The service provider is
+     * updated only if any of them has changed.
+     * <p>
+     * The SAML config service cannot update a service provider in place, so the service provider is replaced. Logins
+     * of the service provider fail until it is recreated, therefore the time it was unavailable is logged. If it
+     * cannot be recreated, the previous service provider is restored.
+     * <p>
+     * Every node refreshes the service provider from the same metadata, so the replacement is done under a lock of
+     * the issuer, and the stored service provider is compared with the metadata within the lock. An update which was
+     * already applied, by this node or by another node of the cluster, is therefore skipped instead of replacing the
+     * service provider again.
+     *
+     * @param issuer          Issuer of the service provider.
+     * @param metadataContent Content of the metadata document of the service provider.
+     * @return True if the service provider was updated.
+     */
+    public static boolean updateSAMLSpWithMetadata(String issuer, String metadataContent) {
+
+        SAMLMetadataDescriptor metadata = SAMLMetadataDescriptor.parse(metadataContent);
+        synchronized (getSAMLSpLock(issuer)) {
+            return updateSAMLSpWithMetadata(issuer, metadata);
+        }
+    }
+
+    private static boolean updateSAMLSpWithMetadata(String issuer, SAMLMetadataDescriptor metadata) {
+
+        SAMLSSOServiceProviderDTO currentSAMLSp;
+        SAMLSSOServiceProviderDTO updatedSAMLSp;
+        try {
+            currentSAMLSp = getSamlSsoConfigService().getServiceProvider(issuer);
+            // Fetched again to be modified, so that the current SP is kept for the rollback.
+            updatedSAMLSp = getSamlSsoConfigService().getServiceProvider(issuer);
+        } catch (IdentityException e) {
+            throw handleException(e);
+        }
+        if (currentSAMLSp == null || updatedSAMLSp == null) {
+            return false;
+        }
+        String metadataIssuer =
+                SAMLSSOUtil.getIssuerWithQualifier(metadata.getEntityId(), currentSAMLSp.getIssuerQualifier());
+        if (!StringUtils.equals(issuer, metadataIssuer)) {
+            ErrorMessage errorEnum = ErrorMessage.INVALID_SAML_METADATA;
+            throw Utils.buildClientError(errorEnum.getCode(), errorEnum.getMessage(),
+                    String.format(errorEnum.getDescription(), "Entity ID of the metadata does not match the issuer: " +
+                            issuer + "."));
+        }
+
+        if (!applyMetadataChanges(updatedSAMLSp, metadata)) {
+            if (logger.isDebugEnabled()) {
+                logger.debug("SAML service provider with issuer: " + issuer + " already has the changes of its " +
+                        "metadata. Skipping the update.");
+            }
+            return false;
+        }
+        long removalTime = System.currentTimeMillis();
+        try {
+            getSamlSsoConfigService().removeServiceProvider(issuer);
+        } catch (IdentityException e) {
+            throw handleException(e);
+        }
+        try {
+            getSamlSsoConfigService().createServiceProvider(updatedSAMLSp);
+        } catch (IdentityException e) {
+            restoreSAMLSp(currentSAMLSp, removalTime);
+            throw handleException(e);
+        }
+        logger.info("SAML service provider with issuer: " + issuer + " was replaced with the changes of its " +
+                "metadata. It was unavailable for " + (System.currentTimeMillis() - removalTime) + " ms.");
+        return true;
+    }
+
+    private static Object getSAMLSpLock(String issuer) {
+
+        // Issuers share a fixed set of locks, so that the locks are not held for every issuer ever updated.
+        return SAML_SP_LOCKS[Math.floorMod(issuer.hashCode(), SAML_SP_LOCKS.length)];
+    }
+
+    private static Object[] createSAMLSpLocks() {
+
+        Object[] locks = new Object[SAML_SP_LOCK_COUNT];
+        for (int i = 0; i < locks.length; i++) {
+            locks[i] = new Object();
+        }
+        return locks;
+    }
+
+    private static void restoreSAMLSp(SAMLSSOServiceProviderDTO samlSp, long removalTime) {
+
+        String issuer = SAMLSSOUtil.getIssuerWithQualifier(samlSp.getIssuer(), samlSp.getIssuerQualifier());
+        try {
+            rollbackSAMLSpRemoval(samlSp);
+        } catch (APIError e) {
+            logger.error("SAML service provider with issuer: " + issuer + " could not be restored after a failed " +
+                    "update from its metadata. It remains unavailable until it is configured again.");
+            throw e;
+        }
+        logger.warn("SAML service provider with issuer: " + issuer + " could not be updated from its metadata and " +
+                "was restored. It was unavailable for " + (System.currentTimeMillis() - removalTime) + " ms.");
+    }
+
+    /**
+     * Check whether a SAML service provider exists.
+     *
+     * @param issuer Issuer of the service provider.
+     * @return True if the service provider exists.
+     */
+    public static boolean isSAMLServiceProviderExists(String issuer) {
+
+        try {
+            return getSamlSsoConfigService().getServiceProvider(issuer) != null;
+        } catch (IdentityException e) {
+            throw buildServerError("Error while retrieving service provider data for issuer: " + issuer, e);
+        }
+    }
+
+    private static boolean applyMetadataChanges(SAMLSSOServiceProviderDTO samlSp, SAMLMetadataDescriptor metadata) {
+
+        boolean changed = false;
+        String certificate = normalizeCertificate(metadata.getCertificate());
+        if (certificate != null && !certificate.equals(normalizeCertificate(samlSp.getCertificateContent()))) {
+            samlSp.setCertificateContent(certificate);
+            changed = true;
+        }
+        if (!metadata.getAssertionConsumerUrls().isEmpty()) {
+            String[] assertionConsumerUrls = metadata.getAssertionConsumerUrls().toArray(new String[0]);
+            if (!Arrays.equals(assertionConsumerUrls, samlSp.getAssertionConsumerUrls())) {
+                samlSp.setAssertionConsumerUrls(assertionConsumerUrls);
+                changed = true;
+            }
+            if (!StringUtils.equals(metadata.getDefaultAssertionConsumerUrl(),
+                    samlSp.getDefaultAssertionConsumerUrl())) {
+                samlSp.setDefaultAssertionConsumerUrl(metadata.getDefaultAssertionConsumerUrl());
+                changed = true;
+            }
+        }
+        if (metadata.getSingleLogoutRequestUrl() != null
+                && (!StringUtils.equals(metadata.getSingleLogoutRequestUrl(), samlSp.getSloRequestURL())
+                || !StringUtils.equals(metadata.getSingleLogoutResponseUrl(), samlSp.getSloResponseURL()))) {
+            samlSp.setSloRequestURL(metadata.getSingleLogoutRequestUrl());
+            samlSp.setSloResponseURL(metadata.getSingleLogoutResponseUrl());
+            changed = true;
+        }
+        return changed;
+    }
+
+    private static String normalizeCertificate(String certificate) {
+
+        if (certificate == null) {
+            return null;
+        }
+        // Certificates are compared by their encoded content, regardless of the PEM markers and the line breaks.
+        return StringUtils.trimToNull(certificate
+                .replace("-----BEGIN CERTIFICATE-----", "")
+                .replace("-----END CERTIFICATE-----", "")
+                .replaceAll("\\s", ""));
+    }
+
     private static void rollbackSAMLSpRemoval(SAMLSSOServiceProviderDTO oldSAMLSp) {
 
         if (oldSAMLSp != null) {
@@ -128,11 +378,40 @@ public class SAMLInboundFunctions {
         }
     }
 
+    /**
+     * Capture the current SAML service provider of an inbound, along with its metadata URL registration, so that they
+     * can be restored after the inbound is replaced.
+     *
+     * @param inbound Current SAML inbound.
+     * @return Removes the service provider which replaced the captured one and recreates the captured one.
+     */
+    public static Consumer<InboundAuthenticationRequestConfig> snapshotSAMLInbound(
+            InboundAuthenticationRequestConfig inbound) {
+
+        String issuer = inbound.getInboundAuthKey();
+        String tenantDomain = ContextLoader.getTenantDomainFromContext();
+        SAMLSSOServiceProviderDTO originalSAMLSp;
+        try {
+            originalSAMLSp = getSamlSsoConfigService().getServiceProvider(issuer);
+        } catch (IdentityException e) {
+            throw buildServerError("Error while retrieving service provider data for issuer: " + issuer, e);
+        }
+        String originalMetadataUrl = SAMLMetadataRefresher.getInstance().getMetadataUrl(tenantDomain, issuer);
+        return updatedInbound -> {
+            deleteSAMLServiceProvider(updatedInbound);
+            rollbackSAMLSpRemoval(originalSAMLSp);
+            if (originalMetadataUrl != null) {
+                SAMLMetadataRefresher.getInstance().register(tenantDomain, issuer, originalMetadataUrl);
+            }
+        };
+    }
+
     public static void deleteSAMLServiceProvider(InboundAuthenticationRequestConfig inbound) {
 
         try {
             String issuer = inbound.getInboundAuthKey();
             ApplicationManagementServiceHolder.getInstance().getSamlssoConfigService().removeServiceProvider(issuer);
+            SAMLMetadataRefresher.getInstance().unregister(ContextLoader.getTenantDomainFromContext(), issuer);
         } catch (IdentityException e) {
             throw buildServerError("Error while trying to rollback SAML2 configuration. " + e.getMessage(), e);
         }
@@ -170,10 +449,13 @@ public class SAMLInboundFunctions {
 
     private static String createSAMLSpWithMetadataUrl(String metadataUrl) {
 
+        // Metadata is fetched with bounded timeouts and cached, instead of being fetched by the SAML config service.
+        String metadataContent = SAMLMetadataFetcher.getInstance().getMetadata(metadataUrl);
         try {
-            SAMLSSOServiceProviderDTO serviceProviderDTO =
-                    getSamlSsoConfigService().createServiceProviderWithMetadataURL(metadataUrl);
-            return serviceProviderDTO.getIssuer();
+            String issuer = createSAMLSpWithMetadataContent(metadataContent);
+            SAMLMetadataRefresher.getInstance().register(ContextLoader.getTenantDomainFromContext(), issuer,
+                    metadataUrl);
+            return issuer;
         } catch (IdentitySAML2SSOException e) {
             throw handleException(e);
         }
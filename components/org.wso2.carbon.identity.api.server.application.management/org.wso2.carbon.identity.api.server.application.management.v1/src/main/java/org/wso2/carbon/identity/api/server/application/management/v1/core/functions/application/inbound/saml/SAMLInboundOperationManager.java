@@ -0,0 +1,318 @@
+/*
+ * Copyright (c) 2020, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.api.server.application.management.v1.core.functions.application.inbound.saml;
+
+import org.apache.commons.lang.StringUtils;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.wso2.carbon.identity.api.server.application.management.common.ApplicationManagementConstants.ErrorMessage;
+import org.wso2.carbon.identity.api.server.application.management.v1.SAMLInboundOperation;
+import org.wso2.carbon.identity.api.server.application.management.v1.core.functions.Utils;
+import org.wso2.carbon.identity.api.server.common.cache.ExpiringCache;
+import org.wso2.carbon.identity.api.server.common.error.APIError;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.wso2.carbon.identity.api.server.application.management.common.ApplicationManagementConstants.SAML_INBOUND_OPERATION_CACHE_SIZE;
+import static org.wso2.carbon.identity.api.server.application.management.common.ApplicationManagementConstants.SAML_INBOUND_OPERATION_TIMEOUT;
+import static org.wso2.carbon.identity.api.server.application.management.common.ApplicationManagementConstants.SAML_METADATA_FETCH_QUEUE_SIZE;
+import static org.wso2.carbon.identity.api.server.application.management.common.ApplicationManagementConstants.SAML_METADATA_FETCH_WORKER_COUNT;
+import static org.wso2.carbon.identity.api.server.application.management.common.ApplicationManagementConstants.SAML_METADATA_FETCH_WORKER_KEEP_ALIVE_TIME;
+import static org.wso2.carbon.identity.application.common.util.IdentityApplicationConstants.Error.UNEXPECTED_SERVER_ERROR;
+
+/**
+ * Runs SAML inbound updates which fetch the metadata of a metadata URL in the background, and keeps track of their
+ * status. Updates run on a bounded pool, so that slow metadata hosts do not hold request threads. Updates are
+ * rejected when too many of them are pending, counting both the updates queued for a worker and the updates waiting
+ * for an earlier update of their application.
+ * <p>
+ * Updates of the same application run one after the other in the order they were submitted, since each of them
+ * replaces the SAML inbound of the application. If an update fails with an error, the rest of the updates of its
+ * application are handed on to another worker, or are failed if none can take them.
+ * <p>
+ * The status of an update is node local and is available for a limited time after the update is submitted.
+ */
+public class SAMLInboundOperationManager {
+
+    private static final Log log = LogFactory.getLog(SAMLInboundOperationManager.class);
+    private static final SAMLInboundOperationManager INSTANCE = new SAMLInboundOperationManager();
+
+    private final ExpiringCache<String, SAMLInboundOperation> operations =
+            new ExpiringCache<>(SAML_INBOUND_OPERATION_TIMEOUT, SAML_INBOUND_OPERATION_CACHE_SIZE);
+    private final ExecutorService executor;
+    private final int maxPendingUpdates;
+    // Updates waiting for the running update of their application, keyed by the application. An application has an
+    // entry while one of its updates is queued for a worker or running.
+    private final Map<String, Queue<PendingUpdate>> waitingUpdates = new HashMap<>();
+    // Updates which are submitted but not started yet, guarded by the lock of the waiting updates.
+    private int pendingUpdateCount;
+
+    private SAMLInboundOperationManager() {
+
+        this(createExecutor(), SAML_METADATA_FETCH_QUEUE_SIZE);
+    }
+
+    SAMLInboundOperationManager(ExecutorService executor, int maxPendingUpdates) {
+
+        this.executor = executor;
+        this.maxPendingUpdates = maxPendingUpdates;
+    }
+
+    public static SAMLInboundOperationManager getInstance() {
+
+        return INSTANCE;
+    }
+
+    /**
+     * Submit a SAML inbound update of an application.
+     *
+     * @param tenantDomain  Tenant domain of the application.
+     * @param applicationId Unique id of the application.
+     * @param update        Update to be run, which runs in the tenant flow of the application.
+     * @return Submitted operation.
+     * @throws APIError With the service unavailable status if too many updates are pending.
+     */
+    public SAMLInboundOperation submit(String tenantDomain, String applicationId, Runnable update) {
+
+        String operationId = UUID.randomUUID().toString();
+        String operationKey = buildOperationKey(tenantDomain, operationId);
+        SAMLInboundOperation operation =
+                buildOperation(operationId, applicationId, SAMLInboundOperation.StatusEnum.PENDING);
+        operations.put(operationKey, operation);
+        try {
+            execute(buildOperationKey(tenantDomain, applicationId),
+                    new PendingUpdate(operationKey, operationId, applicationId, update));
+        } catch (APIError e) {
+            operations.remove(operationKey);
+            throw e;
+        }
+        return operation;
+    }
+
+    /**
+     * Get a SAML inbound update operation of an application.
+     *
+     * @param tenantDomain  Tenant domain of the application.
+     * @param applicationId Unique id of the application.
+     * @param operationId   Unique id of the operation.
+     * @return Operation.
+     */
+    public SAMLInboundOperation getOperation(String tenantDomain, String applicationId, String operationId) {
+
+        SAMLInboundOperation operation = operations.get(buildOperationKey(tenantDomain, operationId));
+        if (operation == null || !StringUtils.equals(applicationId, operation.getApplicationId())) {
+            ErrorMessage errorEnum = ErrorMessage.SAML_INBOUND_OPERATION_NOT_FOUND;
+            throw Utils.buildNotFoundError(errorEnum.getCode(), errorEnum.getMessage(),
+                    String.format(errorEnum.getDescription(), operationId, applicationId));
+        }
+        return operation;
+    }
+
+    private void execute(String applicationKey, PendingUpdate update) {
+
+        synchronized (waitingUpdates) {
+            if (pendingUpdateCount >= maxPendingUpdates) {
+                throw buildQueueFullError();
+            }
+            pendingUpdateCount++;
+            Queue<PendingUpdate> applicationUpdates = waitingUpdates.get(applicationKey);
+            if (applicationUpdates != null) {
+                // An update of the application is pending or running, so this one is run by the same worker after it.
+                applicationUpdates.add(update);
+                return;
+            }
+            waitingUpdates.put(applicationKey, new ArrayDeque<>());
+            try {
+                executor.execute(() -> runApplicationUpdates(applicationKey, update));
+            } catch (RejectedExecutionException e) {
+                waitingUpdates.remove(applicationKey);
+                pendingUpdateCount--;
+                throw buildQueueFullError();
+            }
+        }
+    }
+
+    private void runApplicationUpdates(String applicationKey, PendingUpdate update) {
+
+        synchronized (waitingUpdates) {
+            pendingUpdateCount--;
+        }
+        PendingUpdate nextUpdate = update;
+        boolean completed = false;
+        try {
+            while (nextUpdate != null) {
+                nextUpdate.run();
+                synchronized (waitingUpdates) {
+                    nextUpdate = waitingUpdates.get(applicationKey).poll();
+                    if (nextUpdate == null) {
+                        waitingUpdates.remove(applicationKey);
+                    } else {
+                        pendingUpdateCount--;
+                    }
+                }
+            }
+            completed = true;
+        } finally {
+            if (!completed) {
+                handOnWaitingUpdates(applicationKey);
+            }
+        }
+    }
+
+    /**
+     * Hand the waiting updates of an application on to another worker, after an update of the application failed with
+     * an error which ended the worker's run. The updates are failed if no worker can take them.
+     *
+     * @param applicationKey Key of the application.
+     */
+    private void handOnWaitingUpdates(String applicationKey) {
+
+        List<PendingUpdate> failedUpdates = new ArrayList<>();
+        synchronized (waitingUpdates) {
+            Queue<PendingUpdate> applicationUpdates = waitingUpdates.get(applicationKey);
+            PendingUpdate nextUpdate = applicationUpdates.poll();
+            if (nextUpdate == null) {
+                waitingUpdates.remove(applicationKey);
+                return;
+            }
+            try {
+                // The next update stays counted as pending until the new worker starts it.
+                executor.execute(() -> runApplicationUpdates(applicationKey, nextUpdate));
+            } catch (RejectedExecutionException e) {
+                failedUpdates.add(nextUpdate);
+                failedUpdates.addAll(applicationUpdates);
+                pendingUpdateCount -= failedUpdates.size();
+                waitingUpdates.remove(applicationKey);
+            }
+        }
+        for (PendingUpdate failedUpdate : failedUpdates) {
+            failedUpdate.fail();
+        }
+    }
+
+    private APIError buildQueueFullError() {
+
+        ErrorMessage errorEnum = ErrorMessage.SAML_METADATA_FETCH_QUEUE_FULL;
+        return Utils.buildServiceUnavailableError(errorEnum.getCode(), errorEnum.getMessage(),
+                errorEnum.getDescription());
+    }
+
+    private void runOperation(String operationKey, String operationId, String applicationId, Runnable update) {
+
+        // Operations are replaced instead of modified, so that readers never see a partially updated operation.
+        operations.put(operationKey,
+                buildOperation(operationId, applicationId, SAMLInboundOperation.StatusEnum.IN_PROGRESS));
+        try {
+            update.run();
+            operations.put(operationKey,
+                    buildOperation(operationId, applicationId, SAMLInboundOperation.StatusEnum.SUCCESS));
+        } catch (APIError e) {
+            operations.put(operationKey,
+                    buildOperation(operationId, applicationId, SAMLInboundOperation.StatusEnum.FAILED)
+                            .errorCode(e.getCode())
+                            .errorDescription(e.getResponseEntity().getDescription()));
+        } catch (RuntimeException e) {
+            log.error("Error while updating the SAML inbound of application: " + applicationId, e);
+            failOperation(operationKey, operationId, applicationId,
+                    "Unexpected error occurred while updating the SAML inbound.");
+        } catch (Error e) {
+            failOperation(operationKey, operationId, applicationId,
+                    "Unexpected error occurred while updating the SAML inbound.");
+            throw e;
+        }
+    }
+
+    private void failOperation(String operationKey, String operationId, String applicationId, String description) {
+
+        operations.put(operationKey,
+                buildOperation(operationId, applicationId, SAMLInboundOperation.StatusEnum.FAILED)
+                        .errorCode(UNEXPECTED_SERVER_ERROR.getCode())
+                        .errorDescription(description));
+    }
+
+    private SAMLInboundOperation buildOperation(String operationId, String applicationId,
+                                                SAMLInboundOperation.StatusEnum status) {
+
+        return new SAMLInboundOperation()
+                .operationId(operationId)
+                .applicationId(applicationId)
+                .status(status);
+    }
+
+    private String buildOperationKey(String tenantDomain, String operationId) {
+
+        return tenantDomain + ":" + operationId;
+    }
+
+    private static ExecutorService createExecutor() {
+
+        AtomicInteger threadCount = new AtomicInteger();
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(SAML_METADATA_FETCH_WORKER_COUNT,
+                SAML_METADATA_FETCH_WORKER_COUNT, SAML_METADATA_FETCH_WORKER_KEEP_ALIVE_TIME, TimeUnit.MILLISECONDS,
+                new LinkedBlockingQueue<>(SAML_METADATA_FETCH_QUEUE_SIZE), runnable -> {
+                    Thread thread = new Thread(runnable, "saml-metadata-fetch-" + threadCount.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                }, new ThreadPoolExecutor.AbortPolicy());
+        executor.allowCoreThreadTimeOut(true);
+        return executor;
+    }
+
+    /**
+     * Submitted update along with its operation.
+     */
+    private class PendingUpdate {
+
+        private final String operationKey;
+        private final String operationId;
+        private final String applicationId;
+        private final Runnable update;
+
+        PendingUpdate(String operationKey, String operationId, String applicationId, Runnable update) {
+
+            this.operationKey = operationKey;
+            this.operationId = operationId;
+            this.applicationId = applicationId;
+            this.update = update;
+        }
+
+        void run() {
+
+            runOperation(operationKey, operationId, applicationId, update);
+        }
+
+        void fail() {
+
+            failOperation(operationKey, operationId, applicationId,
+                    "The SAML inbound update could not be run after an earlier update of the application failed.");
+        }
+    }
+}
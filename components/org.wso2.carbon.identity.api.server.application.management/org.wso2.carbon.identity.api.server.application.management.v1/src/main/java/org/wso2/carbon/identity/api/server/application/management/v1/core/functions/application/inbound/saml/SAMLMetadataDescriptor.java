@@ -0,0 +1,212 @@
+/*
+ * Copyright (c) 2020, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.api.server.application.management.v1.core.functions.application.inbound.saml;
+
+import org.apache.commons.lang.StringUtils;
+import org.w3c.dom.Document;
+import org.w3c.dom.Element;
+import org.w3c.dom.NodeList;
+import org.wso2.carbon.identity.api.server.application.management.common.ApplicationManagementConstants.ErrorMessage;
+import org.wso2.carbon.identity.api.server.application.management.v1.core.functions.Utils;
+import org.wso2.carbon.identity.api.server.common.error.APIError;
+import org.wso2.carbon.identity.core.util.IdentityUtil;
+import org.xml.sax.InputSource;
+import org.xml.sax.SAXException;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import javax.xml.parsers.DocumentBuilderFactory;
+import javax.xml.parsers.ParserConfigurationException;
+
+/**
+ * Service provider details of a SAML metadata document, which can be changed by the metadata owner after the service
+ * provider is registered. Only the first SP SSO descriptor of the document is considered.
+ */
+public class SAMLMetadataDescriptor {
+
+    private static final String METADATA_NAMESPACE = "urn:oasis:names:tc:SAML:2.0:metadata";
+    private static final String XML_SIGNATURE_NAMESPACE = "http://www.w3.org/2000/09/xmldsig#";
+    private static final String ENTITY_DESCRIPTOR = "EntityDescriptor";
+    private static final String SP_SSO_DESCRIPTOR = "SPSSODescriptor";
+    private static final String KEY_DESCRIPTOR = "KeyDescriptor";
+    private static final String X509_CERTIFICATE = "X509Certificate";
+    private static final String ASSERTION_CONSUMER_SERVICE = "AssertionConsumerService";
+    private static final String SINGLE_LOGOUT_SERVICE = "SingleLogoutService";
+    private static final String ENTITY_ID = "entityID";
+    private static final String USE = "use";
+    private static final String SIGNING_USE = "signing";
+    private static final String LOCATION = "Location";
+    private static final String RESPONSE_LOCATION = "ResponseLocation";
+    private static final String IS_DEFAULT = "isDefault";
+
+    private final String entityId;
+    private final String certificate;
+    private final List<String> assertionConsumerUrls;
+    private final String defaultAssertionConsumerUrl;
+    private final String singleLogoutRequestUrl;
+    private final String singleLogoutResponseUrl;
+
+    private SAMLMetadataDescriptor(String entityId, String certificate, List<String> assertionConsumerUrls,
+                                   String defaultAssertionConsumerUrl, String singleLogoutRequestUrl,
+                                   String singleLogoutResponseUrl) {
+
+        this.entityId = entityId;
+        this.certificate = certificate;
+        this.assertionConsumerUrls = assertionConsumerUrls;
+        this.defaultAssertionConsumerUrl = defaultAssertionConsumerUrl;
+        this.singleLogoutRequestUrl = singleLogoutRequestUrl;
+        this.singleLogoutResponseUrl = singleLogoutResponseUrl;
+    }
+
+    /**
+     * Parse a SAML metadata document.
+     *
+     * @param metadataContent Content of the metadata document.
+     * @return Service provider details of the document.
+     */
+    public static SAMLMetadataDescriptor parse(String metadataContent) {
+
+        Element entityDescriptor = parseDocument(metadataContent).getDocumentElement();
+        if (!METADATA_NAMESPACE.equals(entityDescriptor.getNamespaceURI())
+                || !ENTITY_DESCRIPTOR.equals(entityDescriptor.getLocalName())) {
+            throw buildInvalidMetadataError("Root element of the metadata is not an entity descriptor.");
+        }
+        Element spDescriptor = getFirstElement(entityDescriptor, METADATA_NAMESPACE, SP_SSO_DESCRIPTOR);
+        if (spDescriptor == null) {
+            throw buildInvalidMetadataError("Metadata does not contain an SP SSO descriptor.");
+        }
+
+        String certificate = null;
+        for (Element keyDescriptor : getElements(spDescriptor, METADATA_NAMESPACE, KEY_DESCRIPTOR)) {
+            String use = keyDescriptor.getAttribute(USE);
+            if (StringUtils.isEmpty(use) || SIGNING_USE.equals(use)) {
+                Element x509Certificate = getFirstElement(keyDescriptor, XML_SIGNATURE_NAMESPACE, X509_CERTIFICATE);
+                if (x509Certificate != null) {
+                    certificate = x509Certificate.getTextContent();
+                    break;
+                }
+            }
+        }
+
+        List<String> assertionConsumerUrls = new ArrayList<>();
+        String defaultAssertionConsumerUrl = null;
+        for (Element service : getElements(spDescriptor, METADATA_NAMESPACE, ASSERTION_CONSUMER_SERVICE)) {
+            String location = StringUtils.trimToNull(service.getAttribute(LOCATION));
+            if (location == null) {
+                continue;
+            }
+            assertionConsumerUrls.add(location);
+            if (Boolean.parseBoolean(service.getAttribute(IS_DEFAULT))) {
+                defaultAssertionConsumerUrl = location;
+            }
+        }
+        if (defaultAssertionConsumerUrl == null && !assertionConsumerUrls.isEmpty()) {
+            defaultAssertionConsumerUrl = assertionConsumerUrls.get(0);
+        }
+
+        String singleLogoutRequestUrl = null;
+        String singleLogoutResponseUrl = null;
+        Element singleLogoutService = getFirstElement(spDescriptor, METADATA_NAMESPACE, SINGLE_LOGOUT_SERVICE);
+        if (singleLogoutService != null) {
+            singleLogoutRequestUrl = StringUtils.trimToNull(singleLogoutService.getAttribute(LOCATION));
+            singleLogoutResponseUrl = StringUtils.defaultIfEmpty(
+                    StringUtils.trimToNull(singleLogoutService.getAttribute(RESPONSE_LOCATION)),
+                    singleLogoutRequestUrl);
+        }
+
+        return new SAMLMetadataDescriptor(StringUtils.trimToNull(entityDescriptor.getAttribute(ENTITY_ID)),
+                certificate, Collections.unmodifiableList(assertionConsumerUrls), defaultAssertionConsumerUrl,
+                singleLogoutRequestUrl, singleLogoutResponseUrl);
+    }
+
+    public String getEntityId() {
+
+        return entityId;
+    }
+
+    /**
+     * Get the signing certificate of the service provider.
+     *
+     * @return Base64 encoded certificate, or null if the metadata does not contain a signing certificate.
+     */
+    public String getCertificate() {
+
+        return certificate;
+    }
+
+    public List<String> getAssertionConsumerUrls() {
+
+        return assertionConsumerUrls;
+    }
+
+    public String getDefaultAssertionConsumerUrl() {
+
+        return defaultAssertionConsumerUrl;
+    }
+
+    public String getSingleLogoutRequestUrl() {
+
+        return singleLogoutRequestUrl;
+    }
+
+    public String getSingleLogoutResponseUrl() {
+
+        return singleLogoutResponseUrl;
+    }
+
+    private static Document parseDocument(String metadataContent) {
+
+        try {
+            // Secured factory disables external entities and DTDs of the untrusted metadata.
+            DocumentBuilderFactory documentBuilderFactory = IdentityUtil.getSecuredDocumentBuilderFactory();
+            documentBuilderFactory.setNamespaceAware(true);
+            return documentBuilderFactory.newDocumentBuilder()
+                    .parse(new InputSource(new StringReader(metadataContent)));
+        } catch (ParserConfigurationException | SAXException | IOException e) {
+            throw buildInvalidMetadataError(StringUtils.defaultString(e.getMessage()));
+        }
+    }
+
+    private static Element getFirstElement(Element parent, String namespace, String localName) {
+
+        List<Element> elements = getElements(parent, namespace, localName);
+        return elements.isEmpty() ? null : elements.get(0);
+    }
+
+    private static List<Element> getElements(Element parent, String namespace, String localName) {
+
+        NodeList nodes = parent.getElementsByTagNameNS(namespace, localName);
+        List<Element> elements = new ArrayList<>(nodes.getLength());
+        for (int i = 0; i < nodes.getLength(); i++) {
+            elements.add((Element) nodes.item(i));
+        }
+        return elements;
+    }
+
+    private static APIError buildInvalidMetadataError(String description) {
+
+        ErrorMessage errorEnum = ErrorMessage.INVALID_SAML_METADATA;
+        return Utils.buildClientError(errorEnum.getCode(), errorEnum.getMessage(),
+                String.format(errorEnum.getDescription(), description));
+    }
+}
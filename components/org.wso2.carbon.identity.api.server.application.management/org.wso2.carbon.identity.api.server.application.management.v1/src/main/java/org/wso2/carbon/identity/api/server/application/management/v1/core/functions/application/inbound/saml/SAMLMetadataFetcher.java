@@ -0,0 +1,267 @@
+/*
+ * Copyright (c) 2020, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.api.server.application.management.v1.core.functions.application.inbound.saml;
+
+import org.apache.commons.lang.StringUtils;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.wso2.carbon.identity.api.server.application.management.common.ApplicationManagementConstants.ErrorMessage;
+import org.wso2.carbon.identity.api.server.application.management.v1.core.functions.Utils;
+import org.wso2.carbon.identity.api.server.common.cache.ExpiringCache;
+import org.wso2.carbon.identity.api.server.common.error.APIError;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.HttpURLConnection;
+import java.net.MalformedURLException;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+
+import static org.wso2.carbon.identity.api.server.application.management.common.ApplicationManagementConstants.IMPORT_FILE_READ_BUFFER_SIZE;
+import static org.wso2.carbon.identity.api.server.application.management.common.ApplicationManagementConstants.MAX_SAML_METADATA_SIZE;
+import static org.wso2.carbon.identity.api.server.application.management.common.ApplicationManagementConstants.SAML_METADATA_CACHE_TIMEOUT;
+import static org.wso2.carbon.identity.api.server.application.management.common.ApplicationManagementConstants.SAML_METADATA_CONNECT_TIMEOUT;
+import static org.wso2.carbon.identity.api.server.application.management.common.ApplicationManagementConstants.SAML_METADATA_FRESHNESS_TIME;
+import static org.wso2.carbon.identity.api.server.application.management.common.ApplicationManagementConstants.SAML_METADATA_READ_TIMEOUT;
+
+/**
+ * Fetches SAML metadata documents from metadata URLs. Fetched documents are cached by URL along with their ETag and
+ * Last-Modified validators. A cached document is used as is for a short time, after which it is revalidated with a
+ * conditional request, so that an unchanged document is not downloaded again.
+ * <p>
+ * Response bodies are always fully read and closed, which lets the JDK reuse the connections to the metadata hosts.
+ */
+public class SAMLMetadataFetcher {
+
+    private static final Log log = LogFactory.getLog(SAMLMetadataFetcher.class);
+    private static final SAMLMetadataFetcher INSTANCE = new SAMLMetadataFetcher();
+
+    private static final String HTTP_PROTOCOL = "http";
+    private static final String HTTPS_PROTOCOL = "https";
+    private static final String ACCEPTED_METADATA_TYPES = "application/samlmetadata+xml, application/xml, text/xml";
+
+    private final ExpiringCache<String, MetadataDocument> metadataCache =
+            new ExpiringCache<>(SAML_METADATA_CACHE_TIMEOUT);
+    private final int connectTimeout;
+    private final int readTimeout;
+
+    private SAMLMetadataFetcher() {
+
+        this(SAML_METADATA_CONNECT_TIMEOUT, SAML_METADATA_READ_TIMEOUT);
+    }
+
+    SAMLMetadataFetcher(int connectTimeout, int readTimeout) {
+
+        this.connectTimeout = connectTimeout;
+        this.readTimeout = readTimeout;
+    }
+
+    public static SAMLMetadataFetcher getInstance() {
+
+        return INSTANCE;
+    }
+
+    /**
+     * Get the metadata document of a metadata URL, fetching it if there is no fresh cached document.
+     *
+     * @param metadataUrl Metadata URL.
+     * @return Content of the metadata document.
+     */
+    public String getMetadata(String metadataUrl) {
+
+        MetadataDocument cachedDocument = metadataCache.get(metadataUrl);
+        if (cachedDocument != null && cachedDocument.isFresh(System.currentTimeMillis())) {
+            return cachedDocument.getContent();
+        }
+        MetadataDocument document = fetch(metadataUrl, cachedDocument);
+        metadataCache.put(metadataUrl, document);
+        return document.getContent();
+    }
+
+    /**
+     * Revalidate the metadata document of a metadata URL with a conditional request, regardless of its freshness.
+     *
+     * @param metadataUrl Metadata URL.
+     * @return Content of the metadata document, or null if it has not changed since it was last fetched.
+     */
+    public String fetchIfModified(String metadataUrl) {
+
+        MetadataDocument cachedDocument = metadataCache.get(metadataUrl);
+        MetadataDocument document = fetch(metadataUrl, cachedDocument);
+        metadataCache.put(metadataUrl, document);
+        if (cachedDocument != null && StringUtils.equals(cachedDocument.getContent(), document.getContent())) {
+            return null;
+        }
+        return document.getContent();
+    }
+
+    /**
+     * Validate a metadata URL without fetching it.
+     *
+     * @param metadataUrl Metadata URL.
+     */
+    public void validateMetadataUrl(String metadataUrl) {
+
+        toUrl(metadataUrl);
+    }
+
+    private MetadataDocument fetch(String metadataUrl, MetadataDocument cachedDocument) {
+
+        URL url = toUrl(metadataUrl);
+        try {
+            HttpURLConnection connection = (HttpURLConnection) url.openConnection();
+            connection.setConnectTimeout(connectTimeout);
+            connection.setReadTimeout(readTimeout);
+            connection.setRequestProperty("Accept", ACCEPTED_METADATA_TYPES);
+            if (cachedDocument != null) {
+                if (cachedDocument.getETag() != null) {
+                    connection.setRequestProperty("If-None-Match", cachedDocument.getETag());
+                }
+                if (cachedDocument.getLastModified() != null) {
+                    connection.setRequestProperty("If-Modified-Since", cachedDocument.getLastModified());
+                }
+            }
+
+            int responseCode = connection.getResponseCode();
+            if (responseCode == HttpURLConnection.HTTP_NOT_MODIFIED && cachedDocument != null) {
+                if (log.isDebugEnabled()) {
+                    log.debug("SAML metadata of the URL: " + metadataUrl + " is not modified.");
+                }
+                discardContent(connection.getInputStream());
+                return cachedDocument.revalidate(System.currentTimeMillis());
+            }
+            if (responseCode != HttpURLConnection.HTTP_OK) {
+                discardContent(connection.getErrorStream());
+                throw buildClientError(ErrorMessage.SAML_METADATA_RETRIEVAL_FAILED, metadataUrl,
+                        "Metadata host responded with the status code: " + responseCode + ".");
+            }
+            if (connection.getContentLengthLong() > MAX_SAML_METADATA_SIZE) {
+                discardContent(connection.getInputStream());
+                throw buildClientError(ErrorMessage.SAML_METADATA_SIZE_EXCEEDED, metadataUrl,
+                        String.valueOf(MAX_SAML_METADATA_SIZE));
+            }
+
+            String content = readContent(connection.getInputStream(), metadataUrl);
+            return new MetadataDocument(content, connection.getHeaderField("ETag"),
+                    connection.getHeaderField("Last-Modified"), System.currentTimeMillis());
+        } catch (IOException e) {
+            if (log.isDebugEnabled()) {
+                log.debug("Error while fetching SAML metadata from the URL: " + metadataUrl, e);
+            }
+            throw buildClientError(ErrorMessage.SAML_METADATA_RETRIEVAL_FAILED, metadataUrl,
+                    StringUtils.defaultString(e.getMessage()));
+        }
+    }
+
+    private String readContent(InputStream inputStream, String metadataUrl) throws IOException {
+
+        try (InputStream contentStream = inputStream) {
+            ByteArrayOutputStream content = new ByteArrayOutputStream();
+            byte[] buffer = new byte[IMPORT_FILE_READ_BUFFER_SIZE];
+            int read;
+            while ((read = contentStream.read(buffer)) != -1) {
+                // The content length is not always available, so the size is checked while reading as well.
+                if (content.size() + read > MAX_SAML_METADATA_SIZE) {
+                    throw buildClientError(ErrorMessage.SAML_METADATA_SIZE_EXCEEDED, metadataUrl,
+                            String.valueOf(MAX_SAML_METADATA_SIZE));
+                }
+                content.write(buffer, 0, read);
+            }
+            return new String(content.toByteArray(), StandardCharsets.UTF_8);
+        }
+    }
+
+    private void discardContent(InputStream inputStream) throws IOException {
+
+        if (inputStream == null) {
+            return;
+        }
+        try (InputStream contentStream = inputStream) {
+            byte[] buffer = new byte[IMPORT_FILE_READ_BUFFER_SIZE];
+            while (contentStream.read(buffer) != -1) {
+                // Read the response fully, so that the connection can be reused.
+            }
+        }
+    }
+
+    private URL toUrl(String metadataUrl) {
+
+        try {
+            URL url = new URL(metadataUrl);
+            if (!HTTP_PROTOCOL.equalsIgnoreCase(url.getProtocol())
+                    && !HTTPS_PROTOCOL.equalsIgnoreCase(url.getProtocol())) {
+                throw buildClientError(ErrorMessage.INVALID_SAML_METADATA_URL, metadataUrl);
+            }
+            return url;
+        } catch (MalformedURLException e) {
+            throw buildClientError(ErrorMessage.INVALID_SAML_METADATA_URL, metadataUrl);
+        }
+    }
+
+    private static APIError buildClientError(ErrorMessage errorEnum, String... args) {
+
+        return Utils.buildClientError(errorEnum.getCode(), errorEnum.getMessage(),
+                String.format(errorEnum.getDescription(), (Object[]) args));
+    }
+
+    /**
+     * Fetched metadata document along with its validators.
+     */
+    private static class MetadataDocument {
+
+        private final String content;
+        private final String eTag;
+        private final String lastModified;
+        private final long validatedTime;
+
+        MetadataDocument(String content, String eTag, String lastModified, long validatedTime) {
+
+            this.content = content;
+            this.eTag = eTag;
+            this.lastModified = lastModified;
+            this.validatedTime = validatedTime;
+        }
+
+        String getContent() {
+
+            return content;
+        }
+
+        String getETag() {
+
+            return eTag;
+        }
+
+        String getLastModified() {
+
+            return lastModified;
+        }
+
+        boolean isFresh(long currentTime) {
+
+            return currentTime - validatedTime < SAML_METADATA_FRESHNESS_TIME;
+        }
+
+        MetadataDocument revalidate(long currentTime) {
+
+            return new MetadataDocument(content, eTag, lastModified, currentTime);
+        }
+    }
+}
@@ -0,0 +1,422 @@
+/*
+ * Copyright (c) 2020, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.api.server.application.management.v1.core.functions.application.inbound.saml;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.wso2.carbon.identity.api.server.application.management.common.ApplicationManagementServiceHolder;
+import org.wso2.carbon.identity.api.server.application.management.v1.SAMLMetadataRefreshStatus;
+import org.wso2.carbon.identity.api.server.application.management.v1.core.functions.Utils;
+import org.wso2.carbon.identity.api.server.common.Util;
+import org.wso2.carbon.identity.api.server.common.error.APIError;
+import org.wso2.carbon.identity.application.common.IdentityApplicationManagementException;
+import org.wso2.carbon.identity.application.common.model.ServiceProvider;
+import org.wso2.carbon.identity.application.common.util.IdentityApplicationConstants;
+import org.wso2.carbon.identity.core.util.IdentityTenantUtil;
+import org.wso2.carbon.user.api.Tenant;
+import org.wso2.carbon.user.api.UserStoreException;
+import org.wso2.carbon.user.core.service.RealmService;
+import org.wso2.carbon.utils.multitenancy.MultitenantConstants;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+import static org.wso2.carbon.identity.api.server.application.management.common.ApplicationManagementConstants.SAML_METADATA_REFRESH_INTERVAL;
+import static org.wso2.carbon.identity.api.server.application.management.common.ApplicationManagementConstants.SAML_METADATA_REFRESH_JITTER_RATIO;
+import static org.wso2.carbon.identity.api.server.application.management.common.ApplicationManagementConstants.SAML_METADATA_REFRESH_WORKER_COUNT;
+import static org.wso2.carbon.identity.application.authentication.framework.util.FrameworkConstants.StandardInboundProtocols.SAML2;
+
+/**
+ * Periodically refreshes the SAML service providers which were configured with a metadata URL. Each refresh
+ * revalidates the metadata with a conditional request, and updates the service provider only when its certificate or
+ * endpoints in the metadata have changed. Refreshes are jittered, so that the service providers registered together
+ * are not refreshed at once.
+ * <p>
+ * Each node of a cluster refreshes its registrations, but the jittered refreshes of the nodes are spread apart and a
+ * node which finds the changes of the metadata already applied to the shared service provider skips the update, so
+ * that a change of the metadata replaces the service provider once.
+ * <p>
+ * The metadata URL of a service provider is kept in the properties of its application, from which the registrations
+ * of all the tenants are recreated when the refresher is started. Fetch metrics are node local. A registration is
+ * removed when its service provider no longer exists. Refreshes run as the admin of the tenant of the service
+ * provider, since they are not done on behalf of the user who configured the metadata URL.
+ */
+public class SAMLMetadataRefresher {
+
+    private static final Log log = LogFactory.getLog(SAMLMetadataRefresher.class);
+    private static final SAMLMetadataRefresher INSTANCE = new SAMLMetadataRefresher();
+
+    private final ConcurrentMap<String, Registration> registrations = new ConcurrentHashMap<>();
+    private final ScheduledThreadPoolExecutor scheduler = createScheduler();
+
+    private SAMLMetadataRefresher() {
+
+    }
+
+    public static SAMLMetadataRefresher getInstance() {
+
+        return INSTANCE;
+    }
+
+    /**
+     * Start the refresher by registering the SAML service providers of all the tenants which were configured with a
+     * metadata URL. The service providers are looked up in the background.
+     */
+    public void start() {
+
+        scheduler.execute(this::registerConfiguredServiceProviders);
+    }
+
+    /**
+     * Stop the refresher. Refreshes in progress are interrupted and no further refreshes are run.
+     */
+    public void stop() {
+
+        scheduler.shutdownNow();
+        registrations.clear();
+    }
+
+    /**
+     * Register a SAML service provider to be refreshed from its metadata URL. Replaces an existing registration of
+     * the service provider.
+     *
+     * @param tenantDomain Tenant domain of the service provider.
+     * @param issuer       Issuer of the service provider.
+     * @param metadataUrl  Metadata URL of the service provider.
+     */
+    public void register(String tenantDomain, String issuer, String metadataUrl) {
+
+        String registrationKey = buildRegistrationKey(tenantDomain, issuer);
+        Registration registration = new Registration(tenantDomain, issuer, metadataUrl);
+        Registration previousRegistration = registrations.put(registrationKey, registration);
+        if (previousRegistration != null) {
+            previousRegistration.cancel();
+        }
+        schedule(registrationKey, registration);
+        if (log.isDebugEnabled()) {
+            log.debug("Registered SAML service provider with issuer: " + issuer + " of tenant: " + tenantDomain +
+                    " to be refreshed from the metadata URL: " + metadataUrl);
+        }
+    }
+
+    /**
+     * Stop refreshing a SAML service provider.
+     *
+     * @param tenantDomain Tenant domain of the service provider.
+     * @param issuer       Issuer of the service provider.
+     * @return Metadata URL of the removed registration, or null if the service provider was not registered.
+     */
+    public String unregister(String tenantDomain, String issuer) {
+
+        Registration registration = registrations.remove(buildRegistrationKey(tenantDomain, issuer));
+        if (registration == null) {
+            return null;
+        }
+        registration.cancel();
+        return registration.getMetadataUrl();
+    }
+
+    /**
+     * Get the metadata URL from which a SAML service provider is refreshed.
+     *
+     * @param tenantDomain Tenant domain of the service provider.
+     * @param issuer       Issuer of the service provider.
+     * @return Metadata URL of the service provider, or null if the service provider is not registered.
+     */
+    public String getMetadataUrl(String tenantDomain, String issuer) {
+
+        Registration registration = registrations.get(buildRegistrationKey(tenantDomain, issuer));
+        return registration != null ? registration.getMetadataUrl() : null;
+    }
+
+    /**
+     * Get the refresh status of the registered SAML service providers of a tenant.
+     *
+     * @param tenantDomain Tenant domain.
+     * @return Refresh status of the service providers, ordered by the issuer.
+     */
+    public List<SAMLMetadataRefreshStatus> getRefreshStatus(String tenantDomain) {
+
+        return registrations.values().stream()
+                .filter(registration -> tenantDomain.equals(registration.getTenantDomain()))
+                .map(Registration::toRefreshStatus)
+                .sorted(Comparator.comparing(SAMLMetadataRefreshStatus::getIssuer))
+                .collect(Collectors.toList());
+    }
+
+    private void registerConfiguredServiceProviders() {
+
+        RealmService realmService = IdentityTenantUtil.getRealmService();
+        List<String> tenantDomains = new ArrayList<>();
+        tenantDomains.add(MultitenantConstants.SUPER_TENANT_DOMAIN_NAME);
+        try {
+            for (Tenant tenant : realmService.getTenantManager().getAllTenants()) {
+                if (tenant.isActive()) {
+                    tenantDomains.add(tenant.getDomain());
+                }
+            }
+        } catch (UserStoreException e) {
+            log.error("Error while retrieving the tenants whose SAML service providers are refreshed from their " +
+                    "metadata URLs.", e);
+        }
+
+        for (String tenantDomain : tenantDomains) {
+            try {
+                Util.runInTenantFlow(tenantDomain, getTenantAdminUsername(tenantDomain),
+                        () -> registerConfiguredServiceProviders(tenantDomain));
+            } catch (RuntimeException e) {
+                log.error("Error while registering the SAML service providers of tenant: " + tenantDomain +
+                        " to be refreshed from their metadata URLs.", e);
+            }
+        }
+    }
+
+    private void registerConfiguredServiceProviders(String tenantDomain) {
+
+        for (String issuer : SAMLInboundFunctions.getSAMLServiceProviderIssuers()) {
+            ServiceProvider application;
+            try {
+                application = ApplicationManagementServiceHolder.getInstance().getApplicationManagementService()
+                        .getServiceProviderByClientId(issuer, SAML2, tenantDomain);
+            } catch (IdentityApplicationManagementException e) {
+                log.error("Error while retrieving the application of the SAML service provider with issuer: " +
+                        issuer + " of tenant: " + tenantDomain, e);
+                continue;
+            }
+            // The backend falls back to the 'default' application when there is no application for the issuer.
+            if (application == null ||
+                    IdentityApplicationConstants.DEFAULT_SP_CONFIG.equals(application.getApplicationName())) {
+                continue;
+            }
+            String metadataUrl = SAMLInboundFunctions.getMetadataUrlProperty(application);
+            if (metadataUrl == null) {
+                continue;
+            }
+            String registrationKey = buildRegistrationKey(tenantDomain, issuer);
+            Registration registration = new Registration(tenantDomain, issuer, metadataUrl);
+            // Registrations made after the refresher was started are newer, so they are kept.
+            if (registrations.putIfAbsent(registrationKey, registration) == null) {
+                schedule(registrationKey, registration);
+            }
+        }
+    }
+
+    private String getTenantAdminUsername(String tenantDomain) {
+
+        try {
+            return IdentityTenantUtil.getRealmService()
+                    .getTenantUserRealm(IdentityTenantUtil.getTenantId(tenantDomain))
+                    .getRealmConfiguration()
+                    .getAdminUserName();
+        } catch (UserStoreException e) {
+            throw Utils.buildServerError("Error while retrieving the admin user of tenant: " + tenantDomain, e);
+        }
+    }
+
+    private void schedule(String registrationKey, Registration registration) {
+
+        double jitter = ThreadLocalRandom.current()
+                .nextDouble(-SAML_METADATA_REFRESH_JITTER_RATIO, SAML_METADATA_REFRESH_JITTER_RATIO);
+        long delay = (long) (SAML_METADATA_REFRESH_INTERVAL * (1 + jitter));
+        registration.setScheduledRefresh(scheduler.schedule(() -> refresh(registrationKey, registration), delay,
+                TimeUnit.MILLISECONDS), System.currentTimeMillis() + delay);
+    }
+
+    private void refresh(String registrationKey, Registration registration) {
+
+        if (registrations.get(registrationKey) != registration) {
+            // Unregistered or replaced after the refresh was scheduled.
+            return;
+        }
+        boolean serviceProviderExists = true;
+        try {
+            serviceProviderExists = Util.runInTenantFlow(registration.getTenantDomain(),
+                    getTenantAdminUsername(registration.getTenantDomain()),
+                    () -> refreshServiceProvider(registration));
+        } catch (APIError e) {
+            log.warn("Error while refreshing SAML service provider with issuer: " + registration.getIssuer() +
+                    " from the metadata URL: " + registration.getMetadataUrl() + ". " +
+                    e.getResponseEntity().getDescription());
+            registration.recordFailure(e.getResponseEntity().getDescription());
+        } catch (RuntimeException e) {
+            log.error("Unexpected error while refreshing SAML service provider with issuer: " +
+                    registration.getIssuer() + " from the metadata URL: " + registration.getMetadataUrl(), e);
+            registration.recordFailure("Unexpected error occurred while refreshing the service provider.");
+        }
+
+        if (!serviceProviderExists) {
+            if (log.isDebugEnabled()) {
+                log.debug("SAML service provider with issuer: " + registration.getIssuer() + " of tenant: " +
+                        registration.getTenantDomain() + " no longer exists. Stopping its metadata refreshes.");
+            }
+            registrations.remove(registrationKey, registration);
+        } else if (registrations.get(registrationKey) == registration) {
+            schedule(registrationKey, registration);
+        }
+    }
+
+    private boolean refreshServiceProvider(Registration registration) {
+
+        if (!SAMLInboundFunctions.isSAMLServiceProviderExists(registration.getIssuer())) {
+            return false;
+        }
+
+        long fetchStartTime = System.nanoTime();
+        String metadataContent;
+        try {
+            metadataContent = SAMLMetadataFetcher.getInstance().fetchIfModified(registration.getMetadataUrl());
+        } finally {
+            registration.recordFetch(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - fetchStartTime));
+        }
+
+        boolean updated = metadataContent != null &&
+                SAMLInboundFunctions.updateSAMLSpWithMetadata(registration.getIssuer(), metadataContent);
+        if (updated && log.isDebugEnabled()) {
+            log.debug("Updated SAML service provider with issuer: " + registration.getIssuer() +
+                    " from the metadata URL: " + registration.getMetadataUrl());
+        }
+        registration.recordSuccess(updated);
+        return true;
+    }
+
+    private String buildRegistrationKey(String tenantDomain, String issuer) {
+
+        return tenantDomain + ":" + issuer;
+    }
+
+    private static ScheduledThreadPoolExecutor createScheduler() {
+
+        AtomicInteger threadCount = new AtomicInteger();
+        ScheduledThreadPoolExecutor scheduler = new ScheduledThreadPoolExecutor(SAML_METADATA_REFRESH_WORKER_COUNT,
+                runnable -> {
+                    Thread thread = new Thread(runnable, "saml-metadata-refresh-" + threadCount.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+        // Cancelled refreshes are removed right away, instead of being held until their delay elapses.
+        scheduler.setRemoveOnCancelPolicy(true);
+        return scheduler;
+    }
+
+    /**
+     * Registered SAML service provider along with its fetch metrics.
+     */
+    private static class Registration {
+
+        private final String tenantDomain;
+        private final String issuer;
+        private final String metadataUrl;
+
+        private ScheduledFuture<?> scheduledRefresh;
+        private long nextRefreshTime;
+        private long fetchCount;
+        private long totalFetchLatency;
+        private long lastFetchLatency;
+        private long failureCount;
+        private int consecutiveFailures;
+        private long lastRefreshTime;
+        private long lastUpdateTime;
+        private String lastError;
+
+        Registration(String tenantDomain, String issuer, String metadataUrl) {
+
+            this.tenantDomain = tenantDomain;
+            this.issuer = issuer;
+            this.metadataUrl = metadataUrl;
+        }
+
+        String getTenantDomain() {
+
+            return tenantDomain;
+        }
+
+        String getIssuer() {
+
+            return issuer;
+        }
+
+        String getMetadataUrl() {
+
+            return metadataUrl;
+        }
+
+        synchronized void setScheduledRefresh(ScheduledFuture<?> scheduledRefresh, long nextRefreshTime) {
+
+            this.scheduledRefresh = scheduledRefresh;
+            this.nextRefreshTime = nextRefreshTime;
+        }
+
+        synchronized void cancel() {
+
+            if (scheduledRefresh != null) {
+                scheduledRefresh.cancel(false);
+            }
+        }
+
+        synchronized void recordFetch(long fetchLatency) {
+
+            fetchCount++;
+            totalFetchLatency += fetchLatency;
+            lastFetchLatency = fetchLatency;
+        }
+
+        synchronized void recordSuccess(boolean updated) {
+
+            consecutiveFailures = 0;
+            lastError = null;
+            lastRefreshTime = System.currentTimeMillis();
+            if (updated) {
+                lastUpdateTime = lastRefreshTime;
+            }
+        }
+
+        synchronized void recordFailure(String error) {
+
+            failureCount++;
+            consecutiveFailures++;
+            lastError = error;
+            lastRefreshTime = System.currentTimeMillis();
+        }
+
+        synchronized SAMLMetadataRefreshStatus toRefreshStatus() {
+
+            return new SAMLMetadataRefreshStatus()
+                    .issuer(issuer)
+                    .metadataURL(metadataUrl)
+                    .fetchCount(fetchCount)
+                    .failureCount(failureCount)
+                    .consecutiveFailures(consecutiveFailures)
+                    .lastFetchLatency(fetchCount > 0 ? lastFetchLatency : null)
+                    .averageFetchLatency(fetchCount > 0 ? totalFetchLatency / fetchCount : null)
+                    .lastRefreshTime(lastRefreshTime > 0 ? lastRefreshTime : null)
+                    .lastUpdateTime(lastUpdateTime > 0 ? lastUpdateTime : null)
+                    .nextRefreshTime(nextRefreshTime)
+                    .lastError(lastError);
+        }
+    }
+}
@@ -27,28 +27,40 @@ import org.wso2.carbon.identity.api.server.application.management.v1.Application
 import org.wso2.carbon.identity.api.server.application.management.v1.ApplicationsApiService;
 import org.wso2.carbon.identity.api.server.application.management.v1.CustomInboundProtocolConfiguration;
 import org.wso2.carbon.identity.api.server.application.management.v1.InboundProtocolListItem;
+import org.wso2.carbon.identity.api.server.application.management.v1.InboundProtocols;
 import org.wso2.carbon.identity.api.server.application.management.v1.OpenIDConnectConfiguration;
 import org.wso2.carbon.identity.api.server.application.management.v1.PassiveStsConfiguration;
 import org.wso2.carbon.identity.api.server.application.management.v1.ProvisioningConfiguration;
 import org.wso2.carbon.identity.api.server.application.management.v1.ResidentApplication;
 import org.wso2.carbon.identity.api.server.application.management.v1.SAML2Configuration;
 import org.wso2.carbon.identity.api.server.application.management.v1.SAML2ServiceProvider;
+import org.wso2.carbon.identity.api.server.application.management.v1.SAMLInboundOperation;
 import org.wso2.carbon.identity.api.server.application.management.v1.WSTrustConfiguration;
 import org.wso2.carbon.identity.api.server.application.management.v1.core.ServerApplicationManagementService;
 import org.wso2.carbon.identity.api.server.application.management.v1.core.ServerApplicationMetadataService;
+import org.wso2.carbon.identity.api.server.application.management.v1.core.functions.application
+        .ApplicationMetadataCache.CachedMetadata;
 import org.wso2.carbon.identity.api.server.common.Constants;
 import org.wso2.carbon.identity.api.server.common.ContextLoader;
+import org.wso2.carbon.identity.api.server.common.error.APIError;
 
 import java.io.InputStream;
 import java.net.URI;
 import java.util.List;
+import javax.ws.rs.core.EntityTag;
+import javax.ws.rs.core.HttpHeaders;
 import javax.ws.rs.core.Response;
 
+import static org.wso2.carbon.identity.api.server.application.management.common.ApplicationManagementConstants.SAML_INBOUND_OPERATION_RETRY_AFTER;
+import static org.wso2.carbon.identity.api.server.common.Util.isETagMatched;
+
 /**
  * Implementation of ApplicationsApiService.
  */
 public class ApplicationsApiServiceImpl implements ApplicationsApiService {
 
+    private static final String SAML_INBOUND_OPERATIONS_PATH_COMPONENT = "/inbound-protocols/saml/operations/";
+
     @Autowired
     private ServerApplicationManagementService applicationManagementService;
 
@@ -186,7 +198,17 @@ public class ApplicationsApiServiceImpl implements ApplicationsApiService {
     public Response exportApplication(String applicationId, Boolean exportSecrets) {
 
         return Response.ok().entity(
-                applicationManagementService.exportApplication(applicationId, exportSecrets)).build();
+                applicationManagementService.exportApplicationAsOutput(applicationId, exportSecrets)).build();
+    }
+
+    @Override
+    public Response exportApplications(String filter, Boolean exportSecrets) {
+
+        return Response.ok()
+                .entity(applicationManagementService.exportApplications(filter, exportSecrets))
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\""
+                        + ApplicationManagementConstants.APPLICATION_ARCHIVE_FILE_NAME + "\"")
+                .build();
     }
 
     @Override
@@ -196,6 +218,19 @@ public class ApplicationsApiServiceImpl implements ApplicationsApiService {
         return Response.created(getResourceLocation(resourceId)).build();
     }
 
+    @Override
+    public Response importApplicationArchive(InputStream fileInputStream, Attachment fileDetail) {
+
+        return Response.ok().entity(applicationManagementService.importApplicationArchive(fileInputStream)).build();
+    }
+
+    @Override
+    public Response importApplicationArchiveForUpdate(InputStream fileInputStream, Attachment fileDetail) {
+
+        return Response.ok().entity(
+                applicationManagementService.importApplicationArchiveForUpdate(fileInputStream)).build();
+    }
+
     @Override
     public Response importApplicationForUpdate(InputStream fileInputStream, Attachment fileDetail) {
 
@@ -265,12 +300,49 @@ public class ApplicationsApiServiceImpl implements ApplicationsApiService {
     }
 
     @Override
-    public Response updateInboundSAMLConfiguration(String applicationId, SAML2Configuration saml2Configuration) {
+    public Response updateInboundProtocols(String applicationId, InboundProtocols inboundProtocols) {
 
+        applicationManagementService.putInbounds(applicationId, inboundProtocols);
+        return Response.ok().build();
+    }
+
+    @Override
+    public Response updateInboundSAMLConfiguration(String applicationId, SAML2Configuration saml2Configuration,
+                                                   Boolean async) {
+
+        // Only the configurations with a metadata URL wait for a remote host, so the others are always updated here.
+        if (Boolean.TRUE.equals(async) && saml2Configuration.getMetadataFile() == null
+                && saml2Configuration.getMetadataURL() != null) {
+            SAMLInboundOperation operation;
+            try {
+                operation = applicationManagementService.putInboundSAMLConfigurationAsync(applicationId,
+                        saml2Configuration);
+            } catch (APIError e) {
+                if (e.getStatus() == Response.Status.SERVICE_UNAVAILABLE) {
+                    // Too many updates are pending, so the client is told when to retry.
+                    return Response.status(Response.Status.SERVICE_UNAVAILABLE)
+                            .header(HttpHeaders.RETRY_AFTER, SAML_INBOUND_OPERATION_RETRY_AFTER)
+                            .entity(e.getResponseEntity())
+                            .build();
+                }
+                throw e;
+            }
+            return Response.accepted(operation)
+                    .location(getResourceLocation(applicationId + SAML_INBOUND_OPERATIONS_PATH_COMPONENT
+                            + operation.getOperationId()))
+                    .build();
+        }
         applicationManagementService.putInboundSAMLConfiguration(applicationId, saml2Configuration);
         return Response.ok().build();
     }
 
+    @Override
+    public Response getSAMLInboundOperation(String applicationId, String operationId) {
+
+        return Response.ok().entity(applicationManagementService.getSAMLInboundOperation(applicationId, operationId))
+                .build();
+    }
+
     @Override
     public Response updatePassiveStsConfiguration(String applicationId,
                                                   PassiveStsConfiguration passiveStsConfiguration) {
@@ -287,39 +359,46 @@ public class ApplicationsApiServiceImpl implements ApplicationsApiService {
     }
 
     @Override
-    public Response getInboundProtocols(Boolean customOnly) {
+    public Response getInboundProtocols(Boolean customOnly, String ifNoneMatch) {
 
-        return Response.ok().entity(applicationMetadataService.getInboundProtocols(customOnly)).build();
+        return buildMetadataResponse(applicationMetadataService.getInboundProtocols(customOnly), ifNoneMatch);
     }
 
     @Override
-    public Response getCustomProtocolMetadata(String inboundProtocolId) {
+    public Response getCustomProtocolMetadata(String inboundProtocolId, String ifNoneMatch) {
 
-        return Response.ok().entity(applicationMetadataService.getCustomProtocolMetadata(inboundProtocolId)).build();
+        return buildMetadataResponse(applicationMetadataService.getCustomProtocolMetadata(inboundProtocolId),
+                ifNoneMatch);
     }
 
     @Override
-    public Response getOIDCMetadata() {
+    public Response getOIDCMetadata(String ifNoneMatch) {
 
-        return Response.ok().entity(applicationMetadataService.getOIDCMetadata()).build();
+        return buildMetadataResponse(applicationMetadataService.getOIDCMetadata(), ifNoneMatch);
     }
 
     @Override
-    public Response getSAMLMetadata() {
+    public Response getSAMLMetadata(String ifNoneMatch) {
 
-        return Response.ok().entity(applicationMetadataService.getSAMLMetadata()).build();
+        return buildMetadataResponse(applicationMetadataService.getSAMLMetadata(), ifNoneMatch);
     }
 
     @Override
-    public Response getWSTrustMetadata() {
+    public Response getSAMLMetadataRefreshStatus() {
 
-        return Response.ok().entity(applicationMetadataService.getWSTrustMetadata()).build();
+        return Response.ok().entity(applicationMetadataService.getSAMLMetadataRefreshStatus()).build();
     }
 
     @Override
-    public Response getAdaptiveAuthTemplates() {
+    public Response getWSTrustMetadata(String ifNoneMatch) {
 
-        return Response.ok().entity(applicationMetadataService.getAdaptiveAuthTemplates()).build();
+        return buildMetadataResponse(applicationMetadataService.getWSTrustMetadata(), ifNoneMatch);
+    }
+
+    @Override
+    public Response getAdaptiveAuthTemplates(String ifNoneMatch) {
+
+        return buildMetadataResponse(applicationMetadataService.getAdaptiveAuthTemplates(), ifNoneMatch);
     }
 
     @Override
@@ -329,6 +408,18 @@ public class ApplicationsApiServiceImpl implements ApplicationsApiService {
                 searchContext)).build();
     }
 
+    private Response buildMetadataResponse(CachedMetadata<?> metadata, String ifNoneMatch) {
+
+        if (metadata.getETag() == null) {
+            return Response.ok().entity(metadata.getMetadata()).build();
+        }
+        EntityTag eTag = new EntityTag(metadata.getETag());
+        if (isETagMatched(eTag, ifNoneMatch)) {
+            return Response.notModified(eTag).build();
+        }
+        return Response.ok().entity(metadata.getMetadata()).tag(eTag).build();
+    }
+
     private URI getResourceLocation(String resourceId) {
 
         return ContextLoader.buildURIForHeader(Constants.V1_API_PATH_COMPONENT +
@@ -0,0 +1,98 @@
+/*
+ * Copyright (c) 2020, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.wso2.carbon.identity.api.server.application.management.v1.core.functions.application;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.wso2.carbon.identity.application.common.model.ClaimMapping;
+import org.wso2.carbon.identity.application.common.model.ServiceProvider;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.wso2.carbon.identity.api.server.application.management.v1.core.functions.application.ModelTestUtils.populate;
+import static org.wso2.carbon.identity.api.server.application.management.v1.core.functions.application.ModelTestUtils.serializationCopy;
+
+/**
+ * Compares {@link ServiceProviderCopier} with the Java serialization copy it replaced, for an application with a
+ * large authentication script and claim configuration.
+ * <p>
+ * Run with {@code mvn test-compile exec:java -Dexec.classpathScope=test -Dexec.mainClass=<this class>} or from the
+ * IDE through {@link #main(String[])}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ServiceProviderCopierBenchmark {
+
+    @Param({"10", "500"})
+    private int claimMappingCount;
+
+    @Param({"1024", "262144"})
+    private int scriptLength;
+
+    private ServiceProvider application;
+
+    @Setup
+    public void setUp() {
+
+        application = populate(ServiceProvider.class);
+
+        ClaimMapping[] claimMappings = new ClaimMapping[claimMappingCount];
+        for (int i = 0; i < claimMappingCount; i++) {
+            claimMappings[i] = populate(ClaimMapping.class);
+        }
+        application.getClaimConfig().setClaimMappings(claimMappings);
+
+        StringBuilder script = new StringBuilder(scriptLength);
+        while (script.length() < scriptLength) {
+            script.append("var onLoginRequest = function(context) { executeStep(1); };\n");
+        }
+        application.getLocalAndOutBoundAuthenticationConfig().getAuthenticationScriptConfig()
+                .setContent(script.substring(0, scriptLength));
+    }
+
+    @Benchmark
+    public ServiceProvider copyWithSerialization() {
+
+        return serializationCopy(application);
+    }
+
+    @Benchmark
+    public ServiceProvider copyWithCopier() {
+
+        return ServiceProviderCopier.copy(application);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+
+        new Runner(new OptionsBuilder().include(ServiceProviderCopierBenchmark.class.getSimpleName()).build()).run();
+    }
+}
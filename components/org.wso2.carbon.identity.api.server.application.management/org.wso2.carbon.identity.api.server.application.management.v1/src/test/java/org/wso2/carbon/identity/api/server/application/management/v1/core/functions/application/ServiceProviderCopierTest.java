@@ -0,0 +1,110 @@
+/*
+ * Copyright (c) 2020, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.wso2.carbon.identity.api.server.application.management.v1.core.functions.application;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.wso2.carbon.identity.application.common.model.ClaimMapping;
+import org.wso2.carbon.identity.application.common.model.InboundAuthenticationRequestConfig;
+import org.wso2.carbon.identity.application.common.model.ServiceProvider;
+
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.wso2.carbon.identity.api.server.application.management.v1.core.functions.application.ModelTestUtils.assertDeepEquals;
+import static org.wso2.carbon.identity.api.server.application.management.v1.core.functions.application.ModelTestUtils.populate;
+import static org.wso2.carbon.identity.api.server.application.management.v1.core.functions.application.ModelTestUtils.serializationCopy;
+
+/**
+ * Tests for {@link ServiceProviderCopier}.
+ */
+public class ServiceProviderCopierTest {
+
+    private ServiceProvider application;
+
+    @Before
+    public void setUp() {
+
+        application = populate(ServiceProvider.class);
+    }
+
+    @Test
+    public void testCopyOfNullIsNull() {
+
+        assertNull(ServiceProviderCopier.copy(null));
+    }
+
+    @Test
+    public void testCopyIsEquivalentToSerializationCopy() {
+
+        assertDeepEquals(serializationCopy(application), ServiceProviderCopier.copy(application), "application");
+    }
+
+    @Test
+    public void testCopyOfEmptyApplicationIsEquivalentToSerializationCopy() {
+
+        ServiceProvider emptyApplication = new ServiceProvider();
+        assertDeepEquals(serializationCopy(emptyApplication), ServiceProviderCopier.copy(emptyApplication),
+                "application");
+    }
+
+    @Test
+    public void testCopyDoesNotShareMutatedObjects() {
+
+        ServiceProvider copy = ServiceProviderCopier.copy(application);
+
+        assertNotSame(application, copy);
+        assertNotSame(application.getClaimConfig(), copy.getClaimConfig());
+        assertNotSame(application.getPermissionAndRoleConfig(), copy.getPermissionAndRoleConfig());
+        assertNotSame(application.getInboundProvisioningConfig(), copy.getInboundProvisioningConfig());
+        assertNotSame(application.getOutboundProvisioningConfig(), copy.getOutboundProvisioningConfig());
+        assertNotSame(application.getInboundAuthenticationConfig(), copy.getInboundAuthenticationConfig());
+        assertNotSame(application.getLocalAndOutBoundAuthenticationConfig(),
+                copy.getLocalAndOutBoundAuthenticationConfig());
+
+        InboundAuthenticationRequestConfig inbound =
+                application.getInboundAuthenticationConfig().getInboundAuthenticationRequestConfigs()[0];
+        InboundAuthenticationRequestConfig inboundCopy =
+                copy.getInboundAuthenticationConfig().getInboundAuthenticationRequestConfigs()[0];
+        assertNotSame(inbound, inboundCopy);
+        assertNotSame(inbound.getProperties()[0], inboundCopy.getProperties()[0]);
+        assertNotSame(application.getLocalAndOutBoundAuthenticationConfig().getAuthenticationSteps()[0],
+                copy.getLocalAndOutBoundAuthenticationConfig().getAuthenticationSteps()[0]);
+    }
+
+    @Test
+    public void testUpdatingCopyLeavesOriginalUnchanged() {
+
+        ServiceProvider snapshot = serializationCopy(application);
+        ServiceProvider copy = ServiceProviderCopier.copy(application);
+
+        copy.setApplicationName("updated");
+        copy.setDescription("updated");
+        copy.getClaimConfig().setClaimMappings(new ClaimMapping[0]);
+        copy.getClaimConfig().setLocalClaimDialect(!application.getClaimConfig().isLocalClaimDialect());
+        copy.getInboundProvisioningConfig().setProvisioningUserStore("updated");
+        copy.getOutboundProvisioningConfig().setProvisionByRoleList(new String[0]);
+        copy.getLocalAndOutBoundAuthenticationConfig().setAuthenticationType("updated");
+        copy.getLocalAndOutBoundAuthenticationConfig().getAuthenticationSteps()[0].setStepOrder(-1);
+        InboundAuthenticationRequestConfig inboundCopy =
+                copy.getInboundAuthenticationConfig().getInboundAuthenticationRequestConfigs()[0];
+        inboundCopy.setInboundAuthKey("updated");
+        inboundCopy.getProperties()[0].setValue("updated");
+        copy.getInboundAuthenticationConfig().setInboundAuthenticationRequestConfigs(
+                new InboundAuthenticationRequestConfig[0]);
+
+        assertDeepEquals(snapshot, application, "application");
+    }
+}
@@ -0,0 +1,196 @@
+/*
+ * Copyright (c) 2020, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.wso2.carbon.identity.api.server.application.management.v1.core.functions.application.inbound.saml;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.wso2.carbon.identity.api.server.application.management.common.ApplicationManagementServiceHolder;
+import org.wso2.carbon.identity.sso.saml.SAMLSSOConfigServiceImpl;
+import org.wso2.carbon.identity.sso.saml.dto.SAMLSSOServiceProviderDTO;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests for the updates of SAML service providers from their metadata, against an in-memory SAML config service.
+ */
+public class SAMLInboundFunctionsTest {
+
+    private static final String ISSUER = "travelocity.com";
+    private static final String ACS_URL = "https://travelocity.com/acs";
+    private static final int CONCURRENT_UPDATES = 8;
+    private static final long WAIT_TIMEOUT_SECONDS = 10L;
+
+    private InMemorySAMLSSOConfigService samlSsoConfigService;
+
+    @Before
+    public void setUp() {
+
+        samlSsoConfigService = new InMemorySAMLSSOConfigService();
+        SAMLSSOServiceProviderDTO samlSp = new SAMLSSOServiceProviderDTO();
+        samlSp.setIssuer(ISSUER);
+        samlSp.setCertificateContent("Y2VydGlmaWNhdGUtdjE=");
+        samlSp.setAssertionConsumerUrls(new String[]{ACS_URL});
+        samlSp.setDefaultAssertionConsumerUrl(ACS_URL);
+        samlSsoConfigService.serviceProviders.put(ISSUER, samlSp);
+        ApplicationManagementServiceHolder.getInstance().setSamlssoConfigService(samlSsoConfigService);
+    }
+
+    @After
+    public void tearDown() {
+
+        ApplicationManagementServiceHolder.getInstance().setSamlssoConfigService(null);
+    }
+
+    @Test
+    public void testChangedMetadataReplacesServiceProvider() throws Exception {
+
+        assertTrue(SAMLInboundFunctions.updateSAMLSpWithMetadata(ISSUER, buildMetadata("Y2VydGlmaWNhdGUtdjI=")));
+
+        SAMLSSOServiceProviderDTO samlSp = samlSsoConfigService.getServiceProvider(ISSUER);
+        assertEquals("Y2VydGlmaWNhdGUtdjI=", samlSp.getCertificateContent());
+        assertArrayEquals(new String[]{ACS_URL}, samlSp.getAssertionConsumerUrls());
+        assertEquals(1, samlSsoConfigService.removeCount.get());
+    }
+
+    @Test
+    public void testAppliedMetadataDoesNotReplaceServiceProvider() {
+
+        String metadata = buildMetadata("Y2VydGlmaWNhdGUtdjI=");
+        assertTrue(SAMLInboundFunctions.updateSAMLSpWithMetadata(ISSUER, metadata));
+        // Another refresh of the same metadata, as done by the other nodes of a cluster, finds it applied.
+        assertFalse(SAMLInboundFunctions.updateSAMLSpWithMetadata(ISSUER, metadata));
+        assertEquals(1, samlSsoConfigService.removeCount.get());
+    }
+
+    @Test
+    public void testConcurrentUpdatesReplaceServiceProviderOnce() throws Exception {
+
+        String metadata = buildMetadata("Y2VydGlmaWNhdGUtdjI=");
+        CountDownLatch start = new CountDownLatch(1);
+        List<Callable<Boolean>> updates = new ArrayList<>();
+        for (int i = 0; i < CONCURRENT_UPDATES; i++) {
+            updates.add(() -> {
+                assertTrue(start.await(WAIT_TIMEOUT_SECONDS, TimeUnit.SECONDS));
+                return SAMLInboundFunctions.updateSAMLSpWithMetadata(ISSUER, metadata);
+            });
+        }
+
+        ExecutorService executor = Executors.newFixedThreadPool(CONCURRENT_UPDATES);
+        try {
+            List<Future<Boolean>> results = new ArrayList<>();
+            for (Callable<Boolean> update : updates) {
+                results.add(executor.submit(update));
+            }
+            start.countDown();
+            int updatedCount = 0;
+            for (Future<Boolean> result : results) {
+                if (result.get(WAIT_TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+                    updatedCount++;
+                }
+            }
+            assertEquals(1, updatedCount);
+        } finally {
+            executor.shutdownNow();
+        }
+        assertEquals(1, samlSsoConfigService.removeCount.get());
+        assertEquals(0, samlSsoConfigService.missingLookupCount.get());
+    }
+
+    private static String buildMetadata(String certificate) {
+
+        return "<md:EntityDescriptor xmlns:md=\"urn:oasis:names:tc:SAML:2.0:metadata\" " +
+                "xmlns:ds=\"http://www.w3.org/2000/09/xmldsig#\" entityID=\"" + ISSUER + "\">" +
+                "<md:SPSSODescriptor protocolSupportEnumeration=\"urn:oasis:names:tc:SAML:2.0:protocol\">" +
+                "<md:KeyDescriptor use=\"signing\"><ds:KeyInfo><ds:X509Data><ds:X509Certificate>" + certificate +
+                "</ds:X509Certificate></ds:X509Data></ds:KeyInfo></md:KeyDescriptor>" +
+                "<md:AssertionConsumerService Binding=\"urn:oasis:names:tc:SAML:2.0:bindings:HTTP-POST\" " +
+                "Location=\"" + ACS_URL + "\" index=\"0\" isDefault=\"true\"/>" +
+                "</md:SPSSODescriptor></md:EntityDescriptor>";
+    }
+
+    /**
+     * SAML config service which keeps copies of the service providers in memory, like the shared store of a cluster.
+     * Removals are slowed down, so that an update which is not serialized with the others overlaps them.
+     */
+    private static class InMemorySAMLSSOConfigService extends SAMLSSOConfigServiceImpl {
+
+        private final Map<String, SAMLSSOServiceProviderDTO> serviceProviders = new ConcurrentHashMap<>();
+        private final AtomicInteger removeCount = new AtomicInteger();
+        private final AtomicInteger missingLookupCount = new AtomicInteger();
+
+        @Override
+        public SAMLSSOServiceProviderDTO getServiceProvider(String issuer) {
+
+            SAMLSSOServiceProviderDTO samlSp = serviceProviders.get(issuer);
+            if (samlSp == null) {
+                // An update read the service provider while another update had removed it.
+                missingLookupCount.incrementAndGet();
+                return null;
+            }
+            return copy(samlSp);
+        }
+
+        @Override
+        public boolean removeServiceProvider(String issuer) {
+
+            removeCount.incrementAndGet();
+            boolean removed = serviceProviders.remove(issuer) != null;
+            try {
+                Thread.sleep(50L);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return removed;
+        }
+
+        @Override
+        public SAMLSSOServiceProviderDTO createServiceProvider(SAMLSSOServiceProviderDTO samlSp) {
+
+            serviceProviders.put(samlSp.getIssuer(), copy(samlSp));
+            return samlSp;
+        }
+
+        private static SAMLSSOServiceProviderDTO copy(SAMLSSOServiceProviderDTO samlSp) {
+
+            SAMLSSOServiceProviderDTO copy = new SAMLSSOServiceProviderDTO();
+            copy.setIssuer(samlSp.getIssuer());
+            copy.setIssuerQualifier(samlSp.getIssuerQualifier());
+            copy.setCertificateContent(samlSp.getCertificateContent());
+            copy.setAssertionConsumerUrls(samlSp.getAssertionConsumerUrls());
+            copy.setDefaultAssertionConsumerUrl(samlSp.getDefaultAssertionConsumerUrl());
+            copy.setSloRequestURL(samlSp.getSloRequestURL());
+            copy.setSloResponseURL(samlSp.getSloResponseURL());
+            return copy;
+        }
+    }
+}
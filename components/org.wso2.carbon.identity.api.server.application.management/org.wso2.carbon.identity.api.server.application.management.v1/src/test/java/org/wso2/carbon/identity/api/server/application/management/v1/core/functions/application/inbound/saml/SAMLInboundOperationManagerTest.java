@@ -0,0 +1,207 @@
+/*
+ * Copyright (c) 2020, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.wso2.carbon.identity.api.server.application.management.v1.core.functions.application.inbound.saml;
+
+import org.junit.After;
+import org.junit.Test;
+import org.wso2.carbon.identity.api.server.application.management.v1.SAMLInboundOperation;
+import org.wso2.carbon.identity.api.server.common.error.APIError;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import javax.ws.rs.core.Response;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * Tests for the SAML inbound update queue of {@link SAMLInboundOperationManager}.
+ */
+public class SAMLInboundOperationManagerTest {
+
+    private static final String TENANT_DOMAIN = "carbon.super";
+    private static final String APPLICATION_ID = "application";
+    private static final long WAIT_TIMEOUT_MILLIS = 10000L;
+
+    private ExecutorService executor;
+
+    @After
+    public void tearDown() {
+
+        if (executor != null) {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void testSubmittedUpdateRuns() throws Exception {
+
+        SAMLInboundOperationManager manager = createManager(Executors.newSingleThreadExecutor(), 10);
+        CountDownLatch updated = new CountDownLatch(1);
+
+        SAMLInboundOperation operation = manager.submit(TENANT_DOMAIN, APPLICATION_ID, updated::countDown);
+
+        assertEquals(SAMLInboundOperation.StatusEnum.PENDING, operation.getStatus());
+        assertTrue(updated.await(WAIT_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS));
+        awaitStatus(manager, operation, SAMLInboundOperation.StatusEnum.SUCCESS);
+    }
+
+    @Test
+    public void testUpdatesOfAnApplicationRunInSubmissionOrder() throws Exception {
+
+        SAMLInboundOperationManager manager = createManager(Executors.newFixedThreadPool(4), 10);
+        List<Integer> runOrder = new CopyOnWriteArrayList<>();
+        CountDownLatch release = new CountDownLatch(1);
+
+        manager.submit(TENANT_DOMAIN, APPLICATION_ID, () -> {
+            await(release);
+            runOrder.add(1);
+        });
+        manager.submit(TENANT_DOMAIN, APPLICATION_ID, () -> runOrder.add(2));
+        SAMLInboundOperation last = manager.submit(TENANT_DOMAIN, APPLICATION_ID, () -> runOrder.add(3));
+        release.countDown();
+
+        awaitStatus(manager, last, SAMLInboundOperation.StatusEnum.SUCCESS);
+        assertEquals(Arrays.asList(1, 2, 3), runOrder);
+    }
+
+    @Test
+    public void testUpdatesAreRejectedWhenTooManyArePending() throws Exception {
+
+        SAMLInboundOperationManager manager = createManager(Executors.newSingleThreadExecutor(), 2);
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        manager.submit(TENANT_DOMAIN, APPLICATION_ID, () -> {
+            started.countDown();
+            await(release);
+        });
+        assertTrue(started.await(WAIT_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS));
+        // One update waits for the running update of its application, the other is queued for the only worker.
+        manager.submit(TENANT_DOMAIN, APPLICATION_ID, () -> { });
+        SAMLInboundOperation queued = manager.submit(TENANT_DOMAIN, "other-application", () -> { });
+
+        try {
+            manager.submit(TENANT_DOMAIN, "third-application", () -> { });
+            fail("An update was accepted while the pending updates were at the limit.");
+        } catch (APIError e) {
+            assertEquals(Response.Status.SERVICE_UNAVAILABLE, e.getStatus());
+        }
+
+        release.countDown();
+        awaitStatus(manager, queued, SAMLInboundOperation.StatusEnum.SUCCESS);
+        // Started updates no longer count towards the limit.
+        SAMLInboundOperation accepted = manager.submit(TENANT_DOMAIN, "third-application", () -> { });
+        awaitStatus(manager, accepted, SAMLInboundOperation.StatusEnum.SUCCESS);
+    }
+
+    @Test
+    public void testFailedUpdateDoesNotBlockLaterUpdates() throws Exception {
+
+        SAMLInboundOperationManager manager = createManager(Executors.newSingleThreadExecutor(), 10);
+
+        SAMLInboundOperation failed = manager.submit(TENANT_DOMAIN, APPLICATION_ID, () -> {
+            throw new IllegalStateException("Update failed.");
+        });
+        SAMLInboundOperation next = manager.submit(TENANT_DOMAIN, APPLICATION_ID, () -> { });
+
+        awaitStatus(manager, failed, SAMLInboundOperation.StatusEnum.FAILED);
+        awaitStatus(manager, next, SAMLInboundOperation.StatusEnum.SUCCESS);
+    }
+
+    @Test
+    public void testWaitingUpdatesAreHandedOnAfterAnError() throws Exception {
+
+        SAMLInboundOperationManager manager = createManager(Executors.newFixedThreadPool(2), 10);
+        CountDownLatch release = new CountDownLatch(1);
+
+        SAMLInboundOperation failed = manager.submit(TENANT_DOMAIN, APPLICATION_ID, () -> {
+            await(release);
+            throw new AssertionError("Update failed with an error.");
+        });
+        SAMLInboundOperation next = manager.submit(TENANT_DOMAIN, APPLICATION_ID, () -> { });
+        release.countDown();
+
+        awaitStatus(manager, failed, SAMLInboundOperation.StatusEnum.FAILED);
+        awaitStatus(manager, next, SAMLInboundOperation.StatusEnum.SUCCESS);
+        // The application is not left with a stale entry, so its later updates still run.
+        SAMLInboundOperation later = manager.submit(TENANT_DOMAIN, APPLICATION_ID, () -> { });
+        awaitStatus(manager, later, SAMLInboundOperation.StatusEnum.SUCCESS);
+    }
+
+    @Test
+    public void testWaitingUpdatesFailWhenNoWorkerCanTakeThem() throws Exception {
+
+        // A single worker without a queue, so the waiting updates cannot be handed on while the worker is busy.
+        SAMLInboundOperationManager manager = createManager(new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS,
+                new SynchronousQueue<>(), new ThreadPoolExecutor.AbortPolicy()), 10);
+        CountDownLatch release = new CountDownLatch(1);
+
+        SAMLInboundOperation failed = manager.submit(TENANT_DOMAIN, APPLICATION_ID, () -> {
+            await(release);
+            throw new AssertionError("Update failed with an error.");
+        });
+        SAMLInboundOperation waiting = manager.submit(TENANT_DOMAIN, APPLICATION_ID, () -> { });
+        release.countDown();
+
+        awaitStatus(manager, failed, SAMLInboundOperation.StatusEnum.FAILED);
+        awaitStatus(manager, waiting, SAMLInboundOperation.StatusEnum.FAILED);
+    }
+
+    private SAMLInboundOperationManager createManager(ExecutorService executor, int maxPendingUpdates) {
+
+        this.executor = executor;
+        return new SAMLInboundOperationManager(executor, maxPendingUpdates);
+    }
+
+    private void awaitStatus(SAMLInboundOperationManager manager, SAMLInboundOperation operation,
+                             SAMLInboundOperation.StatusEnum status) throws InterruptedException {
+
+        long deadline = System.currentTimeMillis() + WAIT_TIMEOUT_MILLIS;
+        SAMLInboundOperation current;
+        do {
+            current = manager.getOperation(TENANT_DOMAIN, operation.getApplicationId(), operation.getOperationId());
+            if (current.getStatus() == status) {
+                return;
+            }
+            Thread.sleep(10L);
+        } while (System.currentTimeMillis() < deadline);
+        fail("Operation " + operation.getOperationId() + " did not reach the status " + status + ", but is " +
+                current.getStatus() + ".");
+    }
+
+    private static void await(CountDownLatch latch) {
+
+        try {
+            if (!latch.await(WAIT_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS)) {
+                throw new IllegalStateException("Timed out waiting for the test.");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,158 @@
+/*
+ * Copyright (c) 2020, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.wso2.carbon.identity.api.server.application.management.v1.core.functions.application.inbound.saml;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.wso2.carbon.identity.api.server.application.management.common.ApplicationManagementConstants.ErrorMessage;
+import org.wso2.carbon.identity.api.server.common.error.APIError;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.fail;
+import static org.wso2.carbon.identity.api.server.application.management.common.ApplicationManagementConstants.MAX_SAML_METADATA_SIZE;
+
+/**
+ * Tests for {@link SAMLMetadataFetcher} against a stub metadata host.
+ */
+public class SAMLMetadataFetcherTest {
+
+    private static final String METADATA = "<EntityDescriptor entityID=\"travelocity.com\"/>";
+    private static final String ETAG = "\"metadata-v1\"";
+    private static final int CONNECT_TIMEOUT = 2000;
+    private static final int READ_TIMEOUT = 500;
+
+    private HttpServer server;
+    private SAMLMetadataFetcher fetcher;
+    private final AtomicInteger requestCount = new AtomicInteger();
+
+    @Before
+    public void setUp() throws IOException {
+
+        server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+        server.createContext("/metadata", exchange -> {
+            requestCount.incrementAndGet();
+            if (ETAG.equals(exchange.getRequestHeaders().getFirst("If-None-Match"))) {
+                respond(exchange, 304, null);
+            } else {
+                exchange.getResponseHeaders().set("ETag", ETAG);
+                respond(exchange, 200, METADATA.getBytes(StandardCharsets.UTF_8));
+            }
+        });
+        server.createContext("/missing",
+                exchange -> respond(exchange, 404, "Not found".getBytes(StandardCharsets.UTF_8)));
+        server.createContext("/large", exchange -> respond(exchange, 200, new byte[MAX_SAML_METADATA_SIZE + 1]));
+        server.createContext("/slow", exchange -> {
+            try {
+                Thread.sleep(READ_TIMEOUT * 4L);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            respond(exchange, 200, METADATA.getBytes(StandardCharsets.UTF_8));
+        });
+        server.start();
+        fetcher = new SAMLMetadataFetcher(CONNECT_TIMEOUT, READ_TIMEOUT);
+    }
+
+    @After
+    public void tearDown() {
+
+        server.stop(0);
+    }
+
+    @Test
+    public void testMetadataIsFetchedAndCached() {
+
+        assertEquals(METADATA, fetcher.getMetadata(url("/metadata")));
+        assertEquals(METADATA, fetcher.getMetadata(url("/metadata")));
+        assertEquals(1, requestCount.get());
+    }
+
+    @Test
+    public void testUnmodifiedMetadataIsRevalidated() {
+
+        assertEquals(METADATA, fetcher.fetchIfModified(url("/metadata")));
+        assertNull(fetcher.fetchIfModified(url("/metadata")));
+        assertEquals(2, requestCount.get());
+        assertEquals(METADATA, fetcher.getMetadata(url("/metadata")));
+    }
+
+    @Test
+    public void testErrorStatusFailsTheFetch() {
+
+        assertFetchFails(url("/missing"), ErrorMessage.SAML_METADATA_RETRIEVAL_FAILED);
+    }
+
+    @Test
+    public void testOversizedMetadataIsRejected() {
+
+        assertFetchFails(url("/large"), ErrorMessage.SAML_METADATA_SIZE_EXCEEDED);
+    }
+
+    @Test
+    public void testSlowHostTimesOut() {
+
+        assertFetchFails(url("/slow"), ErrorMessage.SAML_METADATA_RETRIEVAL_FAILED);
+    }
+
+    @Test
+    public void testNonHttpUrlIsRejected() {
+
+        assertFetchFails("file:///etc/passwd", ErrorMessage.INVALID_SAML_METADATA_URL);
+    }
+
+    private void assertFetchFails(String metadataUrl, ErrorMessage expectedError) {
+
+        try {
+            fetcher.getMetadata(metadataUrl);
+            fail("Metadata of the URL: " + metadataUrl + " was fetched.");
+        } catch (APIError e) {
+            assertEquals(expectedError.getCode(), e.getCode());
+        }
+    }
+
+    private String url(String path) {
+
+        return "http://" + server.getAddress().getHostString() + ":" + server.getAddress().getPort() + path;
+    }
+
+    private static void respond(HttpExchange exchange, int status, byte[] body) throws IOException {
+
+        try {
+            if (body == null) {
+                exchange.sendResponseHeaders(status, -1);
+                return;
+            }
+            exchange.sendResponseHeaders(status, body.length);
+            try (OutputStream responseBody = exchange.getResponseBody()) {
+                responseBody.write(body);
+            }
+        } finally {
+            exchange.close();
+        }
+    }
+}
@@ -29,6 +29,8 @@ public class Constant {
     public static final String CMT_PATH_COMPONENT = "/claim-dialects";
     public static final String LOCAL_DIALECT_PATH = "local";
     public static final String LOCAL_DIALECT = "http://wso2.org/claims";
+    // Timeout of the claim metadata cached by the API, in milliseconds.
+    public static final long CLAIM_METADATA_CACHE_TIMEOUT = 30000L;
 
     /**
      * Enum for error messages.
@@ -153,7 +155,19 @@ public class Constant {
         ERROR_CODE_EXISTING_EXTERNAL_CLAIM_URI("50038", "Unable to add external claim.",
                 "External claim URI already exists. External claim URI must be unique."),
         ERROR_CODE_EXISTING_LOCAL_CLAIM_URI("50039", "Unable to add local claim.",
-                "Local claim URI already exists. Local claim URI must be unique.")
+                "Local claim URI already exists. Local claim URI must be unique."),
+        ERROR_CODE_INVALID_PAGINATION_PARAMETERS("50040",
+                "Invalid pagination parameters.",
+                "Limit and offset cannot be negative."),
+        ERROR_CODE_INVALID_FILTER("50041",
+                "Invalid filter.",
+                "The filter '%s' is invalid."),
+        ERROR_CODE_INVALID_SORT("50042",
+                "Invalid sort.",
+                "The sort '%s' is invalid."),
+        ERROR_CODE_INVALID_ATTRIBUTES("50043",
+                "Invalid attributes.",
+                "The attributes '%s' are invalid.")
         ;
 
         private final String code;
@@ -211,6 +225,30 @@ public class Constant {
         }
     }
 
+    // Claim attributes supported in filters, sorting and attribute projection.
+    public static final String ATTR_ID = "id";
+    public static final String ATTR_CLAIM_URI = "claimURI";
+    public static final String ATTR_DIALECT_URI = "dialectURI";
+    public static final String ATTR_CLAIM_DIALECT_URI = "claimDialectURI";
+    public static final String ATTR_DESCRIPTION = "description";
+    public static final String ATTR_DISPLAY_ORDER = "displayOrder";
+    public static final String ATTR_DISPLAY_NAME = "displayName";
+    public static final String ATTR_READ_ONLY = "readOnly";
+    public static final String ATTR_REG_EX = "regEx";
+    public static final String ATTR_REQUIRED = "required";
+    public static final String ATTR_SUPPORTED_BY_DEFAULT = "supportedByDefault";
+    public static final String ATTR_ATTRIBUTE_MAPPING = "attributeMapping";
+    public static final String ATTR_MAPPED_ATTRIBUTE = "mappedAttribute";
+    public static final String ATTR_MAPPED_LOCAL_CLAIM_URI = "mappedLocalClaimURI";
+    public static final String ATTR_PROPERTIES = "properties";
+
+    // Pagination.
+    public static final String SORT_ORDER_ASCENDING = "asc";
+    public static final String SORT_ORDER_DESCENDING = "desc";
+    public static final String PAGE_LINK_REL_NEXT = "next";
+    public static final String PAGE_LINK_REL_PREVIOUS = "previous";
+    public static final String TOTAL_RESULTS_HEADER = "X-Total-Count";
+
     // Claim property keys.
     public static final String PROP_DESCRIPTION = "Description";
     public static final String PROP_DISPLAY_NAME = "DisplayName";
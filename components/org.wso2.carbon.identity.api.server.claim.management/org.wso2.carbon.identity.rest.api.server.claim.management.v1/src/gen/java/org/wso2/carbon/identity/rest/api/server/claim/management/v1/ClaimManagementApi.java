@@ -253,13 +253,13 @@ public class ClaimManagementApi  {
     @io.swagger.annotations.ApiResponses(value = { 
         @io.swagger.annotations.ApiResponse(code = 200, message = "External claims."),
         
+        @io.swagger.annotations.ApiResponse(code = 400, message = "Invalid input request."),
+        
         @io.swagger.annotations.ApiResponse(code = 401, message = "Unauthorized."),
         
         @io.swagger.annotations.ApiResponse(code = 404, message = "The specified resource is not found."),
         
-        @io.swagger.annotations.ApiResponse(code = 500, message = "Internal Server Error."),
-        
-        @io.swagger.annotations.ApiResponse(code = 501, message = "Not Implemented.") })
+        @io.swagger.annotations.ApiResponse(code = 500, message = "Internal Server Error.") })
 
     public Response getExternalClaims(@ApiParam(value = "Id of the claim dialect.",required=true ) @PathParam("dialect-id")  String dialectId,
     @ApiParam(value = "maximum number of records to return") @QueryParam("limit")  Integer limit,
@@ -299,11 +299,11 @@ public class ClaimManagementApi  {
     @io.swagger.annotations.ApiResponses(value = { 
         @io.swagger.annotations.ApiResponse(code = 200, message = "Local claims."),
         
-        @io.swagger.annotations.ApiResponse(code = 401, message = "Unauthorized."),
+        @io.swagger.annotations.ApiResponse(code = 400, message = "Invalid input request."),
         
-        @io.swagger.annotations.ApiResponse(code = 500, message = "Internal Server Error."),
+        @io.swagger.annotations.ApiResponse(code = 401, message = "Unauthorized."),
         
-        @io.swagger.annotations.ApiResponse(code = 501, message = "Not Implemented.") })
+        @io.swagger.annotations.ApiResponse(code = 500, message = "Internal Server Error.") })
 
     public Response getLocalClaims(@ApiParam(value = "Define only the required attributes to be sent in the response object.") @QueryParam("attributes")  String attributes,
     @ApiParam(value = "maximum number of records to return") @QueryParam("limit")  Integer limit,
@@ -0,0 +1,59 @@
+/*
+ *  Copyright (c) 2020, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package org.wso2.carbon.identity.rest.api.server.claim.management.v1.core;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A page of claims along with the total number of claims matching the request and the links to the adjacent pages.
+ *
+ * @param <T> Type of the claim response.
+ */
+public class ClaimListResponse<T> {
+
+    private final List<T> claims;
+    private final int totalResults;
+    private final Map<String, String> links;
+
+    public ClaimListResponse(List<T> claims, int totalResults, Map<String, String> links) {
+
+        this.claims = claims;
+        this.totalResults = totalResults;
+        this.links = links;
+    }
+
+    public List<T> getClaims() {
+
+        return claims;
+    }
+
+    public int getTotalResults() {
+
+        return totalResults;
+    }
+
+    /**
+     * Get the pagination links of the page keyed by the link relation.
+     *
+     * @return Pagination links.
+     */
+    public Map<String, String> getLinks() {
+
+        return links;
+    }
+}
@@ -0,0 +1,144 @@
+/*
+ *  Copyright (c) 2020, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package org.wso2.carbon.identity.rest.api.server.claim.management.v1.core;
+
+import org.apache.commons.collections.CollectionUtils;
+import org.wso2.carbon.identity.api.server.common.cache.ExpiringCache;
+import org.wso2.carbon.identity.claim.metadata.mgt.exception.ClaimMetadataException;
+import org.wso2.carbon.identity.claim.metadata.mgt.model.ClaimDialect;
+import org.wso2.carbon.identity.claim.metadata.mgt.model.ExternalClaim;
+import org.wso2.carbon.identity.claim.metadata.mgt.model.LocalClaim;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.wso2.carbon.identity.api.server.claim.management.common.ClaimManagementDataHolder.getClaimMetadataManagementService;
+import static org.wso2.carbon.identity.api.server.claim.management.common.Constant.CLAIM_METADATA_CACHE_TIMEOUT;
+
+/**
+ * Read-through cache of the claim dialects, local claims and external claims of tenants. Claims and dialects are
+ * indexed by their URI, preserving the order returned by the claim metadata management service.
+ * <p>
+ * Entries of a tenant must be invalidated whenever the claim metadata of the tenant is modified through this API.
+ * The entry timeout bounds the staleness of the changes made through other nodes.
+ */
+public class ClaimMetadataCache {
+
+    private static final ClaimMetadataCache INSTANCE = new ClaimMetadataCache();
+
+    private final ExpiringCache<String, Map<String, ClaimDialect>> claimDialectCache =
+            new ExpiringCache<>(CLAIM_METADATA_CACHE_TIMEOUT);
+    private final ExpiringCache<String, Map<String, LocalClaim>> localClaimCache =
+            new ExpiringCache<>(CLAIM_METADATA_CACHE_TIMEOUT);
+    private final ExpiringCache<String, Map<String, Map<String, ExternalClaim>>> externalClaimCache =
+            new ExpiringCache<>(CLAIM_METADATA_CACHE_TIMEOUT);
+
+    private ClaimMetadataCache() {
+
+    }
+
+    public static ClaimMetadataCache getInstance() {
+
+        return INSTANCE;
+    }
+
+    /**
+     * Get the claim dialects of a tenant indexed by dialect URI.
+     *
+     * @param tenantDomain Tenant domain.
+     * @return Unmodifiable map of dialect URI to claim dialect.
+     * @throws ClaimMetadataException If an error occurred while retrieving the claim dialects.
+     */
+    public Map<String, ClaimDialect> getClaimDialects(String tenantDomain) throws ClaimMetadataException {
+
+        return claimDialectCache.get(tenantDomain, tenant -> {
+            Map<String, ClaimDialect> claimDialects = new LinkedHashMap<>();
+            List<ClaimDialect> claimDialectList = getClaimMetadataManagementService().getClaimDialects(tenant);
+            if (CollectionUtils.isNotEmpty(claimDialectList)) {
+                for (ClaimDialect claimDialect : claimDialectList) {
+                    claimDialects.putIfAbsent(claimDialect.getClaimDialectURI(), claimDialect);
+                }
+            }
+            return Collections.unmodifiableMap(claimDialects);
+        });
+    }
+
+    /**
+     * Get the local claims of a tenant indexed by claim URI.
+     *
+     * @param tenantDomain Tenant domain.
+     * @return Unmodifiable map of claim URI to local claim.
+     * @throws ClaimMetadataException If an error occurred while retrieving the local claims.
+     */
+    public Map<String, LocalClaim> getLocalClaims(String tenantDomain) throws ClaimMetadataException {
+
+        return localClaimCache.get(tenantDomain, tenant -> {
+            Map<String, LocalClaim> localClaims = new LinkedHashMap<>();
+            List<LocalClaim> localClaimList = getClaimMetadataManagementService().getLocalClaims(tenant);
+            if (CollectionUtils.isNotEmpty(localClaimList)) {
+                for (LocalClaim localClaim : localClaimList) {
+                    localClaims.putIfAbsent(localClaim.getClaimURI(), localClaim);
+                }
+            }
+            return Collections.unmodifiableMap(localClaims);
+        });
+    }
+
+    /**
+     * Get the external claims of a dialect of a tenant indexed by claim URI.
+     *
+     * @param dialectURI   External claim dialect URI.
+     * @param tenantDomain Tenant domain.
+     * @return Unmodifiable map of claim URI to external claim.
+     * @throws ClaimMetadataException If an error occurred while retrieving the external claims.
+     */
+    public Map<String, ExternalClaim> getExternalClaims(String dialectURI, String tenantDomain)
+            throws ClaimMetadataException {
+
+        Map<String, Map<String, ExternalClaim>> externalClaimsOfTenant =
+                externalClaimCache.get(tenantDomain, tenant -> new ConcurrentHashMap<>());
+        Map<String, ExternalClaim> externalClaims = externalClaimsOfTenant.get(dialectURI);
+        if (externalClaims == null) {
+            Map<String, ExternalClaim> loadedClaims = new LinkedHashMap<>();
+            List<ExternalClaim> externalClaimList =
+                    getClaimMetadataManagementService().getExternalClaims(dialectURI, tenantDomain);
+            if (CollectionUtils.isNotEmpty(externalClaimList)) {
+                for (ExternalClaim externalClaim : externalClaimList) {
+                    loadedClaims.putIfAbsent(externalClaim.getClaimURI(), externalClaim);
+                }
+            }
+            externalClaims = Collections.unmodifiableMap(loadedClaims);
+            externalClaimsOfTenant.put(dialectURI, externalClaims);
+        }
+        return externalClaims;
+    }
+
+    /**
+     * Invalidate all the cached claim metadata of a tenant.
+     *
+     * @param tenantDomain Tenant domain.
+     */
+    public void invalidate(String tenantDomain) {
+
+        claimDialectCache.remove(tenantDomain);
+        localClaimCache.remove(tenantDomain);
+        externalClaimCache.remove(tenantDomain);
+    }
+}
@@ -17,12 +17,14 @@
 package org.wso2.carbon.identity.rest.api.server.claim.management.v1.core;
 
 import org.apache.commons.collections.CollectionUtils;
+import org.apache.commons.collections.MapUtils;
 import org.apache.commons.lang.ArrayUtils;
 import org.apache.commons.lang.StringUtils;
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
 import org.wso2.carbon.context.CarbonContext;
 import org.wso2.carbon.identity.api.server.claim.management.common.Constant;
+import org.wso2.carbon.identity.api.server.common.AttributeFilter;
 import org.wso2.carbon.identity.api.server.common.ContextLoader;
 import org.wso2.carbon.identity.api.server.common.error.APIError;
 import org.wso2.carbon.identity.api.server.common.error.ErrorResponse;
@@ -45,18 +47,41 @@ import org.wso2.carbon.identity.rest.api.server.claim.management.v1.dto.Property
 import org.wso2.carbon.user.api.UserStoreException;
 import org.wso2.carbon.user.core.UserStoreManager;
 
+import java.io.UnsupportedEncodingException;
+import java.net.URLEncoder;
 import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Base64;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
+import java.util.Set;
 
 import javax.ws.rs.core.Response;
 
 import static org.wso2.carbon.identity.api.server.claim.management.common.ClaimManagementDataHolder.getClaimMetadataManagementService;
+import static org.wso2.carbon.identity.api.server.claim.management.common.Constant.ATTR_ATTRIBUTE_MAPPING;
+import static org.wso2.carbon.identity.api.server.claim.management.common.Constant.ATTR_CLAIM_DIALECT_URI;
+import static org.wso2.carbon.identity.api.server.claim.management.common.Constant.ATTR_CLAIM_URI;
+import static org.wso2.carbon.identity.api.server.claim.management.common.Constant.ATTR_DESCRIPTION;
+import static org.wso2.carbon.identity.api.server.claim.management.common.Constant.ATTR_DIALECT_URI;
+import static org.wso2.carbon.identity.api.server.claim.management.common.Constant.ATTR_DISPLAY_NAME;
+import static org.wso2.carbon.identity.api.server.claim.management.common.Constant.ATTR_DISPLAY_ORDER;
+import static org.wso2.carbon.identity.api.server.claim.management.common.Constant.ATTR_ID;
+import static org.wso2.carbon.identity.api.server.claim.management.common.Constant.ATTR_MAPPED_ATTRIBUTE;
+import static org.wso2.carbon.identity.api.server.claim.management.common.Constant.ATTR_MAPPED_LOCAL_CLAIM_URI;
+import static org.wso2.carbon.identity.api.server.claim.management.common.Constant.ATTR_PROPERTIES;
+import static org.wso2.carbon.identity.api.server.claim.management.common.Constant.ATTR_READ_ONLY;
+import static org.wso2.carbon.identity.api.server.claim.management.common.Constant.ATTR_REG_EX;
+import static org.wso2.carbon.identity.api.server.claim.management.common.Constant.ATTR_REQUIRED;
+import static org.wso2.carbon.identity.api.server.claim.management.common.Constant.ATTR_SUPPORTED_BY_DEFAULT;
 import static org.wso2.carbon.identity.api.server.claim.management.common.Constant.CMT_PATH_COMPONENT;
-import static org.wso2.carbon.identity.api.server.claim.management.common.Constant.ErrorMessage.ERROR_CODE_ATTRIBUTE_FILTERING_NOT_IMPLEMENTED;
 import static org.wso2.carbon.identity.api.server.claim.management.common.Constant.ErrorMessage.ERROR_CODE_CLAIMS_NOT_FOUND_FOR_DIALECT;
 import static org.wso2.carbon.identity.api.server.claim.management.common.Constant.ErrorMessage.ERROR_CODE_DIALECT_NOT_FOUND;
 import static org.wso2.carbon.identity.api.server.claim.management.common.Constant.ErrorMessage.ERROR_CODE_ERROR_ADDING_DIALECT;
@@ -77,7 +102,11 @@ import static org.wso2.carbon.identity.api.server.claim.management.common.Consta
 import static org.wso2.carbon.identity.api.server.claim.management.common.Constant.ErrorMessage.ERROR_CODE_EXTERNAL_CLAIM_CONFLICT;
 import static org.wso2.carbon.identity.api.server.claim.management.common.Constant.ErrorMessage.ERROR_CODE_EXTERNAL_CLAIM_NOT_FOUND;
 import static org.wso2.carbon.identity.api.server.claim.management.common.Constant.ErrorMessage.ERROR_CODE_FILTERING_NOT_IMPLEMENTED;
+import static org.wso2.carbon.identity.api.server.claim.management.common.Constant.ErrorMessage.ERROR_CODE_INVALID_ATTRIBUTES;
 import static org.wso2.carbon.identity.api.server.claim.management.common.Constant.ErrorMessage.ERROR_CODE_INVALID_DIALECT_ID;
+import static org.wso2.carbon.identity.api.server.claim.management.common.Constant.ErrorMessage.ERROR_CODE_INVALID_FILTER;
+import static org.wso2.carbon.identity.api.server.claim.management.common.Constant.ErrorMessage.ERROR_CODE_INVALID_PAGINATION_PARAMETERS;
+import static org.wso2.carbon.identity.api.server.claim.management.common.Constant.ErrorMessage.ERROR_CODE_INVALID_SORT;
 import static org.wso2.carbon.identity.api.server.claim.management.common.Constant.ErrorMessage.ERROR_CODE_INVALID_USERSTORE;
 import static org.wso2.carbon.identity.api.server.claim.management.common.Constant.ErrorMessage.ERROR_CODE_LOCAL_CLAIM_CONFLICT;
 import static org.wso2.carbon.identity.api.server.claim.management.common.Constant.ErrorMessage.ERROR_CODE_LOCAL_CLAIM_NOT_FOUND;
@@ -85,6 +114,8 @@ import static org.wso2.carbon.identity.api.server.claim.management.common.Consta
 import static org.wso2.carbon.identity.api.server.claim.management.common.Constant.ErrorMessage.ERROR_CODE_SORTING_NOT_IMPLEMENTED;
 import static org.wso2.carbon.identity.api.server.claim.management.common.Constant.LOCAL_DIALECT;
 import static org.wso2.carbon.identity.api.server.claim.management.common.Constant.LOCAL_DIALECT_PATH;
+import static org.wso2.carbon.identity.api.server.claim.management.common.Constant.PAGE_LINK_REL_NEXT;
+import static org.wso2.carbon.identity.api.server.claim.management.common.Constant.PAGE_LINK_REL_PREVIOUS;
 import static org.wso2.carbon.identity.api.server.claim.management.common.Constant.PROP_DESCRIPTION;
 import static org.wso2.carbon.identity.api.server.claim.management.common.Constant.PROP_DISPLAY_NAME;
 import static org.wso2.carbon.identity.api.server.claim.management.common.Constant.PROP_DISPLAY_ORDER;
@@ -92,6 +123,9 @@ import static org.wso2.carbon.identity.api.server.claim.management.common.Consta
 import static org.wso2.carbon.identity.api.server.claim.management.common.Constant.PROP_REG_EX;
 import static org.wso2.carbon.identity.api.server.claim.management.common.Constant.PROP_REQUIRED;
 import static org.wso2.carbon.identity.api.server.claim.management.common.Constant.PROP_SUPPORTED_BY_DEFAULT;
+import static org.wso2.carbon.identity.api.server.claim.management.common.Constant.SORT_ORDER_ASCENDING;
+import static org.wso2.carbon.identity.api.server.claim.management.common.Constant.SORT_ORDER_DESCENDING;
+import static org.wso2.carbon.identity.api.server.common.Constants.REGEX_COMMA;
 import static org.wso2.carbon.identity.api.server.common.Constants.V1_API_PATH_COMPONENT;
 import static org.wso2.carbon.identity.api.server.common.ContextLoader.buildURIForBody;
 
@@ -106,6 +140,20 @@ public class ServerClaimManagementService {
 
     private static final Log LOG = LogFactory.getLog(ServerClaimManagementService.class);
     private static final String REL_CLAIMS = "claims";
+    private static final Comparator<String> NULL_SAFE_STRING_ORDER =
+            Comparator.nullsLast(String.CASE_INSENSITIVE_ORDER);
+    private static final Set<String> LOCAL_CLAIM_ATTRIBUTES = Collections.unmodifiableSet(new HashSet<>(
+            Arrays.asList(ATTR_ID, ATTR_CLAIM_URI, ATTR_DIALECT_URI, ATTR_DESCRIPTION, ATTR_DISPLAY_ORDER,
+                    ATTR_DISPLAY_NAME, ATTR_READ_ONLY, ATTR_REG_EX, ATTR_REQUIRED, ATTR_SUPPORTED_BY_DEFAULT,
+                    ATTR_ATTRIBUTE_MAPPING, ATTR_PROPERTIES)));
+    private static final Set<String> LOCAL_CLAIM_FILTER_ATTRIBUTES = Collections.unmodifiableSet(new HashSet<>(
+            Arrays.asList(ATTR_CLAIM_URI, ATTR_DIALECT_URI, ATTR_DISPLAY_NAME, ATTR_MAPPED_ATTRIBUTE)));
+    private static final Set<String> EXTERNAL_CLAIM_FILTER_ATTRIBUTES = Collections.unmodifiableSet(new HashSet<>(
+            Arrays.asList(ATTR_CLAIM_URI, ATTR_CLAIM_DIALECT_URI, ATTR_MAPPED_LOCAL_CLAIM_URI)));
+    private static final Set<String> LOCAL_CLAIM_SORT_ATTRIBUTES = Collections.unmodifiableSet(new HashSet<>(
+            Arrays.asList(ATTR_CLAIM_URI, ATTR_DIALECT_URI, ATTR_DISPLAY_NAME, ATTR_DISPLAY_ORDER)));
+    private static final Set<String> EXTERNAL_CLAIM_SORT_ATTRIBUTES = Collections.unmodifiableSet(new HashSet<>(
+            Arrays.asList(ATTR_CLAIM_URI, ATTR_MAPPED_LOCAL_CLAIM_URI)));
 
     /**
      * Add a claim dialect.
@@ -119,6 +167,7 @@ public class ServerClaimManagementService {
             getClaimMetadataManagementService().addClaimDialect(
                     createClaimDialect(claimDialectReqDTO),
                     ContextLoader.getTenantDomainFromContext());
+            invalidateClaimMetadataCache();
         } catch (ClaimMetadataException e) {
             throw handleClaimManagementException(e, ERROR_CODE_ERROR_ADDING_DIALECT,
                     claimDialectReqDTO.getDialectURI());
@@ -145,6 +194,7 @@ public class ServerClaimManagementService {
             getClaimMetadataManagementService().removeClaimDialect(
                     new ClaimDialect(claimDialectURI),
                     ContextLoader.getTenantDomainFromContext());
+            invalidateClaimMetadataCache();
         } catch (ClaimMetadataException e) {
             throw handleClaimManagementException(e, ERROR_CODE_ERROR_DELETING_DIALECT, dialectId);
         }
@@ -160,15 +210,14 @@ public class ServerClaimManagementService {
     public ClaimDialectResDTO getClaimDialect(String dialectId) {
 
         try {
-            List<ClaimDialect> claimDialectList = getClaimMetadataManagementService().getClaimDialects(
-                    ContextLoader.getTenantDomainFromContext());
             String decodedDialectId;
             if (StringUtils.equals(dialectId, LOCAL_DIALECT_PATH)) {
                 decodedDialectId = LOCAL_DIALECT;
             } else {
                 decodedDialectId = base64DecodeId(dialectId);
             }
-            ClaimDialect claimDialect = extractDialectFromDialectList(decodedDialectId, claimDialectList);
+            ClaimDialect claimDialect = ClaimMetadataCache.getInstance().getClaimDialects(
+                    ContextLoader.getTenantDomainFromContext()).get(decodedDialectId);
 
             if (claimDialect == null) {
                 throw handleClaimManagementClientError(ERROR_CODE_DIALECT_NOT_FOUND, NOT_FOUND, dialectId);
@@ -194,8 +243,8 @@ public class ServerClaimManagementService {
 
         handleNotImplementedCapabilities(limit, offset, filter, sort);
         try {
-            List<ClaimDialect> claimDialectList = getClaimMetadataManagementService().getClaimDialects(
-                    ContextLoader.getTenantDomainFromContext());
+            List<ClaimDialect> claimDialectList = new ArrayList<>(ClaimMetadataCache.getInstance().getClaimDialects(
+                    ContextLoader.getTenantDomainFromContext()).values());
 
             return getClaimDialectResDTOs(claimDialectList);
 
@@ -222,6 +271,7 @@ public class ServerClaimManagementService {
                         createClaimDialect(base64DecodeId(dialectId)),
                         createClaimDialect(claimDialectReqDTO),
                         ContextLoader.getTenantDomainFromContext());
+                invalidateClaimMetadataCache();
             } else {
                 if (LOG.isDebugEnabled()) {
                     LOG.debug("Skipping db update as the old dialectURI and the new dialectURI is the same. " +
@@ -256,6 +306,7 @@ public class ServerClaimManagementService {
             getClaimMetadataManagementService().addLocalClaim(
                     createLocalClaim(localClaimReqDTO),
                     ContextLoader.getTenantDomainFromContext());
+            invalidateClaimMetadataCache();
         } catch (ClaimMetadataException e) {
             throw handleClaimManagementException(e, ERROR_CODE_ERROR_ADDING_LOCAL_CLAIM,
                     localClaimReqDTO.getClaimURI());
@@ -285,6 +336,7 @@ public class ServerClaimManagementService {
             getClaimMetadataManagementService().removeLocalClaim(
                     claimURI,
                     ContextLoader.getTenantDomainFromContext());
+            invalidateClaimMetadataCache();
         } catch (ClaimMetadataException e) {
             throw handleClaimManagementException(e, ERROR_CODE_ERROR_DELETING_LOCAL_CLAIM, claimId);
         }
@@ -300,10 +352,8 @@ public class ServerClaimManagementService {
     public LocalClaimResDTO getLocalClaim(String claimId) {
 
         try {
-            List<LocalClaim> localClaimList = getClaimMetadataManagementService().getLocalClaims(
-                    ContextLoader.getTenantDomainFromContext());
-
-            LocalClaim localClaim = extractLocalClaimFromClaimList(base64DecodeId(claimId), localClaimList);
+            LocalClaim localClaim = ClaimMetadataCache.getInstance().getLocalClaims(
+                    ContextLoader.getTenantDomainFromContext()).get(base64DecodeId(claimId));
 
             if (localClaim == null) {
                 throw handleClaimManagementClientError(ERROR_CODE_LOCAL_CLAIM_NOT_FOUND, NOT_FOUND, claimId);
@@ -317,25 +367,43 @@ public class ServerClaimManagementService {
     }
 
     /**
-     * Retrieve all claims belonging to the local dialect.
+     * Retrieve claims belonging to the local dialect.
      *
-     * @param attributes attributes filter (optional).
+     * @param attributes attributes to be included in the claims (optional).
      * @param limit      limit (optional).
      * @param offset     offset (optional).
      * @param filter     filter (optional).
      * @param sort       sort (optional).
-     * @return List of local claims.
+     * @return Requested page of local claims.
      */
-    public List<LocalClaimResDTO> getLocalClaims(String attributes, Integer limit, Integer offset,
-                                                 String filter, String sort) {
+    public ClaimListResponse<LocalClaimResDTO> getLocalClaims(String attributes, Integer limit, Integer offset,
+                                                              String filter, String sort) {
 
-        handleNotImplementedCapabilities(attributes, limit, offset, filter, sort);
+        validatePaginationParameters(limit, offset);
+        Set<String> requestedAttributes = getRequestedAttributes(attributes, LOCAL_CLAIM_ATTRIBUTES);
+        AttributeFilter claimFilter = parseFilter(filter, LOCAL_CLAIM_FILTER_ATTRIBUTES);
+        Comparator<LocalClaim> comparator = getLocalClaimComparator(sort);
 
         try {
-            List<LocalClaim> localClaimList = getClaimMetadataManagementService().getLocalClaims(
-                    ContextLoader.getTenantDomainFromContext());
+            List<LocalClaim> localClaimList = new ArrayList<>();
+            for (LocalClaim localClaim : ClaimMetadataCache.getInstance().getLocalClaims(
+                    ContextLoader.getTenantDomainFromContext()).values()) {
+                if (claimFilter.matches(attribute -> getLocalClaimAttributeValues(localClaim, attribute))) {
+                    localClaimList.add(localClaim);
+                }
+            }
+            if (comparator != null) {
+                localClaimList.sort(comparator);
+            }
 
-            return getLocalClaimResDTOs(localClaimList);
+            List<LocalClaimResDTO> localClaimResDTOs = new ArrayList<>();
+            for (LocalClaim localClaim : getPage(localClaimList, limit, offset)) {
+                localClaimResDTOs.add(getLocalClaimResDTO(localClaim, requestedAttributes));
+            }
+
+            return new ClaimListResponse<>(localClaimResDTOs, localClaimList.size(),
+                    buildPaginationLinks(LOCAL_DIALECT_PATH, localClaimList.size(), limit, offset, filter, sort,
+                            attributes));
 
         } catch (ClaimMetadataException e) {
             throw handleClaimManagementException(e, ERROR_CODE_ERROR_RETRIEVING_LOCAL_CLAIMS);
@@ -366,6 +434,7 @@ public class ServerClaimManagementService {
             getClaimMetadataManagementService().updateLocalClaim(
                     createLocalClaim(localClaimReqDTO),
                     ContextLoader.getTenantDomainFromContext());
+            invalidateClaimMetadataCache();
         } catch (ClaimMetadataException e) {
             throw handleClaimManagementException(e, ERROR_CODE_ERROR_UPDATING_LOCAL_CLAIM, claimId);
         } catch (UserStoreException e) {
@@ -392,6 +461,7 @@ public class ServerClaimManagementService {
             getClaimMetadataManagementService().addExternalClaim(
                     createExternalClaim(dialectId, externalClaimReqDTO),
                     ContextLoader.getTenantDomainFromContext());
+            invalidateClaimMetadataCache();
         } catch (ClaimMetadataException e) {
             throw handleClaimManagementException(e, ERROR_CODE_ERROR_ADDING_EXTERNAL_CLAIM,
                     externalClaimReqDTO.getClaimURI());
@@ -423,6 +493,7 @@ public class ServerClaimManagementService {
                     externalClaimDialectURI,
                     externalClaimURI,
                     ContextLoader.getTenantDomainFromContext());
+            invalidateClaimMetadataCache();
         } catch (ClaimMetadataException e) {
             throw handleClaimManagementException(e, ERROR_CODE_ERROR_DELETING_EXTERNAL_CLAIM, claimId);
         }
@@ -439,15 +510,15 @@ public class ServerClaimManagementService {
     public ExternalClaimResDTO getExternalClaim(String dialectId, String claimId) {
 
         try {
-            List<ExternalClaim> externalClaimList = getClaimMetadataManagementService().getExternalClaims(
+            Map<String, ExternalClaim> externalClaims = ClaimMetadataCache.getInstance().getExternalClaims(
                     base64DecodeId(dialectId),
                     ContextLoader.getTenantDomainFromContext());
 
-            if (CollectionUtils.isEmpty(externalClaimList)) {
+            if (MapUtils.isEmpty(externalClaims)) {
                 throw handleClaimManagementClientError(ERROR_CODE_CLAIMS_NOT_FOUND_FOR_DIALECT, NOT_FOUND, dialectId);
             }
 
-            ExternalClaim externalClaim = extractExternalClaimFromClaimList(base64DecodeId(claimId), externalClaimList);
+            ExternalClaim externalClaim = externalClaims.get(base64DecodeId(claimId));
 
             if (externalClaim == null) {
                 throw handleClaimManagementClientError(ERROR_CODE_EXTERNAL_CLAIM_NOT_FOUND, NOT_FOUND, claimId,
@@ -469,27 +540,38 @@ public class ServerClaimManagementService {
      * @param offset    offset (optional).
      * @param filter    filter (optional).
      * @param sort      sort (optional).
-     * @return List of external claims.
+     * @return Requested page of external claims.
      */
-    public List<ExternalClaimResDTO> getExternalClaims(String dialectId, Integer limit, Integer offset,
-                                                       String filter, String sort) {
+    public ClaimListResponse<ExternalClaimResDTO> getExternalClaims(String dialectId, Integer limit, Integer offset,
+                                                                    String filter, String sort) {
 
-        handleNotImplementedCapabilities(limit, offset, filter, sort);
+        validatePaginationParameters(limit, offset);
+        AttributeFilter claimFilter = parseFilter(filter, EXTERNAL_CLAIM_FILTER_ATTRIBUTES);
+        Comparator<ExternalClaim> comparator = getExternalClaimComparator(sort);
 
         try {
-            List<ClaimDialect> claimDialectList = getClaimMetadataManagementService().getClaimDialects(
-                    ContextLoader.getTenantDomainFromContext());
             String decodedDialectId = base64DecodeId(dialectId);
-            ClaimDialect claimDialect = extractDialectFromDialectList(decodedDialectId, claimDialectList);
+            ClaimDialect claimDialect = ClaimMetadataCache.getInstance().getClaimDialects(
+                    ContextLoader.getTenantDomainFromContext()).get(decodedDialectId);
 
             if (claimDialect == null) {
                 throw handleClaimManagementClientError(ERROR_CODE_DIALECT_NOT_FOUND, NOT_FOUND, dialectId);
             }
 
-            List<ExternalClaim> externalClaimList = getClaimMetadataManagementService().getExternalClaims(
-                    base64DecodeId(dialectId),
-                    ContextLoader.getTenantDomainFromContext());
-            return getExternalClaimResDTOs(externalClaimList);
+            List<ExternalClaim> externalClaimList = new ArrayList<>();
+            for (ExternalClaim externalClaim : ClaimMetadataCache.getInstance()
+                    .getExternalClaims(decodedDialectId, ContextLoader.getTenantDomainFromContext()).values()) {
+                if (claimFilter.matches(attribute -> getExternalClaimAttributeValues(externalClaim, attribute))) {
+                    externalClaimList.add(externalClaim);
+                }
+            }
+            if (comparator != null) {
+                externalClaimList.sort(comparator);
+            }
+
+            return new ClaimListResponse<>(getExternalClaimResDTOs(getPage(externalClaimList, limit, offset)),
+                    externalClaimList.size(),
+                    buildPaginationLinks(dialectId, externalClaimList.size(), limit, offset, filter, sort, null));
 
         } catch (ClaimMetadataException e) {
             throw handleClaimManagementException(e, ERROR_CODE_ERROR_RETRIEVING_EXTERNAL_CLAIMS, dialectId);
@@ -514,6 +596,7 @@ public class ServerClaimManagementService {
             getClaimMetadataManagementService().updateExternalClaim(
                     createExternalClaim(dialectId, externalClaimReqDTO),
                     ContextLoader.getTenantDomainFromContext());
+            invalidateClaimMetadataCache();
         } catch (ClaimMetadataException e) {
             throw handleClaimManagementException(e, ERROR_CODE_ERROR_UPDATING_EXTERNAL_CLAIM, claimId, dialectId);
         }
@@ -521,39 +604,6 @@ public class ServerClaimManagementService {
         getResourceId(externalClaimReqDTO.getClaimURI());
     }
 
-    private ClaimDialect extractDialectFromDialectList(String dialectURI, List<ClaimDialect> dialectList) {
-
-        for (ClaimDialect dialect : dialectList) {
-            if (StringUtils.equals(dialect.getClaimDialectURI(), dialectURI)) {
-                return dialect;
-            }
-        }
-
-        return null;
-    }
-
-    private ExternalClaim extractExternalClaimFromClaimList(String claimURI, List<ExternalClaim> claimList) {
-
-        for (ExternalClaim claim : claimList) {
-            if (StringUtils.equals(claim.getClaimURI(), claimURI)) {
-                return claim;
-            }
-        }
-
-        return null;
-    }
-
-    private LocalClaim extractLocalClaimFromClaimList(String claimURI, List<LocalClaim> claimList) {
-
-        for (LocalClaim claim : claimList) {
-            if (StringUtils.equals(claim.getClaimURI(), claimURI)) {
-                return claim;
-            }
-        }
-
-        return null;
-    }
-
     private ClaimDialect createClaimDialect(ClaimDialectReqDTO claimDialectReqDTO) {
 
         return new ClaimDialect(claimDialectReqDTO.getDialectURI());
@@ -634,54 +684,302 @@ public class ServerClaimManagementService {
 
     private LocalClaimResDTO getLocalClaimResDTO(LocalClaim localClaim) {
 
+        return getLocalClaimResDTO(localClaim, null);
+    }
+
+    /**
+     * Build the local claim response including only the requested attributes. The claim id is always included.
+     *
+     * @param localClaim          Local claim.
+     * @param requestedAttributes Attributes to be included in the response. All attributes are included if null.
+     * @return Local claim response.
+     */
+    private LocalClaimResDTO getLocalClaimResDTO(LocalClaim localClaim, Set<String> requestedAttributes) {
+
         LocalClaimResDTO localClaimResDTO = new LocalClaimResDTO();
 
         localClaimResDTO.setId(base64EncodeId(localClaim.getClaimURI()));
-        localClaimResDTO.setClaimURI(localClaim.getClaimURI());
-        localClaimResDTO.setDialectURI(localClaim.getClaimDialectURI());
+        if (isRequested(requestedAttributes, ATTR_CLAIM_URI)) {
+            localClaimResDTO.setClaimURI(localClaim.getClaimURI());
+        }
+        if (isRequested(requestedAttributes, ATTR_DIALECT_URI)) {
+            localClaimResDTO.setDialectURI(localClaim.getClaimDialectURI());
+        }
 
         Map<String, String> claimProperties = new HashMap<>(localClaim.getClaimProperties());
 
-        localClaimResDTO.setDescription(claimProperties.remove(PROP_DESCRIPTION));
+        String description = claimProperties.remove(PROP_DESCRIPTION);
+        if (isRequested(requestedAttributes, ATTR_DESCRIPTION)) {
+            localClaimResDTO.setDescription(description);
+        }
 
         String propDisplayOrder = claimProperties.remove(PROP_DISPLAY_ORDER);
-        if (StringUtils.isNumeric(propDisplayOrder)) {
-            localClaimResDTO.setDisplayOrder(Integer.valueOf(propDisplayOrder));
-        } else {
-            localClaimResDTO.setDisplayOrder(0);
+        if (isRequested(requestedAttributes, ATTR_DISPLAY_ORDER)) {
+            localClaimResDTO.setDisplayOrder(getDisplayOrder(propDisplayOrder));
         }
 
-        localClaimResDTO.setDisplayName(claimProperties.remove(PROP_DISPLAY_NAME));
-        localClaimResDTO.setReadOnly(Boolean.valueOf(claimProperties.remove(PROP_READ_ONLY)));
+        String displayName = claimProperties.remove(PROP_DISPLAY_NAME);
+        if (isRequested(requestedAttributes, ATTR_DISPLAY_NAME)) {
+            localClaimResDTO.setDisplayName(displayName);
+        }
+        String readOnly = claimProperties.remove(PROP_READ_ONLY);
+        if (isRequested(requestedAttributes, ATTR_READ_ONLY)) {
+            localClaimResDTO.setReadOnly(Boolean.valueOf(readOnly));
+        }
         String regEx = claimProperties.remove(PROP_REG_EX);
-        localClaimResDTO.setRegEx(regEx != null ? regEx : "");
-        localClaimResDTO.setRequired(Boolean.valueOf(claimProperties.remove(PROP_REQUIRED)));
-        localClaimResDTO.setSupportedByDefault(Boolean.valueOf(claimProperties.remove(PROP_SUPPORTED_BY_DEFAULT)));
+        if (isRequested(requestedAttributes, ATTR_REG_EX)) {
+            localClaimResDTO.setRegEx(regEx != null ? regEx : "");
+        }
+        String required = claimProperties.remove(PROP_REQUIRED);
+        if (isRequested(requestedAttributes, ATTR_REQUIRED)) {
+            localClaimResDTO.setRequired(Boolean.valueOf(required));
+        }
+        String supportedByDefault = claimProperties.remove(PROP_SUPPORTED_BY_DEFAULT);
+        if (isRequested(requestedAttributes, ATTR_SUPPORTED_BY_DEFAULT)) {
+            localClaimResDTO.setSupportedByDefault(Boolean.valueOf(supportedByDefault));
+        }
 
-        List<AttributeMappingDTO> attributeMappingDTOs = new ArrayList<>();
-        for (AttributeMapping attributeMapping : localClaim.getMappedAttributes()) {
-            AttributeMappingDTO attributeMappingDTO = new AttributeMappingDTO();
+        if (isRequested(requestedAttributes, ATTR_ATTRIBUTE_MAPPING)) {
+            List<AttributeMappingDTO> attributeMappingDTOs = new ArrayList<>();
+            for (AttributeMapping attributeMapping : localClaim.getMappedAttributes()) {
+                AttributeMappingDTO attributeMappingDTO = new AttributeMappingDTO();
 
-            attributeMappingDTO.setUserstore(attributeMapping.getUserStoreDomain());
-            attributeMappingDTO.setMappedAttribute(attributeMapping.getAttributeName());
+                attributeMappingDTO.setUserstore(attributeMapping.getUserStoreDomain());
+                attributeMappingDTO.setMappedAttribute(attributeMapping.getAttributeName());
+
+                attributeMappingDTOs.add(attributeMappingDTO);
+            }
+            localClaimResDTO.setAttributeMapping(attributeMappingDTOs);
+        } else {
+            localClaimResDTO.setAttributeMapping(null);
+        }
 
-            attributeMappingDTOs.add(attributeMappingDTO);
+        if (isRequested(requestedAttributes, ATTR_PROPERTIES)) {
+            localClaimResDTO.setProperties(mapToProperties(claimProperties));
+        } else {
+            localClaimResDTO.setProperties(null);
         }
-        localClaimResDTO.setAttributeMapping(attributeMappingDTOs);
-        localClaimResDTO.setProperties(mapToProperties(claimProperties));
 
         return localClaimResDTO;
     }
 
-    private List<LocalClaimResDTO> getLocalClaimResDTOs(List<LocalClaim> localClaimList) {
+    private boolean isRequested(Set<String> requestedAttributes, String attribute) {
+
+        return requestedAttributes == null || requestedAttributes.contains(attribute);
+    }
+
+    private int getDisplayOrder(String propDisplayOrder) {
+
+        if (StringUtils.isNumeric(propDisplayOrder)) {
+            return Integer.parseInt(propDisplayOrder);
+        }
+        return 0;
+    }
+
+    private Collection<String> getLocalClaimAttributeValues(LocalClaim localClaim, String attribute) {
+
+        switch (attribute) {
+            case ATTR_CLAIM_URI:
+                return Collections.singletonList(localClaim.getClaimURI());
+            case ATTR_DIALECT_URI:
+                return Collections.singletonList(localClaim.getClaimDialectURI());
+            case ATTR_DISPLAY_NAME:
+                return Collections.singletonList(localClaim.getClaimProperties().get(PROP_DISPLAY_NAME));
+            case ATTR_MAPPED_ATTRIBUTE:
+                List<String> mappedAttributes = new ArrayList<>();
+                for (AttributeMapping attributeMapping : localClaim.getMappedAttributes()) {
+                    mappedAttributes.add(attributeMapping.getAttributeName());
+                }
+                return mappedAttributes;
+            default:
+                return Collections.emptyList();
+        }
+    }
+
+    private Collection<String> getExternalClaimAttributeValues(ExternalClaim externalClaim, String attribute) {
+
+        switch (attribute) {
+            case ATTR_CLAIM_URI:
+                return Collections.singletonList(externalClaim.getClaimURI());
+            case ATTR_CLAIM_DIALECT_URI:
+                return Collections.singletonList(externalClaim.getClaimDialectURI());
+            case ATTR_MAPPED_LOCAL_CLAIM_URI:
+                return Collections.singletonList(externalClaim.getMappedLocalClaim());
+            default:
+                return Collections.emptyList();
+        }
+    }
+
+    private Comparator<LocalClaim> getLocalClaimComparator(String sort) {
+
+        if (StringUtils.isBlank(sort)) {
+            return null;
+        }
+
+        String[] sortParts = parseSort(sort, LOCAL_CLAIM_SORT_ATTRIBUTES);
+        Comparator<LocalClaim> comparator;
+        switch (sortParts[0]) {
+            case ATTR_CLAIM_URI:
+                comparator = Comparator.comparing(LocalClaim::getClaimURI, NULL_SAFE_STRING_ORDER);
+                break;
+            case ATTR_DIALECT_URI:
+                comparator = Comparator.comparing(LocalClaim::getClaimDialectURI, NULL_SAFE_STRING_ORDER);
+                break;
+            case ATTR_DISPLAY_NAME:
+                comparator = Comparator.comparing(
+                        localClaim -> localClaim.getClaimProperties().get(PROP_DISPLAY_NAME), NULL_SAFE_STRING_ORDER);
+                break;
+            case ATTR_DISPLAY_ORDER:
+                comparator = Comparator.comparingInt(
+                        localClaim -> getDisplayOrder(localClaim.getClaimProperties().get(PROP_DISPLAY_ORDER)));
+                break;
+            default:
+                throw handleClaimManagementClientError(ERROR_CODE_INVALID_SORT, BAD_REQUEST, sort);
+        }
+        return SORT_ORDER_DESCENDING.equals(sortParts[1]) ? comparator.reversed() : comparator;
+    }
+
+    private Comparator<ExternalClaim> getExternalClaimComparator(String sort) {
+
+        if (StringUtils.isBlank(sort)) {
+            return null;
+        }
+
+        String[] sortParts = parseSort(sort, EXTERNAL_CLAIM_SORT_ATTRIBUTES);
+        Comparator<ExternalClaim> comparator;
+        switch (sortParts[0]) {
+            case ATTR_CLAIM_URI:
+                comparator = Comparator.comparing(ExternalClaim::getClaimURI, NULL_SAFE_STRING_ORDER);
+                break;
+            case ATTR_MAPPED_LOCAL_CLAIM_URI:
+                comparator = Comparator.comparing(ExternalClaim::getMappedLocalClaim, NULL_SAFE_STRING_ORDER);
+                break;
+            default:
+                throw handleClaimManagementClientError(ERROR_CODE_INVALID_SORT, BAD_REQUEST, sort);
+        }
+        return SORT_ORDER_DESCENDING.equals(sortParts[1]) ? comparator.reversed() : comparator;
+    }
+
+    /**
+     * Split a sort of the form {@code <attribute> [asc|desc]} into the attribute and the sort order. The attribute is
+     * matched case insensitively, the same way filter attributes are, and returned in its canonical form.
+     *
+     * @param sort                Sort string.
+     * @param supportedAttributes Attributes that can be sorted on.
+     * @return Array of the attribute and the sort order.
+     */
+    private String[] parseSort(String sort, Set<String> supportedAttributes) {
+
+        String[] sortParts = sort.trim().split("\\s+");
+        if (sortParts.length > 2) {
+            throw handleClaimManagementClientError(ERROR_CODE_INVALID_SORT, BAD_REQUEST, sort);
+        }
+
+        String sortOrder = SORT_ORDER_ASCENDING;
+        if (sortParts.length == 2) {
+            sortOrder = sortParts[1].toLowerCase(Locale.ENGLISH);
+            if (!SORT_ORDER_ASCENDING.equals(sortOrder) && !SORT_ORDER_DESCENDING.equals(sortOrder)) {
+                throw handleClaimManagementClientError(ERROR_CODE_INVALID_SORT, BAD_REQUEST, sort);
+            }
+        }
+        String attribute = supportedAttributes.stream()
+                .filter(supportedAttribute -> supportedAttribute.equalsIgnoreCase(sortParts[0]))
+                .findFirst()
+                .orElseThrow(() -> handleClaimManagementClientError(ERROR_CODE_INVALID_SORT, BAD_REQUEST, sort));
+        return new String[]{attribute, sortOrder};
+    }
+
+    private AttributeFilter parseFilter(String filter, Set<String> supportedAttributes) {
+
+        try {
+            return AttributeFilter.parse(filter, supportedAttributes);
+        } catch (IllegalArgumentException e) {
+            if (LOG.isDebugEnabled()) {
+                LOG.debug("Error while parsing the filter: " + filter, e);
+            }
+            throw handleClaimManagementClientError(ERROR_CODE_INVALID_FILTER, BAD_REQUEST, filter);
+        }
+    }
+
+    private Set<String> getRequestedAttributes(String attributes, Set<String> supportedAttributes) {
 
-        List<LocalClaimResDTO> localClaimResDTOList = new ArrayList<>();
+        if (StringUtils.isBlank(attributes)) {
+            return null;
+        }
 
-        for (LocalClaim localClaim : localClaimList) {
-            localClaimResDTOList.add(getLocalClaimResDTO(localClaim));
+        Set<String> requestedAttributes = new HashSet<>();
+        for (String attribute : attributes.split(REGEX_COMMA)) {
+            String trimmedAttribute = attribute.trim();
+            if (!supportedAttributes.contains(trimmedAttribute)) {
+                throw handleClaimManagementClientError(ERROR_CODE_INVALID_ATTRIBUTES, BAD_REQUEST, attributes);
+            }
+            requestedAttributes.add(trimmedAttribute);
         }
+        return requestedAttributes;
+    }
+
+    private void validatePaginationParameters(Integer limit, Integer offset) {
+
+        if ((limit != null && limit < 0) || (offset != null && offset < 0)) {
+            throw handleClaimManagementClientError(ERROR_CODE_INVALID_PAGINATION_PARAMETERS, BAD_REQUEST);
+        }
+    }
+
+    private <T> List<T> getPage(List<T> list, Integer limit, Integer offset) {
 
-        return localClaimResDTOList;
+        int fromIndex = offset == null ? 0 : Math.min(offset, list.size());
+        int toIndex = limit == null ? list.size() : (int) Math.min((long) fromIndex + limit, list.size());
+        return list.subList(fromIndex, toIndex);
+    }
+
+    /**
+     * Build the links to the next and previous pages of claims. Links are built only for limited requests and carry
+     * the filter, sort and attributes of the request.
+     */
+    private Map<String, String> buildPaginationLinks(String dialectPath, int totalResults, Integer limit,
+                                                     Integer offset, String filter, String sort, String attributes) {
+
+        Map<String, String> links = new HashMap<>();
+        if (limit == null || limit == 0) {
+            return links;
+        }
+
+        int currentOffset = offset == null ? 0 : offset;
+        if ((long) currentOffset + limit < totalResults) {
+            links.put(PAGE_LINK_REL_NEXT, buildPageLink(dialectPath, currentOffset + limit, limit, filter, sort,
+                    attributes));
+        }
+        if (currentOffset > 0) {
+            // The previous page is shortened when the current offset is not a multiple of the limit.
+            int previousOffset = Math.max(currentOffset - limit, 0);
+            links.put(PAGE_LINK_REL_PREVIOUS, buildPageLink(dialectPath, previousOffset,
+                    Math.min(limit, currentOffset), filter, sort, attributes));
+        }
+        return links;
+    }
+
+    private String buildPageLink(String dialectPath, int offset, int limit, String filter, String sort,
+                                 String attributes) {
+
+        StringBuilder pageLink = new StringBuilder(String.format(V1_API_PATH_COMPONENT + CMT_PATH_COMPONENT +
+                "/%s/claims?offset=%d&limit=%d", dialectPath, offset, limit));
+        appendQueryParam(pageLink, "filter", filter);
+        appendQueryParam(pageLink, "sort", sort);
+        appendQueryParam(pageLink, "attributes", attributes);
+        return buildURIForBody(pageLink.toString()).toString();
+    }
+
+    private void appendQueryParam(StringBuilder url, String name, String value) {
+
+        if (StringUtils.isNotBlank(value)) {
+            try {
+                url.append('&').append(name).append('=').append(URLEncoder.encode(value,
+                        StandardCharsets.UTF_8.name()));
+            } catch (UnsupportedEncodingException e) {
+                // UTF-8 is supported by every JVM.
+                throw new IllegalStateException(e);
+            }
+        }
     }
 
     private LocalClaim createLocalClaim(LocalClaimReqDTO localClaimReqDTO) {
@@ -755,11 +1053,13 @@ public class ServerClaimManagementService {
 
     private boolean isDialectExists(String dialectId) throws ClaimMetadataException {
 
-        List<ClaimDialect> claimDialectList =
-                getClaimMetadataManagementService().getClaimDialects(ContextLoader.getTenantDomainFromContext());
-        ClaimDialect claimDialect = extractDialectFromDialectList(base64DecodeId(dialectId), claimDialectList);
+        return ClaimMetadataCache.getInstance().getClaimDialects(ContextLoader.getTenantDomainFromContext())
+                .containsKey(base64DecodeId(dialectId));
+    }
+
+    private void invalidateClaimMetadataCache() {
 
-        return claimDialect != null;
+        ClaimMetadataCache.getInstance().invalidate(ContextLoader.getTenantDomainFromContext());
     }
 
     private APIError handleClaimManagementException(ClaimMetadataException e, Constant.ErrorMessage errorEnum,
@@ -782,11 +1082,6 @@ public class ServerClaimManagementService {
         return new APIError(status, errorResponse);
     }
 
-    private void handleNotImplementedCapabilities(Integer limit, Integer offset, String filter, String sort) {
-
-        handleNotImplementedCapabilities(null, limit, offset, filter, sort);
-    }
-
     private APIError handleException(Exception e, Constant.ErrorMessage errorEnum, String... data) {
 
         ErrorResponse errorResponse = getErrorBuilder(errorEnum, data)
@@ -797,8 +1092,7 @@ public class ServerClaimManagementService {
         return new APIError(status, errorResponse);
     }
 
-    private void handleNotImplementedCapabilities(String attributes, Integer limit, Integer offset, String filter,
-                                                  String sort) {
+    private void handleNotImplementedCapabilities(Integer limit, Integer offset, String filter, String sort) {
 
         Constant.ErrorMessage errorEnum = null;
 
@@ -810,8 +1104,6 @@ public class ServerClaimManagementService {
             errorEnum = ERROR_CODE_FILTERING_NOT_IMPLEMENTED;
         } else if (sort != null) {
             errorEnum = ERROR_CODE_SORTING_NOT_IMPLEMENTED;
-        } else if (attributes != null) {
-            errorEnum = ERROR_CODE_ATTRIBUTE_FILTERING_NOT_IMPLEMENTED;
         }
 
         if (errorEnum != null) {
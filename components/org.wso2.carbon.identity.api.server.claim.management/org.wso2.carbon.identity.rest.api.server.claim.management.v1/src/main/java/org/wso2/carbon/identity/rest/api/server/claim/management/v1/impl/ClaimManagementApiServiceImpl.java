@@ -18,6 +18,7 @@ package org.wso2.carbon.identity.rest.api.server.claim.management.v1.impl;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.wso2.carbon.identity.rest.api.server.claim.management.v1.ClaimManagementApiService;
+import org.wso2.carbon.identity.rest.api.server.claim.management.v1.core.ClaimListResponse;
 import org.wso2.carbon.identity.rest.api.server.claim.management.v1.core.ServerClaimManagementService;
 
 import org.wso2.carbon.identity.rest.api.server.claim.management.v1.dto.ClaimDialectReqDTO;
@@ -25,10 +26,13 @@ import org.wso2.carbon.identity.rest.api.server.claim.management.v1.dto.External
 import org.wso2.carbon.identity.rest.api.server.claim.management.v1.dto.LocalClaimReqDTO;
 
 import java.net.URI;
+import java.util.Map;
+import javax.ws.rs.core.Link;
 import javax.ws.rs.core.Response;
 
 import static org.wso2.carbon.identity.api.server.claim.management.common.Constant.CMT_PATH_COMPONENT;
 import static org.wso2.carbon.identity.api.server.claim.management.common.Constant.LOCAL_DIALECT_PATH;
+import static org.wso2.carbon.identity.api.server.claim.management.common.Constant.TOTAL_RESULTS_HEADER;
 import static org.wso2.carbon.identity.api.server.common.Constants.V1_API_PATH_COMPONENT;
 import static org.wso2.carbon.identity.api.server.common.ContextLoader.buildURIForHeader;
 
@@ -103,9 +107,8 @@ public class ClaimManagementApiServiceImpl extends ClaimManagementApiService {
     @Override
     public Response getExternalClaims(String dialectId, Integer limit, Integer offset, String filter, String sort) {
 
-        return Response.ok()
-                .entity(claimManagementService.getExternalClaims(dialectId, limit, offset, filter, sort))
-                .build();
+        return buildClaimListResponse(
+                claimManagementService.getExternalClaims(dialectId, limit, offset, filter, sort));
     }
 
     @Override
@@ -117,8 +120,8 @@ public class ClaimManagementApiServiceImpl extends ClaimManagementApiService {
     @Override
     public Response getLocalClaims(String attributes, Integer limit, Integer offset, String filter, String sort) {
 
-        return Response.ok().entity(claimManagementService.getLocalClaims(
-                attributes, limit, offset, filter, sort)).build();
+        return buildClaimListResponse(claimManagementService.getLocalClaims(
+                attributes, limit, offset, filter, sort));
     }
 
     @Override
@@ -144,6 +147,21 @@ public class ClaimManagementApiServiceImpl extends ClaimManagementApiService {
         return Response.ok().build();
     }
 
+    /**
+     * Build the response of a claim listing. The response body is the list of claims, while the total number of
+     * results and the pagination links are sent as headers to keep the response body compatible.
+     */
+    private Response buildClaimListResponse(ClaimListResponse<?> claimListResponse) {
+
+        Response.ResponseBuilder responseBuilder = Response.ok()
+                .entity(claimListResponse.getClaims())
+                .header(TOTAL_RESULTS_HEADER, claimListResponse.getTotalResults());
+        for (Map.Entry<String, String> link : claimListResponse.getLinks().entrySet()) {
+            responseBuilder.links(Link.fromUri(link.getValue()).rel(link.getKey()).build());
+        }
+        return responseBuilder.build();
+    }
+
     private URI getResourceLocation(String dialectId) {
 
         return buildURIForHeader(String.format(V1_API_PATH_COMPONENT + CMT_PATH_COMPONENT + "/%s", dialectId));
@@ -0,0 +1,203 @@
+/*
+ *  Copyright (c) 2020, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package org.wso2.carbon.identity.api.server.common;
+
+import org.apache.commons.lang.StringUtils;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * SCIM style filter evaluated against the attributes of resources. A filter is one or more conditions of the form
+ * {@code <attribute> <eq|sw|co> <value>} joined with {@code and}. The value can optionally be enclosed in double
+ * quotes, and a quoted value can contain {@code and}. Values are matched case insensitively.
+ */
+public class AttributeFilter {
+
+    private static final String AND_OPERATOR = "and";
+    private static final Pattern CONDITION_PATTERN = Pattern.compile("^\\s*(\\w+)\\s+(\\w+)\\s+(.+?)\\s*$");
+
+    private final List<Condition> conditions;
+
+    private AttributeFilter(List<Condition> conditions) {
+
+        this.conditions = conditions;
+    }
+
+    /**
+     * Parse the given filter.
+     *
+     * @param filter              Filter string.
+     * @param supportedAttributes Attributes allowed in the filter.
+     * @return Parsed filter.
+     * @throws IllegalArgumentException If the filter is malformed or uses an unsupported attribute or operator.
+     */
+    public static AttributeFilter parse(String filter, Set<String> supportedAttributes) {
+
+        if (StringUtils.isBlank(filter)) {
+            return new AttributeFilter(Collections.emptyList());
+        }
+
+        List<Condition> conditions = new ArrayList<>();
+        for (String expression : splitConditions(filter.trim())) {
+            Matcher matcher = CONDITION_PATTERN.matcher(expression);
+            if (!matcher.matches()) {
+                throw new IllegalArgumentException("Invalid filter expression: " + expression);
+            }
+            String attribute = resolveAttribute(matcher.group(1), supportedAttributes);
+            Operator operator = Operator.fromName(matcher.group(2));
+            conditions.add(new Condition(attribute, operator, unquote(matcher.group(3))));
+        }
+        return new AttributeFilter(conditions);
+    }
+
+    /**
+     * Check whether a resource satisfies all the conditions of the filter.
+     *
+     * @param attributeValueResolver Resolves the values of an attribute of the resource.
+     * @return True if the resource matches the filter.
+     */
+    public boolean matches(Function<String, Collection<String>> attributeValueResolver) {
+
+        for (Condition condition : conditions) {
+            if (!condition.matches(attributeValueResolver.apply(condition.attribute))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    public boolean isEmpty() {
+
+        return conditions.isEmpty();
+    }
+
+    /**
+     * Split a filter into its conditions at the {@code and} operators which are not enclosed in double quotes.
+     */
+    private static List<String> splitConditions(String filter) {
+
+        List<String> expressions = new ArrayList<>();
+        int expressionStart = 0;
+        boolean quoted = false;
+        for (int i = 0; i < filter.length(); i++) {
+            char character = filter.charAt(i);
+            if (character == '"') {
+                quoted = !quoted;
+            } else if (!quoted && isAndOperator(filter, i)) {
+                expressions.add(filter.substring(expressionStart, i));
+                i += AND_OPERATOR.length();
+                expressionStart = i + 1;
+            }
+        }
+        if (quoted) {
+            throw new IllegalArgumentException("Unterminated quoted value in filter: " + filter);
+        }
+        expressions.add(filter.substring(expressionStart));
+        return expressions;
+    }
+
+    /**
+     * Check whether the filter has an {@code and} operator surrounded by whitespace right after the given index.
+     */
+    private static boolean isAndOperator(String filter, int index) {
+
+        int operatorEnd = index + 1 + AND_OPERATOR.length();
+        return Character.isWhitespace(filter.charAt(index)) && operatorEnd < filter.length() &&
+                filter.regionMatches(true, index + 1, AND_OPERATOR, 0, AND_OPERATOR.length()) &&
+                Character.isWhitespace(filter.charAt(operatorEnd));
+    }
+
+    private static String resolveAttribute(String attribute, Set<String> supportedAttributes) {
+
+        for (String supportedAttribute : supportedAttributes) {
+            if (supportedAttribute.equalsIgnoreCase(attribute)) {
+                return supportedAttribute;
+            }
+        }
+        throw new IllegalArgumentException("Unsupported filter attribute: " + attribute);
+    }
+
+    private static String unquote(String value) {
+
+        if (value.length() >= 2 && value.startsWith("\"") && value.endsWith("\"")) {
+            return value.substring(1, value.length() - 1);
+        }
+        return value;
+    }
+
+    private enum Operator {
+
+        EQ, SW, CO;
+
+        static Operator fromName(String name) {
+
+            for (Operator operator : values()) {
+                if (operator.name().equalsIgnoreCase(name)) {
+                    return operator;
+                }
+            }
+            throw new IllegalArgumentException("Unsupported filter operator: " + name);
+        }
+
+        boolean matches(String attributeValue, String value) {
+
+            switch (this) {
+                case EQ:
+                    return StringUtils.equalsIgnoreCase(attributeValue, value);
+                case SW:
+                    return StringUtils.startsWithIgnoreCase(attributeValue, value);
+                default:
+                    return StringUtils.containsIgnoreCase(attributeValue, value);
+            }
+        }
+    }
+
+    private static class Condition {
+
+        private final String attribute;
+        private final Operator operator;
+        private final String value;
+
+        Condition(String attribute, Operator operator, String value) {
+
+            this.attribute = attribute;
+            this.operator = operator;
+            this.value = value;
+        }
+
+        boolean matches(Collection<String> attributeValues) {
+
+            if (attributeValues == null) {
+                return false;
+            }
+            // Multi valued attributes match if any of the values match.
+            for (String attributeValue : attributeValues) {
+                if (attributeValue != null && operator.matches(attributeValue, value)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+}
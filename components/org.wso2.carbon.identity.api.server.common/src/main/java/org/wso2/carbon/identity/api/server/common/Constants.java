@@ -32,6 +32,9 @@ public class Constants {
 
     public static final String REGEX_COMMA = ",";
 
+    public static final String ANY_ETAG = "*";
+    public static final String WEAK_ETAG_PREFIX = "W/";
+
     /**
      * Enum for server error prefixes.
      */
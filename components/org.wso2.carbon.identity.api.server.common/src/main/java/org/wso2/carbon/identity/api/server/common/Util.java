@@ -16,8 +16,10 @@
 
 package org.wso2.carbon.identity.api.server.common;
 
+import org.apache.commons.lang.StringUtils;
 import org.apache.log4j.MDC;
 import org.wso2.carbon.context.PrivilegedCarbonContext;
+import org.wso2.carbon.identity.core.util.IdentityUtil;
 import org.wso2.carbon.identity.recovery.ChallengeQuestionManager;
 
 import java.nio.charset.StandardCharsets;
@@ -26,6 +28,8 @@ import java.util.HashMap;
 import java.util.Map;
 import java.util.UUID;
 
+import javax.ws.rs.core.EntityTag;
+
 /**
  * Common util class
  */
@@ -137,6 +141,78 @@ public class Util {
         return links;
     }
 
+    /**
+     * Run a task in the tenant flow of the given tenant and user. Used to run the tasks of a request in other threads.
+     *
+     * @param tenantDomain Tenant domain.
+     * @param username     Username.
+     * @param task         Task to be run.
+     * @param <T>          Type of the result of the task.
+     * @param <E>          Type of the exception thrown by the task.
+     * @return Result of the task.
+     * @throws E If the task failed.
+     */
+    public static <T, E extends Exception> T runInTenantFlow(String tenantDomain, String username,
+                                                             TenantFlowTask<T, E> task) throws E {
+
+        // Workers do not inherit the carbon context and the tenant of the request, which are used by the backend
+        // services and by the APIs. A task can also run in the request thread, so the tenant is restored afterwards.
+        Object threadTenantDomain = IdentityUtil.threadLocalProperties.get().put(Constants.TENANT_NAME_FROM_CONTEXT,
+                tenantDomain);
+        PrivilegedCarbonContext.startTenantFlow();
+        try {
+            PrivilegedCarbonContext carbonContext = PrivilegedCarbonContext.getThreadLocalCarbonContext();
+            carbonContext.setTenantDomain(tenantDomain, true);
+            carbonContext.setUsername(username);
+            return task.run();
+        } finally {
+            PrivilegedCarbonContext.endTenantFlow();
+            if (threadTenantDomain != null) {
+                IdentityUtil.threadLocalProperties.get().put(Constants.TENANT_NAME_FROM_CONTEXT, threadTenantDomain);
+            } else {
+                IdentityUtil.threadLocalProperties.get().remove(Constants.TENANT_NAME_FROM_CONTEXT);
+            }
+        }
+    }
+
+    /**
+     * Run a task without a result in the tenant flow of the given tenant and user.
+     *
+     * @param tenantDomain Tenant domain.
+     * @param username     Username.
+     * @param task         Task to be run.
+     */
+    public static void runInTenantFlow(String tenantDomain, String username, Runnable task) {
+
+        runInTenantFlow(tenantDomain, username, () -> {
+            task.run();
+            return null;
+        });
+    }
+
+    /**
+     * Check whether the If-None-Match header of a request matches the ETag of the current representation, in which
+     * case the representation does not need to be sent again.
+     *
+     * @param eTag        ETag of the current representation.
+     * @param ifNoneMatch Value of the If-None-Match header, or null if the header is not present.
+     * @return True if one of the client ETags, or the wildcard, matches the ETag.
+     */
+    public static boolean isETagMatched(EntityTag eTag, String ifNoneMatch) {
+
+        if (StringUtils.isBlank(ifNoneMatch)) {
+            return false;
+        }
+        // If-None-Match uses the weak comparison, so the weak indicator of the client ETags is ignored.
+        for (String clientETag : ifNoneMatch.split(Constants.REGEX_COMMA)) {
+            String trimmedETag = StringUtils.removeStart(clientETag.trim(), Constants.WEAK_ETAG_PREFIX);
+            if (Constants.ANY_ETAG.equals(trimmedETag) || eTag.toString().equals(trimmedETag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
     private static int calculateOffsetForPreviousLink(int offset, int limit, int total) {
 
         int newOffset = (offset - limit);
@@ -146,4 +222,16 @@ public class Util {
 
         return calculateOffsetForPreviousLink(newOffset, limit, total);
     }
+
+    /**
+     * Task run in the tenant flow of a tenant.
+     *
+     * @param <T> Type of the result of the task.
+     * @param <E> Type of the exception thrown by the task.
+     */
+    @FunctionalInterface
+    public interface TenantFlowTask<T, E extends Exception> {
+
+        T run() throws E;
+    }
 }
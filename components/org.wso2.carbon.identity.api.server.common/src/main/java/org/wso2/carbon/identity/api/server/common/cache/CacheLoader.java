@@ -0,0 +1,37 @@
+/*
+ * Copyright (c) 2020, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.wso2.carbon.identity.api.server.common.cache;
+
+/**
+ * Loads the value of a cache entry from the backend when the entry is not available in the cache.
+ *
+ * @param <K> Type of the cache key.
+ * @param <V> Type of the cached value.
+ * @param <E> Type of the exception thrown while loading the value.
+ */
+@FunctionalInterface
+public interface CacheLoader<K, V, E extends Exception> {
+
+    /**
+     * Load the value for the given key.
+     *
+     * @param key Cache key.
+     * @return Loaded value. Null values are not cached.
+     * @throws E If an error occurred while loading the value.
+     */
+    V load(K key) throws E;
+}
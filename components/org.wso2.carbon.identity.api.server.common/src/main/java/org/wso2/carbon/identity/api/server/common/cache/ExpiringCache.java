@@ -0,0 +1,283 @@
+/*
+ * Copyright (c) 2020, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.wso2.carbon.identity.api.server.common.cache;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Predicate;
+
+/**
+ * Node local, in-memory cache whose entries expire after a fixed time-to-live. Entries are expected to be
+ * invalidated explicitly when they are modified through this node, while the time-to-live bounds the staleness of
+ * entries modified through other nodes of a cluster.
+ * <p>
+ * Expired entries are purged when entries are added, at most once per time-to-live, and whenever the cache grows
+ * beyond its maximum size. If the cache is still full after the purge, the entries closest to expiry are evicted.
+ *
+ * @param <K> Type of the cache key.
+ * @param <V> Type of the cached value.
+ */
+public class ExpiringCache<K, V> {
+
+    /**
+     * Maximum number of entries of a cache created without an explicit maximum size.
+     */
+    public static final int DEFAULT_MAX_SIZE = 10000;
+
+    // Entries are evicted down to this fraction of the maximum size, so that a full cache is not purged on every put.
+    private static final double EVICTION_TARGET_RATIO = 0.9;
+
+    private final long timeToLiveMillis;
+    private final int maxSize;
+    private final ConcurrentMap<K, CacheEntry<V>> entries = new ConcurrentHashMap<>();
+    private final ConcurrentMap<K, LoadTracker> loads = new ConcurrentHashMap<>();
+    private final AtomicLong clearCount = new AtomicLong();
+    private final AtomicLong nextPurgeTime;
+
+    /**
+     * Create a cache with the given entry time-to-live, holding at most {@link #DEFAULT_MAX_SIZE} entries.
+     *
+     * @param timeToLiveMillis Time-to-live of an entry in milliseconds.
+     */
+    public ExpiringCache(long timeToLiveMillis) {
+
+        this(timeToLiveMillis, DEFAULT_MAX_SIZE);
+    }
+
+    /**
+     * Create a cache with the given entry time-to-live and maximum size.
+     *
+     * @param timeToLiveMillis Time-to-live of an entry in milliseconds.
+     * @param maxSize          Maximum number of entries of the cache.
+     */
+    public ExpiringCache(long timeToLiveMillis, int maxSize) {
+
+        if (maxSize <= 0) {
+            throw new IllegalArgumentException("Maximum size of the cache must be positive: " + maxSize);
+        }
+        this.timeToLiveMillis = timeToLiveMillis;
+        this.maxSize = maxSize;
+        this.nextPurgeTime = new AtomicLong(System.currentTimeMillis() + timeToLiveMillis);
+    }
+
+    /**
+     * Get the cached value of the given key.
+     *
+     * @param key Cache key.
+     * @return Cached value or null if there is no live entry for the key.
+     */
+    public V get(K key) {
+
+        CacheEntry<V> entry = entries.get(key);
+        if (entry == null) {
+            return null;
+        }
+        if (entry.isExpired(System.currentTimeMillis())) {
+            entries.remove(key, entry);
+            return null;
+        }
+        return entry.value;
+    }
+
+    /**
+     * Get the cached value of the given key, loading and caching it with the given loader if there is no live
+     * entry. A value loaded while the key is invalidated, or while the cache is cleared, is returned to the caller
+     * but not cached, so that a load which raced with an update never overrides the invalidation. Invalidations of
+     * other keys do not affect the load.
+     *
+     * @param key    Cache key.
+     * @param loader Loader used to load the value on a cache miss.
+     * @param <E>    Type of the exception thrown by the loader.
+     * @return Cached or loaded value.
+     * @throws E If an error occurred while loading the value.
+     */
+    public <E extends Exception> V get(K key, CacheLoader<K, V, E> loader) throws E {
+
+        V value = get(key);
+        if (value != null) {
+            return value;
+        }
+
+        long clearMark = clearCount.get();
+        long[] invalidationMark = new long[1];
+        loads.compute(key, (k, tracker) -> {
+            LoadTracker loadTracker = tracker == null ? new LoadTracker() : tracker;
+            loadTracker.loaderCount++;
+            invalidationMark[0] = loadTracker.invalidationCount;
+            return loadTracker;
+        });
+
+        V loadedValue = null;
+        try {
+            loadedValue = loader.load(key);
+            return loadedValue;
+        } finally {
+            V valueToCache = loadedValue;
+            AtomicReference<CacheEntry<V>> cachedEntry = new AtomicReference<>();
+            loads.compute(key, (k, tracker) -> {
+                // The entry is added while holding the tracker of the key, so that it cannot interleave with an
+                // invalidation of the key.
+                if (valueToCache != null && tracker.invalidationCount == invalidationMark[0] &&
+                        clearMark == clearCount.get()) {
+                    CacheEntry<V> entry = new CacheEntry<>(valueToCache, System.currentTimeMillis() + timeToLiveMillis);
+                    entries.put(key, entry);
+                    cachedEntry.set(entry);
+                }
+                tracker.loaderCount--;
+                return tracker.loaderCount == 0 ? null : tracker;
+            });
+            if (cachedEntry.get() != null) {
+                // A clear which started after the check above may have missed the entry.
+                if (clearMark != clearCount.get()) {
+                    entries.remove(key, cachedEntry.get());
+                }
+                purgeIfRequired();
+            }
+        }
+    }
+
+    /**
+     * Add an entry to the cache.
+     *
+     * @param key   Cache key.
+     * @param value Value to be cached.
+     */
+    public void put(K key, V value) {
+
+        entries.put(key, new CacheEntry<>(value, System.currentTimeMillis() + timeToLiveMillis));
+        purgeIfRequired();
+    }
+
+    /**
+     * Remove the entry of the given key.
+     *
+     * @param key Cache key.
+     */
+    public void remove(K key) {
+
+        loads.computeIfPresent(key, (k, tracker) -> {
+            tracker.invalidationCount++;
+            return tracker;
+        });
+        entries.remove(key);
+    }
+
+    /**
+     * Remove the entries of all the keys matching the given predicate. Loads of matching keys which are in progress
+     * are not cached, the same way as with {@link #remove(Object)}.
+     *
+     * @param keyPredicate Predicate selecting the keys to be removed.
+     */
+    public void removeIf(Predicate<? super K> keyPredicate) {
+
+        for (K key : loads.keySet()) {
+            if (keyPredicate.test(key)) {
+                loads.computeIfPresent(key, (k, tracker) -> {
+                    tracker.invalidationCount++;
+                    return tracker;
+                });
+            }
+        }
+        entries.keySet().removeIf(keyPredicate);
+    }
+
+    /**
+     * Remove all the entries of the cache.
+     */
+    public void clear() {
+
+        clearCount.incrementAndGet();
+        entries.clear();
+    }
+
+    /**
+     * Get the number of entries of the cache, including expired entries which are not purged yet.
+     *
+     * @return Number of entries.
+     */
+    public int size() {
+
+        return entries.size();
+    }
+
+    private void purgeIfRequired() {
+
+        long currentTime = System.currentTimeMillis();
+        long purgeTime = nextPurgeTime.get();
+        boolean purgeDue = currentTime >= purgeTime &&
+                nextPurgeTime.compareAndSet(purgeTime, currentTime + timeToLiveMillis);
+        if (purgeDue || entries.size() > maxSize) {
+            purge(currentTime);
+        }
+    }
+
+    private synchronized void purge(long currentTime) {
+
+        entries.entrySet().removeIf(entry -> entry.getValue().isExpired(currentTime));
+        int excess = entries.size() - (int) (maxSize * EVICTION_TARGET_RATIO);
+        if (entries.size() <= maxSize || excess <= 0) {
+            return;
+        }
+
+        // Every entry lives for the same time, so the entries closest to expiry are the least recently added.
+        List<Map.Entry<K, CacheEntry<V>>> liveEntries = new ArrayList<>(entries.entrySet());
+        liveEntries.sort(Comparator.comparingLong(entry -> entry.getValue().expiryTime));
+        for (int i = 0; i < excess && i < liveEntries.size(); i++) {
+            Map.Entry<K, CacheEntry<V>> entry = liveEntries.get(i);
+            entries.remove(entry.getKey(), entry.getValue());
+        }
+    }
+
+    /**
+     * Cached value along with its expiry time.
+     *
+     * @param <V> Type of the cached value.
+     */
+    private static class CacheEntry<V> {
+
+        private final V value;
+        private final long expiryTime;
+
+        CacheEntry(V value, long expiryTime) {
+
+            this.value = value;
+            this.expiryTime = expiryTime;
+        }
+
+        boolean isExpired(long currentTime) {
+
+            return currentTime >= expiryTime;
+        }
+    }
+
+    /**
+     * Loads in progress for a key, along with the number of invalidations of the key since the first of them started.
+     * A tracker exists only while a load of its key is in progress, so tracking invalidations per key does not grow
+     * the cache.
+     */
+    private static class LoadTracker {
+
+        private int loaderCount;
+        private long invalidationCount;
+    }
+}
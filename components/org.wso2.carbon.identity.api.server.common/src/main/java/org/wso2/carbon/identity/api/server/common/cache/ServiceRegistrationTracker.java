@@ -0,0 +1,150 @@
+/*
+ * Copyright (c) 2020, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.wso2.carbon.identity.api.server.common.cache;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.osgi.framework.Bundle;
+import org.osgi.framework.BundleContext;
+import org.osgi.framework.FrameworkUtil;
+import org.osgi.framework.InvalidSyntaxException;
+import org.osgi.framework.ServiceReference;
+import org.osgi.util.tracker.ServiceTracker;
+import org.osgi.util.tracker.ServiceTrackerCustomizer;
+
+/**
+ * Tracks the OSGi services of the given classes and notifies a listener whenever such a service is registered or
+ * unregistered, so that caches built from the services can be invalidated right away instead of when they expire.
+ * <p>
+ * The services are tracked through the bundle context of the bundle of a given class, since the API web apps are not
+ * bundles themselves. The tracker is opened on demand and must be closed when its owner is destroyed, so that the
+ * listener is not left registered. If the OSGi framework is not available, nothing is tracked and the caches rely on
+ * their expiry.
+ */
+public class ServiceRegistrationTracker {
+
+    private static final Log LOG = LogFactory.getLog(ServiceRegistrationTracker.class);
+
+    private final Class<?> bundleClass;
+    private final String filter;
+    private final Runnable listener;
+
+    private volatile boolean opened;
+    private ServiceTracker<Object, ServiceReference<Object>> serviceTracker;
+
+    /**
+     * Create a tracker of the services of the given classes.
+     *
+     * @param bundleClass       Class of the bundle whose bundle context is used to track the services.
+     * @param listener          Notified when a tracked service is registered or unregistered.
+     * @param serviceClassNames Class names under which the tracked services are registered.
+     */
+    public ServiceRegistrationTracker(Class<?> bundleClass, Runnable listener, String... serviceClassNames) {
+
+        this.bundleClass = bundleClass;
+        this.listener = listener;
+        this.filter = buildFilter(serviceClassNames);
+    }
+
+    /**
+     * Start tracking the services, if not started already. Services which are registered at the time are reported to
+     * the listener as well.
+     */
+    public void open() {
+
+        if (opened) {
+            return;
+        }
+        synchronized (this) {
+            if (opened) {
+                return;
+            }
+            opened = true;
+            Bundle bundle = FrameworkUtil.getBundle(bundleClass);
+            BundleContext bundleContext = bundle != null ? bundle.getBundleContext() : null;
+            if (bundleContext == null) {
+                if (LOG.isDebugEnabled()) {
+                    LOG.debug("OSGi services are not available. Services matching: " + filter + " are not tracked.");
+                }
+                return;
+            }
+            try {
+                serviceTracker = new ServiceTracker<>(bundleContext, bundleContext.createFilter(filter),
+                        new RegistrationListener());
+                // The services are only observed, so services of any class space are tracked.
+                serviceTracker.open(true);
+            } catch (InvalidSyntaxException | IllegalStateException e) {
+                LOG.error("Error while tracking the services matching: " + filter, e);
+                serviceTracker = null;
+            }
+        }
+    }
+
+    /**
+     * Stop tracking the services. The tracker can be opened again afterwards.
+     */
+    public synchronized void close() {
+
+        if (serviceTracker != null) {
+            serviceTracker.close();
+            serviceTracker = null;
+        }
+        opened = false;
+    }
+
+    private static String buildFilter(String... serviceClassNames) {
+
+        StringBuilder filter = new StringBuilder();
+        for (String serviceClassName : serviceClassNames) {
+            filter.append("(objectClass=").append(serviceClassName).append(')');
+        }
+        return serviceClassNames.length == 1 ? filter.toString() : "(|" + filter + ")";
+    }
+
+    /**
+     * Notifies the listener of the registered and unregistered services, without getting the services.
+     */
+    private class RegistrationListener implements ServiceTrackerCustomizer<Object, ServiceReference<Object>> {
+
+        @Override
+        public ServiceReference<Object> addingService(ServiceReference<Object> reference) {
+
+            notifyListener(reference, "registered");
+            return reference;
+        }
+
+        @Override
+        public void modifiedService(ServiceReference<Object> reference, ServiceReference<Object> service) {
+
+            // Changes of the service properties do not affect the services which are available.
+        }
+
+        @Override
+        public void removedService(ServiceReference<Object> reference, ServiceReference<Object> service) {
+
+            notifyListener(reference, "unregistered");
+        }
+
+        private void notifyListener(ServiceReference<Object> reference, String event) {
+
+            if (LOG.isDebugEnabled()) {
+                LOG.debug("Service: " + reference + " matching: " + filter + " was " + event + ".");
+            }
+            listener.run();
+        }
+    }
+}
@@ -0,0 +1,73 @@
+/*
+ * Copyright (c) 2020, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.wso2.carbon.identity.api.server.common;
+
+import org.junit.Test;
+
+import javax.ws.rs.core.EntityTag;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.wso2.carbon.identity.api.server.common.Util.isETagMatched;
+
+/**
+ * Tests for {@link Util}.
+ */
+public class UtilTest {
+
+    private static final EntityTag ETAG = new EntityTag("abc");
+
+    @Test
+    public void testMissingIfNoneMatchDoesNotMatch() {
+
+        assertFalse(isETagMatched(ETAG, null));
+        assertFalse(isETagMatched(ETAG, " "));
+    }
+
+    @Test
+    public void testSameETagMatches() {
+
+        assertTrue(isETagMatched(ETAG, "\"abc\""));
+    }
+
+    @Test
+    public void testETagAmongClientETagsMatches() {
+
+        assertTrue(isETagMatched(ETAG, "\"xyz\", \"abc\""));
+        assertTrue(isETagMatched(ETAG, "\"xyz\",\"abc\""));
+    }
+
+    @Test
+    public void testWeakClientETagMatches() {
+
+        assertTrue(isETagMatched(ETAG, "W/\"abc\""));
+    }
+
+    @Test
+    public void testWildcardMatches() {
+
+        assertTrue(isETagMatched(ETAG, "*"));
+    }
+
+    @Test
+    public void testOtherETagsDoNotMatch() {
+
+        assertFalse(isETagMatched(ETAG, "\"xyz\""));
+        assertFalse(isETagMatched(ETAG, "abc"));
+        assertFalse(isETagMatched(ETAG, "\"abcd\", W/\"ab\""));
+    }
+}
@@ -0,0 +1,204 @@
+/*
+ * Copyright (c) 2020, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.wso2.carbon.identity.api.server.common.cache;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests for {@link ExpiringCache}, including invalidations which race with loads of the invalidated keys.
+ */
+public class ExpiringCacheTest {
+
+    private static final long TIME_TO_LIVE = 60000L;
+    private static final long WAIT_TIMEOUT_SECONDS = 10L;
+
+    private ExecutorService executor;
+
+    @Before
+    public void setUp() {
+
+        executor = Executors.newCachedThreadPool();
+    }
+
+    @After
+    public void tearDown() {
+
+        executor.shutdownNow();
+    }
+
+    @Test
+    public void testLoadedValueIsCached() {
+
+        ExpiringCache<String, String> cache = new ExpiringCache<>(TIME_TO_LIVE);
+        AtomicInteger loadCount = new AtomicInteger();
+
+        assertEquals("value", cache.get("key", key -> {
+            loadCount.incrementAndGet();
+            return "value";
+        }));
+        assertEquals("value", cache.get("key", key -> {
+            loadCount.incrementAndGet();
+            return "other";
+        }));
+        assertEquals(1, loadCount.get());
+    }
+
+    @Test
+    public void testExpiredEntryIsNotReturned() {
+
+        ExpiringCache<String, String> cache = new ExpiringCache<>(0L);
+        cache.put("key", "value");
+
+        assertNull(cache.get("key"));
+    }
+
+    @Test
+    public void testRemoveIfRemovesMatchingEntriesOnly() {
+
+        ExpiringCache<String, String> cache = new ExpiringCache<>(TIME_TO_LIVE);
+        cache.put("tenant1:a", "a");
+        cache.put("tenant1:b", "b");
+        cache.put("tenant2:a", "c");
+
+        cache.removeIf(key -> key.startsWith("tenant1:"));
+
+        assertNull(cache.get("tenant1:a"));
+        assertNull(cache.get("tenant1:b"));
+        assertEquals("c", cache.get("tenant2:a"));
+    }
+
+    @Test
+    public void testRemoveDuringLoadIsNotOverriddenByLoad() throws Exception {
+
+        ExpiringCache<String, String> cache = new ExpiringCache<>(TIME_TO_LIVE);
+
+        assertEquals("stale", loadWhile(cache, "key", () -> cache.remove("key")));
+        assertNull(cache.get("key"));
+    }
+
+    @Test
+    public void testRemoveIfDuringLoadIsNotOverriddenByLoad() throws Exception {
+
+        ExpiringCache<String, String> cache = new ExpiringCache<>(TIME_TO_LIVE);
+
+        assertEquals("stale", loadWhile(cache, "tenant1:a", () -> cache.removeIf(key -> key.startsWith("tenant1:"))));
+        assertNull(cache.get("tenant1:a"));
+    }
+
+    @Test
+    public void testClearDuringLoadIsNotOverriddenByLoad() throws Exception {
+
+        ExpiringCache<String, String> cache = new ExpiringCache<>(TIME_TO_LIVE);
+
+        assertEquals("stale", loadWhile(cache, "key", cache::clear));
+        assertNull(cache.get("key"));
+    }
+
+    @Test
+    public void testInvalidationOfOtherKeyDuringLoadDoesNotAffectLoad() throws Exception {
+
+        ExpiringCache<String, String> cache = new ExpiringCache<>(TIME_TO_LIVE);
+
+        assertEquals("stale", loadWhile(cache, "tenant1:a", () -> {
+            cache.remove("tenant1:b");
+            cache.removeIf(key -> key.startsWith("tenant2:"));
+        }));
+        assertEquals("stale", cache.get("tenant1:a"));
+    }
+
+    @Test
+    public void testConcurrentLoadsAndInvalidationsNeverCacheStaleValues() throws Exception {
+
+        ExpiringCache<String, Integer> cache = new ExpiringCache<>(TIME_TO_LIVE);
+        AtomicInteger version = new AtomicInteger();
+        int rounds = 2000;
+        CountDownLatch start = new CountDownLatch(1);
+
+        Future<?> writer = executor.submit(() -> {
+            start.await();
+            for (int i = 0; i < rounds; i++) {
+                // The value is updated before the invalidation, as done by the callers of the cache.
+                version.incrementAndGet();
+                if (i % 2 == 0) {
+                    cache.remove("key");
+                } else {
+                    cache.removeIf(key -> true);
+                }
+            }
+            return null;
+        });
+        Future<?> reader = executor.submit(() -> {
+            start.await();
+            for (int i = 0; i < rounds; i++) {
+                cache.get("key", key -> version.get());
+            }
+            return null;
+        });
+        start.countDown();
+        writer.get(WAIT_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+        reader.get(WAIT_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+
+        Integer cachedVersion = cache.get("key");
+        assertTrue("Stale value cached: " + cachedVersion, cachedVersion == null || cachedVersion == version.get());
+    }
+
+    @Test
+    public void testCacheIsBoundedByMaximumSize() {
+
+        int maxSize = 10;
+        ExpiringCache<Integer, Integer> cache = new ExpiringCache<>(TIME_TO_LIVE, maxSize);
+        for (int i = 0; i < maxSize * 3; i++) {
+            cache.put(i, i);
+        }
+
+        assertTrue(cache.size() <= maxSize);
+    }
+
+    /**
+     * Load the given key with a loader that returns a stale value after the given invalidation has run while the
+     * load was in progress.
+     */
+    private String loadWhile(ExpiringCache<String, String> cache, String key, Runnable invalidation)
+            throws Exception {
+
+        CountDownLatch loadStarted = new CountDownLatch(1);
+        CountDownLatch invalidated = new CountDownLatch(1);
+        Future<String> load = executor.submit(() -> cache.get(key, k -> {
+            loadStarted.countDown();
+            assertTrue(invalidated.await(WAIT_TIMEOUT_SECONDS, TimeUnit.SECONDS));
+            return "stale";
+        }));
+
+        assertTrue(loadStarted.await(WAIT_TIMEOUT_SECONDS, TimeUnit.SECONDS));
+        invalidation.run();
+        invalidated.countDown();
+        return load.get(WAIT_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+    }
+}
@@ -48,13 +48,46 @@ public class Constants {
     public static final String HOME_REALM_PATH = "/homeRealmIdentifier";
     public static final String ALIAS_PATH = "/alias";
     public static final String CERTIFICATE_JWKSURI_PATH = "/certificate/jwksUri";
-    public static final String CERTIFICATE_PATH_REGEX = "/certificate/certificates/[0-9]+";
+    public static final String PATCH_APPEND_INDEX = "-";
 
     // IdP pagination constants.
     public static final String PAGINATION_LINK_FORMAT = "?offset=%d&limit=%d";
     public static final String PAGINATION_WITH_FILTER_LINK_FORMAT = "?offset=%d&limit=%d&filter=%s";
     public static final String PAGE_LINK_REL_NEXT = "next";
     public static final String PAGE_LINK_REL_PREVIOUS = "previous";
+    public static final String CURSOR_PAGINATION_LINK_FORMAT = "?cursor=%s&limit=%d";
+    public static final String CURSOR_PAGINATION_WITH_FILTER_LINK_FORMAT = "?cursor=%s&limit=%d&filter=%s";
+    // Number of items around the last item of the previous page which are searched for it, when resolving a cursor.
+    // Bounds the number of items which can be added or removed before the cursor while keeping the page stable.
+    public static final int PAGE_CURSOR_ANCHOR_WINDOW = 10;
+
+    // IdP list rendering constants. Pages with at least the threshold number of IdPs are rendered in parallel when
+    // nested attributes are requested.
+    public static final int IDP_LIST_PARALLEL_RENDERING_THRESHOLD = 20;
+    public static final int IDP_LIST_RENDERING_WORKER_COUNT = 4;
+    public static final int IDP_LIST_RENDERING_QUEUE_SIZE = 100;
+    public static final long IDP_LIST_RENDERING_WORKER_KEEP_ALIVE_TIME = 60000L;
+
+    // Time-to-live of the registry of the supported federated authenticators and provisioning connectors, which bounds
+    // the staleness of the registry after an authenticator or a connector is deployed or removed.
+    public static final long IDP_METADATA_REGISTRY_TIMEOUT = 300000L;
+
+    // IdP bulk request constants. Operations of a bulk request are performed by a bounded number of workers.
+    public static final int IDP_BULK_MAX_OPERATIONS = 1000;
+    public static final int IDP_BULK_WORKER_COUNT = 4;
+    public static final int IDP_BULK_QUEUE_SIZE = 100;
+
+    // Permissions of the operation types of a bulk request, which are checked for each operation.
+    public static final String IDP_CREATE_PERMISSION = "/permission/admin/manage/identity/idpmgt/create";
+    public static final String IDP_UPDATE_PERMISSION = "/permission/admin/manage/identity/idpmgt/update";
+    public static final String IDP_DELETE_PERMISSION = "/permission/admin/manage/identity/idpmgt/delete";
+    public static final String UI_EXECUTE = "ui.execute";
+
+    // Time-to-live of the cached index of the applications connected to the identity providers of a tenant.
+    public static final long CONNECTED_APPS_INDEX_TIMEOUT = 300000L;
+
+    // Time-to-live of the identity provider templates parsed from their template scripts.
+    public static final long IDP_TEMPLATE_CACHE_TIMEOUT = 900000L;
 
     // IdP attributes constants.
     public static final String IS_PRIMARY = "isPrimary";
@@ -207,7 +240,24 @@ public class Constants {
         ERROR_CODE_INVALID_DEFAULT_AUTHENTICATOR("60027", "Invalid default authenticator ID",
                 "Provided value for the default authenticator ID is invalid."),
         ERROR_CODE_INVALID_DEFAULT_OUTBOUND_CONNECTOR("60027", "Invalid default outbound connector ID",
-                "Provided value for the default outbound connector ID is invalid.");
+                "Provided value for the default outbound connector ID is invalid."),
+        ERROR_CODE_INVALID_PATCH_OPERATION("60028", "Invalid patch operation.",
+                "Unable to apply the patch operation %s"),
+        ERROR_CODE_INVALID_BULK_OPERATION("60029", "Invalid bulk operation.",
+                "Unable to perform the bulk operation %s"),
+        ERROR_CODE_BULK_OPERATION_LIMIT_EXCEEDED("60030", "Too many bulk operations.",
+                "A bulk request can have at most %s operations."),
+        ERROR_CODE_ERROR_PROCESSING_BULK_REQUEST("65056", "Unable to process the bulk request.",
+                "Server encountered an error while processing the identity provider bulk request."),
+        ERROR_CODE_INVALID_PAGE_CURSOR("60031", "Invalid page cursor.",
+                "Unable to retrieve the page. %s"),
+        ERROR_CODE_BULK_OPERATION_NOT_AUTHORIZED("60032", "Operation is not authorized.",
+                "Caller is not authorized to perform the bulk operation %s"),
+        ERROR_CODE_BULK_OPERATION_NOT_PERFORMED("60033", "Operation is not performed.",
+                "Bulk operation %s is not performed, since the failure limit of the request is reached."),
+        ERROR_CODE_ERROR_RETRIEVING_CONNECTED_APPS_INDEX("65057", "Unable to retrieve connected applications.",
+                "Server encountered an error while retrieving the applications connected to the identity " +
+                        "providers.");
 
         private final String code;
         private final String message;
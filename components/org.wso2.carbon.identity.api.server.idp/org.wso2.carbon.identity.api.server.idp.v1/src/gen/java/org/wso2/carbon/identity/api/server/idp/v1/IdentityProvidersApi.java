@@ -24,11 +24,14 @@ import java.io.InputStream;
 
 import org.wso2.carbon.identity.api.server.idp.v1.model.Claims;
 import org.wso2.carbon.identity.api.server.idp.v1.model.ConnectedApps;
+import org.wso2.carbon.identity.api.server.idp.v1.model.ConnectedAppsIndex;
 import org.wso2.carbon.identity.api.server.idp.v1.model.Error;
 import org.wso2.carbon.identity.api.server.idp.v1.model.FederatedAuthenticator;
 import org.wso2.carbon.identity.api.server.idp.v1.model.FederatedAuthenticatorListResponse;
 import org.wso2.carbon.identity.api.server.idp.v1.model.FederatedAuthenticatorPUTRequest;
 import org.wso2.carbon.identity.api.server.idp.v1.model.FederatedAuthenticatorRequest;
+import org.wso2.carbon.identity.api.server.idp.v1.model.IdentityProviderBulkRequest;
+import org.wso2.carbon.identity.api.server.idp.v1.model.IdentityProviderBulkResponse;
 import org.wso2.carbon.identity.api.server.idp.v1.model.IdentityProviderListResponse;
 import org.wso2.carbon.identity.api.server.idp.v1.model.IdentityProviderPOSTRequest;
 import org.wso2.carbon.identity.api.server.idp.v1.model.IdentityProviderResponse;
@@ -204,9 +207,31 @@ public class IdentityProvidersApi  {
         @ApiResponse(code = 404, message = "Not Found", response = Error.class),
         @ApiResponse(code = 500, message = "Server Error", response = Error.class)
     })
-    public Response getConnectedApps(@ApiParam(value = "ID of the identity provider.",required=true) @PathParam("identity-provider-id") String identityProviderId,     @Valid@ApiParam(value = "Maximum number of records to return. ")  @QueryParam("limit") Integer limit,     @Valid@ApiParam(value = "Number of records to skip for pagination. ")  @QueryParam("offset") Integer offset) {
+    public Response getConnectedApps(@ApiParam(value = "ID of the identity provider.",required=true) @PathParam("identity-provider-id") String identityProviderId,     @Valid@ApiParam(value = "Maximum number of records to return. ")  @QueryParam("limit") Integer limit,     @Valid@ApiParam(value = "Number of records to skip for pagination. ")  @QueryParam("offset") Integer offset,     @Valid@ApiParam(value = "Cursor of the page to retrieve, given instead of the offset. Use the nextCursor of the previous page. A cursor keeps paging stable, so that up to 10 items added or removed before it between two requests neither repeat nor skip items. It does not make paging cheaper than offsets. With a cursor, the limit is capped at the maximum number of items per page of the server minus 21, so pages can have fewer items than the requested limit. ")  @QueryParam("cursor") String cursor) {
 
-        return delegate.getConnectedApps(identityProviderId,  limit,  offset );
+        return delegate.getConnectedApps(identityProviderId,  limit,  offset,  cursor );
+    }
+
+    @Valid
+    @GET
+    @Path("/connected-apps")
+    
+    @Produces({ "application/json" })
+    @ApiOperation(value = "Connected applications of all identity providers ", notes = "This API provides the applications that use each identity provider of the tenant for federated authentication/provisioning, as a single streamed response. <br> <b>Permission required:</b> <br>     * /permission/admin/manage/identity/idpmgt/view <br> <b>Scope required:</b> <br>     * internal_idp_view ", response = ConnectedAppsIndex.class, authorizations = {
+        @Authorization(value = "BasicAuth"),
+        @Authorization(value = "OAuth2", scopes = {
+            
+        })
+    }, tags={ "Connected Apps", })
+    @ApiResponses(value = { 
+        @ApiResponse(code = 200, message = "Successful response", response = ConnectedAppsIndex.class),
+        @ApiResponse(code = 401, message = "Unauthorized", response = Void.class),
+        @ApiResponse(code = 403, message = "Forbidden", response = Void.class),
+        @ApiResponse(code = 500, message = "Server Error", response = Error.class)
+    })
+    public Response getConnectedAppsIndex() {
+
+        return delegate.getConnectedAppsIndex();
     }
 
     @Valid
@@ -326,9 +351,9 @@ public class IdentityProvidersApi  {
     })
     public Response getIDPTemplates(    @Valid@ApiParam(value = "Maximum number of records to return. ")  @QueryParam
             ("limit") Integer limit,     @Valid@ApiParam(value = "Number of records to skip for pagination. ")
-    @QueryParam("offset") Integer offset, @Context SearchContext searchContext) {
+    @QueryParam("offset") Integer offset,     @Valid@ApiParam(value = "Cursor of the page to retrieve, given instead of the offset. Use the nextCursor of the previous page. A cursor keeps paging stable, so that up to 10 items added or removed before it between two requests neither repeat nor skip items. It does not make paging cheaper than offsets. With a cursor, the limit is capped at the maximum number of items per page of the server minus 21, so pages can have fewer items than the requested limit. ")  @QueryParam("cursor") String cursor, @Context SearchContext searchContext) {
 
-        return delegate.getIDPTemplates(limit,  offset, searchContext );
+        return delegate.getIDPTemplates(limit,  offset,  cursor, searchContext );
     }
 
     @Valid
@@ -351,9 +376,9 @@ public class IdentityProvidersApi  {
         @ApiResponse(code = 500, message = "Server Error", response = Error.class),
         @ApiResponse(code = 501, message = "Not Implemented", response = Error.class)
     })
-    public Response getIDPs(    @Valid@ApiParam(value = "Maximum number of records to return. ")  @QueryParam("limit") Integer limit,     @Valid@ApiParam(value = "Number of records to skip for pagination. ")  @QueryParam("offset") Integer offset,     @Valid@ApiParam(value = "Condition to filter the retrieval of records. Supports 'sw', 'co', 'ew' and 'eq' operations and also complex queries with 'and' operations. E.g. /identity-providers?filter=name+sw+\"google\"+and+isEnabled+eq+\"true\" ")  @QueryParam("filter") String filter,     @Valid@ApiParam(value = "Defines the order in which the retrieved records should be sorted. _This parameter is not supported yet_ ", allowableValues="ASC, DESC")  @QueryParam("sortOrder") String sortOrder,     @Valid@ApiParam(value = "Attribute by which the retrieved records should be sorted. _This parameter is not supported yet_ ")  @QueryParam("sortBy") String sortBy,     @Valid@ApiParam(value = "Specifies the required parameters in the response. _This parameter is not supported yet_ ")  @QueryParam("requiredAttributes") String requiredAttributes) {
+    public Response getIDPs(    @Valid@ApiParam(value = "Maximum number of records to return. ")  @QueryParam("limit") Integer limit,     @Valid@ApiParam(value = "Number of records to skip for pagination. ")  @QueryParam("offset") Integer offset,     @Valid@ApiParam(value = "Cursor of the page to retrieve, given instead of the offset. Use the nextCursor of the previous page. A cursor keeps paging stable, so that up to 10 items added or removed before it between two requests neither repeat nor skip items. It does not make paging cheaper than offsets. With a cursor, the limit is capped at the maximum number of items per page of the server minus 21, so pages can have fewer items than the requested limit. ")  @QueryParam("cursor") String cursor,     @Valid@ApiParam(value = "Condition to filter the retrieval of records. Supports 'sw', 'co', 'ew' and 'eq' operations and also complex queries with 'and' operations. E.g. /identity-providers?filter=name+sw+\"google\"+and+isEnabled+eq+\"true\" ")  @QueryParam("filter") String filter,     @Valid@ApiParam(value = "Defines the order in which the retrieved records should be sorted. _This parameter is not supported yet_ ", allowableValues="ASC, DESC")  @QueryParam("sortOrder") String sortOrder,     @Valid@ApiParam(value = "Attribute by which the retrieved records should be sorted. _This parameter is not supported yet_ ")  @QueryParam("sortBy") String sortBy,     @Valid@ApiParam(value = "Specifies the required parameters in the response. _This parameter is not supported yet_ ")  @QueryParam("requiredAttributes") String requiredAttributes) {
 
-        return delegate.getIDPs(limit,  offset,  filter,  sortOrder,  sortBy,  requiredAttributes );
+        return delegate.getIDPs(limit,  offset,  cursor,  filter,  sortOrder,  sortBy,  requiredAttributes );
     }
 
     @Valid
@@ -577,7 +602,7 @@ public class IdentityProvidersApi  {
     @Path("/{identity-provider-id}")
     @Consumes({ "application/json" })
     @Produces({ "application/json" })
-    @ApiOperation(value = "Patch an identity provider property by ID. Patch is supported only for key-value pairs ", notes = "This API provides the capability to update an identity provider property using patch request. IdP patch is supported only for key-value pairs. <br> <b>Permission required:</b> <br>     * /permission/admin/manage/identity/idpmgt/update <br> <b>Scope required:</b> <br>     * internal_idp_update ", response = IdentityProviderResponse.class, authorizations = {
+    @ApiOperation(value = "Patch an identity provider by ID. ", notes = "This API provides the capability to update an identity provider using a JSON patch request. The ADD, REMOVE and REPLACE operations are supported for the root level attributes, certificates, claims, roles, federated authenticators and outbound connectors of the identity provider. All the operations of a request are applied together, and the identity provider is not updated if any of the operations fail. <br> Federated authenticators, outbound connectors and their properties are addressed by their ID or key, e.g. /federatedAuthenticators/authenticators/{authenticator-id}/properties/{key}. Certificates are addressed by their position starting from 1, e.g. /certificate/certificates/1. Other list items are addressed by their index starting from 0, e.g. /claims/mappings/0. Use '-' as the index to append an item to a list. <br> <b>Permission required:</b> <br>     * /permission/admin/manage/identity/idpmgt/update <br> <b>Scope required:</b> <br>     * internal_idp_update ", response = IdentityProviderResponse.class, authorizations = {
         @Authorization(value = "BasicAuth"),
         @Authorization(value = "OAuth2", scopes = {
             
@@ -596,6 +621,29 @@ public class IdentityProvidersApi  {
         return delegate.patchIDP(identityProviderId,  patch );
     }
 
+    @Valid
+    @POST
+    @Path("/bulk")
+    @Consumes({ "application/json" })
+    @Produces({ "application/json" })
+    @ApiOperation(value = "Create, update and delete identity providers in bulk ", notes = "This API provides the capability to perform a batch of identity provider create (POST), patch (PATCH) and delete (DELETE) operations in a single request. Operations on different identity providers are performed concurrently, while the operations on the same identity provider are performed in the order of the request. The result of each operation is returned in the order of the request. <br> Set failOnErrors to stop performing the remaining operations once the given number of operations have failed. The operations which were not performed are returned with the status 412. <br> Each operation requires the permission of its operation type, and is returned with the status 403 if the caller does not have it. <br> <b>Permission required:</b> <br>     * /permission/admin/manage/identity/idpmgt/create <br>     * /permission/admin/manage/identity/idpmgt/update <br>     * /permission/admin/manage/identity/idpmgt/delete <br> <b>Scope required:</b> <br>     * internal_idp_create <br>     * internal_idp_update <br>     * internal_idp_delete ", response = IdentityProviderBulkResponse.class, authorizations = {
+        @Authorization(value = "BasicAuth"),
+        @Authorization(value = "OAuth2", scopes = {
+            
+        })
+    }, tags={ "Identity Providers", })
+    @ApiResponses(value = { 
+        @ApiResponse(code = 200, message = "Successful response", response = IdentityProviderBulkResponse.class),
+        @ApiResponse(code = 400, message = "Bad Request", response = Error.class),
+        @ApiResponse(code = 401, message = "Unauthorized", response = Void.class),
+        @ApiResponse(code = 403, message = "Forbidden", response = Void.class),
+        @ApiResponse(code = 500, message = "Server Error", response = Error.class)
+    })
+    public Response processBulkRequest(@ApiParam(value = "This represents the identity provider operations to be performed." ,required=true) @Valid IdentityProviderBulkRequest identityProviderBulkRequest) {
+
+        return delegate.processBulkRequest(identityProviderBulkRequest );
+    }
+
     @Valid
     @PUT
     @Path("/{identity-provider-id}/claims")
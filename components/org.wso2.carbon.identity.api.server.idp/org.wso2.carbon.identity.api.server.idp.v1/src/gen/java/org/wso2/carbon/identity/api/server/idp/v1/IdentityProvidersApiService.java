@@ -24,11 +24,14 @@ import org.apache.cxf.jaxrs.ext.multipart.Multipart;
 import java.io.InputStream;
 import org.wso2.carbon.identity.api.server.idp.v1.model.Claims;
 import org.wso2.carbon.identity.api.server.idp.v1.model.ConnectedApps;
+import org.wso2.carbon.identity.api.server.idp.v1.model.ConnectedAppsIndex;
 import org.wso2.carbon.identity.api.server.idp.v1.model.Error;
 import org.wso2.carbon.identity.api.server.idp.v1.model.FederatedAuthenticator;
 import org.wso2.carbon.identity.api.server.idp.v1.model.FederatedAuthenticatorListResponse;
 import org.wso2.carbon.identity.api.server.idp.v1.model.FederatedAuthenticatorPUTRequest;
 import org.wso2.carbon.identity.api.server.idp.v1.model.FederatedAuthenticatorRequest;
+import org.wso2.carbon.identity.api.server.idp.v1.model.IdentityProviderBulkRequest;
+import org.wso2.carbon.identity.api.server.idp.v1.model.IdentityProviderBulkResponse;
 import org.wso2.carbon.identity.api.server.idp.v1.model.IdentityProviderListResponse;
 import org.wso2.carbon.identity.api.server.idp.v1.model.IdentityProviderPOSTRequest;
 import org.wso2.carbon.identity.api.server.idp.v1.model.IdentityProviderResponse;
@@ -62,7 +65,9 @@ public interface IdentityProvidersApiService {
 
       public Response getClaimConfig(String identityProviderId);
 
-      public Response getConnectedApps(String identityProviderId, Integer limit, Integer offset);
+      public Response getConnectedApps(String identityProviderId, Integer limit, Integer offset, String cursor);
+
+      public Response getConnectedAppsIndex();
 
       public Response getFederatedAuthenticator(String identityProviderId, String federatedAuthenticatorId);
 
@@ -72,9 +77,9 @@ public interface IdentityProvidersApiService {
 
       public Response getIDPTemplate(String templateId);
 
-      public Response getIDPTemplates(Integer limit, Integer offset, SearchContext searchContext);
+      public Response getIDPTemplates(Integer limit, Integer offset, String cursor, SearchContext searchContext);
 
-      public Response getIDPs(Integer limit, Integer offset, String filter, String sortOrder, String sortBy, String requiredAttributes);
+      public Response getIDPs(Integer limit, Integer offset, String cursor, String filter, String sortOrder, String sortBy, String requiredAttributes);
 
       public Response getJITConfig(String identityProviderId);
 
@@ -96,6 +101,8 @@ public interface IdentityProvidersApiService {
 
       public Response patchIDP(String identityProviderId, List<Patch> patch);
 
+      public Response processBulkRequest(IdentityProviderBulkRequest identityProviderBulkRequest);
+
       public Response updateClaimConfig(String identityProviderId, Claims claims);
 
       public Response updateFederatedAuthenticator(String identityProviderId, String federatedAuthenticatorId, FederatedAuthenticatorPUTRequest federatedAuthenticatorPUTRequest);
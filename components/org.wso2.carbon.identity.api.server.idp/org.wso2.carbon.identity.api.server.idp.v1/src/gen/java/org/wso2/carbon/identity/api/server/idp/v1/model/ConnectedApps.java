@@ -39,6 +39,7 @@ public class ConnectedApps  {
     private Integer count;
     private List<Link> links = null;
 
+    private String nextCursor;
     private List<ConnectedApp> connectedApps = null;
 
 
@@ -122,6 +123,25 @@ public class ConnectedApps  {
         return this;
     }
 
+        /**
+    * Opaque cursor of the next page. Pass it as the cursor query parameter to retrieve the next page.
+    **/
+    public ConnectedApps nextCursor(String nextCursor) {
+
+        this.nextCursor = nextCursor;
+        return this;
+    }
+    
+    @ApiModelProperty(example = "MTA6MTIzZTQ1NjctZTg5Yi0xMmQzLWE0NTYtNTU2NjQyNDQwMDAw", value = "Opaque cursor of the next page. Pass it as the cursor query parameter to retrieve the next page.")
+    @JsonProperty("nextCursor")
+    @Valid
+    public String getNextCursor() {
+        return nextCursor;
+    }
+    public void setNextCursor(String nextCursor) {
+        this.nextCursor = nextCursor;
+    }
+
         /**
     **/
     public ConnectedApps connectedApps(List<ConnectedApp> connectedApps) {
@@ -164,12 +184,13 @@ public class ConnectedApps  {
             Objects.equals(this.startIndex, connectedApps.startIndex) &&
             Objects.equals(this.count, connectedApps.count) &&
             Objects.equals(this.links, connectedApps.links) &&
+            Objects.equals(this.nextCursor, connectedApps.nextCursor) &&
             Objects.equals(this.connectedApps, connectedApps.connectedApps);
     }
 
     @Override
     public int hashCode() {
-        return Objects.hash(totalResults, startIndex, count, links, connectedApps);
+        return Objects.hash(totalResults, startIndex, count, links, nextCursor, connectedApps);
     }
 
     @Override
@@ -182,6 +203,7 @@ public class ConnectedApps  {
         sb.append("    startIndex: ").append(toIndentedString(startIndex)).append("\n");
         sb.append("    count: ").append(toIndentedString(count)).append("\n");
         sb.append("    links: ").append(toIndentedString(links)).append("\n");
+        sb.append("    nextCursor: ").append(toIndentedString(nextCursor)).append("\n");
         sb.append("    connectedApps: ").append(toIndentedString(connectedApps)).append("\n");
         sb.append("}");
         return sb.toString();
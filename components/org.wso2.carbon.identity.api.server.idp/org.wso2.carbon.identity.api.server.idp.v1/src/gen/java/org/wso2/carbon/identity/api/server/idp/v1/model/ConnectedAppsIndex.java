@@ -0,0 +1,108 @@
+/*
+* Copyright (c) 2020, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+*
+* Licensed under the Apache License, Version 2.0 (the "License");
+* you may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+*
+* http://www.apache.org/licenses/LICENSE-2.0
+*
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+*/
+
+package org.wso2.carbon.identity.api.server.idp.v1.model;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.annotation.JsonCreator;
+import io.swagger.annotations.ApiModel;
+import io.swagger.annotations.ApiModelProperty;
+import java.util.ArrayList;
+import java.util.List;
+import org.wso2.carbon.identity.api.server.idp.v1.model.ConnectedAppsIndexItem;
+import javax.validation.constraints.*;
+
+
+import io.swagger.annotations.*;
+import java.util.Objects;
+import javax.validation.Valid;
+import javax.xml.bind.annotation.*;
+
+@ApiModel(description = "Applications connected to each identity provider of the tenant.")
+public class ConnectedAppsIndex  {
+  
+    private List<ConnectedAppsIndexItem> identityProviders = null;
+
+    /**
+    **/
+    public ConnectedAppsIndex identityProviders(List<ConnectedAppsIndexItem> identityProviders) {
+
+        this.identityProviders = identityProviders;
+        return this;
+    }
+    
+    @ApiModelProperty(value = "")
+    @JsonProperty("identityProviders")
+    @Valid
+    public List<ConnectedAppsIndexItem> getIdentityProviders() {
+        return identityProviders;
+    }
+    public void setIdentityProviders(List<ConnectedAppsIndexItem> identityProviders) {
+        this.identityProviders = identityProviders;
+    }
+
+    public ConnectedAppsIndex addIdentityProvidersItem(ConnectedAppsIndexItem identityProvidersItem) {
+        if (this.identityProviders == null) {
+            this.identityProviders = new ArrayList<>();
+        }
+        this.identityProviders.add(identityProvidersItem);
+        return this;
+    }
+
+
+
+    @Override
+    public boolean equals(java.lang.Object o) {
+
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        ConnectedAppsIndex connectedAppsIndex = (ConnectedAppsIndex) o;
+        return Objects.equals(this.identityProviders, connectedAppsIndex.identityProviders);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(identityProviders);
+    }
+
+    @Override
+    public String toString() {
+
+        StringBuilder sb = new StringBuilder();
+        sb.append("class ConnectedAppsIndex {\n");
+        
+        sb.append("    identityProviders: ").append(toIndentedString(identityProviders)).append("\n");
+        sb.append("}");
+        return sb.toString();
+    }
+
+    /**
+    * Convert the given object to string with each line indented by 4 spaces
+    * (except the first line).
+    */
+    private String toIndentedString(java.lang.Object o) {
+
+        if (o == null) {
+            return "null";
+        }
+        return o.toString().replace("\n", "\n");
+    }
+}
+
@@ -0,0 +1,150 @@
+/*
+* Copyright (c) 2020, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+*
+* Licensed under the Apache License, Version 2.0 (the "License");
+* you may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+*
+* http://www.apache.org/licenses/LICENSE-2.0
+*
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+*/
+
+package org.wso2.carbon.identity.api.server.idp.v1.model;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.annotation.JsonCreator;
+import io.swagger.annotations.ApiModel;
+import io.swagger.annotations.ApiModelProperty;
+import java.util.ArrayList;
+import java.util.List;
+import org.wso2.carbon.identity.api.server.idp.v1.model.ConnectedApp;
+import javax.validation.constraints.*;
+
+
+import io.swagger.annotations.*;
+import java.util.Objects;
+import javax.validation.Valid;
+import javax.xml.bind.annotation.*;
+
+@ApiModel(description = "Applications connected to an identity provider.")
+public class ConnectedAppsIndexItem  {
+  
+    private String id;
+    private String name;
+    private List<ConnectedApp> connectedApps = null;
+
+    /**
+    **/
+    public ConnectedAppsIndexItem id(String id) {
+
+        this.id = id;
+        return this;
+    }
+    
+    @ApiModelProperty(example = "123e4567-e89b-12d3-a456-556642440000", value = "")
+    @JsonProperty("id")
+    @Valid
+    public String getId() {
+        return id;
+    }
+    public void setId(String id) {
+        this.id = id;
+    }
+
+    /**
+    **/
+    public ConnectedAppsIndexItem name(String name) {
+
+        this.name = name;
+        return this;
+    }
+    
+    @ApiModelProperty(example = "google", value = "")
+    @JsonProperty("name")
+    @Valid
+    public String getName() {
+        return name;
+    }
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    /**
+    **/
+    public ConnectedAppsIndexItem connectedApps(List<ConnectedApp> connectedApps) {
+
+        this.connectedApps = connectedApps;
+        return this;
+    }
+    
+    @ApiModelProperty(value = "")
+    @JsonProperty("connectedApps")
+    @Valid
+    public List<ConnectedApp> getConnectedApps() {
+        return connectedApps;
+    }
+    public void setConnectedApps(List<ConnectedApp> connectedApps) {
+        this.connectedApps = connectedApps;
+    }
+
+    public ConnectedAppsIndexItem addConnectedAppsItem(ConnectedApp connectedAppsItem) {
+        if (this.connectedApps == null) {
+            this.connectedApps = new ArrayList<>();
+        }
+        this.connectedApps.add(connectedAppsItem);
+        return this;
+    }
+
+
+
+    @Override
+    public boolean equals(java.lang.Object o) {
+
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        ConnectedAppsIndexItem connectedAppsIndexItem = (ConnectedAppsIndexItem) o;
+        return Objects.equals(this.id, connectedAppsIndexItem.id) &&
+            Objects.equals(this.name, connectedAppsIndexItem.name) &&
+            Objects.equals(this.connectedApps, connectedAppsIndexItem.connectedApps);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(id, name, connectedApps);
+    }
+
+    @Override
+    public String toString() {
+
+        StringBuilder sb = new StringBuilder();
+        sb.append("class ConnectedAppsIndexItem {\n");
+        
+        sb.append("    id: ").append(toIndentedString(id)).append("\n");
+        sb.append("    name: ").append(toIndentedString(name)).append("\n");
+        sb.append("    connectedApps: ").append(toIndentedString(connectedApps)).append("\n");
+        sb.append("}");
+        return sb.toString();
+    }
+
+    /**
+    * Convert the given object to string with each line indented by 4 spaces
+    * (except the first line).
+    */
+    private String toIndentedString(java.lang.Object o) {
+
+        if (o == null) {
+            return "null";
+        }
+        return o.toString().replace("\n", "\n");
+    }
+}
+
@@ -0,0 +1,230 @@
+/*
+* Copyright (c) 2020, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+*
+* Licensed under the Apache License, Version 2.0 (the "License");
+* you may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+*
+* http://www.apache.org/licenses/LICENSE-2.0
+*
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+*/
+
+package org.wso2.carbon.identity.api.server.idp.v1.model;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.annotation.JsonCreator;
+import io.swagger.annotations.ApiModel;
+import io.swagger.annotations.ApiModelProperty;
+import java.util.ArrayList;
+import java.util.List;
+import javax.validation.constraints.*;
+
+
+import io.swagger.annotations.*;
+import java.util.Objects;
+import javax.validation.Valid;
+import javax.xml.bind.annotation.*;
+
+@ApiModel(description = "Identity provider operation of a bulk request.")
+public class IdentityProviderBulkOperation  {
+  
+
+@XmlType(name="MethodEnum")
+@XmlEnum(String.class)
+public enum MethodEnum {
+
+    @XmlEnumValue("POST") POST(String.valueOf("POST")), @XmlEnumValue("PATCH") PATCH(String.valueOf("PATCH")), @XmlEnumValue("DELETE") DELETE(String.valueOf("DELETE"));
+
+
+    private String value;
+
+    MethodEnum(String v) {
+        value = v;
+    }
+
+    public String value() {
+        return value;
+    }
+
+    @Override
+    public String toString() {
+        return String.valueOf(value);
+    }
+
+    public static MethodEnum fromValue(String value) {
+        for (MethodEnum b : MethodEnum.values()) {
+            if (b.value.equals(value)) {
+                return b;
+            }
+        }
+        throw new IllegalArgumentException("Unexpected value '" + value + "'");
+    }
+}
+
+    private MethodEnum method;
+    private String bulkId;
+    private String path;
+    private IdentityProviderPOSTRequest data;
+    private List<Patch> patchOperations = null;
+
+    /**
+    * HTTP method of the operation.
+    **/
+    public IdentityProviderBulkOperation method(MethodEnum method) {
+
+        this.method = method;
+        return this;
+    }
+    
+    @ApiModelProperty(example = "POST", required = true, value = "HTTP method of the operation.")
+    @JsonProperty("method")
+    @Valid
+    @NotNull(message = "Property method cannot be null.")
+
+    public MethodEnum getMethod() {
+        return method;
+    }
+    public void setMethod(MethodEnum method) {
+        this.method = method;
+    }
+
+    /**
+    * Client defined identifier of the operation, which is returned with the result of the operation.
+    **/
+    public IdentityProviderBulkOperation bulkId(String bulkId) {
+
+        this.bulkId = bulkId;
+        return this;
+    }
+    
+    @ApiModelProperty(example = "google-idp", value = "Client defined identifier of the operation, which is returned with the result of the operation.")
+    @JsonProperty("bulkId")
+    @Valid
+    public String getBulkId() {
+        return bulkId;
+    }
+    public void setBulkId(String bulkId) {
+        this.bulkId = bulkId;
+    }
+
+    /**
+    * Resource path of the operation. Required for the PATCH and DELETE operations.
+    **/
+    public IdentityProviderBulkOperation path(String path) {
+
+        this.path = path;
+        return this;
+    }
+    
+    @ApiModelProperty(example = "/identity-providers/123e4567-e89b-12d3-a456-556642440000", value = "Resource path of the operation. Required for the PATCH and DELETE operations.")
+    @JsonProperty("path")
+    @Valid
+    public String getPath() {
+        return path;
+    }
+    public void setPath(String path) {
+        this.path = path;
+    }
+
+    /**
+    **/
+    public IdentityProviderBulkOperation data(IdentityProviderPOSTRequest data) {
+
+        this.data = data;
+        return this;
+    }
+    
+    @ApiModelProperty(value = "")
+    @JsonProperty("data")
+    @Valid
+    public IdentityProviderPOSTRequest getData() {
+        return data;
+    }
+    public void setData(IdentityProviderPOSTRequest data) {
+        this.data = data;
+    }
+
+    /**
+    * Patch operations of a PATCH operation.
+    **/
+    public IdentityProviderBulkOperation patchOperations(List<Patch> patchOperations) {
+
+        this.patchOperations = patchOperations;
+        return this;
+    }
+    
+    @ApiModelProperty(value = "Patch operations of a PATCH operation.")
+    @JsonProperty("patchOperations")
+    @Valid
+    public List<Patch> getPatchOperations() {
+        return patchOperations;
+    }
+    public void setPatchOperations(List<Patch> patchOperations) {
+        this.patchOperations = patchOperations;
+    }
+
+    public IdentityProviderBulkOperation addPatchOperationsItem(Patch patchOperationsItem) {
+        if (this.patchOperations == null) {
+            this.patchOperations = new ArrayList<>();
+        }
+        this.patchOperations.add(patchOperationsItem);
+        return this;
+    }
+
+
+
+    @Override
+    public boolean equals(java.lang.Object o) {
+
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        IdentityProviderBulkOperation identityProviderBulkOperation = (IdentityProviderBulkOperation) o;
+        return Objects.equals(this.method, identityProviderBulkOperation.method) &&
+            Objects.equals(this.bulkId, identityProviderBulkOperation.bulkId) &&
+            Objects.equals(this.path, identityProviderBulkOperation.path) &&
+            Objects.equals(this.data, identityProviderBulkOperation.data) &&
+            Objects.equals(this.patchOperations, identityProviderBulkOperation.patchOperations);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(method, bulkId, path, data, patchOperations);
+    }
+
+    @Override
+    public String toString() {
+
+        StringBuilder sb = new StringBuilder();
+        sb.append("class IdentityProviderBulkOperation {\n");
+        
+        sb.append("    method: ").append(toIndentedString(method)).append("\n");
+        sb.append("    bulkId: ").append(toIndentedString(bulkId)).append("\n");
+        sb.append("    path: ").append(toIndentedString(path)).append("\n");
+        sb.append("    data: ").append(toIndentedString(data)).append("\n");
+        sb.append("    patchOperations: ").append(toIndentedString(patchOperations)).append("\n");
+        sb.append("}");
+        return sb.toString();
+    }
+
+    /**
+    * Convert the given object to string with each line indented by 4 spaces
+    * (except the first line).
+    */
+    private String toIndentedString(java.lang.Object o) {
+
+        if (o == null) {
+            return "null";
+        }
+        return o.toString().replace("\n", "\n");
+    }
+}
+
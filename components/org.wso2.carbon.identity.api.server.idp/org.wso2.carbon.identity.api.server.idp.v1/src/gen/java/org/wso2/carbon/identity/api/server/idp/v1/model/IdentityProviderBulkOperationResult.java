@@ -0,0 +1,184 @@
+/*
+* Copyright (c) 2020, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+*
+* Licensed under the Apache License, Version 2.0 (the "License");
+* you may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+*
+* http://www.apache.org/licenses/LICENSE-2.0
+*
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+*/
+
+package org.wso2.carbon.identity.api.server.idp.v1.model;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.annotation.JsonCreator;
+import io.swagger.annotations.ApiModel;
+import io.swagger.annotations.ApiModelProperty;
+import javax.validation.constraints.*;
+
+
+import io.swagger.annotations.*;
+import java.util.Objects;
+import javax.validation.Valid;
+import javax.xml.bind.annotation.*;
+
+@ApiModel(description = "Result of an identity provider operation of a bulk request.")
+public class IdentityProviderBulkOperationResult  {
+  
+    private String method;
+    private String bulkId;
+    private String location;
+    private Integer status;
+    private Error response;
+    /**
+    * HTTP method of the operation.
+    **/
+    public IdentityProviderBulkOperationResult method(String method) {
+
+        this.method = method;
+        return this;
+    }
+    
+    @ApiModelProperty(example = "POST", value = "HTTP method of the operation.")
+    @JsonProperty("method")
+    @Valid
+    public String getMethod() {
+        return method;
+    }
+    public void setMethod(String method) {
+        this.method = method;
+    }
+
+    /**
+    * Identifier of the operation given in the request.
+    **/
+    public IdentityProviderBulkOperationResult bulkId(String bulkId) {
+
+        this.bulkId = bulkId;
+        return this;
+    }
+    
+    @ApiModelProperty(example = "google-idp", value = "Identifier of the operation given in the request.")
+    @JsonProperty("bulkId")
+    @Valid
+    public String getBulkId() {
+        return bulkId;
+    }
+    public void setBulkId(String bulkId) {
+        this.bulkId = bulkId;
+    }
+
+    /**
+    * Location of the created or updated identity provider.
+    **/
+    public IdentityProviderBulkOperationResult location(String location) {
+
+        this.location = location;
+        return this;
+    }
+    
+    @ApiModelProperty(example = "https://localhost:9443/t/carbon.super/api/server/v1/identity-providers/123e4567-e89b-12d3-a456-556642440000", value = "Location of the created or updated identity provider.")
+    @JsonProperty("location")
+    @Valid
+    public String getLocation() {
+        return location;
+    }
+    public void setLocation(String location) {
+        this.location = location;
+    }
+
+    /**
+    * HTTP status code of the operation.
+    **/
+    public IdentityProviderBulkOperationResult status(Integer status) {
+
+        this.status = status;
+        return this;
+    }
+    
+    @ApiModelProperty(example = "201", value = "HTTP status code of the operation.")
+    @JsonProperty("status")
+    @Valid
+    public Integer getStatus() {
+        return status;
+    }
+    public void setStatus(Integer status) {
+        this.status = status;
+    }
+
+    /**
+    **/
+    public IdentityProviderBulkOperationResult response(Error response) {
+
+        this.response = response;
+        return this;
+    }
+    
+    @ApiModelProperty(value = "")
+    @JsonProperty("response")
+    @Valid
+    public Error getResponse() {
+        return response;
+    }
+    public void setResponse(Error response) {
+        this.response = response;
+    }
+
+
+
+    @Override
+    public boolean equals(java.lang.Object o) {
+
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        IdentityProviderBulkOperationResult identityProviderBulkOperationResult = (IdentityProviderBulkOperationResult) o;
+        return Objects.equals(this.method, identityProviderBulkOperationResult.method) &&
+            Objects.equals(this.bulkId, identityProviderBulkOperationResult.bulkId) &&
+            Objects.equals(this.location, identityProviderBulkOperationResult.location) &&
+            Objects.equals(this.status, identityProviderBulkOperationResult.status) &&
+            Objects.equals(this.response, identityProviderBulkOperationResult.response);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(method, bulkId, location, status, response);
+    }
+
+    @Override
+    public String toString() {
+
+        StringBuilder sb = new StringBuilder();
+        sb.append("class IdentityProviderBulkOperationResult {\n");
+        
+        sb.append("    method: ").append(toIndentedString(method)).append("\n");
+        sb.append("    bulkId: ").append(toIndentedString(bulkId)).append("\n");
+        sb.append("    location: ").append(toIndentedString(location)).append("\n");
+        sb.append("    status: ").append(toIndentedString(status)).append("\n");
+        sb.append("    response: ").append(toIndentedString(response)).append("\n");
+        sb.append("}");
+        return sb.toString();
+    }
+
+    /**
+    * Convert the given object to string with each line indented by 4 spaces
+    * (except the first line).
+    */
+    private String toIndentedString(java.lang.Object o) {
+
+        if (o == null) {
+            return "null";
+        }
+        return o.toString().replace("\n", "\n");
+    }
+}
+
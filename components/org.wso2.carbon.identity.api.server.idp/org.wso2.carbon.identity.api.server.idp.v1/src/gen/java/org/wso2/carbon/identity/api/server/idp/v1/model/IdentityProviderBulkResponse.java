@@ -0,0 +1,108 @@
+/*
+* Copyright (c) 2020, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+*
+* Licensed under the Apache License, Version 2.0 (the "License");
+* you may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+*
+* http://www.apache.org/licenses/LICENSE-2.0
+*
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+*/
+
+package org.wso2.carbon.identity.api.server.idp.v1.model;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.annotation.JsonCreator;
+import io.swagger.annotations.ApiModel;
+import io.swagger.annotations.ApiModelProperty;
+import java.util.ArrayList;
+import java.util.List;
+import javax.validation.constraints.*;
+
+
+import io.swagger.annotations.*;
+import java.util.Objects;
+import javax.validation.Valid;
+import javax.xml.bind.annotation.*;
+
+@ApiModel(description = "Results of the operations of a bulk request.")
+public class IdentityProviderBulkResponse  {
+  
+    private List<IdentityProviderBulkOperationResult> operations = null;
+
+    /**
+    * Results of the performed operations, in the order of the operations of the request.
+    **/
+    public IdentityProviderBulkResponse operations(List<IdentityProviderBulkOperationResult> operations) {
+
+        this.operations = operations;
+        return this;
+    }
+    
+    @ApiModelProperty(value = "Results of the performed operations, in the order of the operations of the request.")
+    @JsonProperty("operations")
+    @Valid
+    public List<IdentityProviderBulkOperationResult> getOperations() {
+        return operations;
+    }
+    public void setOperations(List<IdentityProviderBulkOperationResult> operations) {
+        this.operations = operations;
+    }
+
+    public IdentityProviderBulkResponse addOperationsItem(IdentityProviderBulkOperationResult operationsItem) {
+        if (this.operations == null) {
+            this.operations = new ArrayList<>();
+        }
+        this.operations.add(operationsItem);
+        return this;
+    }
+
+
+
+    @Override
+    public boolean equals(java.lang.Object o) {
+
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        IdentityProviderBulkResponse identityProviderBulkResponse = (IdentityProviderBulkResponse) o;
+        return Objects.equals(this.operations, identityProviderBulkResponse.operations);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(operations);
+    }
+
+    @Override
+    public String toString() {
+
+        StringBuilder sb = new StringBuilder();
+        sb.append("class IdentityProviderBulkResponse {\n");
+        
+        sb.append("    operations: ").append(toIndentedString(operations)).append("\n");
+        sb.append("}");
+        return sb.toString();
+    }
+
+    /**
+    * Convert the given object to string with each line indented by 4 spaces
+    * (except the first line).
+    */
+    private String toIndentedString(java.lang.Object o) {
+
+        if (o == null) {
+            return "null";
+        }
+        return o.toString().replace("\n", "\n");
+    }
+}
+
@@ -39,6 +39,7 @@ public class IdentityProviderListResponse  {
     private Integer count;
     private List<Link> links = null;
 
+    private String nextCursor;
     private List<IdentityProviderListItem> identityProviders = null;
 
 
@@ -122,6 +123,25 @@ public class IdentityProviderListResponse  {
         return this;
     }
 
+        /**
+    * Opaque cursor of the next page. Pass it as the cursor query parameter to retrieve the next page.
+    **/
+    public IdentityProviderListResponse nextCursor(String nextCursor) {
+
+        this.nextCursor = nextCursor;
+        return this;
+    }
+    
+    @ApiModelProperty(example = "MTA6MTIzZTQ1NjctZTg5Yi0xMmQzLWE0NTYtNTU2NjQyNDQwMDAw", value = "Opaque cursor of the next page. Pass it as the cursor query parameter to retrieve the next page.")
+    @JsonProperty("nextCursor")
+    @Valid
+    public String getNextCursor() {
+        return nextCursor;
+    }
+    public void setNextCursor(String nextCursor) {
+        this.nextCursor = nextCursor;
+    }
+
         /**
     **/
     public IdentityProviderListResponse identityProviders(List<IdentityProviderListItem> identityProviders) {
@@ -164,12 +184,13 @@ public class IdentityProviderListResponse  {
             Objects.equals(this.startIndex, identityProviderListResponse.startIndex) &&
             Objects.equals(this.count, identityProviderListResponse.count) &&
             Objects.equals(this.links, identityProviderListResponse.links) &&
+            Objects.equals(this.nextCursor, identityProviderListResponse.nextCursor) &&
             Objects.equals(this.identityProviders, identityProviderListResponse.identityProviders);
     }
 
     @Override
     public int hashCode() {
-        return Objects.hash(totalResults, startIndex, count, links, identityProviders);
+        return Objects.hash(totalResults, startIndex, count, links, nextCursor, identityProviders);
     }
 
     @Override
@@ -182,6 +203,7 @@ public class IdentityProviderListResponse  {
         sb.append("    startIndex: ").append(toIndentedString(startIndex)).append("\n");
         sb.append("    count: ").append(toIndentedString(count)).append("\n");
         sb.append("    links: ").append(toIndentedString(links)).append("\n");
+        sb.append("    nextCursor: ").append(toIndentedString(nextCursor)).append("\n");
         sb.append("    identityProviders: ").append(toIndentedString(identityProviders)).append("\n");
         sb.append("}");
         return sb.toString();
@@ -39,6 +39,7 @@ public class IdentityProviderTemplateListResponse  {
     private Integer count;
     private List<Link> links = null;
 
+    private String nextCursor;
     private List<IdentityProviderTemplateListItem> templates = null;
 
 
@@ -122,6 +123,25 @@ public class IdentityProviderTemplateListResponse  {
         return this;
     }
 
+        /**
+    * Opaque cursor of the next page. Pass it as the cursor query parameter to retrieve the next page.
+    **/
+    public IdentityProviderTemplateListResponse nextCursor(String nextCursor) {
+
+        this.nextCursor = nextCursor;
+        return this;
+    }
+    
+    @ApiModelProperty(example = "MTA6MTIzZTQ1NjctZTg5Yi0xMmQzLWE0NTYtNTU2NjQyNDQwMDAw", value = "Opaque cursor of the next page. Pass it as the cursor query parameter to retrieve the next page.")
+    @JsonProperty("nextCursor")
+    @Valid
+    public String getNextCursor() {
+        return nextCursor;
+    }
+    public void setNextCursor(String nextCursor) {
+        this.nextCursor = nextCursor;
+    }
+
         /**
     **/
     public IdentityProviderTemplateListResponse templates(List<IdentityProviderTemplateListItem> templates) {
@@ -164,12 +184,13 @@ public class IdentityProviderTemplateListResponse  {
             Objects.equals(this.startIndex, identityProviderTemplateListResponse.startIndex) &&
             Objects.equals(this.count, identityProviderTemplateListResponse.count) &&
             Objects.equals(this.links, identityProviderTemplateListResponse.links) &&
+            Objects.equals(this.nextCursor, identityProviderTemplateListResponse.nextCursor) &&
             Objects.equals(this.templates, identityProviderTemplateListResponse.templates);
     }
 
     @Override
     public int hashCode() {
-        return Objects.hash(totalResults, startIndex, count, links, templates);
+        return Objects.hash(totalResults, startIndex, count, links, nextCursor, templates);
     }
 
     @Override
@@ -182,6 +203,7 @@ public class IdentityProviderTemplateListResponse  {
         sb.append("    startIndex: ").append(toIndentedString(startIndex)).append("\n");
         sb.append("    count: ").append(toIndentedString(count)).append("\n");
         sb.append("    links: ").append(toIndentedString(links)).append("\n");
+        sb.append("    nextCursor: ").append(toIndentedString(nextCursor)).append("\n");
         sb.append("    templates: ").append(toIndentedString(templates)).append("\n");
         sb.append("}");
         return sb.toString();
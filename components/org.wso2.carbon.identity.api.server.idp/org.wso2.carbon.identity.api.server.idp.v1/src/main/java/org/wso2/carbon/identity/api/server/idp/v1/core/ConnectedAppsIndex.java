@@ -0,0 +1,254 @@
+/*
+ * Copyright (c) 2020, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.api.server.idp.v1.core;
+
+import org.apache.commons.collections.CollectionUtils;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.osgi.framework.Bundle;
+import org.osgi.framework.BundleContext;
+import org.osgi.framework.FrameworkUtil;
+import org.osgi.framework.ServiceRegistration;
+import org.wso2.carbon.identity.api.server.common.cache.ExpiringCache;
+import org.wso2.carbon.identity.api.server.idp.common.IdentityProviderServiceHolder;
+import org.wso2.carbon.identity.application.common.model.IdentityProvider;
+import org.wso2.carbon.identity.application.common.model.ServiceProvider;
+import org.wso2.carbon.identity.application.mgt.ApplicationManagementService;
+import org.wso2.carbon.identity.application.mgt.listener.AbstractApplicationMgtListener;
+import org.wso2.carbon.identity.application.mgt.listener.ApplicationMgtListener;
+import org.wso2.carbon.identity.core.util.IdentityUtil;
+import org.wso2.carbon.idp.mgt.IdentityProviderManagementException;
+import org.wso2.carbon.idp.mgt.IdpManager;
+import org.wso2.carbon.idp.mgt.model.ConnectedAppsResult;
+import org.wso2.carbon.idp.mgt.model.IdpSearchResult;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.IntSupplier;
+import java.util.function.Supplier;
+
+import static org.wso2.carbon.identity.api.server.idp.common.Constants.CONNECTED_APPS_INDEX_TIMEOUT;
+
+/**
+ * Reverse index of the applications connected to the identity providers of a tenant, through authentication steps or
+ * outbound provisioning.
+ * <p>
+ * The index is built from the connected applications query of the identity provider manager, which is a single query
+ * per identity provider, instead of loading every application of the tenant. It also lists the same applications as
+ * the connected applications of a single identity provider.
+ * <p>
+ * The index of a tenant is cached. It is invalidated when an application of the tenant is created, updated or deleted
+ * through this node, and when an identity provider is deleted through this API. The time-to-live of the index bounds
+ * the staleness of the changes made through other nodes. The application management listener is registered from the
+ * first lookup until {@link #close()} is called when the API is destroyed.
+ */
+public class ConnectedAppsIndex {
+
+    private static final Log log = LogFactory.getLog(ConnectedAppsIndex.class);
+    private static final ConnectedAppsIndex INSTANCE = new ConnectedAppsIndex();
+
+    private static final int APPLICATION_MGT_LISTENER_ORDER_ID = 900;
+
+    private final ExpiringCache<String, Map<String, List<String>>> cache =
+            new ExpiringCache<>(CONNECTED_APPS_INDEX_TIMEOUT);
+    private final Supplier<IdpManager> identityProviderManager;
+    private final IntSupplier pageSize;
+
+    private volatile boolean listenerRegistered;
+    private ServiceRegistration<ApplicationMgtListener> listenerRegistration;
+
+    private ConnectedAppsIndex() {
+
+        this(IdentityProviderServiceHolder::getIdentityProviderManager, IdentityUtil::getMaximumItemPerPage);
+    }
+
+    ConnectedAppsIndex(Supplier<IdpManager> identityProviderManager, IntSupplier pageSize) {
+
+        this.identityProviderManager = identityProviderManager;
+        this.pageSize = pageSize;
+    }
+
+    public static ConnectedAppsIndex getInstance() {
+
+        return INSTANCE;
+    }
+
+    /**
+     * Get the applications connected to the identity providers of a tenant.
+     *
+     * @param tenantDomain Tenant domain.
+     * @return Resource IDs of the connected applications keyed by the resource ID of the identity provider. Identity
+     * providers without connected applications are not included.
+     * @throws IdentityProviderManagementException If an error occurred while retrieving the applications.
+     */
+    public Map<String, List<String>> getConnectedApps(String tenantDomain)
+            throws IdentityProviderManagementException {
+
+        registerApplicationMgtListener();
+        return cache.get(tenantDomain, key -> buildIndex(tenantDomain));
+    }
+
+    /**
+     * Remove the index of a tenant, so that it is rebuilt on the next lookup.
+     *
+     * @param tenantDomain Tenant domain.
+     */
+    public void invalidate(String tenantDomain) {
+
+        cache.remove(tenantDomain);
+    }
+
+    /**
+     * Unregister the application management listener and clear the index. The listener is registered again on the
+     * next lookup.
+     */
+    public synchronized void close() {
+
+        if (listenerRegistration != null) {
+            try {
+                listenerRegistration.unregister();
+            } catch (IllegalStateException e) {
+                // The listener was unregistered along with the bundle it was registered through.
+                if (log.isDebugEnabled()) {
+                    log.debug("Application management listener of the connected applications index was already " +
+                            "unregistered.", e);
+                }
+            }
+            listenerRegistration = null;
+        }
+        listenerRegistered = false;
+        cache.clear();
+    }
+
+    private Map<String, List<String>> buildIndex(String tenantDomain) throws IdentityProviderManagementException {
+
+        IdpManager idpManager = identityProviderManager.get();
+        int limit = pageSize.getAsInt();
+        Map<String, List<String>> index = new HashMap<>();
+        int idpCount = 0;
+        IdpSearchResult idpSearchResult;
+        do {
+            idpSearchResult = idpManager.getIdPs(limit, idpCount, null, null, null, tenantDomain, null);
+            if (CollectionUtils.isEmpty(idpSearchResult.getIdPs())) {
+                break;
+            }
+            for (IdentityProvider identityProvider : idpSearchResult.getIdPs()) {
+                List<String> connectedApps = getConnectedApps(idpManager, identityProvider.getResourceId(), limit,
+                        tenantDomain);
+                if (!connectedApps.isEmpty()) {
+                    index.put(identityProvider.getResourceId(), Collections.unmodifiableList(connectedApps));
+                }
+            }
+            idpCount += idpSearchResult.getIdPs().size();
+        } while (idpCount < idpSearchResult.getTotalIDPCount());
+
+        if (log.isDebugEnabled()) {
+            log.debug("Built the connected applications index of tenant: " + tenantDomain + " from " + idpCount +
+                    " identity providers.");
+        }
+        return Collections.unmodifiableMap(index);
+    }
+
+    private List<String> getConnectedApps(IdpManager idpManager, String resourceId, int limit, String tenantDomain)
+            throws IdentityProviderManagementException {
+
+        // An application can be connected through several authentication steps and provisioning.
+        Set<String> connectedApps = new LinkedHashSet<>();
+        int offset = 0;
+        ConnectedAppsResult connectedAppsResult;
+        do {
+            connectedAppsResult = idpManager.getConnectedApplications(resourceId, limit, offset, tenantDomain);
+            if (connectedAppsResult == null || CollectionUtils.isEmpty(connectedAppsResult.getApps())) {
+                break;
+            }
+            connectedApps.addAll(connectedAppsResult.getApps());
+            offset += connectedAppsResult.getApps().size();
+        } while (offset < connectedAppsResult.getTotalAppCount());
+        return new ArrayList<>(connectedApps);
+    }
+
+    private void registerApplicationMgtListener() {
+
+        if (listenerRegistered) {
+            return;
+        }
+        synchronized (this) {
+            if (listenerRegistered) {
+                return;
+            }
+            listenerRegistered = true;
+            Bundle bundle = FrameworkUtil.getBundle(ApplicationManagementService.class);
+            BundleContext bundleContext = bundle != null ? bundle.getBundleContext() : null;
+            if (bundleContext == null) {
+                if (log.isDebugEnabled()) {
+                    log.debug("OSGi services are not available. The connected applications index is refreshed " +
+                            "only when it expires.");
+                }
+                return;
+            }
+            try {
+                listenerRegistration = bundleContext.registerService(ApplicationMgtListener.class,
+                        new IndexInvalidatingListener(), null);
+            } catch (IllegalStateException e) {
+                log.error("Error while registering the application management listener of the connected " +
+                        "applications index.", e);
+            }
+        }
+    }
+
+    /**
+     * Invalidates the index of a tenant when an application of the tenant is modified.
+     */
+    private class IndexInvalidatingListener extends AbstractApplicationMgtListener {
+
+        @Override
+        public int getDefaultOrderId() {
+
+            return APPLICATION_MGT_LISTENER_ORDER_ID;
+        }
+
+        @Override
+        public boolean doPostCreateApplication(ServiceProvider serviceProvider, String tenantDomain,
+                                               String userName) {
+
+            invalidate(tenantDomain);
+            return true;
+        }
+
+        @Override
+        public boolean doPostUpdateApplication(ServiceProvider serviceProvider, String tenantDomain,
+                                               String userName) {
+
+            invalidate(tenantDomain);
+            return true;
+        }
+
+        @Override
+        public boolean doPostDeleteApplication(String applicationName, String tenantDomain, String userName) {
+
+            invalidate(tenantDomain);
+            return true;
+        }
+    }
+}
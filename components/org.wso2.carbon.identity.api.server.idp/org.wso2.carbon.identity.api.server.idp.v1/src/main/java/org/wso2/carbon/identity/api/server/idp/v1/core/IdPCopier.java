@@ -0,0 +1,147 @@
+/*
+ * Copyright (c) 2020, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.api.server.idp.v1.core;
+
+import org.wso2.carbon.identity.application.common.model.FederatedAuthenticatorConfig;
+import org.wso2.carbon.identity.application.common.model.IdentityProvider;
+import org.wso2.carbon.identity.application.common.model.ProvisioningConnectorConfig;
+
+/**
+ * Copies identity providers to be updated. Identity providers returned by the identity provider manager can be
+ * cached, so an identity provider is copied before it is modified.
+ * <p>
+ * Only the parts of an identity provider which are modified in place are copied:
+ * <ul>
+ * <li>the attributes of the identity provider, which are set by the patch operations,</li>
+ * <li>the federated authenticator and provisioning connector config arrays, whose elements are replaced by the
+ * single authenticator and connector updates,</li>
+ * <li>the federated authenticator and provisioning connector configs, whose property arrays are replaced by the
+ * identity provider manager while updating, e.g. with the properties of SAML metadata,</li>
+ * <li>the certificate and property arrays of the identity provider.</li>
+ * </ul>
+ * The claim, role and JIT configs, the certificates and the individual properties are shared with the original
+ * identity provider. The update operations always replace them, and must not modify them.
+ */
+public class IdPCopier {
+
+    private IdPCopier() {
+
+    }
+
+    /**
+     * Copy an identity provider to be updated.
+     *
+     * @param idp Identity provider.
+     * @return Copy of the identity provider.
+     */
+    public static IdentityProvider copy(IdentityProvider idp) {
+
+        if (idp == null) {
+            return null;
+        }
+        IdentityProvider copy = new IdentityProvider();
+        copy.setId(idp.getId());
+        copy.setResourceId(idp.getResourceId());
+        copy.setIdentityProviderName(idp.getIdentityProviderName());
+        copy.setIdentityProviderDescription(idp.getIdentityProviderDescription());
+        copy.setDisplayName(idp.getDisplayName());
+        copy.setImageUrl(idp.getImageUrl());
+        copy.setAlias(idp.getAlias());
+        copy.setHomeRealmId(idp.getHomeRealmId());
+        copy.setPrimary(idp.isPrimary());
+        copy.setEnable(idp.isEnable());
+        copy.setFederationHub(idp.isFederationHub());
+        copy.setProvisioningRole(idp.getProvisioningRole());
+        copy.setClaimConfig(idp.getClaimConfig());
+        copy.setPermissionAndRoleConfig(idp.getPermissionAndRoleConfig());
+        copy.setJustInTimeProvisioningConfig(idp.getJustInTimeProvisioningConfig());
+        if (idp.getCertificateInfoArray() != null) {
+            copy.setCertificateInfoArray(idp.getCertificateInfoArray().clone());
+        }
+        if (idp.getIdpProperties() != null) {
+            copy.setIdpProperties(idp.getIdpProperties().clone());
+        }
+
+        FederatedAuthenticatorConfig defaultAuthenticator = idp.getDefaultAuthenticatorConfig();
+        FederatedAuthenticatorConfig[] authenticators = idp.getFederatedAuthenticatorConfigs();
+        if (authenticators != null) {
+            FederatedAuthenticatorConfig[] authenticatorCopies =
+                    new FederatedAuthenticatorConfig[authenticators.length];
+            for (int i = 0; i < authenticators.length; i++) {
+                authenticatorCopies[i] = copy(authenticators[i]);
+                // Keep the default authenticator as one of the authenticators of the copy.
+                if (authenticators[i] != null && authenticators[i] == defaultAuthenticator) {
+                    copy.setDefaultAuthenticatorConfig(authenticatorCopies[i]);
+                }
+            }
+            copy.setFederatedAuthenticatorConfigs(authenticatorCopies);
+        }
+        if (defaultAuthenticator != null && copy.getDefaultAuthenticatorConfig() == null) {
+            copy.setDefaultAuthenticatorConfig(copy(defaultAuthenticator));
+        }
+
+        ProvisioningConnectorConfig defaultConnector = idp.getDefaultProvisioningConnectorConfig();
+        ProvisioningConnectorConfig[] connectors = idp.getProvisioningConnectorConfigs();
+        if (connectors != null) {
+            ProvisioningConnectorConfig[] connectorCopies = new ProvisioningConnectorConfig[connectors.length];
+            for (int i = 0; i < connectors.length; i++) {
+                connectorCopies[i] = copy(connectors[i]);
+                if (connectors[i] != null && connectors[i] == defaultConnector) {
+                    copy.setDefaultProvisioningConnectorConfig(connectorCopies[i]);
+                }
+            }
+            copy.setProvisioningConnectorConfigs(connectorCopies);
+        }
+        if (defaultConnector != null && copy.getDefaultProvisioningConnectorConfig() == null) {
+            copy.setDefaultProvisioningConnectorConfig(copy(defaultConnector));
+        }
+        return copy;
+    }
+
+    private static FederatedAuthenticatorConfig copy(FederatedAuthenticatorConfig authenticator) {
+
+        if (authenticator == null) {
+            return null;
+        }
+        FederatedAuthenticatorConfig copy = new FederatedAuthenticatorConfig();
+        copy.setName(authenticator.getName());
+        copy.setDisplayName(authenticator.getDisplayName());
+        copy.setEnabled(authenticator.isEnabled());
+        if (authenticator.getProperties() != null) {
+            copy.setProperties(authenticator.getProperties().clone());
+        }
+        return copy;
+    }
+
+    private static ProvisioningConnectorConfig copy(ProvisioningConnectorConfig connector) {
+
+        if (connector == null) {
+            return null;
+        }
+        ProvisioningConnectorConfig copy = new ProvisioningConnectorConfig();
+        copy.setName(connector.getName());
+        copy.setEnabled(connector.isEnabled());
+        copy.setBlocking(connector.isBlocking());
+        copy.setRulesEnabled(connector.isRulesEnabled());
+        if (connector.getProvisioningProperties() != null) {
+            copy.setProvisioningProperties(connector.getProvisioningProperties().clone());
+        }
+        return copy;
+    }
+}
@@ -0,0 +1,130 @@
+/*
+ * Copyright (c) 2020, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.api.server.idp.v1.core;
+
+import org.wso2.carbon.identity.api.server.idp.common.Constants;
+
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Optional attributes to be included in the identity providers of a list response. The required attributes of a
+ * request are resolved once into a bit set, which is then checked while rendering each identity provider of the page.
+ * Unknown attribute names are ignored.
+ */
+public class IdPListProjection {
+
+    private final EnumSet<Attribute> attributes;
+
+    private IdPListProjection(EnumSet<Attribute> attributes) {
+
+        this.attributes = attributes;
+    }
+
+    /**
+     * Resolve the projection of the required attributes of a request.
+     *
+     * @param requiredAttributes Names of the required attributes. Can be null.
+     * @return Projection of the required attributes.
+     */
+    public static IdPListProjection of(List<String> requiredAttributes) {
+
+        EnumSet<Attribute> attributes = EnumSet.noneOf(Attribute.class);
+        if (requiredAttributes != null) {
+            for (String requiredAttribute : requiredAttributes) {
+                Attribute attribute = Attribute.fromName(requiredAttribute);
+                if (attribute != null) {
+                    attributes.add(attribute);
+                }
+            }
+        }
+        return new IdPListProjection(attributes);
+    }
+
+    public boolean includes(Attribute attribute) {
+
+        return attributes.contains(attribute);
+    }
+
+    /**
+     * Whether any of the attributes are rendered into nested objects, which is costly enough to render the identity
+     * providers of a page in parallel.
+     *
+     * @return True if a nested attribute is included.
+     */
+    public boolean hasNestedAttributes() {
+
+        for (Attribute attribute : attributes) {
+            if (attribute.isNested()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Optional attributes of an identity provider list item.
+     */
+    public enum Attribute {
+
+        IS_PRIMARY(Constants.IS_PRIMARY, false),
+        IS_FEDERATION_HUB(Constants.IS_FEDERATION_HUB, false),
+        HOME_REALM_IDENTIFIER(Constants.HOME_REALM_IDENTIFIER, false),
+        CERTIFICATE(Constants.CERTIFICATE, true),
+        ALIAS(Constants.ALIAS, false),
+        CLAIMS(Constants.CLAIMS, true),
+        ROLES(Constants.ROLES, true),
+        FEDERATED_AUTHENTICATORS(Constants.FEDERATED_AUTHENTICATORS, true),
+        PROVISIONING(Constants.PROVISIONING, true);
+
+        private static final Map<String, Attribute> ATTRIBUTES_BY_NAME = new HashMap<>();
+
+        static {
+            for (Attribute attribute : values()) {
+                ATTRIBUTES_BY_NAME.put(attribute.name, attribute);
+            }
+        }
+
+        private final String name;
+        private final boolean nested;
+
+        Attribute(String name, boolean nested) {
+
+            this.name = name;
+            this.nested = nested;
+        }
+
+        public String getName() {
+
+            return name;
+        }
+
+        public boolean isNested() {
+
+            return nested;
+        }
+
+        private static Attribute fromName(String name) {
+
+            return ATTRIBUTES_BY_NAME.get(name);
+        }
+    }
+}
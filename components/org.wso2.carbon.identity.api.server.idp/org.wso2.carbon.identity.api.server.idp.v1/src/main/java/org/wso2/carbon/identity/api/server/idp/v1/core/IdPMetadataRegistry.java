@@ -0,0 +1,293 @@
+/*
+ * Copyright (c) 2020, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.api.server.idp.v1.core;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.wso2.carbon.identity.api.server.common.cache.ExpiringCache;
+import org.wso2.carbon.identity.api.server.common.cache.ServiceRegistrationTracker;
+import org.wso2.carbon.identity.api.server.idp.common.IdentityProviderServiceHolder;
+import org.wso2.carbon.identity.api.server.idp.v1.model.MetaFederatedAuthenticator;
+import org.wso2.carbon.identity.api.server.idp.v1.model.MetaOutboundConnector;
+import org.wso2.carbon.identity.application.common.model.FederatedAuthenticatorConfig;
+import org.wso2.carbon.identity.application.common.model.ProvisioningConnectorConfig;
+import org.wso2.carbon.idp.mgt.IdentityProviderManagementException;
+import org.wso2.carbon.idp.mgt.IdentityProviderManager;
+import org.wso2.carbon.idp.mgt.IdpManager;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+import static org.wso2.carbon.identity.api.server.common.Util.base64URLDecode;
+import static org.wso2.carbon.identity.api.server.common.Util.base64URLEncode;
+import static org.wso2.carbon.identity.api.server.idp.common.Constants.IDP_METADATA_REGISTRY_TIMEOUT;
+
+/**
+ * Registry of the federated authenticators and the outbound provisioning connectors supported by the server, indexed
+ * by name and by ID. The meta responses built from them are kept along with the registry as JSON trees, so that they
+ * are built once, and new meta responses are read from the trees for each request.
+ * <p>
+ * Authenticators and connectors are registered as OSGi services, so the registry is rebuilt when such a service is
+ * registered or unregistered. The time-to-live of the registry bounds the staleness if the services cannot be
+ * tracked. The services are tracked from the first lookup until {@link #close()} is called when the API is destroyed.
+ * The registered configs are shared and must not be modified.
+ */
+public class IdPMetadataRegistry {
+
+    private static final IdPMetadataRegistry INSTANCE = new IdPMetadataRegistry();
+
+    private static final ObjectMapper META_MAPPER = new ObjectMapper();
+    private static final String REGISTRY_KEY = "registry";
+    private static final String AUTHENTICATOR_SERVICE_CLASS =
+            "org.wso2.carbon.identity.application.authentication.framework.ApplicationAuthenticator";
+    private static final String CONNECTOR_SERVICE_CLASS =
+            "org.wso2.carbon.identity.provisioning.AbstractProvisioningConnectorFactory";
+
+    private final ExpiringCache<String, Registry> cache = new ExpiringCache<>(IDP_METADATA_REGISTRY_TIMEOUT);
+    private final ServiceRegistrationTracker serviceTracker = new ServiceRegistrationTracker(
+            IdentityProviderManager.class, this::invalidate, AUTHENTICATOR_SERVICE_CLASS, CONNECTOR_SERVICE_CLASS);
+
+    private final Supplier<IdpManager> identityProviderManager;
+
+    private IdPMetadataRegistry() {
+
+        this(IdentityProviderServiceHolder::getIdentityProviderManager);
+    }
+
+    IdPMetadataRegistry(Supplier<IdpManager> identityProviderManager) {
+
+        this.identityProviderManager = identityProviderManager;
+    }
+
+    public static IdPMetadataRegistry getInstance() {
+
+        return INSTANCE;
+    }
+
+    /**
+     * Get the federated authenticators supported by the server.
+     *
+     * @return Federated authenticators in the order they are returned by the identity provider manager.
+     * @throws IdentityProviderManagementException If an error occurred while retrieving the authenticators.
+     */
+    public Collection<FederatedAuthenticatorConfig> getFederatedAuthenticators()
+            throws IdentityProviderManagementException {
+
+        return getRegistry().authenticatorsByName.values();
+    }
+
+    /**
+     * Get a federated authenticator supported by the server.
+     *
+     * @param authenticatorName Name of the authenticator.
+     * @return Federated authenticator or null if the authenticator is not supported.
+     * @throws IdentityProviderManagementException If an error occurred while retrieving the authenticators.
+     */
+    public FederatedAuthenticatorConfig getFederatedAuthenticator(String authenticatorName)
+            throws IdentityProviderManagementException {
+
+        return getRegistry().authenticatorsByName.get(authenticatorName);
+    }
+
+    /**
+     * Get a federated authenticator supported by the server by its ID.
+     *
+     * @param authenticatorId Base64 URL encoded name of the authenticator.
+     * @return Federated authenticator or null if the authenticator is not supported.
+     * @throws IdentityProviderManagementException If an error occurred while retrieving the authenticators.
+     */
+    public FederatedAuthenticatorConfig getFederatedAuthenticatorById(String authenticatorId)
+            throws IdentityProviderManagementException {
+
+        return getFederatedAuthenticatorById(getRegistry(), authenticatorId);
+    }
+
+    /**
+     * Get the meta response of a federated authenticator supported by the server, building it on the first request.
+     *
+     * @param authenticatorId Base64 URL encoded name of the authenticator.
+     * @param builder         Builds the meta response of the authenticator.
+     * @return Copy of the meta response, or null if the authenticator is not supported.
+     * @throws IdentityProviderManagementException If an error occurred while retrieving the authenticators.
+     */
+    public MetaFederatedAuthenticator getMetaFederatedAuthenticator(
+            String authenticatorId, Function<FederatedAuthenticatorConfig, MetaFederatedAuthenticator> builder)
+            throws IdentityProviderManagementException {
+
+        Registry registry = getRegistry();
+        FederatedAuthenticatorConfig authenticator = getFederatedAuthenticatorById(registry, authenticatorId);
+        if (authenticator == null) {
+            return null;
+        }
+        JsonNode metaAuthenticator = registry.metaAuthenticators.computeIfAbsent(authenticator.getName(),
+                name -> META_MAPPER.valueToTree(builder.apply(authenticator)));
+        return META_MAPPER.convertValue(metaAuthenticator, MetaFederatedAuthenticator.class);
+    }
+
+    /**
+     * Get the outbound provisioning connectors supported by the server.
+     *
+     * @return Connectors in the order they are returned by the identity provider manager.
+     * @throws IdentityProviderManagementException If an error occurred while retrieving the connectors.
+     */
+    public Collection<ProvisioningConnectorConfig> getProvisioningConnectors()
+            throws IdentityProviderManagementException {
+
+        return getRegistry().connectorsByName.values();
+    }
+
+    /**
+     * Get an outbound provisioning connector supported by the server by its ID.
+     *
+     * @param connectorId Base64 URL encoded name of the connector.
+     * @return Connector or null if the connector is not supported.
+     * @throws IdentityProviderManagementException If an error occurred while retrieving the connectors.
+     */
+    public ProvisioningConnectorConfig getProvisioningConnectorById(String connectorId)
+            throws IdentityProviderManagementException {
+
+        return getProvisioningConnectorById(getRegistry(), connectorId);
+    }
+
+    /**
+     * Get the meta response of an outbound provisioning connector supported by the server, building it on the first
+     * request.
+     *
+     * @param connectorId Base64 URL encoded name of the connector.
+     * @param builder     Builds the meta response of the connector.
+     * @return Copy of the meta response, or null if the connector is not supported.
+     * @throws IdentityProviderManagementException If an error occurred while retrieving the connectors.
+     */
+    public MetaOutboundConnector getMetaOutboundConnector(
+            String connectorId, Function<ProvisioningConnectorConfig, MetaOutboundConnector> builder)
+            throws IdentityProviderManagementException {
+
+        Registry registry = getRegistry();
+        ProvisioningConnectorConfig connector = getProvisioningConnectorById(registry, connectorId);
+        if (connector == null) {
+            return null;
+        }
+        JsonNode metaConnector = registry.metaConnectors.computeIfAbsent(connector.getName(),
+                name -> META_MAPPER.valueToTree(builder.apply(connector)));
+        return META_MAPPER.convertValue(metaConnector, MetaOutboundConnector.class);
+    }
+
+    /**
+     * Remove the registry, so that it is rebuilt on the next lookup.
+     */
+    public void invalidate() {
+
+        cache.clear();
+    }
+
+    /**
+     * Stop tracking the authenticator and connector services and remove the registry. The services are tracked again
+     * on the next lookup.
+     */
+    public void close() {
+
+        serviceTracker.close();
+        invalidate();
+    }
+
+    private Registry getRegistry() throws IdentityProviderManagementException {
+
+        // The services are tracked before the registry is built, so that no registration is missed in between.
+        serviceTracker.open();
+        return cache.get(REGISTRY_KEY, key -> buildRegistry());
+    }
+
+    private FederatedAuthenticatorConfig getFederatedAuthenticatorById(Registry registry, String authenticatorId) {
+
+        FederatedAuthenticatorConfig authenticator = registry.authenticatorsById.get(authenticatorId);
+        if (authenticator == null) {
+            // IDs are not required to be in the canonical encoding, such as with padding.
+            authenticator = registry.authenticatorsByName.get(base64URLDecode(authenticatorId));
+        }
+        return authenticator;
+    }
+
+    private ProvisioningConnectorConfig getProvisioningConnectorById(Registry registry, String connectorId) {
+
+        ProvisioningConnectorConfig connector = registry.connectorsById.get(connectorId);
+        if (connector == null) {
+            connector = registry.connectorsByName.get(base64URLDecode(connectorId));
+        }
+        return connector;
+    }
+
+    private Registry buildRegistry() throws IdentityProviderManagementException {
+
+        IdpManager identityProviderManager = this.identityProviderManager.get();
+        Map<String, FederatedAuthenticatorConfig> authenticatorsByName = new LinkedHashMap<>();
+        Map<String, FederatedAuthenticatorConfig> authenticatorsById = new LinkedHashMap<>();
+        FederatedAuthenticatorConfig[] authenticators = identityProviderManager.getAllFederatedAuthenticators();
+        if (authenticators != null) {
+            for (FederatedAuthenticatorConfig authenticator : authenticators) {
+                // Keep the first occurrence to preserve the behaviour of a linear scan over the authenticators.
+                if (authenticatorsByName.putIfAbsent(authenticator.getName(), authenticator) == null) {
+                    authenticatorsById.put(base64URLEncode(authenticator.getName()), authenticator);
+                }
+            }
+        }
+        Map<String, ProvisioningConnectorConfig> connectorsByName = new LinkedHashMap<>();
+        Map<String, ProvisioningConnectorConfig> connectorsById = new LinkedHashMap<>();
+        ProvisioningConnectorConfig[] connectors = identityProviderManager.getAllProvisioningConnectors();
+        if (connectors != null) {
+            for (ProvisioningConnectorConfig connector : connectors) {
+                if (connectorsByName.putIfAbsent(connector.getName(), connector) == null) {
+                    connectorsById.put(base64URLEncode(connector.getName()), connector);
+                }
+            }
+        }
+        return new Registry(authenticatorsByName, authenticatorsById, connectorsByName, connectorsById);
+    }
+
+    /**
+     * Indexed authenticators and connectors along with the JSON trees of their meta responses, which are only read once
+     * built. The trees are never handed out, unlike the meta responses, since ObjectMapper.convertValue returns the
+     * same instance when converting a meta response to its own type.
+     */
+    private static class Registry {
+
+        private final Map<String, FederatedAuthenticatorConfig> authenticatorsByName;
+        private final Map<String, FederatedAuthenticatorConfig> authenticatorsById;
+        private final Map<String, ProvisioningConnectorConfig> connectorsByName;
+        private final Map<String, ProvisioningConnectorConfig> connectorsById;
+        private final ConcurrentMap<String, JsonNode> metaAuthenticators = new ConcurrentHashMap<>();
+        private final ConcurrentMap<String, JsonNode> metaConnectors = new ConcurrentHashMap<>();
+
+        Registry(Map<String, FederatedAuthenticatorConfig> authenticatorsByName,
+                 Map<String, FederatedAuthenticatorConfig> authenticatorsById,
+                 Map<String, ProvisioningConnectorConfig> connectorsByName,
+                 Map<String, ProvisioningConnectorConfig> connectorsById) {
+
+            this.authenticatorsByName = Collections.unmodifiableMap(authenticatorsByName);
+            this.authenticatorsById = Collections.unmodifiableMap(authenticatorsById);
+            this.connectorsByName = Collections.unmodifiableMap(connectorsByName);
+            this.connectorsById = Collections.unmodifiableMap(connectorsById);
+        }
+    }
+}
@@ -0,0 +1,157 @@
+/*
+ * Copyright (c) 2020, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.api.server.idp.v1.core;
+
+import org.wso2.carbon.identity.api.server.idp.common.Constants;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * JSON pointer of an identity provider patch operation, resolved to the attribute it targets. The supported paths
+ * are compiled once into a tree of path segments, so that a path is resolved in a single walk over its segments.
+ * <p>
+ * Variable segments of a path are the parameters of the resolved path. Federated authenticators, outbound connectors
+ * and their properties are addressed by their ID or key, as their order is not significant. Certificates are addressed
+ * by their one based position for compatibility. Other list items are addressed by their zero based index.
+ */
+public class IdPPatchPath {
+
+    private static final String VARIABLE_SEGMENT = "*";
+    private static final Segment ROOT = new Segment();
+
+    static {
+        register(Target.NAME, Constants.NAME_PATH);
+        register(Target.DESCRIPTION, Constants.DESCRIPTION_PATH);
+        register(Target.IMAGE, Constants.IMAGE_PATH);
+        register(Target.IS_PRIMARY, Constants.IS_PRIMARY_PATH);
+        register(Target.IS_ENABLED, Constants.IS_ENABLED_PATH);
+        register(Target.IS_FEDERATION_HUB, Constants.IS_FEDERATION_HUB_PATH);
+        register(Target.HOME_REALM_IDENTIFIER, Constants.HOME_REALM_PATH);
+        register(Target.ALIAS, Constants.ALIAS_PATH);
+        register(Target.JWKS_URI, Constants.CERTIFICATE_JWKSURI_PATH);
+        register(Target.CERTIFICATE, "/certificate/certificates/*");
+        register(Target.USER_ID_CLAIM, "/claims/userIdClaim");
+        register(Target.ROLE_CLAIM, "/claims/roleClaim");
+        register(Target.CLAIM_MAPPING, "/claims/mappings/*");
+        register(Target.PROVISIONING_CLAIM, "/claims/provisioningClaims/*");
+        register(Target.ROLE_MAPPING, "/roles/mappings/*");
+        register(Target.OUTBOUND_PROVISIONING_ROLE, "/roles/outboundProvisioningRoles/*");
+        register(Target.DEFAULT_AUTHENTICATOR, "/federatedAuthenticators/defaultAuthenticatorId");
+        register(Target.AUTHENTICATOR, "/federatedAuthenticators/authenticators/*");
+        register(Target.AUTHENTICATOR_IS_ENABLED, "/federatedAuthenticators/authenticators/*/isEnabled");
+        register(Target.AUTHENTICATOR_PROPERTY, "/federatedAuthenticators/authenticators/*/properties/*");
+        register(Target.DEFAULT_CONNECTOR, "/provisioning/outboundConnectors/defaultConnectorId");
+        register(Target.CONNECTOR, "/provisioning/outboundConnectors/connectors/*");
+        register(Target.CONNECTOR_IS_ENABLED, "/provisioning/outboundConnectors/connectors/*/isEnabled");
+        register(Target.CONNECTOR_BLOCKING_ENABLED, "/provisioning/outboundConnectors/connectors/*/blockingEnabled");
+        register(Target.CONNECTOR_RULES_ENABLED, "/provisioning/outboundConnectors/connectors/*/rulesEnabled");
+        register(Target.CONNECTOR_PROPERTY, "/provisioning/outboundConnectors/connectors/*/properties/*");
+    }
+
+    private final Target target;
+    private final List<String> parameters;
+
+    private IdPPatchPath(Target target, List<String> parameters) {
+
+        this.target = target;
+        this.parameters = parameters;
+    }
+
+    /**
+     * Resolve a JSON pointer to the identity provider attribute it targets.
+     *
+     * @param path JSON pointer.
+     * @return Resolved path, or null if the path is not supported.
+     */
+    public static IdPPatchPath resolve(String path) {
+
+        if (path == null || !path.startsWith(Constants.PATH_SEPERATOR)) {
+            return null;
+        }
+        Segment segment = ROOT;
+        List<String> parameters = new ArrayList<>();
+        for (String token : path.substring(1).split(Constants.PATH_SEPERATOR, -1)) {
+            // Escaped characters of a JSON pointer token as defined by RFC 6901.
+            token = token.replace("~1", "/").replace("~0", "~");
+            Segment next = segment.children.get(token);
+            if (next == null) {
+                next = segment.children.get(VARIABLE_SEGMENT);
+                if (next == null) {
+                    return null;
+                }
+                parameters.add(token);
+            }
+            segment = next;
+        }
+        if (segment.target == null) {
+            return null;
+        }
+        return new IdPPatchPath(segment.target, Collections.unmodifiableList(parameters));
+    }
+
+    public Target getTarget() {
+
+        return target;
+    }
+
+    /**
+     * Get a variable segment of the path, such as a list index or an authenticator ID.
+     *
+     * @param position Position of the variable segment among the variable segments of the path.
+     * @return Value of the variable segment.
+     */
+    public String getParameter(int position) {
+
+        return parameters.get(position);
+    }
+
+    private static void register(Target target, String path) {
+
+        Segment segment = ROOT;
+        for (String token : path.substring(1).split(Constants.PATH_SEPERATOR)) {
+            segment = segment.children.computeIfAbsent(token, key -> new Segment());
+        }
+        segment.target = target;
+    }
+
+    /**
+     * Identity provider attributes which can be patched.
+     */
+    public enum Target {
+
+        NAME, DESCRIPTION, IMAGE, IS_PRIMARY, IS_ENABLED, IS_FEDERATION_HUB, HOME_REALM_IDENTIFIER, ALIAS, JWKS_URI,
+        CERTIFICATE, USER_ID_CLAIM, ROLE_CLAIM, CLAIM_MAPPING, PROVISIONING_CLAIM, ROLE_MAPPING,
+        OUTBOUND_PROVISIONING_ROLE, DEFAULT_AUTHENTICATOR, AUTHENTICATOR, AUTHENTICATOR_IS_ENABLED,
+        AUTHENTICATOR_PROPERTY, DEFAULT_CONNECTOR, CONNECTOR, CONNECTOR_IS_ENABLED, CONNECTOR_BLOCKING_ENABLED,
+        CONNECTOR_RULES_ENABLED, CONNECTOR_PROPERTY
+    }
+
+    /**
+     * Segment of the compiled path tree. The tree is built while the class is initialized and is read only after that.
+     */
+    private static class Segment {
+
+        private final Map<String, Segment> children = new HashMap<>();
+        private Target target;
+    }
+}
@@ -0,0 +1,127 @@
+/*
+ * Copyright (c) 2020, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.api.server.idp.v1.core;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import org.wso2.carbon.identity.api.server.common.cache.ExpiringCache;
+import org.wso2.carbon.identity.api.server.idp.v1.model.IdentityProviderPOSTRequest;
+
+import java.io.IOException;
+
+import static org.wso2.carbon.identity.api.server.idp.common.Constants.IDP_TEMPLATE_CACHE_TIMEOUT;
+
+/**
+ * Identity providers of the identity provider templates, parsed from the template scripts.
+ * <p>
+ * A parsed identity provider is cached against the tenant domain and the template ID along with the template script it
+ * was parsed from, which serves as the version of the template. A template whose script has changed, such as through
+ * another node, is parsed again instead of being served from the cache. The identity provider is cached as a JSON tree
+ * which is never handed out, and each lookup returns a new identity provider read from the tree, which the caller can
+ * modify.
+ */
+public class IdPTemplateCache {
+
+    private static final IdPTemplateCache INSTANCE = new IdPTemplateCache();
+
+    private static final ObjectMapper TEMPLATE_SCRIPT_MAPPER = new ObjectMapper();
+    private static final ObjectReader TEMPLATE_SCRIPT_READER =
+            TEMPLATE_SCRIPT_MAPPER.readerFor(IdentityProviderPOSTRequest.class);
+    private static final ObjectWriter TEMPLATE_SCRIPT_WRITER =
+            TEMPLATE_SCRIPT_MAPPER.writerFor(IdentityProviderPOSTRequest.class);
+
+    private final ExpiringCache<String, ParsedTemplate> cache = new ExpiringCache<>(IDP_TEMPLATE_CACHE_TIMEOUT);
+
+    private IdPTemplateCache() {
+
+    }
+
+    public static IdPTemplateCache getInstance() {
+
+        return INSTANCE;
+    }
+
+    /**
+     * Get the identity provider of a template.
+     *
+     * @param tenantDomain   Tenant domain of the template.
+     * @param templateId     Template ID.
+     * @param templateScript Template script of the current version of the template.
+     * @return New identity provider parsed from the template script.
+     * @throws IOException If the template script is not a valid identity provider.
+     */
+    public IdentityProviderPOSTRequest getIdP(String tenantDomain, String templateId, String templateScript)
+            throws IOException {
+
+        String key = getKey(tenantDomain, templateId);
+        ParsedTemplate parsedTemplate = cache.get(key);
+        if (parsedTemplate == null || !parsedTemplate.templateScript.equals(templateScript)) {
+            IdentityProviderPOSTRequest idp = TEMPLATE_SCRIPT_READER.readValue(templateScript);
+            parsedTemplate = new ParsedTemplate(templateScript, TEMPLATE_SCRIPT_MAPPER.valueToTree(idp));
+            cache.put(key, parsedTemplate);
+        }
+        return TEMPLATE_SCRIPT_MAPPER.treeToValue(parsedTemplate.idp, IdentityProviderPOSTRequest.class);
+    }
+
+    /**
+     * Create the template script of the identity provider of a template.
+     *
+     * @param idp Identity provider of the template.
+     * @return Template script.
+     * @throws JsonProcessingException If the identity provider could not be serialized.
+     */
+    public String createTemplateScript(IdentityProviderPOSTRequest idp) throws JsonProcessingException {
+
+        return TEMPLATE_SCRIPT_WRITER.writeValueAsString(idp);
+    }
+
+    /**
+     * Remove the parsed identity provider of a template, which is updated or deleted.
+     *
+     * @param tenantDomain Tenant domain of the template.
+     * @param templateId   Template ID.
+     */
+    public void invalidate(String tenantDomain, String templateId) {
+
+        cache.remove(getKey(tenantDomain, templateId));
+    }
+
+    private static String getKey(String tenantDomain, String templateId) {
+
+        return tenantDomain + ":" + templateId;
+    }
+
+    /**
+     * JSON tree of the identity provider along with the template script it was parsed from.
+     */
+    private static class ParsedTemplate {
+
+        private final String templateScript;
+        private final JsonNode idp;
+
+        ParsedTemplate(String templateScript, JsonNode idp) {
+
+            this.templateScript = templateScript;
+            this.idp = idp;
+        }
+    }
+}
@@ -0,0 +1,88 @@
+/*
+ * Copyright (c) 2020, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.api.server.idp.v1.core;
+
+import org.wso2.carbon.identity.api.server.idp.common.IdentityProviderServiceHolder;
+import org.wso2.carbon.identity.claim.metadata.mgt.exception.ClaimMetadataException;
+import org.wso2.carbon.identity.claim.metadata.mgt.model.LocalClaim;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Index of the local claims of a tenant keyed by claim URI. An instance is meant to live only for the duration of a
+ * single API request, so that all the identity providers rendered in that request share one fetch of the local
+ * claim list. The claims are fetched lazily on the first lookup. An index can be shared by the threads rendering the
+ * identity providers of a page.
+ */
+public class LocalClaimIndex {
+
+    private final String tenantDomain;
+    private volatile Map<String, LocalClaim> localClaims;
+
+    public LocalClaimIndex(String tenantDomain) {
+
+        this.tenantDomain = tenantDomain;
+    }
+
+    /**
+     * Returns the local claim identified by the given claim URI.
+     *
+     * @param claimUri Local claim URI.
+     * @return Local claim or null if a local claim does not exist for the given URI.
+     * @throws ClaimMetadataException If an error occurred while retrieving the local claims of the tenant.
+     */
+    public LocalClaim getLocalClaim(String claimUri) throws ClaimMetadataException {
+
+        if (claimUri == null) {
+            return null;
+        }
+        return getIndex().get(claimUri);
+    }
+
+    private Map<String, LocalClaim> getIndex() throws ClaimMetadataException {
+
+        Map<String, LocalClaim> index = localClaims;
+        if (index == null) {
+            synchronized (this) {
+                index = localClaims;
+                if (index == null) {
+                    index = buildIndex();
+                    localClaims = index;
+                }
+            }
+        }
+        return index;
+    }
+
+    private Map<String, LocalClaim> buildIndex() throws ClaimMetadataException {
+
+        List<LocalClaim> localClaimList = IdentityProviderServiceHolder.getClaimMetadataManagementService()
+                .getLocalClaims(tenantDomain);
+        Map<String, LocalClaim> index = new HashMap<>();
+        if (localClaimList != null) {
+            for (LocalClaim localClaim : localClaimList) {
+                // Keep the first occurrence to preserve the behaviour of a linear scan over the list.
+                index.putIfAbsent(localClaim.getClaimURI(), localClaim);
+            }
+        }
+        return index;
+    }
+}
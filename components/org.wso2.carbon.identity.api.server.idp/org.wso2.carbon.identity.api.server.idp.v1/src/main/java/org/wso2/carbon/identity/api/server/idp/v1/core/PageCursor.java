@@ -0,0 +1,144 @@
+/*
+ * Copyright (c) 2020, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.api.server.idp.v1.core;
+
+import java.util.List;
+import java.util.function.Function;
+
+import static org.wso2.carbon.identity.api.server.common.Util.base64URLDecode;
+import static org.wso2.carbon.identity.api.server.common.Util.base64URLEncode;
+import static org.wso2.carbon.identity.api.server.idp.common.Constants.PAGE_CURSOR_ANCHOR_WINDOW;
+
+/**
+ * Opaque cursor of the next page of a list, anchored to the ID of the last item of the previous page.
+ * <p>
+ * The identity provider manager lists items by offset, so the items around the expected position of the anchor are
+ * retrieved as a window, and the page starts right after the anchor wherever it is found in the window. Items added or
+ * removed before the cursor in between the requests therefore neither repeat nor skip items of the next page. The
+ * expected position is used if the anchor itself is no longer listed.
+ * <p>
+ * A cursor only makes paging stable. Each page is still retrieved by offset, so a full crawl costs as much as with
+ * offsets. Making it cheaper needs keyset listing in the identity provider manager.
+ */
+public class PageCursor {
+
+    private static final String SEPARATOR = ":";
+
+    private final int offset;
+    private final String anchorId;
+
+    /**
+     * Create the cursor of the page following an item.
+     *
+     * @param offset   Offset of the page, which is the position of the anchor plus one.
+     * @param anchorId ID of the last item of the previous page.
+     */
+    public PageCursor(int offset, String anchorId) {
+
+        this.offset = offset;
+        this.anchorId = anchorId;
+    }
+
+    /**
+     * Decode a cursor given by a client.
+     *
+     * @param cursor Encoded cursor.
+     * @return Cursor, or null if the cursor is malformed.
+     */
+    public static PageCursor decode(String cursor) {
+
+        String decodedCursor;
+        try {
+            decodedCursor = base64URLDecode(cursor);
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+        int separatorIndex = decodedCursor.indexOf(SEPARATOR);
+        if (separatorIndex <= 0 || separatorIndex == decodedCursor.length() - 1) {
+            return null;
+        }
+        try {
+            int offset = Integer.parseInt(decodedCursor.substring(0, separatorIndex));
+            if (offset < 1) {
+                return null;
+            }
+            return new PageCursor(offset, decodedCursor.substring(separatorIndex + 1));
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    public String encode() {
+
+        return base64URLEncode(offset + SEPARATOR + anchorId);
+    }
+
+    /**
+     * Get the offset of the window of items to be retrieved to resolve the page.
+     *
+     * @return Offset of the window.
+     */
+    public int getWindowOffset() {
+
+        return Math.max(0, offset - 1 - PAGE_CURSOR_ANCHOR_WINDOW);
+    }
+
+    /**
+     * Get the number of items to be retrieved to resolve a page, which covers the page even if the anchor has moved
+     * by up to the size of the anchor window.
+     *
+     * @param limit Number of items of the page.
+     * @return Number of items of the window.
+     */
+    public int getWindowLimit(int limit) {
+
+        return offset + PAGE_CURSOR_ANCHOR_WINDOW - getWindowOffset() + limit;
+    }
+
+    /**
+     * Get the number of items of a page retrieved with a cursor. The page is limited so that its window does not
+     * exceed the maximum number of items retrieved at once, since a trimmed window would cut the page short.
+     *
+     * @param limit              Requested number of items of the page.
+     * @param maximumWindowLimit Maximum number of items retrieved at once.
+     * @return Number of items of the page.
+     */
+    public static int getPageLimit(int limit, int maximumWindowLimit) {
+
+        return Math.max(1, Math.min(limit, maximumWindowLimit - 2 * PAGE_CURSOR_ANCHOR_WINDOW - 1));
+    }
+
+    /**
+     * Find the start of the page in the retrieved window.
+     *
+     * @param window     Items retrieved from the window offset.
+     * @param idResolver Resolves the ID of an item.
+     * @param <T>        Type of the items.
+     * @return Index of the first item of the page in the window.
+     */
+    public <T> int getPageStart(List<T> window, Function<T, String> idResolver) {
+
+        for (int i = 0; i < window.size(); i++) {
+            if (anchorId.equals(idResolver.apply(window.get(i)))) {
+                return i + 1;
+            }
+        }
+        return Math.min(window.size(), offset - getWindowOffset());
+    }
+}
@@ -18,9 +18,10 @@
 
 package org.wso2.carbon.identity.api.server.idp.v1.core;
 
+import com.fasterxml.jackson.core.JsonGenerator;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
-import org.apache.commons.beanutils.BeanUtils;
+import com.fasterxml.jackson.databind.ObjectWriter;
 import org.apache.commons.collections.CollectionUtils;
 import org.apache.commons.lang.ArrayUtils;
 import org.apache.commons.lang.StringUtils;
@@ -30,8 +31,12 @@ import org.apache.cxf.jaxrs.ext.search.ConditionType;
 import org.apache.cxf.jaxrs.ext.search.PrimitiveStatement;
 import org.apache.cxf.jaxrs.ext.search.SearchCondition;
 import org.apache.cxf.jaxrs.ext.search.SearchContext;
+import org.springframework.beans.factory.DisposableBean;
+import org.wso2.carbon.context.CarbonContext;
 import org.wso2.carbon.identity.api.server.common.ContextLoader;
+import org.wso2.carbon.identity.api.server.common.Util;
 import org.wso2.carbon.identity.api.server.common.error.APIError;
+import org.wso2.carbon.identity.api.server.common.error.ErrorDTO;
 import org.wso2.carbon.identity.api.server.common.error.ErrorResponse;
 import org.wso2.carbon.identity.api.server.idp.common.Constants;
 import org.wso2.carbon.identity.api.server.idp.common.IdentityProviderServiceHolder;
@@ -40,11 +45,16 @@ import org.wso2.carbon.identity.api.server.idp.v1.model.Claim;
 import org.wso2.carbon.identity.api.server.idp.v1.model.Claims;
 import org.wso2.carbon.identity.api.server.idp.v1.model.ConnectedApp;
 import org.wso2.carbon.identity.api.server.idp.v1.model.ConnectedApps;
+import org.wso2.carbon.identity.api.server.idp.v1.model.ConnectedAppsIndexItem;
 import org.wso2.carbon.identity.api.server.idp.v1.model.FederatedAuthenticator;
 import org.wso2.carbon.identity.api.server.idp.v1.model.FederatedAuthenticatorListItem;
 import org.wso2.carbon.identity.api.server.idp.v1.model.FederatedAuthenticatorListResponse;
 import org.wso2.carbon.identity.api.server.idp.v1.model.FederatedAuthenticatorPUTRequest;
 import org.wso2.carbon.identity.api.server.idp.v1.model.FederatedAuthenticatorRequest;
+import org.wso2.carbon.identity.api.server.idp.v1.model.IdentityProviderBulkOperation;
+import org.wso2.carbon.identity.api.server.idp.v1.model.IdentityProviderBulkOperationResult;
+import org.wso2.carbon.identity.api.server.idp.v1.model.IdentityProviderBulkRequest;
+import org.wso2.carbon.identity.api.server.idp.v1.model.IdentityProviderBulkResponse;
 import org.wso2.carbon.identity.api.server.idp.v1.model.IdentityProviderListItem;
 import org.wso2.carbon.identity.api.server.idp.v1.model.IdentityProviderListResponse;
 import org.wso2.carbon.identity.api.server.idp.v1.model.IdentityProviderPOSTRequest;
@@ -101,25 +111,45 @@ import org.wso2.carbon.idp.mgt.IdentityProviderManagementException;
 import org.wso2.carbon.idp.mgt.IdentityProviderManagementServerException;
 import org.wso2.carbon.idp.mgt.model.ConnectedAppsResult;
 import org.wso2.carbon.idp.mgt.model.IdpSearchResult;
+import org.wso2.carbon.user.api.AuthorizationManager;
+import org.wso2.carbon.user.api.UserStoreException;
 
 import java.io.IOException;
 import java.io.UnsupportedEncodingException;
-import java.lang.reflect.InvocationTargetException;
 import java.net.URLEncoder;
 import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Base64;
+import java.util.Collections;
+import java.util.EnumSet;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Function;
 import java.util.stream.Collectors;
 import javax.ws.rs.core.Response;
+import javax.ws.rs.core.StreamingOutput;
 
 import static org.wso2.carbon.identity.api.server.common.Constants.V1_API_PATH_COMPONENT;
 import static org.wso2.carbon.identity.api.server.common.Util.base64URLDecode;
 import static org.wso2.carbon.identity.api.server.common.Util.base64URLEncode;
+import static org.wso2.carbon.identity.api.server.idp.common.Constants.IDP_BULK_MAX_OPERATIONS;
+import static org.wso2.carbon.identity.api.server.idp.common.Constants.IDP_BULK_QUEUE_SIZE;
+import static org.wso2.carbon.identity.api.server.idp.common.Constants.IDP_BULK_WORKER_COUNT;
+import static org.wso2.carbon.identity.api.server.idp.common.Constants.IDP_LIST_PARALLEL_RENDERING_THRESHOLD;
+import static org.wso2.carbon.identity.api.server.idp.common.Constants.IDP_LIST_RENDERING_QUEUE_SIZE;
+import static org.wso2.carbon.identity.api.server.idp.common.Constants.IDP_LIST_RENDERING_WORKER_COUNT;
+import static org.wso2.carbon.identity.api.server.idp.common.Constants.IDP_LIST_RENDERING_WORKER_KEEP_ALIVE_TIME;
 import static org.wso2.carbon.identity.api.server.idp.common.Constants.IDP_PATH_COMPONENT;
 import static org.wso2.carbon.identity.api.server.idp.common.Constants.IDP_TEMPLATE_PATH_COMPONENT;
 import static org.wso2.carbon.identity.api.server.idp.common.Constants.PROP_CATEGORY;
@@ -133,9 +163,26 @@ import static org.wso2.carbon.identity.configuration.mgt.core.search.constant.Co
 /**
  * Call internal osgi services to perform server identity provider related operations.
  */
-public class ServerIdpManagementService {
+public class ServerIdpManagementService implements DisposableBean {
 
     private static final Log log = LogFactory.getLog(ServerIdpManagementService.class);
+    private static final ExecutorService IDP_LIST_RENDERING_EXECUTOR = createWorkerExecutor(
+            "idp-list-rendering-worker-", IDP_LIST_RENDERING_WORKER_COUNT, IDP_LIST_RENDERING_QUEUE_SIZE);
+    private static final ExecutorService IDP_BULK_EXECUTOR = createWorkerExecutor("idp-bulk-worker-",
+            IDP_BULK_WORKER_COUNT, IDP_BULK_QUEUE_SIZE);
+    private static final ObjectMapper PATCH_VALUE_MAPPER = new ObjectMapper();
+    private static final ObjectWriter CONNECTED_APPS_INDEX_WRITER = new ObjectMapper()
+            .configure(JsonGenerator.Feature.AUTO_CLOSE_TARGET, false).writer();
+
+    /**
+     * Release the OSGi service tracking and the listeners of the shared indexes when the API is destroyed.
+     */
+    @Override
+    public void destroy() {
+
+        IdPMetadataRegistry.getInstance().close();
+        ConnectedAppsIndex.getInstance().close();
+    }
 
     /**
      * Get list of identity providers.
@@ -146,20 +193,30 @@ public class ServerIdpManagementService {
      * @param filter     Filter string. E.g. filter="name" sw "google" and "isEnabled" eq "true"
      * @param sortBy     Attribute to sort the IDPs by. E.g. name
      * @param sortOrder  Order in which IDPs should be sorted. Can be either ASC or DESC.
+     * @param cursor     Cursor of the page, given instead of the offset. E.g. the nextCursor of the previous page.
      * @return IdentityProviderListResponse.
      */
     public IdentityProviderListResponse getIDPs(String requiredAttributes, Integer limit, Integer offset, String filter,
-                                                String sortBy, String sortOrder) {
+                                                String sortBy, String sortOrder, String cursor) {
 
         try {
             List<String> requestedAttributeList = null;
             if (StringUtils.isNotBlank(requiredAttributes)) {
                 requestedAttributeList = new ArrayList<>(Arrays.asList(requiredAttributes.split(",")));
             }
+            IdPListProjection projection = IdPListProjection.of(requestedAttributeList);
+            PageCursor pageCursor = resolvePageCursor(cursor, offset);
+            if (pageCursor != null) {
+                int pageLimit = validateAndGetCursorLimit(limit);
+                IdpSearchResult idpSearchResult = IdentityProviderServiceHolder.getIdentityProviderManager()
+                        .getIdPs(pageCursor.getWindowLimit(pageLimit), pageCursor.getWindowOffset(), filter, sortBy,
+                                sortOrder, ContextLoader.getTenantDomainFromContext(), requestedAttributeList);
+                return createIDPListResponse(idpSearchResult, pageCursor, pageLimit, filter, projection);
+            }
             return createIDPListResponse(
                     IdentityProviderServiceHolder.getIdentityProviderManager().getIdPs(limit, offset, filter,
                             sortBy, sortOrder, ContextLoader.getTenantDomainFromContext(), requestedAttributeList),
-                    requestedAttributeList);
+                    projection);
         } catch (IdentityProviderManagementException e) {
             throw handleIdPException(e, Constants.ErrorMessage.ERROR_CODE_ERROR_LISTING_IDPS, null);
         }
@@ -173,14 +230,7 @@ public class ServerIdpManagementService {
      */
     public IdentityProviderResponse addIDP(IdentityProviderPOSTRequest identityProviderPOSTRequest) {
 
-        IdentityProvider identityProvider;
-        try {
-            identityProvider = IdentityProviderServiceHolder.getIdentityProviderManager().addIdPWithResourceId(
-                    createIDP(identityProviderPOSTRequest), ContextLoader.getTenantDomainFromContext());
-        } catch (IdentityProviderManagementException e) {
-            throw handleIdPException(e, Constants.ErrorMessage.ERROR_CODE_ERROR_ADDING_IDP, null);
-        }
-        return createIDPResponse(identityProvider);
+        return createIDPResponse(addIdentityProvider(identityProviderPOSTRequest));
     }
 
     /**
@@ -217,24 +267,9 @@ public class ServerIdpManagementService {
      */
     public IdentityProviderResponse patchIDP(String identityProviderId, List<Patch> patchRequest) {
 
-        try {
-            IdentityProvider identityProvider =
-                    IdentityProviderServiceHolder.getIdentityProviderManager().getIdPByResourceId(identityProviderId,
-                            ContextLoader.getTenantDomainFromContext(), true);
-            if (identityProvider == null) {
-                throw handleException(Response.Status.NOT_FOUND, Constants.ErrorMessage.ERROR_CODE_IDP_NOT_FOUND,
-                        identityProviderId);
-            }
-            IdentityProvider idpToUpdate = createIdPClone(identityProvider);
-            processPatchRequest(patchRequest, idpToUpdate);
-            IdentityProvider updatedIdP = IdentityProviderServiceHolder.getIdentityProviderManager()
-                    .updateIdPByResourceId(identityProviderId, idpToUpdate,
-                            ContextLoader.getTenantDomainFromContext());
-            return createIDPResponse(updatedIdP);
-
-        } catch (IdentityProviderManagementException e) {
-            throw handleIdPException(e, Constants.ErrorMessage.ERROR_CODE_ERROR_RETRIEVING_IDP, identityProviderId);
-        }
+        LocalClaimIndex localClaimIndex = new LocalClaimIndex(ContextLoader.getTenantDomainFromContext());
+        return createIDPResponse(patchIdentityProvider(identityProviderId, patchRequest, localClaimIndex),
+                localClaimIndex);
     }
 
     /**
@@ -247,6 +282,7 @@ public class ServerIdpManagementService {
         try {
             IdentityProviderServiceHolder.getIdentityProviderManager().deleteIdPByResourceId(identityProviderId,
                     ContextLoader.getTenantDomainFromContext());
+            ConnectedAppsIndex.getInstance().invalidate(ContextLoader.getTenantDomainFromContext());
         } catch (IdentityProviderManagementException e) {
             throw handleIdPException(e, Constants.ErrorMessage.ERROR_CODE_ERROR_DELETING_IDP, identityProviderId);
         }
@@ -263,11 +299,69 @@ public class ServerIdpManagementService {
         try {
             IdentityProviderServiceHolder.getIdentityProviderManager().forceDeleteIdpByResourceId(identityProviderId,
                     ContextLoader.getTenantDomainFromContext());
+            ConnectedAppsIndex.getInstance().invalidate(ContextLoader.getTenantDomainFromContext());
         } catch (IdentityProviderManagementException e) {
             throw handleIdPException(e, Constants.ErrorMessage.ERROR_CODE_ERROR_DELETING_IDP, identityProviderId);
         }
     }
 
+    /**
+     * Perform identity provider operations in bulk. Operations on different identity providers are performed
+     * concurrently by the bulk workers, while the operations on the same identity provider are performed in the order
+     * of the request. Lookups which are shared by the operations, such as the local claims, are resolved once for the
+     * whole request.
+     * <p>
+     * Each operation requires the permission of its operation type, and fails with a forbidden status if the caller
+     * does not have it. Operations which were not performed since the failure limit of the request was reached are
+     * returned with a precondition failed status.
+     *
+     * @param bulkRequest Bulk request.
+     * @return Results of the performed operations, in the order of the operations of the request.
+     */
+    public IdentityProviderBulkResponse processBulkRequest(IdentityProviderBulkRequest bulkRequest) {
+
+        List<IdentityProviderBulkOperation> operations = bulkRequest.getOperations();
+        if (operations.size() > IDP_BULK_MAX_OPERATIONS) {
+            throw handleException(Response.Status.BAD_REQUEST, Constants.ErrorMessage
+                    .ERROR_CODE_BULK_OPERATION_LIMIT_EXCEEDED, String.valueOf(IDP_BULK_MAX_OPERATIONS));
+        }
+
+        // Operations on an identity provider are grouped, so that they are performed in order by a single worker.
+        // Each create operation is a group of its own.
+        Map<String, List<Integer>> operationGroups = new LinkedHashMap<>();
+        for (int i = 0; i < operations.size(); i++) {
+            IdentityProviderBulkOperation operation = operations.get(i);
+            String identityProviderId = getBulkOperationTarget(operation);
+            String groupKey = operation.getMethod() != IdentityProviderBulkOperation.MethodEnum.POST &&
+                    identityProviderId != null ? identityProviderId : String.valueOf(i);
+            operationGroups.computeIfAbsent(groupKey, key -> new ArrayList<>()).add(i);
+        }
+
+        String tenantDomain = ContextLoader.getTenantDomainFromContext();
+        String username = ContextLoader.getUsernameFromContext();
+        BulkRequestContext context = new BulkRequestContext(bulkRequest.getFailOnErrors(),
+                getAuthorizedBulkMethods(operations, username), new LocalClaimIndex(tenantDomain),
+                ContextLoader.buildURIForBody(V1_API_PATH_COMPONENT + IDP_PATH_COMPONENT).toString());
+        IdentityProviderBulkOperationResult[] results = new IdentityProviderBulkOperationResult[operations.size()];
+        List<Future<?>> performedGroups = new ArrayList<>(operationGroups.size());
+        for (List<Integer> operationGroup : operationGroups.values()) {
+            performedGroups.add(IDP_BULK_EXECUTOR.submit(() -> Util.runInTenantFlow(tenantDomain, username, () -> {
+                for (int index : operationGroup) {
+                    results[index] = context.isFailed() ? buildNotPerformedResult(operations.get(index)) :
+                            performBulkOperation(operations.get(index), context);
+                }
+                return null;
+            })));
+        }
+        for (Future<?> performedGroup : performedGroups) {
+            waitForBulkOperations(performedGroup);
+        }
+
+        IdentityProviderBulkResponse bulkResponse = new IdentityProviderBulkResponse();
+        bulkResponse.setOperations(Arrays.asList(results));
+        return bulkResponse;
+    }
+
     /**
      * Get meta information about Identity Provider's federated authenticators.
      *
@@ -277,15 +371,11 @@ public class ServerIdpManagementService {
 
         List<MetaFederatedAuthenticatorListItem> metaAuthenticators = new ArrayList<>();
         try {
-            FederatedAuthenticatorConfig[] authenticatorConfigs =
-                    IdentityProviderServiceHolder.getIdentityProviderManager()
-                            .getAllFederatedAuthenticators();
-            if (ArrayUtils.isNotEmpty(authenticatorConfigs)) {
-                for (FederatedAuthenticatorConfig authenticatorConfig : authenticatorConfigs) {
-                    MetaFederatedAuthenticatorListItem metaFederatedAuthenticator =
-                            createMetaFederatedAuthenticatorListItem(authenticatorConfig);
-                    metaAuthenticators.add(metaFederatedAuthenticator);
-                }
+            for (FederatedAuthenticatorConfig authenticatorConfig :
+                    IdPMetadataRegistry.getInstance().getFederatedAuthenticators()) {
+                MetaFederatedAuthenticatorListItem metaFederatedAuthenticator =
+                        createMetaFederatedAuthenticatorListItem(authenticatorConfig);
+                metaAuthenticators.add(metaFederatedAuthenticator);
             }
             return metaAuthenticators;
         } catch (IdentityProviderManagementException e) {
@@ -301,21 +391,9 @@ public class ServerIdpManagementService {
      */
     public MetaFederatedAuthenticator getMetaFederatedAuthenticator(String id) {
 
-        String authenticatorName = base64URLDecode(id);
-        MetaFederatedAuthenticator authenticator = null;
         try {
-            FederatedAuthenticatorConfig[] authenticatorConfigs =
-                    IdentityProviderServiceHolder.getIdentityProviderManager()
-                            .getAllFederatedAuthenticators();
-            if (ArrayUtils.isNotEmpty(authenticatorConfigs)) {
-                for (FederatedAuthenticatorConfig authenticatorConfig : authenticatorConfigs) {
-                    if (StringUtils.equals(authenticatorConfig.getName(), authenticatorName)) {
-                        authenticator = createMetaFederatedAuthenticator(authenticatorConfig);
-                        break;
-                    }
-                }
-            }
-            return authenticator;
+            return IdPMetadataRegistry.getInstance().getMetaFederatedAuthenticator(id,
+                    this::createMetaFederatedAuthenticator);
         } catch (IdentityProviderManagementException e) {
             throw handleIdPException(e, Constants.ErrorMessage.ERROR_CODE_ERROR_RETRIEVING_META_AUTHENTICATOR, id);
         }
@@ -330,14 +408,11 @@ public class ServerIdpManagementService {
 
         List<MetaOutboundConnectorListItem> metaOutboundConnectors = new ArrayList<>();
         try {
-            ProvisioningConnectorConfig[] connectorConfigs = IdentityProviderServiceHolder.getIdentityProviderManager()
-                    .getAllProvisioningConnectors();
-            if (ArrayUtils.isNotEmpty(connectorConfigs)) {
-                for (ProvisioningConnectorConfig connectorConfig : connectorConfigs) {
-                    MetaOutboundConnectorListItem metaOutboundConnector = createMetaOutboundConnectorListItem
-                            (connectorConfig);
-                    metaOutboundConnectors.add(metaOutboundConnector);
-                }
+            for (ProvisioningConnectorConfig connectorConfig :
+                    IdPMetadataRegistry.getInstance().getProvisioningConnectors()) {
+                MetaOutboundConnectorListItem metaOutboundConnector = createMetaOutboundConnectorListItem
+                        (connectorConfig);
+                metaOutboundConnectors.add(metaOutboundConnector);
             }
             return metaOutboundConnectors;
         } catch (IdentityProviderManagementException e) {
@@ -353,20 +428,8 @@ public class ServerIdpManagementService {
      */
     public MetaOutboundConnector getMetaOutboundConnector(String id) {
 
-        String connectorName = base64URLDecode(id);
-        MetaOutboundConnector connector = null;
         try {
-            ProvisioningConnectorConfig[] connectorConfigs = IdentityProviderServiceHolder.getIdentityProviderManager()
-                    .getAllProvisioningConnectors();
-            if (ArrayUtils.isNotEmpty(connectorConfigs)) {
-                for (ProvisioningConnectorConfig connectorConfig : connectorConfigs) {
-                    if (StringUtils.equals(connectorConfig.getName(), connectorName)) {
-                        connector = createMetaOutboundConnector(connectorConfig);
-                        break;
-                    }
-                }
-            }
-            return connector;
+            return IdPMetadataRegistry.getInstance().getMetaOutboundConnector(id, this::createMetaOutboundConnector);
         } catch (IdentityProviderManagementException e) {
             throw handleIdPException(e, Constants.ErrorMessage.ERROR_CODE_ERROR_RETRIEVING_META_CONNECTOR, id);
         }
@@ -472,7 +535,7 @@ public class ServerIdpManagementService {
             }
             // Need to create a clone, since modifying the fields of the original object, will modify the cached
             // IDP object.
-            IdentityProvider idpToUpdate = createIdPClone(idp);
+            IdentityProvider idpToUpdate = IdPCopier.copy(idp);
             updateFederatedAuthenticatorConfig(idpToUpdate, authenticatorRequest);
 
             IdentityProvider updatedIdp = IdentityProviderServiceHolder.getIdentityProviderManager()
@@ -505,13 +568,12 @@ public class ServerIdpManagementService {
             }
             // Need to create a clone, since modifying the fields of the original object, will modify the cached
             // IDP object.
-            IdentityProvider idpToUpdate = createIdPClone(idp);
+            IdentityProvider idpToUpdate = IdPCopier.copy(idp);
 
             // Create new FederatedAuthenticatorConfig to store the federated authenticator information.
             FederatedAuthenticatorConfig authConfig = createFederatedAuthenticatorConfig(federatedAuthenticatorId,
                     authenticator);
-            FederatedAuthenticatorConfig[] fedAuthConfigs = createFederatedAuthenticatorArrayClone
-                    (federatedAuthenticatorId, idp.getFederatedAuthenticatorConfigs());
+            FederatedAuthenticatorConfig[] fedAuthConfigs = idpToUpdate.getFederatedAuthenticatorConfigs();
             int configPos = getExistingAuthConfigPosition(fedAuthConfigs, federatedAuthenticatorId);
             // If configPos != -1, modify the existing authenticatorConfig of IDP.
             if (configPos != -1) {
@@ -638,7 +700,7 @@ public class ServerIdpManagementService {
             }
             // Need to create a clone, since modifying the fields of the original object, will modify the cached
             // IDP object.
-            IdentityProvider idpToUpdate = createIdPClone(idp);
+            IdentityProvider idpToUpdate = IdPCopier.copy(idp);
             updateOutboundConnectorConfig(idpToUpdate, outboundConnectorRequest);
 
             IdentityProvider updatedIdp = IdentityProviderServiceHolder.getIdentityProviderManager()
@@ -670,12 +732,11 @@ public class ServerIdpManagementService {
                 throw handleException(Response.Status.NOT_FOUND, Constants.ErrorMessage.ERROR_CODE_IDP_NOT_FOUND,
                         idpId);
             }
-            IdentityProvider idpToUpdate = createIdPClone(idp);
+            IdentityProvider idpToUpdate = IdPCopier.copy(idp);
             ProvisioningConnectorConfig connectorConfig = createProvisioningConnectorConfig(connectorId,
                     outboundConnector);
 
-            ProvisioningConnectorConfig[] provConnectorConfigs = createProvisioningConnectorArrayClone(connectorId, idp
-                    .getProvisioningConnectorConfigs());
+            ProvisioningConnectorConfig[] provConnectorConfigs = idpToUpdate.getProvisioningConnectorConfigs();
             int configPos = getExistingProvConfigPosition(provConnectorConfigs, connectorId);
             if (configPos != -1) {
                 provConnectorConfigs[configPos] = connectorConfig;
@@ -725,7 +786,8 @@ public class ServerIdpManagementService {
                 throw handleException(Response.Status.NOT_FOUND, Constants.ErrorMessage.ERROR_CODE_IDP_NOT_FOUND,
                         idpId);
             }
-            return createClaimResponse(identityProvider.getClaimConfig());
+            return createClaimResponse(identityProvider.getClaimConfig(),
+                    new LocalClaimIndex(ContextLoader.getTenantDomainFromContext()));
 
         } catch (IdentityProviderManagementException e) {
             throw handleIdPException(e, Constants.ErrorMessage.ERROR_CODE_ERROR_RETRIEVING_IDP_CLAIMS, idpId);
@@ -749,11 +811,15 @@ public class ServerIdpManagementService {
                 throw handleException(Response.Status.NOT_FOUND, Constants.ErrorMessage.ERROR_CODE_IDP_NOT_FOUND,
                         idpId);
             }
-            updateClaims(idP, claims);
+            // Need to create a copy, since modifying the fields of the original object, will modify the cached
+            // IDP object.
+            IdentityProvider idpToUpdate = IdPCopier.copy(idP);
+            updateClaims(idpToUpdate, claims);
             IdentityProvider updatedIdP =
                     IdentityProviderServiceHolder.getIdentityProviderManager().updateIdPByResourceId(idpId,
-                            idP, ContextLoader.getTenantDomainFromContext());
-            return createClaimResponse(updatedIdP.getClaimConfig());
+                            idpToUpdate, ContextLoader.getTenantDomainFromContext());
+            return createClaimResponse(updatedIdP.getClaimConfig(),
+                    new LocalClaimIndex(ContextLoader.getTenantDomainFromContext()));
         } catch (IdentityProviderManagementException e) {
             throw handleIdPException(e, Constants.ErrorMessage.ERROR_CODE_ERROR_UPDATING_IDP_CLAIMS, idpId);
         }
@@ -798,11 +864,14 @@ public class ServerIdpManagementService {
                 throw handleException(Response.Status.NOT_FOUND, Constants.ErrorMessage.ERROR_CODE_IDP_NOT_FOUND,
                         idpId);
             }
-            updateRoles(idP, roles);
+            // Need to create a copy, since modifying the fields of the original object, will modify the cached
+            // IDP object.
+            IdentityProvider idpToUpdate = IdPCopier.copy(idP);
+            updateRoles(idpToUpdate, roles);
 
             IdentityProvider updatedIdP =
                     IdentityProviderServiceHolder.getIdentityProviderManager().updateIdPByResourceId(idpId,
-                            idP, ContextLoader.getTenantDomainFromContext());
+                            idpToUpdate, ContextLoader.getTenantDomainFromContext());
             return createRoleResponse(updatedIdP);
         } catch (IdentityProviderManagementException e) {
             throw handleIdPException(e, Constants.ErrorMessage.ERROR_CODE_ERROR_UPDATING_IDP_ROLES, idpId);
@@ -870,11 +939,14 @@ public class ServerIdpManagementService {
                 throw handleException(Response.Status.NOT_FOUND, Constants.ErrorMessage.ERROR_CODE_IDP_NOT_FOUND,
                         idpId);
             }
-            updateJIT(idP, justInTimeProvisioningConfig);
+            // Need to create a copy, since modifying the fields of the original object, will modify the cached
+            // IDP object.
+            IdentityProvider idpToUpdate = IdPCopier.copy(idP);
+            updateJIT(idpToUpdate, justInTimeProvisioningConfig);
 
             IdentityProvider updatedIdP =
                     IdentityProviderServiceHolder.getIdentityProviderManager().updateIdPByResourceId(idpId,
-                            idP, ContextLoader.getTenantDomainFromContext());
+                            idpToUpdate, ContextLoader.getTenantDomainFromContext());
             return createJITResponse(updatedIdP);
         } catch (IdentityProviderManagementException e) {
             throw handleIdPException(e, Constants.ErrorMessage.ERROR_CODE_ERROR_UPDATING_IDP_JIT, idpId);
@@ -887,11 +959,20 @@ public class ServerIdpManagementService {
      * @param resourceId    IDP resource ID.
      * @param limit         Limit parameter.
      * @param offset        Offset parameter.
+     * @param cursor        Cursor of the page, given instead of the offset.
      * @return  ConnectedApps.
      */
-    public ConnectedApps getConnectedApps(String resourceId, Integer limit, Integer offset) {
+    public ConnectedApps getConnectedApps(String resourceId, Integer limit, Integer offset, String cursor) {
 
         try {
+            PageCursor pageCursor = resolvePageCursor(cursor, offset);
+            if (pageCursor != null) {
+                int pageLimit = validateAndGetCursorLimit(limit);
+                ConnectedAppsResult connectedAppsResult = IdentityProviderServiceHolder.getIdentityProviderManager()
+                        .getConnectedApplications(resourceId, pageCursor.getWindowLimit(pageLimit),
+                                pageCursor.getWindowOffset(), ContextLoader.getTenantDomainFromContext());
+                return createConnectedAppsResponse(resourceId, connectedAppsResult, pageCursor, pageLimit);
+            }
             ConnectedAppsResult connectedAppsResult =
                     IdentityProviderServiceHolder.getIdentityProviderManager().getConnectedApplications(resourceId,
                             limit, offset, ContextLoader.getTenantDomainFromContext());
@@ -902,23 +983,68 @@ public class ServerIdpManagementService {
         }
     }
 
+    /**
+     * Get the applications connected to each identity provider of the tenant. The identity providers are streamed to
+     * the response one by one, with the connected applications resolved from the connected applications index.
+     *
+     * @return Response body, which writes a ConnectedAppsIndex.
+     */
+    public StreamingOutput getConnectedAppsIndex() {
+
+        String tenantDomain = ContextLoader.getTenantDomainFromContext();
+        Map<String, List<String>> connectedApps;
+        try {
+            connectedApps = ConnectedAppsIndex.getInstance().getConnectedApps(tenantDomain);
+        } catch (IdentityProviderManagementException e) {
+            throw handleIdPException(e, Constants.ErrorMessage.ERROR_CODE_ERROR_RETRIEVING_CONNECTED_APPS_INDEX,
+                    null);
+        }
+        List<IdentityProvider> identityProviders = getAllIdentityProviders(tenantDomain);
+        String applicationsLocation = ContextLoader.buildURIForBody(V1_API_PATH_COMPONENT + "/applications")
+                .toString();
+
+        return outputStream -> {
+            try (JsonGenerator generator = CONNECTED_APPS_INDEX_WRITER.getFactory().createGenerator(outputStream)) {
+                generator.writeStartObject();
+                generator.writeArrayFieldStart("identityProviders");
+                for (IdentityProvider identityProvider : identityProviders) {
+                    CONNECTED_APPS_INDEX_WRITER.writeValue(generator, createConnectedAppsIndexItem(identityProvider,
+                            connectedApps.get(identityProvider.getResourceId()), applicationsLocation));
+                }
+                generator.writeEndArray();
+                generator.writeEndObject();
+            }
+        };
+    }
+
     /**
      * Retrieve the list of IDP templates.
      *
      * @param limit         Items per page.
      * @param offset        Offset.
+     * @param cursor        Cursor of the page, given instead of the offset. E.g. the nextCursor of the previous page.
      * @param searchContext Search Criteria. E.g. filter="name" sw "google" and "category" eq "DEFAULT"
      * @return List of identity templates.
      */
-    public IdentityProviderTemplateListResponse getIDPTemplates(Integer limit, Integer offset, SearchContext
-            searchContext) {
+    public IdentityProviderTemplateListResponse getIDPTemplates(Integer limit, Integer offset, String cursor,
+                                                                SearchContext searchContext) {
 
         try {
+            PageCursor pageCursor = resolvePageCursor(cursor, offset);
             TemplateManager templateManager = IdentityProviderServiceHolder.getTemplateManager();
+            // The template manager does not paginate templates, so all the matching templates are retrieved and the
+            // page is taken from them, which also gives the total number of templates.
             List<Template> templateList = templateManager.listTemplates(
-                    TemplateMgtConstants.TemplateType.IDP_TEMPLATE.toString(), limit, offset, getSearchCondition
+                    TemplateMgtConstants.TemplateType.IDP_TEMPLATE.toString(), null, null, getSearchCondition
                             (TemplateMgtConstants.TemplateType.IDP_TEMPLATE.toString(), ContextLoader
                                     .getTenantDomainFromContext(), searchContext));
+            if (templateList == null) {
+                templateList = Collections.emptyList();
+            }
+            if (pageCursor != null) {
+                return createIDPTemplateListResponse(templateList, pageCursor, validateAndGetCursorLimit(limit),
+                        searchContext.getSearchExpression());
+            }
             return createIDPTemplateListResponse(templateList, offset, limit, searchContext.getSearchExpression());
         } catch (TemplateManagementException e) {
             throw handleTemplateMgtException(e, Constants.ErrorMessage.ERROR_CODE_ERROR_LISTING_IDP_TEMPLATES, null);
@@ -1094,6 +1220,7 @@ public class ServerIdpManagementService {
         try {
             Template idpTemplate = generateIDPTemplate(identityProviderTemplate);
             IdentityProviderServiceHolder.getTemplateManager().updateTemplateById(templateId, idpTemplate);
+            IdPTemplateCache.getInstance().invalidate(ContextLoader.getTenantDomainFromContext(), templateId);
         } catch (TemplateManagementException e) {
             throw handleTemplateMgtException(e, Constants.ErrorMessage.ERROR_CODE_ERROR_UPDATING_IDP_TEMPLATE,
                     identityProviderTemplate.getId());
@@ -1133,6 +1260,7 @@ public class ServerIdpManagementService {
         try {
             TemplateManager templateManager = IdentityProviderServiceHolder.getTemplateManager();
             templateManager.deleteTemplateById(templateId);
+            IdPTemplateCache.getInstance().invalidate(ContextLoader.getTenantDomainFromContext(), templateId);
         } catch (TemplateManagementException e) {
             throw handleTemplateMgtException(e, Constants.ErrorMessage.ERROR_CODE_ERROR_DELETING_IDP_TEMPLATE,
                     templateId);
@@ -1144,10 +1272,40 @@ public class ServerIdpManagementService {
     private IdentityProviderTemplateListResponse createIDPTemplateListResponse(
             List<Template> templateInfoList, Integer offset, Integer limit, String filter) {
 
+        limit = (limit == null) ? 0 : limit;
+        offset = (offset == null) ? 0 : offset;
+        int pageStart = Math.min(Math.max(offset, 0), templateInfoList.size());
+        // Without a limit, all the templates from the offset are returned.
+        int pageEnd = limit > 0 ? Math.min(templateInfoList.size(), pageStart + limit) : templateInfoList.size();
+        IdentityProviderTemplateListResponse idpTemplateListResponse = createIDPTemplateListResponse(
+                templateInfoList.subList(pageStart, pageEnd), pageStart, templateInfoList.size());
+        idpTemplateListResponse.setLinks(createLinks(V1_API_PATH_COMPONENT + IDP_PATH_COMPONENT +
+                IDP_TEMPLATE_PATH_COMPONENT, limit, offset, templateInfoList.size(), filter));
+        return idpTemplateListResponse;
+    }
+
+    private IdentityProviderTemplateListResponse createIDPTemplateListResponse(
+            List<Template> templateInfoList, PageCursor pageCursor, int limit, String filter) {
+
+        int windowOffset = Math.min(pageCursor.getWindowOffset(), templateInfoList.size());
+        List<Template> window = templateInfoList.subList(windowOffset,
+                Math.min(templateInfoList.size(), windowOffset + pageCursor.getWindowLimit(limit)));
+        int pageStart = pageCursor.getPageStart(window, Template::getTemplateId);
+        IdentityProviderTemplateListResponse idpTemplateListResponse = createIDPTemplateListResponse(
+                window.subList(pageStart, Math.min(window.size(), pageStart + limit)), windowOffset + pageStart,
+                templateInfoList.size());
+        idpTemplateListResponse.setLinks(createCursorLinks(V1_API_PATH_COMPONENT + IDP_PATH_COMPONENT +
+                IDP_TEMPLATE_PATH_COMPONENT, idpTemplateListResponse.getNextCursor(), limit, filter));
+        return idpTemplateListResponse;
+    }
+
+    private IdentityProviderTemplateListResponse createIDPTemplateListResponse(List<Template> templates, int offset,
+                                                                               int total) {
+
         IdentityProviderTemplateListResponse idpTemplateListResponse = new IdentityProviderTemplateListResponse();
-        if (!CollectionUtils.isEmpty(templateInfoList)) {
+        if (!CollectionUtils.isEmpty(templates)) {
             List<IdentityProviderTemplateListItem> idpTemplates = new ArrayList<>();
-            for (Template idpTemplate: templateInfoList) {
+            for (Template idpTemplate: templates) {
                 IdentityProviderTemplateListItem idpTemplateListItem = new IdentityProviderTemplateListItem();
                 idpTemplateListItem.setId(idpTemplate.getTemplateId());
                 idpTemplateListItem.setDescription(idpTemplate.getDescription());
@@ -1181,12 +1339,12 @@ public class ServerIdpManagementService {
         } else {
             idpTemplateListResponse.setCount(0);
         }
-        limit = (limit == null) ? 0 : limit;
-        offset = (offset == null) ? 0 : offset;
-        idpTemplateListResponse.setTotalResults(templateInfoList.size());
+        idpTemplateListResponse.setTotalResults(total);
         idpTemplateListResponse.setStartIndex(offset + 1);
-        idpTemplateListResponse.setLinks(createLinks(V1_API_PATH_COMPONENT + IDP_TEMPLATE_PATH_COMPONENT,
-                limit, offset, templateInfoList.size(), filter));
+        if (CollectionUtils.isNotEmpty(templates) && offset + templates.size() < total) {
+            idpTemplateListResponse.setNextCursor(new PageCursor(offset + templates.size(),
+                    templates.get(templates.size() - 1).getTemplateId()).encode());
+        }
         return idpTemplateListResponse;
     }
 
@@ -1210,10 +1368,9 @@ public class ServerIdpManagementService {
                     Integer.valueOf(idpTemplate.getPropertiesMap().get(PROP_DISPLAY_ORDER)));
         }
         if (idpTemplate.getTemplateScript() != null) {
-            ObjectMapper mapper = new ObjectMapper();
-            IdentityProviderPOSTRequest idp = mapper.readValue(idpTemplate.getTemplateScript(),
-                    IdentityProviderPOSTRequest.class);
-            idpTemplateResponse.setIdp(idp);
+            idpTemplateResponse.setIdp(IdPTemplateCache.getInstance().getIdP(
+                    ContextLoader.getTenantDomainFromContext(), idpTemplate.getTemplateId(),
+                    idpTemplate.getTemplateScript()));
         }
         return idpTemplateResponse;
     }
@@ -1299,19 +1456,46 @@ public class ServerIdpManagementService {
 
     private String createIDPTemplateScript(IdentityProviderPOSTRequest idpTemplate) throws JsonProcessingException {
 
-        ObjectMapper mapper = new ObjectMapper();
-        return mapper.writeValueAsString(idpTemplate);
+        return IdPTemplateCache.getInstance().createTemplateScript(idpTemplate);
     }
 
     private ConnectedApps createConnectedAppsResponse(String resourceId, ConnectedAppsResult connectedAppsResult) {
 
-        ConnectedApps connectedAppsResponse = new ConnectedApps();
         if (connectedAppsResult == null) {
-            return connectedAppsResponse;
+            return new ConnectedApps();
         }
+        ConnectedApps connectedAppsResponse = createConnectedAppsResponse(connectedAppsResult.getApps(),
+                connectedAppsResult.getOffSet(), connectedAppsResult.getTotalAppCount());
+        connectedAppsResponse.setLinks(createLinks(V1_API_PATH_COMPONENT + IDP_PATH_COMPONENT +
+                        Constants.PATH_SEPERATOR + resourceId + "/connected-apps", connectedAppsResult.getLimit(),
+                connectedAppsResult.getOffSet(), connectedAppsResult.getTotalAppCount(), null));
+        return connectedAppsResponse;
+    }
+
+    private ConnectedApps createConnectedAppsResponse(String resourceId, ConnectedAppsResult connectedAppsResult,
+                                                      PageCursor pageCursor, int limit) {
+
+        if (connectedAppsResult == null) {
+            return new ConnectedApps();
+        }
+        List<String> window = connectedAppsResult.getApps() != null ? connectedAppsResult.getApps() :
+                Collections.emptyList();
+        int pageStart = pageCursor.getPageStart(window, Function.identity());
+        ConnectedApps connectedAppsResponse = createConnectedAppsResponse(
+                window.subList(pageStart, Math.min(window.size(), pageStart + limit)),
+                pageCursor.getWindowOffset() + pageStart, connectedAppsResult.getTotalAppCount());
+        connectedAppsResponse.setLinks(createCursorLinks(V1_API_PATH_COMPONENT + IDP_PATH_COMPONENT +
+                        Constants.PATH_SEPERATOR + resourceId + "/connected-apps",
+                connectedAppsResponse.getNextCursor(), limit, null));
+        return connectedAppsResponse;
+    }
+
+    private ConnectedApps createConnectedAppsResponse(List<String> apps, int offset, int total) {
+
+        ConnectedApps connectedAppsResponse = new ConnectedApps();
         List<ConnectedApp> connectedAppList = new ArrayList<>();
-        if (CollectionUtils.isNotEmpty(connectedAppsResult.getApps())) {
-            for (String app : connectedAppsResult.getApps()) {
+        if (CollectionUtils.isNotEmpty(apps)) {
+            for (String app : apps) {
                 ConnectedApp listItem = new ConnectedApp();
                 listItem.setAppId(app);
                 listItem.setSelf(ContextLoader.buildURIForBody(String.format(V1_API_PATH_COMPONENT +
@@ -1324,11 +1508,12 @@ public class ServerIdpManagementService {
             connectedAppsResponse.setCount(0);
         }
 
-        connectedAppsResponse.setTotalResults(connectedAppsResult.getTotalAppCount());
-        connectedAppsResponse.setStartIndex(connectedAppsResult.getOffSet() + 1);
-        connectedAppsResponse.setLinks(createLinks(V1_API_PATH_COMPONENT + IDP_PATH_COMPONENT +
-                        Constants.PATH_SEPERATOR + resourceId + "/connected-apps", connectedAppsResult.getLimit(),
-                connectedAppsResult.getOffSet(), connectedAppsResult.getTotalAppCount(), null));
+        connectedAppsResponse.setTotalResults(total);
+        connectedAppsResponse.setStartIndex(offset + 1);
+        if (CollectionUtils.isNotEmpty(apps) && offset + apps.size() < total) {
+            connectedAppsResponse.setNextCursor(new PageCursor(offset + apps.size(), apps.get(apps.size() - 1))
+                    .encode());
+        }
         return connectedAppsResponse;
     }
 
@@ -1434,19 +1619,12 @@ public class ServerIdpManagementService {
     private String getDisplayNameOfAuthenticator(String authenticatorName) {
 
         try {
-            FederatedAuthenticatorConfig[] authenticatorConfigs =
-                    IdentityProviderServiceHolder.getIdentityProviderManager()
-                            .getAllFederatedAuthenticators();
-            for (FederatedAuthenticatorConfig config : authenticatorConfigs) {
-
-                if (StringUtils.equals(config.getName(), authenticatorName)) {
-                    return config.getDisplayName();
-                }
-            }
+            FederatedAuthenticatorConfig config =
+                    IdPMetadataRegistry.getInstance().getFederatedAuthenticator(authenticatorName);
+            return config != null ? config.getDisplayName() : null;
         } catch (IdentityProviderManagementException e) {
             throw handleIdPException(e, Constants.ErrorMessage.ERROR_CODE_ERROR_ADDING_IDP, null);
         }
-        return null;
     }
 
     private void updateOutboundConnectorConfig(IdentityProvider idp,
@@ -1461,6 +1639,8 @@ public class ServerIdpManagementService {
                 ProvisioningConnectorConfig connectorConfig = new ProvisioningConnectorConfig();
                 connectorConfig.setName(base64URLDecode(connector.getConnectorId()));
                 connectorConfig.setEnabled(connector.getIsEnabled());
+                connectorConfig.setBlocking(connector.getBlockingEnabled());
+                connectorConfig.setRulesEnabled(connector.getRulesEnabled());
 
                 if (connector.getProperties() != null) {
                     List<Property> properties = connector.getProperties().stream()
@@ -1672,15 +1852,49 @@ public class ServerIdpManagementService {
     }
 
     private IdentityProviderListResponse createIDPListResponse(IdpSearchResult idpSearchResult,
-                                                               List<String> requestedAttributeList) {
+                                                               IdPListProjection projection) {
+
+        IdentityProviderListResponse listResponse = createIDPListResponse(idpSearchResult.getIdPs(),
+                idpSearchResult.getOffSet(), idpSearchResult.getTotalIDPCount(), projection);
+        listResponse.setLinks(createLinks(V1_API_PATH_COMPONENT + IDP_PATH_COMPONENT, idpSearchResult
+                        .getLimit(), idpSearchResult.getOffSet(), idpSearchResult.getTotalIDPCount(), idpSearchResult
+                .getFilter()));
+        return listResponse;
+    }
+
+    private IdentityProviderListResponse createIDPListResponse(IdpSearchResult idpSearchResult, PageCursor pageCursor,
+                                                               int limit, String filter,
+                                                               IdPListProjection projection) {
+
+        List<IdentityProvider> window = idpSearchResult.getIdPs() != null ? idpSearchResult.getIdPs() :
+                Collections.emptyList();
+        int pageStart = pageCursor.getPageStart(window, IdentityProvider::getResourceId);
+        IdentityProviderListResponse listResponse = createIDPListResponse(
+                window.subList(pageStart, Math.min(window.size(), pageStart + limit)),
+                pageCursor.getWindowOffset() + pageStart, idpSearchResult.getTotalIDPCount(), projection);
+        listResponse.setLinks(createCursorLinks(V1_API_PATH_COMPONENT + IDP_PATH_COMPONENT,
+                listResponse.getNextCursor(), limit, filter));
+        return listResponse;
+    }
+
+    private IdentityProviderListResponse createIDPListResponse(List<IdentityProvider> idps, int offset, int total,
+                                                               IdPListProjection projection) {
 
-        List<IdentityProvider> idps = idpSearchResult.getIdPs();
         IdentityProviderListResponse listResponse = new IdentityProviderListResponse();
         if (CollectionUtils.isNotEmpty(idps)) {
-            List<IdentityProviderListItem> identityProviderList = new ArrayList<>();
-            for (IdentityProvider idp : idps) {
-                IdentityProviderListItem listItem = populateIDPListResponse(idp, requestedAttributeList);
-                identityProviderList.add(listItem);
+            // Lookups shared by the IdPs are resolved at most once for the whole page. Local claims are fetched only
+            // if claims are requested.
+            LocalClaimIndex localClaimIndex = new LocalClaimIndex(ContextLoader.getTenantDomainFromContext());
+            String idpLocation = ContextLoader.buildURIForBody(V1_API_PATH_COMPONENT + IDP_PATH_COMPONENT).toString();
+            List<IdentityProviderListItem> identityProviderList;
+            if (projection.hasNestedAttributes() && idps.size() >= IDP_LIST_PARALLEL_RENDERING_THRESHOLD) {
+                identityProviderList = populateIDPListResponseInParallel(idps, projection, idpLocation,
+                        localClaimIndex);
+            } else {
+                identityProviderList = new ArrayList<>();
+                for (IdentityProvider idp : idps) {
+                    identityProviderList.add(populateIDPListResponse(idp, projection, idpLocation, localClaimIndex));
+                }
             }
             listResponse.setIdentityProviders(identityProviderList);
             listResponse.setCount(idps.size());
@@ -1688,16 +1902,359 @@ public class ServerIdpManagementService {
             listResponse.setCount(0);
         }
 
-        listResponse.setTotalResults(idpSearchResult.getTotalIDPCount());
-        listResponse.setStartIndex(idpSearchResult.getOffSet() + 1);
-        listResponse.setLinks(createLinks(V1_API_PATH_COMPONENT + IDP_PATH_COMPONENT, idpSearchResult
-                        .getLimit(), idpSearchResult.getOffSet(), idpSearchResult.getTotalIDPCount(), idpSearchResult
-                .getFilter()));
+        listResponse.setTotalResults(total);
+        listResponse.setStartIndex(offset + 1);
+        if (CollectionUtils.isNotEmpty(idps) && offset + idps.size() < total) {
+            listResponse.setNextCursor(new PageCursor(offset + idps.size(), idps.get(idps.size() - 1).getResourceId())
+                    .encode());
+        }
         return listResponse;
     }
 
-    private IdentityProviderListItem populateIDPListResponse(IdentityProvider idp,
-                                                             List<String> requestedAttributeList) {
+    /**
+     * Render the IdPs of a page on the rendering workers, preserving the order of the IdPs. The workers run in the
+     * tenant flow of the request, so that the nested attributes are rendered as in the request thread.
+     */
+    private List<IdentityProviderListItem> populateIDPListResponseInParallel(List<IdentityProvider> idps,
+                                                                             IdPListProjection projection,
+                                                                             String idpLocation,
+                                                                             LocalClaimIndex localClaimIndex) {
+
+        String tenantDomain = ContextLoader.getTenantDomainFromContext();
+        String username = ContextLoader.getUsernameFromContext();
+        List<Future<IdentityProviderListItem>> renderedIdPs = new ArrayList<>(idps.size());
+        try {
+            for (IdentityProvider idp : idps) {
+                renderedIdPs.add(IDP_LIST_RENDERING_EXECUTOR.submit(() -> Util.runInTenantFlow(tenantDomain, username,
+                        () -> populateIDPListResponse(idp, projection, idpLocation, localClaimIndex))));
+            }
+            List<IdentityProviderListItem> identityProviderList = new ArrayList<>(idps.size());
+            for (Future<IdentityProviderListItem> renderedIdP : renderedIdPs) {
+                identityProviderList.add(getRenderedIdP(renderedIdP));
+            }
+            return identityProviderList;
+        } finally {
+            // No-op for the completed IdPs. Stops rendering the rest of the page if an IdP failed.
+            for (Future<IdentityProviderListItem> renderedIdP : renderedIdPs) {
+                renderedIdP.cancel(true);
+            }
+        }
+    }
+
+    private IdentityProviderListItem getRenderedIdP(Future<IdentityProviderListItem> renderedIdP) {
+
+        try {
+            return renderedIdP.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw handleException(Response.Status.INTERNAL_SERVER_ERROR,
+                    Constants.ErrorMessage.ERROR_CODE_ERROR_LISTING_IDPS, null);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof APIError) {
+                throw (APIError) e.getCause();
+            }
+            Constants.ErrorMessage errorEnum = Constants.ErrorMessage.ERROR_CODE_ERROR_LISTING_IDPS;
+            throw new APIError(Response.Status.INTERNAL_SERVER_ERROR,
+                    getErrorBuilder(errorEnum, null).build(log, e, errorEnum.getDescription()));
+        }
+    }
+
+    private IdentityProvider addIdentityProvider(IdentityProviderPOSTRequest identityProviderPOSTRequest) {
+
+        try {
+            return IdentityProviderServiceHolder.getIdentityProviderManager().addIdPWithResourceId(
+                    createIDP(identityProviderPOSTRequest), ContextLoader.getTenantDomainFromContext());
+        } catch (IdentityProviderManagementException e) {
+            throw handleIdPException(e, Constants.ErrorMessage.ERROR_CODE_ERROR_ADDING_IDP, null);
+        }
+    }
+
+    private IdentityProvider patchIdentityProvider(String identityProviderId, List<Patch> patchRequest,
+                                                   LocalClaimIndex localClaimIndex) {
+
+        try {
+            IdentityProvider identityProvider =
+                    IdentityProviderServiceHolder.getIdentityProviderManager().getIdPByResourceId(identityProviderId,
+                            ContextLoader.getTenantDomainFromContext(), true);
+            if (identityProvider == null) {
+                throw handleException(Response.Status.NOT_FOUND, Constants.ErrorMessage.ERROR_CODE_IDP_NOT_FOUND,
+                        identityProviderId);
+            }
+            IdentityProvider idpToUpdate = IdPCopier.copy(identityProvider);
+            processPatchRequest(patchRequest, idpToUpdate, localClaimIndex);
+            return IdentityProviderServiceHolder.getIdentityProviderManager()
+                    .updateIdPByResourceId(identityProviderId, idpToUpdate,
+                            ContextLoader.getTenantDomainFromContext());
+        } catch (IdentityProviderManagementException e) {
+            throw handleIdPException(e, Constants.ErrorMessage.ERROR_CODE_ERROR_RETRIEVING_IDP, identityProviderId);
+        }
+    }
+
+    private List<IdentityProvider> getAllIdentityProviders(String tenantDomain) {
+
+        List<IdentityProvider> identityProviders = new ArrayList<>();
+        int pageSize = IdentityUtil.getMaximumItemPerPage();
+        try {
+            IdpSearchResult idpSearchResult;
+            do {
+                idpSearchResult = IdentityProviderServiceHolder.getIdentityProviderManager().getIdPs(pageSize,
+                        identityProviders.size(), null, null, null, tenantDomain, null);
+                if (CollectionUtils.isEmpty(idpSearchResult.getIdPs())) {
+                    break;
+                }
+                identityProviders.addAll(idpSearchResult.getIdPs());
+            } while (identityProviders.size() < idpSearchResult.getTotalIDPCount());
+        } catch (IdentityProviderManagementException e) {
+            throw handleIdPException(e, Constants.ErrorMessage.ERROR_CODE_ERROR_LISTING_IDPS, null);
+        }
+        return identityProviders;
+    }
+
+    private ConnectedAppsIndexItem createConnectedAppsIndexItem(IdentityProvider identityProvider,
+                                                                List<String> appIds, String applicationsLocation) {
+
+        List<ConnectedApp> connectedApps = new ArrayList<>();
+        if (appIds != null) {
+            for (String appId : appIds) {
+                ConnectedApp connectedApp = new ConnectedApp();
+                connectedApp.setAppId(appId);
+                connectedApp.setSelf(applicationsLocation + "/" + appId);
+                connectedApps.add(connectedApp);
+            }
+        }
+        return new ConnectedAppsIndexItem()
+                .id(identityProvider.getResourceId())
+                .name(identityProvider.getIdentityProviderName())
+                .connectedApps(connectedApps);
+    }
+
+    private IdentityProviderBulkOperationResult performBulkOperation(IdentityProviderBulkOperation operation,
+                                                                     BulkRequestContext context) {
+
+        IdentityProviderBulkOperationResult result = new IdentityProviderBulkOperationResult()
+                .method(String.valueOf(operation.getMethod()))
+                .bulkId(operation.getBulkId());
+        try {
+            if (!context.isAuthorized(operation.getMethod())) {
+                throw handleException(Response.Status.FORBIDDEN,
+                        Constants.ErrorMessage.ERROR_CODE_BULK_OPERATION_NOT_AUTHORIZED, getBulkOperationId(operation));
+            }
+            if (operation.getMethod() == IdentityProviderBulkOperation.MethodEnum.POST) {
+                if (operation.getData() == null) {
+                    throw buildBulkOperationException(operation, "Data is required.");
+                }
+                IdentityProvider identityProvider = addIdentityProvider(operation.getData());
+                return result.status(Response.Status.CREATED.getStatusCode())
+                        .location(context.getIdPLocation(identityProvider.getResourceId()));
+            }
+
+            String identityProviderId = getBulkOperationTarget(operation);
+            if (identityProviderId == null) {
+                throw buildBulkOperationException(operation, "Path is not a valid identity provider path.");
+            }
+            if (operation.getMethod() == IdentityProviderBulkOperation.MethodEnum.PATCH) {
+                if (CollectionUtils.isEmpty(operation.getPatchOperations())) {
+                    throw buildBulkOperationException(operation, "Patch operations are required.");
+                }
+                patchIdentityProvider(identityProviderId, operation.getPatchOperations(),
+                        context.getLocalClaimIndex());
+                return result.status(Response.Status.OK.getStatusCode())
+                        .location(context.getIdPLocation(identityProviderId));
+            }
+            deleteIDP(identityProviderId);
+            return result.status(Response.Status.NO_CONTENT.getStatusCode());
+        } catch (APIError e) {
+            context.recordFailure();
+            return result.status(e.getStatus().getStatusCode()).response(createBulkErrorResponse(e));
+        } catch (RuntimeException e) {
+            // An unexpected failure of an operation does not fail the rest of the operations.
+            context.recordFailure();
+            Constants.ErrorMessage errorEnum = Constants.ErrorMessage.ERROR_CODE_ERROR_PROCESSING_BULK_REQUEST;
+            APIError error = new APIError(Response.Status.INTERNAL_SERVER_ERROR,
+                    getErrorBuilder(errorEnum, null).build(log, e, errorEnum.getDescription()));
+            return result.status(error.getStatus().getStatusCode()).response(createBulkErrorResponse(error));
+        }
+    }
+
+    /**
+     * Get the ID of the identity provider of a bulk operation from its path.
+     *
+     * @param operation Bulk operation.
+     * @return Identity provider ID, or null if the path is not an identity provider path.
+     */
+    private String getBulkOperationTarget(IdentityProviderBulkOperation operation) {
+
+        String pathPrefix = IDP_PATH_COMPONENT + Constants.PATH_SEPERATOR;
+        String path = operation.getPath();
+        if (path == null || !path.startsWith(pathPrefix)) {
+            return null;
+        }
+        String identityProviderId = path.substring(pathPrefix.length());
+        if (identityProviderId.isEmpty() || identityProviderId.contains(Constants.PATH_SEPERATOR)) {
+            return null;
+        }
+        return identityProviderId;
+    }
+
+    private void waitForBulkOperations(Future<?> performedGroup) {
+
+        try {
+            performedGroup.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw handleException(Response.Status.INTERNAL_SERVER_ERROR,
+                    Constants.ErrorMessage.ERROR_CODE_ERROR_PROCESSING_BULK_REQUEST, null);
+        } catch (ExecutionException e) {
+            Constants.ErrorMessage errorEnum = Constants.ErrorMessage.ERROR_CODE_ERROR_PROCESSING_BULK_REQUEST;
+            throw new APIError(Response.Status.INTERNAL_SERVER_ERROR,
+                    getErrorBuilder(errorEnum, null).build(log, e, errorEnum.getDescription()));
+        }
+    }
+
+    private org.wso2.carbon.identity.api.server.idp.v1.model.Error createBulkErrorResponse(APIError error) {
+
+        ErrorDTO errorResponse = error.getResponseEntity();
+        return new org.wso2.carbon.identity.api.server.idp.v1.model.Error()
+                .code(errorResponse.getCode())
+                .message(errorResponse.getMessage())
+                .description(errorResponse.getDescription())
+                .traceId(errorResponse.getRef());
+    }
+
+    private IdentityProviderBulkOperationResult buildNotPerformedResult(IdentityProviderBulkOperation operation) {
+
+        APIError error = handleException(Response.Status.PRECONDITION_FAILED,
+                Constants.ErrorMessage.ERROR_CODE_BULK_OPERATION_NOT_PERFORMED, getBulkOperationId(operation));
+        return new IdentityProviderBulkOperationResult()
+                .method(String.valueOf(operation.getMethod()))
+                .bulkId(operation.getBulkId())
+                .status(error.getStatus().getStatusCode())
+                .response(createBulkErrorResponse(error));
+    }
+
+    /**
+     * Get the operation types of a bulk request which the caller is authorized to perform. The permission of each
+     * operation type is checked once for the whole request.
+     *
+     * @param operations Operations of the bulk request.
+     * @param username   Username of the caller.
+     * @return Authorized operation types.
+     */
+    private Set<IdentityProviderBulkOperation.MethodEnum> getAuthorizedBulkMethods(
+            List<IdentityProviderBulkOperation> operations, String username) {
+
+        Set<IdentityProviderBulkOperation.MethodEnum> authorizedMethods =
+                EnumSet.noneOf(IdentityProviderBulkOperation.MethodEnum.class);
+        try {
+            AuthorizationManager authorizationManager =
+                    CarbonContext.getThreadLocalCarbonContext().getUserRealm().getAuthorizationManager();
+            for (IdentityProviderBulkOperation operation : operations) {
+                IdentityProviderBulkOperation.MethodEnum method = operation.getMethod();
+                if (method != null && !authorizedMethods.contains(method) &&
+                        authorizationManager.isUserAuthorized(username, getBulkOperationPermission(method),
+                                Constants.UI_EXECUTE)) {
+                    authorizedMethods.add(method);
+                }
+            }
+        } catch (UserStoreException e) {
+            Constants.ErrorMessage errorEnum = Constants.ErrorMessage.ERROR_CODE_ERROR_PROCESSING_BULK_REQUEST;
+            throw new APIError(Response.Status.INTERNAL_SERVER_ERROR,
+                    getErrorBuilder(errorEnum, null).build(log, e, errorEnum.getDescription()));
+        }
+        return authorizedMethods;
+    }
+
+    private String getBulkOperationPermission(IdentityProviderBulkOperation.MethodEnum method) {
+
+        switch (method) {
+            case POST:
+                return Constants.IDP_CREATE_PERMISSION;
+            case PATCH:
+                return Constants.IDP_UPDATE_PERMISSION;
+            default:
+                return Constants.IDP_DELETE_PERMISSION;
+        }
+    }
+
+    private APIError buildBulkOperationException(IdentityProviderBulkOperation operation, String reason) {
+
+        return handleException(Response.Status.BAD_REQUEST, Constants.ErrorMessage.ERROR_CODE_INVALID_BULK_OPERATION,
+                getBulkOperationId(operation) + ". " + reason);
+    }
+
+    private String getBulkOperationId(IdentityProviderBulkOperation operation) {
+
+        return operation.getBulkId() != null ? operation.getBulkId() : operation.getMethod() + " " +
+                StringUtils.defaultString(operation.getPath());
+    }
+
+    /**
+     * State shared by the operations of a bulk request.
+     */
+    private static class BulkRequestContext {
+
+        private final Integer failOnErrors;
+        private final Set<IdentityProviderBulkOperation.MethodEnum> authorizedMethods;
+        private final LocalClaimIndex localClaimIndex;
+        private final String idpLocation;
+        private final AtomicInteger failureCount = new AtomicInteger();
+
+        BulkRequestContext(Integer failOnErrors, Set<IdentityProviderBulkOperation.MethodEnum> authorizedMethods,
+                           LocalClaimIndex localClaimIndex, String idpLocation) {
+
+            this.failOnErrors = failOnErrors;
+            this.authorizedMethods = authorizedMethods;
+            this.localClaimIndex = localClaimIndex;
+            this.idpLocation = idpLocation;
+        }
+
+        boolean isAuthorized(IdentityProviderBulkOperation.MethodEnum method) {
+
+            return authorizedMethods.contains(method);
+        }
+
+        LocalClaimIndex getLocalClaimIndex() {
+
+            return localClaimIndex;
+        }
+
+        String getIdPLocation(String identityProviderId) {
+
+            return idpLocation + Constants.PATH_SEPERATOR + identityProviderId;
+        }
+
+        void recordFailure() {
+
+            failureCount.incrementAndGet();
+        }
+
+        /**
+         * Whether the failed operations reached the limit of the request, after which no more operations are
+         * performed. Operations which are already being performed are completed.
+         */
+        boolean isFailed() {
+
+            return failOnErrors != null && failureCount.get() >= failOnErrors;
+        }
+    }
+
+    private static ExecutorService createWorkerExecutor(String threadNamePrefix, int workerCount, int queueSize) {
+
+        AtomicInteger threadCount = new AtomicInteger();
+        // Tasks fall back to the request thread when the workers are busy, instead of failing the request.
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(workerCount, workerCount,
+                IDP_LIST_RENDERING_WORKER_KEEP_ALIVE_TIME, TimeUnit.MILLISECONDS, new LinkedBlockingQueue<>(queueSize),
+                runnable -> {
+                    Thread thread = new Thread(runnable, threadNamePrefix + threadCount.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                }, new ThreadPoolExecutor.CallerRunsPolicy());
+        executor.allowCoreThreadTimeOut(true);
+        return executor;
+    }
+
+    private IdentityProviderListItem populateIDPListResponse(IdentityProvider idp, IdPListProjection projection,
+                                                             String idpLocation, LocalClaimIndex localClaimIndex) {
 
         IdentityProviderListItem identityProviderListItem = new IdentityProviderListItem();
         // Create IDP basic information.
@@ -1706,43 +2263,35 @@ public class ServerIdpManagementService {
         identityProviderListItem.setDescription(idp.getIdentityProviderDescription());
         identityProviderListItem.setIsEnabled(idp.isEnable());
         identityProviderListItem.setImage(idp.getImageUrl());
-        identityProviderListItem.setSelf(
-                ContextLoader.buildURIForBody(String.format(V1_API_PATH_COMPONENT + IDP_PATH_COMPONENT + "/%s",
-                        idp.getResourceId())).toString());
+        identityProviderListItem.setSelf(idpLocation + "/" + idp.getResourceId());
 
         // Populate optional IDP information if exists.
-        if (requestedAttributeList != null) {
-            for (String requestedAttribute : requestedAttributeList) {
-                switch (requestedAttribute) {
-                    case Constants.IS_PRIMARY:
-                        identityProviderListItem.setIsPrimary(idp.isPrimary());
-                        break;
-                    case Constants.IS_FEDERATION_HUB:
-                        identityProviderListItem.setIsFederationHub(idp.isFederationHub());
-                        break;
-                    case Constants.HOME_REALM_IDENTIFIER:
-                        identityProviderListItem.setHomeRealmIdentifier(idp.getHomeRealmId());
-                        break;
-                    case Constants.CERTIFICATE:
-                        identityProviderListItem.setCertificate(createIDPCertificate(idp));
-                        break;
-                    case Constants.ALIAS:
-                        identityProviderListItem.setAlias(idp.getAlias());
-                        break;
-                    case Constants.CLAIMS:
-                        identityProviderListItem.setClaims(createClaimResponse(idp.getClaimConfig()));
-                        break;
-                    case Constants.ROLES:
-                        identityProviderListItem.setRoles(createRoleResponse(idp));
-                        break;
-                    case Constants.FEDERATED_AUTHENTICATORS:
-                        identityProviderListItem.setFederatedAuthenticators(createFederatedAuthenticatorResponse(idp));
-                        break;
-                    case Constants.PROVISIONING:
-                        identityProviderListItem.setProvisioning(createProvisioningResponse(idp));
-                        break;
-                }
-            }
+        if (projection.includes(IdPListProjection.Attribute.IS_PRIMARY)) {
+            identityProviderListItem.setIsPrimary(idp.isPrimary());
+        }
+        if (projection.includes(IdPListProjection.Attribute.IS_FEDERATION_HUB)) {
+            identityProviderListItem.setIsFederationHub(idp.isFederationHub());
+        }
+        if (projection.includes(IdPListProjection.Attribute.HOME_REALM_IDENTIFIER)) {
+            identityProviderListItem.setHomeRealmIdentifier(idp.getHomeRealmId());
+        }
+        if (projection.includes(IdPListProjection.Attribute.CERTIFICATE)) {
+            identityProviderListItem.setCertificate(createIDPCertificate(idp));
+        }
+        if (projection.includes(IdPListProjection.Attribute.ALIAS)) {
+            identityProviderListItem.setAlias(idp.getAlias());
+        }
+        if (projection.includes(IdPListProjection.Attribute.CLAIMS)) {
+            identityProviderListItem.setClaims(createClaimResponse(idp.getClaimConfig(), localClaimIndex));
+        }
+        if (projection.includes(IdPListProjection.Attribute.ROLES)) {
+            identityProviderListItem.setRoles(createRoleResponse(idp));
+        }
+        if (projection.includes(IdPListProjection.Attribute.FEDERATED_AUTHENTICATORS)) {
+            identityProviderListItem.setFederatedAuthenticators(createFederatedAuthenticatorResponse(idp));
+        }
+        if (projection.includes(IdPListProjection.Attribute.PROVISIONING)) {
+            identityProviderListItem.setProvisioning(createProvisioningResponse(idp));
         }
         return identityProviderListItem;
     }
@@ -1797,12 +2346,88 @@ public class ServerIdpManagementService {
         return new Link().rel(rel).href(ContextLoader.buildURIForBody((url.toString())).toString());
     }
 
+    /**
+     * Create the links of a page retrieved by a cursor. Cursors only move forward, so only the next link is created.
+     */
+    private List<Link> createCursorLinks(String url, String nextCursor, int limit, String filter) {
+
+        List<Link> links = new ArrayList<>();
+        if (nextCursor == null) {
+            return links;
+        }
+        StringBuilder nextUrl = new StringBuilder(url);
+        if (StringUtils.isNotBlank(filter)) {
+            try {
+                nextUrl.append(String.format(Constants.CURSOR_PAGINATION_WITH_FILTER_LINK_FORMAT, nextCursor, limit,
+                        URLEncoder.encode(filter, StandardCharsets.UTF_8.name())));
+            } catch (UnsupportedEncodingException e) {
+                throw handleException(Response.Status.INTERNAL_SERVER_ERROR, Constants.ErrorMessage
+                        .ERROR_CODE_BUILDING_LINKS, "Unable to url-encode filter: " + filter);
+            }
+        } else {
+            nextUrl.append(String.format(Constants.CURSOR_PAGINATION_LINK_FORMAT, nextCursor, limit));
+        }
+        links.add(new Link().rel(Constants.PAGE_LINK_REL_NEXT).href(ContextLoader.buildURIForBody(nextUrl.toString())
+                .toString()));
+        return links;
+    }
+
+    /**
+     * Resolve the cursor of a list request.
+     *
+     * @param cursor Cursor given in the request.
+     * @param offset Offset given in the request.
+     * @return Cursor, or null if the page is requested by the offset.
+     */
+    private PageCursor resolvePageCursor(String cursor, Integer offset) {
+
+        if (cursor == null) {
+            return null;
+        }
+        if (offset != null) {
+            throw handleException(Response.Status.BAD_REQUEST, Constants.ErrorMessage.ERROR_CODE_INVALID_PAGE_CURSOR,
+                    "Offset and cursor cannot be used together.");
+        }
+        PageCursor pageCursor = PageCursor.decode(cursor);
+        if (pageCursor == null) {
+            throw handleException(Response.Status.BAD_REQUEST, Constants.ErrorMessage.ERROR_CODE_INVALID_PAGE_CURSOR,
+                    "Cursor is malformed.");
+        }
+        return pageCursor;
+    }
+
+    /**
+     * Get the number of items of a page requested with a cursor, which leaves room in the retrieved window for the
+     * items around the anchor of the cursor.
+     *
+     * @param limit Limit given in the request.
+     * @return Number of items of the page.
+     */
+    private int validateAndGetCursorLimit(Integer limit) {
+
+        return PageCursor.getPageLimit(validateAndGetLimit(limit), IdentityUtil.getMaximumItemPerPage());
+    }
+
+    private int validateAndGetLimit(Integer limit) {
+
+        if (limit == null || limit <= 0) {
+            return IdentityUtil.getDefaultItemsPerPage();
+        }
+        return Math.min(limit, IdentityUtil.getMaximumItemPerPage());
+    }
+
     private IdentityProviderResponse createIDPResponse(IdentityProvider identityProvider) {
 
+        return createIDPResponse(identityProvider, new LocalClaimIndex(ContextLoader.getTenantDomainFromContext()));
+    }
+
+    private IdentityProviderResponse createIDPResponse(IdentityProvider identityProvider,
+                                                       LocalClaimIndex localClaimIndex) {
+
         IdentityProviderResponse idpResponse = new IdentityProviderResponse();
         populateIDPBasicInfo(idpResponse, identityProvider);
         idpResponse.setCertificate(createIDPCertificate(identityProvider));
-        idpResponse.setClaims(createClaimResponse(identityProvider.getClaimConfig()));
+        idpResponse.setClaims(createClaimResponse(identityProvider.getClaimConfig(), localClaimIndex));
         idpResponse.setRoles(createRoleResponse(identityProvider));
         idpResponse.setFederatedAuthenticators(createFederatedAuthenticatorResponse(identityProvider));
         idpResponse.setProvisioning(createProvisioningResponse(identityProvider));
@@ -1842,7 +2467,7 @@ public class ServerIdpManagementService {
         return certificate;
     }
 
-    private Claims createClaimResponse(ClaimConfig claimConfig) {
+    private Claims createClaimResponse(ClaimConfig claimConfig, LocalClaimIndex localClaimIndex) {
 
         Claims apiClaims = new Claims();
         List<org.wso2.carbon.identity.api.server.idp.v1.model.ClaimMapping> apiMappings = new ArrayList<>();
@@ -1857,7 +2482,8 @@ public class ServerIdpManagementService {
                     Claim localClaim = new Claim();
                     localClaim.setId(base64URLEncode(mapping.getLocalClaim().getClaimUri()));
                     localClaim.setUri(mapping.getLocalClaim().getClaimUri());
-                    localClaim.setDisplayName(getDisplayNameOfLocalClaim(mapping.getLocalClaim().getClaimUri()));
+                    localClaim.setDisplayName(getDisplayNameOfLocalClaim(mapping.getLocalClaim().getClaimUri(),
+                            localClaimIndex));
                     apiMapping.setLocalClaim(localClaim);
                     // As the provisioning claims are added as claim mappings without any remote claim internally, we
                     // need to validate this here.
@@ -1874,7 +2500,8 @@ public class ServerIdpManagementService {
                         } else {
                             provClaim.setId(base64URLEncode(mapping.getLocalClaim().getClaimUri()));
                             provClaim.setUri(mapping.getLocalClaim().getClaimUri());
-                            provClaim.setDisplayName(getDisplayNameOfLocalClaim(mapping.getLocalClaim().getClaimUri()));
+                            provClaim.setDisplayName(getDisplayNameOfLocalClaim(mapping.getLocalClaim()
+                                    .getClaimUri(), localClaimIndex));
                         }
                         provClaimResponse.setClaim(provClaim);
                         provClaimResponse.setDefaultValue(mapping.getDefaultValue());
@@ -1884,17 +2511,18 @@ public class ServerIdpManagementService {
             }
 
             Claim roleClaim = new Claim();
-            if (getLocalClaim(claimConfig.getRoleClaimURI()) != null) {
+            if (getLocalClaim(claimConfig.getRoleClaimURI(), localClaimIndex) != null) {
                 roleClaim.setId(base64URLEncode(claimConfig.getRoleClaimURI()));
-                roleClaim.setDisplayName(getDisplayNameOfLocalClaim(claimConfig.getRoleClaimURI()));
+                roleClaim.setDisplayName(getDisplayNameOfLocalClaim(claimConfig.getRoleClaimURI(), localClaimIndex));
             }
             roleClaim.setUri(claimConfig.getRoleClaimURI());
             apiClaims.setRoleClaim(roleClaim);
 
             Claim userIdClaim = new Claim();
-            if (getLocalClaim(claimConfig.getUserClaimURI()) != null) {
+            if (getLocalClaim(claimConfig.getUserClaimURI(), localClaimIndex) != null) {
                 userIdClaim.setId(base64URLEncode(claimConfig.getUserClaimURI()));
-                userIdClaim.setDisplayName(getDisplayNameOfLocalClaim(claimConfig.getUserClaimURI()));
+                userIdClaim.setDisplayName(getDisplayNameOfLocalClaim(claimConfig.getUserClaimURI(),
+                        localClaimIndex));
             }
             userIdClaim.setUri(claimConfig.getUserClaimURI());
             apiClaims.setUserIdClaim(userIdClaim);
@@ -2080,12 +2708,13 @@ public class ServerIdpManagementService {
     /**
      * Retrieves display name property of Local claim identified by local claim uri.
      *
-     * @param claimUri Local claim uri.
+     * @param claimUri        Local claim uri.
+     * @param localClaimIndex Local claims of the tenant indexed by claim uri.
      * @return Display Name.
      */
-    private String getDisplayNameOfLocalClaim(String claimUri) {
+    private String getDisplayNameOfLocalClaim(String claimUri, LocalClaimIndex localClaimIndex) {
 
-        LocalClaim localClaim = getLocalClaim(claimUri);
+        LocalClaim localClaim = getLocalClaim(claimUri, localClaimIndex);
         if (localClaim != null) {
             Map<String, String> localClaimProperties = localClaim.getClaimProperties();
             return localClaimProperties.get(Constants.PROP_DISPLAY_NAME);
@@ -2098,104 +2727,18 @@ public class ServerIdpManagementService {
     /**
      * Returns internal LocalClaim given local claim URI.
      *
-     * @param claimUri URI of the required local claim.
+     * @param claimUri        URI of the required local claim.
+     * @param localClaimIndex Local claims of the tenant indexed by claim uri.
      * @return Local Claim.
      */
-    private LocalClaim getLocalClaim(String claimUri) {
+    private LocalClaim getLocalClaim(String claimUri, LocalClaimIndex localClaimIndex) {
 
-        LocalClaim localClaim;
         try {
-            List<LocalClaim> localClaimList =
-                    IdentityProviderServiceHolder.getClaimMetadataManagementService().getLocalClaims(
-                            ContextLoader.getTenantDomainFromContext());
-
-            localClaim = extractLocalClaimFromClaimList(claimUri, localClaimList);
+            return localClaimIndex.getLocalClaim(claimUri);
         } catch (ClaimMetadataException e) {
             throw handleException(Response.Status.BAD_REQUEST,
                     Constants.ErrorMessage.ERROR_CODE_INVALID_LOCAL_CLAIM_ID, claimUri);
         }
-        return localClaim;
-    }
-
-    /**
-     * Extracts the LocalClaim corresponding to the given claim uri.
-     *
-     * @param claimURI  Local claim uri.
-     * @param claimList Local claim list.
-     * @return LocalClaim.
-     */
-    private LocalClaim extractLocalClaimFromClaimList(String claimURI, List<LocalClaim> claimList) {
-
-        for (LocalClaim claim : claimList) {
-            if (StringUtils.equals(claim.getClaimURI(), claimURI)) {
-                return claim;
-            }
-        }
-        return null;
-    }
-
-    /**
-     * Create a duplicate of the input Identity Provider.
-     *
-     * @param idP Identity Provider.
-     * @return Clone of IDP.
-     */
-    private IdentityProvider createIdPClone(IdentityProvider idP) {
-
-        try {
-            return (IdentityProvider) BeanUtils.cloneBean(idP);
-        } catch (IllegalAccessException | InstantiationException | InvocationTargetException | NoSuchMethodException
-                e) {
-            throw handleException(Response.Status.INTERNAL_SERVER_ERROR, Constants.ErrorMessage
-                    .ERROR_CODE_ERROR_UPDATING_IDP, idP.getResourceId());
-        }
-    }
-
-    /**
-     * Creates a clone of IDP's federated authenticator list to be modified during PUT request.
-     *
-     * @param authenticatorId Federated authenticator resource ID.
-     * @param configs         IDP's authenticator configs.
-     * @return Clone of authenticator config array.
-     */
-    private FederatedAuthenticatorConfig[] createFederatedAuthenticatorArrayClone(String authenticatorId,
-                                                                                  FederatedAuthenticatorConfig[]
-                                                                                          configs) {
-
-        List<FederatedAuthenticatorConfig> cloneList = new ArrayList<>();
-        try {
-            for (FederatedAuthenticatorConfig config : configs) {
-                cloneList.add((FederatedAuthenticatorConfig) BeanUtils.cloneBean(config));
-            }
-            return cloneList.toArray(new FederatedAuthenticatorConfig[0]);
-        } catch (IllegalAccessException | InstantiationException | InvocationTargetException | NoSuchMethodException
-                e) {
-            throw handleException(Response.Status.INTERNAL_SERVER_ERROR, Constants.ErrorMessage
-                    .ERROR_CODE_ERROR_UPDATING_IDP_AUTHENTICATOR, authenticatorId);
-        }
-    }
-
-    /**
-     * Creates a clone of IDP's provisioning connector config list to be modified during PUT request.
-     *
-     * @param connectorId Provisioning connector resource ID.
-     * @param configs     IDP's provisioning connector configs.
-     * @return Clone of connector config array.
-     */
-    private ProvisioningConnectorConfig[] createProvisioningConnectorArrayClone(String connectorId,
-                                                                                ProvisioningConnectorConfig[] configs) {
-
-        List<ProvisioningConnectorConfig> cloneList = new ArrayList<>();
-        try {
-            for (ProvisioningConnectorConfig config : configs) {
-                cloneList.add((ProvisioningConnectorConfig) BeanUtils.cloneBean(config));
-            }
-            return cloneList.toArray(new ProvisioningConnectorConfig[0]);
-        } catch (IllegalAccessException | InstantiationException | InvocationTargetException | NoSuchMethodException
-                e) {
-            throw handleException(Response.Status.INTERNAL_SERVER_ERROR, Constants.ErrorMessage
-                    .ERROR_CODE_ERROR_UPDATING_IDP_CONNECTOR, connectorId);
-        }
     }
 
     /**
@@ -2229,18 +2772,7 @@ public class ServerIdpManagementService {
      */
     private boolean isValidConnector(String connectorId) throws IdentityProviderManagementException {
 
-        ProvisioningConnectorConfig[] supportedConnectorConfigs =
-                IdentityProviderServiceHolder.getIdentityProviderManager()
-                        .getAllProvisioningConnectors();
-        if (supportedConnectorConfigs != null) {
-            String connectorName = base64URLDecode(connectorId);
-            for (ProvisioningConnectorConfig supportedConfig : supportedConnectorConfigs) {
-                if (StringUtils.equals(supportedConfig.getName(), connectorName)) {
-                    return true;
-                }
-            }
-        }
-        return false;
+        return IdPMetadataRegistry.getInstance().getProvisioningConnectorById(connectorId) != null;
     }
 
     private OutboundConnectorListItem createOutboundConnectorListItem(String idPId, ProvisioningConnectorConfig
@@ -2361,17 +2893,7 @@ public class ServerIdpManagementService {
     private boolean isValidAuthenticator(String federatedAuthenticatorId) throws
             IdentityProviderManagementException {
 
-        FederatedAuthenticatorConfig[] supportedAuthConfigs = IdentityProviderServiceHolder.getIdentityProviderManager()
-                .getAllFederatedAuthenticators();
-        if (supportedAuthConfigs != null) {
-            String authenticatorName = base64URLDecode(federatedAuthenticatorId);
-            for (FederatedAuthenticatorConfig supportedConfig : supportedAuthConfigs) {
-                if (StringUtils.equals(supportedConfig.getName(), authenticatorName)) {
-                    return true;
-                }
-            }
-        }
-        return false;
+        return IdPMetadataRegistry.getInstance().getFederatedAuthenticatorById(federatedAuthenticatorId) != null;
     }
 
     /**
@@ -2483,80 +3005,476 @@ public class ServerIdpManagementService {
     }
 
     /**
-     * Evaluate the list of patch operations and update the root level attributes of the identity provider accordingly.
+     * Evaluate the list of patch operations and update the identity provider accordingly. Each path is resolved once,
+     * and all the operations are applied to the given identity provider, which is then updated once by the caller.
      *
      * @param patchRequest List of patch operations.
      * @param idpToUpdate  Identity Provider to be updated.
+     * @param localClaimIndex Local claims of the tenant, used to resolve the patched claims.
+     * @throws IdentityProviderManagementException If an error occurred while validating an added authenticator or
+     *                                             connector.
      */
-    private void processPatchRequest(List<Patch> patchRequest, IdentityProvider idpToUpdate) {
+    private void processPatchRequest(List<Patch> patchRequest, IdentityProvider idpToUpdate,
+                                     LocalClaimIndex localClaimIndex) throws IdentityProviderManagementException {
 
         if (CollectionUtils.isEmpty(patchRequest)) {
             return;
         }
+        PatchedAttributes patchedAttributes = new PatchedAttributes(idpToUpdate, localClaimIndex);
         for (Patch patch : patchRequest) {
-            String path = patch.getPath();
-            Patch.OperationEnum operation = patch.getOperation();
-            // We support only 'REPLACE' patch operation.
-            if (operation == Patch.OperationEnum.REPLACE) {
-                String value = patch.getValue();
-                if (path.matches(Constants.CERTIFICATE_PATH_REGEX)) {
-                    List<String> certificates = new ArrayList<>();
-                    int index = Integer.parseInt(path.split(Constants.PATH_SEPERATOR)[3]);
-                    if (ArrayUtils.isNotEmpty(idpToUpdate.getCertificateInfoArray()) && (index > 0)
-                            && (index <= idpToUpdate.getCertificateInfoArray().length)) {
-                        for (CertificateInfo certInfo : idpToUpdate.getCertificateInfoArray()) {
-                            certificates.add(certInfo.getCertValue());
-                        }
-                        certificates.set(index - 1, value);
-                        idpToUpdate.setCertificate(StringUtils.join(certificates, ""));
-                    } else {
-                        throw handleException(Response.Status.BAD_REQUEST, Constants.ErrorMessage
-                                .ERROR_CODE_INVALID_INPUT, null);
-                    }
+            IdPPatchPath path = IdPPatchPath.resolve(patch.getPath());
+            if (path == null) {
+                throw buildPatchException(patch, "Path is not supported.");
+            }
+            applyPatchOperation(patch, path, idpToUpdate, patchedAttributes);
+        }
+        patchedAttributes.apply();
+    }
+
+    private void applyPatchOperation(Patch patch, IdPPatchPath path, IdentityProvider idpToUpdate,
+                                     PatchedAttributes patchedAttributes) throws IdentityProviderManagementException {
+
+        switch (path.getTarget()) {
+            case NAME:
+                idpToUpdate.setIdentityProviderName(getPatchValue(patch, String.class, false));
+                break;
+            case DESCRIPTION:
+                idpToUpdate.setIdentityProviderDescription(getPatchValue(patch, String.class, true));
+                break;
+            case IMAGE:
+                idpToUpdate.setImageUrl(getPatchValue(patch, String.class, true));
+                break;
+            case IS_PRIMARY:
+                idpToUpdate.setPrimary(getPatchValue(patch, Boolean.class, false));
+                break;
+            case IS_ENABLED:
+                idpToUpdate.setEnable(getPatchValue(patch, Boolean.class, false));
+                break;
+            case IS_FEDERATION_HUB:
+                idpToUpdate.setFederationHub(getPatchValue(patch, Boolean.class, false));
+                break;
+            case HOME_REALM_IDENTIFIER:
+                idpToUpdate.setHomeRealmId(getPatchValue(patch, String.class, true));
+                break;
+            case ALIAS:
+                idpToUpdate.setAlias(getPatchValue(patch, String.class, true));
+                break;
+            case JWKS_URI:
+                setIdPProperty(idpToUpdate, Constants.JWKS_URI, getPatchValue(patch, String.class, true));
+                break;
+            case CERTIFICATE:
+                // Certificates are addressed by their one based position, as in the earlier versions of the API.
+                applyListPatch(patch, patchedAttributes.getCertificates(), path.getParameter(0), 1,
+                        getPatchValue(patch, String.class, true));
+                break;
+            case USER_ID_CLAIM:
+                patchedAttributes.getClaims().setUserIdClaim(getPatchedClaim(patch));
+                break;
+            case ROLE_CLAIM:
+                patchedAttributes.getClaims().setRoleClaim(getPatchedClaim(patch));
+                break;
+            case CLAIM_MAPPING:
+                org.wso2.carbon.identity.api.server.idp.v1.model.ClaimMapping claimMapping = getPatchValue(patch,
+                        org.wso2.carbon.identity.api.server.idp.v1.model.ClaimMapping.class, true);
+                if (claimMapping != null && (StringUtils.isBlank(claimMapping.getIdpClaim())
+                        || claimMapping.getLocalClaim() == null
+                        || StringUtils.isBlank(claimMapping.getLocalClaim().getUri()))) {
+                    throw buildPatchException(patch, "IdP claim and local claim URI are required.");
+                }
+                applyListPatch(patch, patchedAttributes.getClaims().getMappings(), path.getParameter(0), 0,
+                        claimMapping);
+                break;
+            case PROVISIONING_CLAIM:
+                ProvisioningClaim provisioningClaim = getPatchValue(patch, ProvisioningClaim.class, true);
+                if (provisioningClaim != null && (provisioningClaim.getClaim() == null
+                        || StringUtils.isBlank(provisioningClaim.getClaim().getUri()))) {
+                    throw buildPatchException(patch, "Claim URI is required.");
+                }
+                applyListPatch(patch, patchedAttributes.getClaims().getProvisioningClaims(), path.getParameter(0), 0,
+                        provisioningClaim);
+                break;
+            case ROLE_MAPPING:
+                org.wso2.carbon.identity.api.server.idp.v1.model.RoleMapping roleMapping = getPatchValue(patch,
+                        org.wso2.carbon.identity.api.server.idp.v1.model.RoleMapping.class, true);
+                if (roleMapping != null && (StringUtils.isBlank(roleMapping.getIdpRole())
+                        || StringUtils.isBlank(roleMapping.getLocalRole()))) {
+                    throw buildPatchException(patch, "IdP role and local role are required.");
+                }
+                applyListPatch(patch, patchedAttributes.getRoles().getMappings(), path.getParameter(0), 0,
+                        roleMapping);
+                break;
+            case OUTBOUND_PROVISIONING_ROLE:
+                applyListPatch(patch, patchedAttributes.getRoles().getOutboundProvisioningRoles(),
+                        path.getParameter(0), 0, getPatchValue(patch, String.class, true));
+                break;
+            case DEFAULT_AUTHENTICATOR:
+                patchedAttributes.getAuthenticators().setDefaultAuthenticatorId(getPatchValue(patch, String.class,
+                        true));
+                break;
+            case AUTHENTICATOR:
+                patchFederatedAuthenticator(patch, path.getParameter(0), patchedAttributes.getAuthenticators());
+                break;
+            case AUTHENTICATOR_IS_ENABLED:
+                getPatchedAuthenticator(patchedAttributes, path.getParameter(0))
+                        .setIsEnabled(getPatchValue(patch, Boolean.class, false));
+                break;
+            case AUTHENTICATOR_PROPERTY:
+                FederatedAuthenticator authenticator = getPatchedAuthenticator(patchedAttributes,
+                        path.getParameter(0));
+                authenticator.setProperties(applyPropertyPatch(patch, authenticator.getProperties(),
+                        path.getParameter(1)));
+                break;
+            case DEFAULT_CONNECTOR:
+                patchedAttributes.getConnectors().setDefaultConnectorId(getPatchValue(patch, String.class, true));
+                break;
+            case CONNECTOR:
+                patchOutboundConnector(patch, path.getParameter(0), patchedAttributes.getConnectors());
+                break;
+            case CONNECTOR_IS_ENABLED:
+                getPatchedConnector(patchedAttributes, path.getParameter(0))
+                        .setIsEnabled(getPatchValue(patch, Boolean.class, false));
+                break;
+            case CONNECTOR_BLOCKING_ENABLED:
+                getPatchedConnector(patchedAttributes, path.getParameter(0))
+                        .setBlockingEnabled(getPatchValue(patch, Boolean.class, false));
+                break;
+            case CONNECTOR_RULES_ENABLED:
+                getPatchedConnector(patchedAttributes, path.getParameter(0))
+                        .setRulesEnabled(getPatchValue(patch, Boolean.class, false));
+                break;
+            case CONNECTOR_PROPERTY:
+                OutboundConnector connector = getPatchedConnector(patchedAttributes, path.getParameter(0));
+                connector.setProperties(applyPropertyPatch(patch, connector.getProperties(), path.getParameter(1)));
+                break;
+            default:
+                throw buildPatchException(patch, "Path is not supported.");
+        }
+    }
+
+    /**
+     * Get the value of a patch operation as the type of the patched attribute.
+     *
+     * @param patch     Patch operation.
+     * @param type      Type of the patched attribute.
+     * @param removable Whether the patched attribute can be removed.
+     * @return Value of the operation, or null for a remove operation.
+     */
+    private <T> T getPatchValue(Patch patch, Class<T> type, boolean removable) {
+
+        if (patch.getOperation() == Patch.OperationEnum.REMOVE) {
+            if (!removable) {
+                throw buildPatchException(patch, "Attribute cannot be removed.");
+            }
+            return null;
+        }
+        if (patch.getValue() == null) {
+            throw buildPatchException(patch, "Value is required.");
+        }
+        try {
+            return PATCH_VALUE_MAPPER.convertValue(patch.getValue(), type);
+        } catch (IllegalArgumentException e) {
+            throw buildPatchException(patch, "Value is not a valid " + type.getSimpleName() + ".");
+        }
+    }
+
+    private Claim getPatchedClaim(Patch patch) {
+
+        Claim claim = getPatchValue(patch, Claim.class, true);
+        if (claim != null && StringUtils.isBlank(claim.getUri())) {
+            throw buildPatchException(patch, "Claim URI is required.");
+        }
+        return claim;
+    }
+
+    /**
+     * Apply a patch operation on an item of a list.
+     *
+     * @param patch      Patch operation.
+     * @param items      Patched list.
+     * @param index      Index of the item, or '-' to append an item.
+     * @param firstIndex Index of the first item of the list.
+     * @param value      Value of the operation.
+     */
+    private <T> void applyListPatch(Patch patch, List<T> items, String index, int firstIndex, T value) {
+
+        int position;
+        if (patch.getOperation() == Patch.OperationEnum.ADD && Constants.PATCH_APPEND_INDEX.equals(index)) {
+            position = items.size();
+        } else {
+            try {
+                position = Integer.parseInt(index) - firstIndex;
+            } catch (NumberFormatException e) {
+                throw buildPatchException(patch, "Index is not valid.");
+            }
+        }
+        int lastPosition = patch.getOperation() == Patch.OperationEnum.ADD ? items.size() : items.size() - 1;
+        if (position < 0 || position > lastPosition) {
+            throw buildPatchException(patch, "Index is out of range.");
+        }
+        switch (patch.getOperation()) {
+            case ADD:
+                items.add(position, value);
+                break;
+            case REMOVE:
+                items.remove(position);
+                break;
+            default:
+                items.set(position, value);
+        }
+    }
+
+    private List<org.wso2.carbon.identity.api.server.idp.v1.model.Property> applyPropertyPatch(
+            Patch patch, List<org.wso2.carbon.identity.api.server.idp.v1.model.Property> properties, String key) {
+
+        List<org.wso2.carbon.identity.api.server.idp.v1.model.Property> patchedProperties =
+                properties != null ? new ArrayList<>(properties) : new ArrayList<>();
+        int position = indexOf(patchedProperties,
+                org.wso2.carbon.identity.api.server.idp.v1.model.Property::getKey, key);
+        if (position == -1 && patch.getOperation() != Patch.OperationEnum.ADD) {
+            throw buildPatchException(patch, "Property does not exist.");
+        }
+        String value = getPatchValue(patch, String.class, true);
+        if (value == null) {
+            patchedProperties.remove(position);
+        } else if (position == -1) {
+            patchedProperties.add(new org.wso2.carbon.identity.api.server.idp.v1.model.Property().key(key)
+                    .value(value));
+        } else {
+            patchedProperties.get(position).setValue(value);
+        }
+        return patchedProperties;
+    }
+
+    private void patchFederatedAuthenticator(Patch patch, String authenticatorId,
+                                             FederatedAuthenticatorRequest authenticators)
+            throws IdentityProviderManagementException {
+
+        List<FederatedAuthenticator> authenticatorList = authenticators.getAuthenticators();
+        int position = indexOf(authenticatorList, FederatedAuthenticator::getAuthenticatorId, authenticatorId);
+        if (position == -1 && (patch.getOperation() != Patch.OperationEnum.ADD ||
+                !isValidAuthenticator(authenticatorId))) {
+            throw handleException(Response.Status.NOT_FOUND, Constants.ErrorMessage
+                    .ERROR_CODE_AUTHENTICATOR_NOT_FOUND_FOR_IDP, authenticatorId);
+        }
+        FederatedAuthenticator authenticator = getPatchValue(patch, FederatedAuthenticator.class, true);
+        if (authenticator == null) {
+            authenticatorList.remove(position);
+        } else {
+            authenticator.setAuthenticatorId(authenticatorId);
+            if (position == -1) {
+                authenticatorList.add(authenticator);
+            } else {
+                authenticatorList.set(position, authenticator);
+            }
+        }
+        if (authenticator != null && Boolean.TRUE.equals(authenticator.getIsDefault())) {
+            authenticators.setDefaultAuthenticatorId(authenticatorId);
+        } else if (StringUtils.equals(authenticators.getDefaultAuthenticatorId(), authenticatorId)) {
+            authenticators.setDefaultAuthenticatorId(null);
+        }
+    }
+
+    private void patchOutboundConnector(Patch patch, String connectorId, OutboundProvisioningRequest connectors)
+            throws IdentityProviderManagementException {
+
+        List<OutboundConnector> connectorList = connectors.getConnectors();
+        int position = indexOf(connectorList, OutboundConnector::getConnectorId, connectorId);
+        if (position == -1 && (patch.getOperation() != Patch.OperationEnum.ADD || !isValidConnector(connectorId))) {
+            throw handleException(Response.Status.NOT_FOUND, Constants.ErrorMessage
+                    .ERROR_CODE_CONNECTOR_NOT_FOUND_FOR_IDP, connectorId);
+        }
+        OutboundConnector connector = getPatchValue(patch, OutboundConnector.class, true);
+        if (connector == null) {
+            connectorList.remove(position);
+        } else {
+            connector.setConnectorId(connectorId);
+            if (position == -1) {
+                connectorList.add(connector);
+            } else {
+                connectorList.set(position, connector);
+            }
+        }
+        if (connector != null && Boolean.TRUE.equals(connector.getIsDefault())) {
+            connectors.setDefaultConnectorId(connectorId);
+        } else if (StringUtils.equals(connectors.getDefaultConnectorId(), connectorId)) {
+            connectors.setDefaultConnectorId(null);
+        }
+    }
+
+    private FederatedAuthenticator getPatchedAuthenticator(PatchedAttributes patchedAttributes,
+                                                           String authenticatorId) {
+
+        List<FederatedAuthenticator> authenticators = patchedAttributes.getAuthenticators().getAuthenticators();
+        int position = indexOf(authenticators, FederatedAuthenticator::getAuthenticatorId, authenticatorId);
+        if (position == -1) {
+            throw handleException(Response.Status.NOT_FOUND, Constants.ErrorMessage
+                    .ERROR_CODE_AUTHENTICATOR_NOT_FOUND_FOR_IDP, authenticatorId);
+        }
+        return authenticators.get(position);
+    }
+
+    private OutboundConnector getPatchedConnector(PatchedAttributes patchedAttributes, String connectorId) {
+
+        List<OutboundConnector> connectors = patchedAttributes.getConnectors().getConnectors();
+        int position = indexOf(connectors, OutboundConnector::getConnectorId, connectorId);
+        if (position == -1) {
+            throw handleException(Response.Status.NOT_FOUND, Constants.ErrorMessage
+                    .ERROR_CODE_CONNECTOR_NOT_FOUND_FOR_IDP, connectorId);
+        }
+        return connectors.get(position);
+    }
+
+    private <T> int indexOf(List<T> items, Function<T, String> idFunction, String id) {
+
+        for (int i = 0; i < items.size(); i++) {
+            if (StringUtils.equals(idFunction.apply(items.get(i)), id)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Set an identity provider property, preserving the other properties. The property is removed if the value is
+     * null.
+     *
+     * @param idp   Identity provider.
+     * @param name  Name of the property.
+     * @param value Value of the property.
+     */
+    private void setIdPProperty(IdentityProvider idp, String name, String value) {
+
+        List<IdentityProviderProperty> idpProperties = new ArrayList<>();
+        boolean isExistingProperty = false;
+        if (idp.getIdpProperties() != null) {
+            for (IdentityProviderProperty idpProperty : idp.getIdpProperties()) {
+                if (StringUtils.equals(idpProperty.getName(), name)) {
+                    isExistingProperty = true;
                 } else {
-                    switch (path) {
-                        case Constants.NAME_PATH:
-                            idpToUpdate.setIdentityProviderName(value);
-                            break;
-                        case Constants.DESCRIPTION_PATH:
-                            idpToUpdate.setIdentityProviderDescription(value);
-                            break;
-                        case Constants.IMAGE_PATH:
-                            idpToUpdate.setImageUrl(value);
-                            break;
-                        case Constants.IS_PRIMARY_PATH:
-                            idpToUpdate.setPrimary(Boolean.parseBoolean(value));
-                            break;
-                        case Constants.IS_ENABLED_PATH:
-                            idpToUpdate.setEnable(Boolean.parseBoolean(value));
-                            break;
-                        case Constants.IS_FEDERATION_HUB_PATH:
-                            idpToUpdate.setFederationHub(Boolean.parseBoolean(value));
-                            break;
-                        case Constants.HOME_REALM_PATH:
-                            idpToUpdate.setHomeRealmId(value);
-                            break;
-                        case Constants.ALIAS_PATH:
-                            idpToUpdate.setAlias(value);
-                            break;
-                        case Constants.CERTIFICATE_JWKSURI_PATH:
-                            List<IdentityProviderProperty> idpProperties = new ArrayList<>();
-                            IdentityProviderProperty jwksProperty = new IdentityProviderProperty();
-                            jwksProperty.setName(Constants.JWKS_URI);
-                            jwksProperty.setValue(value);
-                            idpProperties.add(jwksProperty);
-                            idpToUpdate.setIdpProperties(idpProperties.toArray(new IdentityProviderProperty[0]));
-                            break;
-                        default:
-                            throw handleException(Response.Status.BAD_REQUEST, Constants.ErrorMessage
-                                    .ERROR_CODE_INVALID_INPUT, null);
+                    idpProperties.add(idpProperty);
+                }
+            }
+        }
+        if (value != null) {
+            // Properties of the cloned identity provider are shared with the cached one, so a new property is set.
+            IdentityProviderProperty idpProperty = new IdentityProviderProperty();
+            idpProperty.setName(name);
+            idpProperty.setValue(value);
+            idpProperties.add(idpProperty);
+        } else if (!isExistingProperty) {
+            return;
+        }
+        idp.setIdpProperties(idpProperties.toArray(new IdentityProviderProperty[0]));
+    }
+
+    private APIError buildPatchException(Patch patch, String reason) {
+
+        return handleException(Response.Status.BAD_REQUEST, Constants.ErrorMessage.ERROR_CODE_INVALID_PATCH_OPERATION,
+                patch.getOperation() + " " + patch.getPath() + ". " + reason);
+    }
+
+    /**
+     * Nested attributes of an identity provider which are patched. An attribute is converted to its API model when it
+     * is first patched, and the patched models are converted back to the identity provider once all the operations of
+     * a patch request are applied.
+     */
+    private class PatchedAttributes {
+
+        private final IdentityProvider identityProvider;
+        private final LocalClaimIndex localClaimIndex;
+        private List<String> certificates;
+        private Claims claims;
+        private Roles roles;
+        private FederatedAuthenticatorRequest authenticators;
+        private OutboundProvisioningRequest connectors;
+
+        PatchedAttributes(IdentityProvider identityProvider, LocalClaimIndex localClaimIndex) {
+
+            this.identityProvider = identityProvider;
+            this.localClaimIndex = localClaimIndex;
+        }
+
+        List<String> getCertificates() {
+
+            if (certificates == null) {
+                certificates = new ArrayList<>();
+                if (identityProvider.getCertificateInfoArray() != null) {
+                    for (CertificateInfo certificateInfo : identityProvider.getCertificateInfoArray()) {
+                        certificates.add(certificateInfo.getCertValue());
                     }
                 }
-            } else {
-                // Throw an error if any other patch operations are sent in the request.
-                throw handleException(Response.Status.BAD_REQUEST, Constants.ErrorMessage
-                        .ERROR_CODE_INVALID_INPUT, null);
             }
+            return certificates;
+        }
+
+        Claims getClaims() {
+
+            if (claims == null) {
+                claims = createClaimResponse(identityProvider.getClaimConfig(), localClaimIndex);
+            }
+            return claims;
+        }
+
+        Roles getRoles() {
+
+            if (roles == null) {
+                roles = createRoleResponse(identityProvider);
+                List<String> provisioningRoles = roles.getOutboundProvisioningRoles();
+                roles.setOutboundProvisioningRoles(provisioningRoles != null ? new ArrayList<>(provisioningRoles) :
+                        new ArrayList<>());
+            }
+            return roles;
+        }
+
+        FederatedAuthenticatorRequest getAuthenticators() {
+
+            if (authenticators == null) {
+                authenticators = new FederatedAuthenticatorRequest();
+                List<FederatedAuthenticator> authenticatorList = new ArrayList<>();
+                if (identityProvider.getFederatedAuthenticatorConfigs() != null) {
+                    for (FederatedAuthenticatorConfig config : identityProvider.getFederatedAuthenticatorConfigs()) {
+                        authenticatorList.add(createFederatedAuthenticator(base64URLEncode(config.getName()),
+                                identityProvider));
+                    }
+                }
+                authenticators.setAuthenticators(authenticatorList);
+                if (identityProvider.getDefaultAuthenticatorConfig() != null) {
+                    authenticators.setDefaultAuthenticatorId(base64URLEncode(identityProvider
+                            .getDefaultAuthenticatorConfig().getName()));
+                }
+            }
+            return authenticators;
+        }
+
+        OutboundProvisioningRequest getConnectors() {
+
+            if (connectors == null) {
+                connectors = new OutboundProvisioningRequest();
+                List<OutboundConnector> connectorList = new ArrayList<>();
+                if (identityProvider.getProvisioningConnectorConfigs() != null) {
+                    for (ProvisioningConnectorConfig config : identityProvider.getProvisioningConnectorConfigs()) {
+                        connectorList.add(createOutboundConnector(base64URLEncode(config.getName()),
+                                identityProvider));
+                    }
+                }
+                connectors.setConnectors(connectorList);
+                if (identityProvider.getDefaultProvisioningConnectorConfig() != null) {
+                    connectors.setDefaultConnectorId(base64URLEncode(identityProvider
+                            .getDefaultProvisioningConnectorConfig().getName()));
+                }
+            }
+            return connectors;
+        }
+
+        void apply() {
+
+            if (certificates != null) {
+                identityProvider.setCertificate(StringUtils.join(certificates, ""));
+            }
+            updateClaims(identityProvider, claims);
+            updateRoles(identityProvider, roles);
+            updateFederatedAuthenticatorConfig(identityProvider, authenticators);
+            updateOutboundConnectorConfig(identityProvider, connectors);
         }
     }
 
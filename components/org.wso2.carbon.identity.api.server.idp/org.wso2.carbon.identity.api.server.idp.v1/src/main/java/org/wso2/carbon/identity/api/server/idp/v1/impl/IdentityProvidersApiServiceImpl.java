@@ -26,6 +26,7 @@ import org.wso2.carbon.identity.api.server.idp.v1.core.ServerIdpManagementServic
 import org.wso2.carbon.identity.api.server.idp.v1.model.Claims;
 import org.wso2.carbon.identity.api.server.idp.v1.model.FederatedAuthenticatorPUTRequest;
 import org.wso2.carbon.identity.api.server.idp.v1.model.FederatedAuthenticatorRequest;
+import org.wso2.carbon.identity.api.server.idp.v1.model.IdentityProviderBulkRequest;
 import org.wso2.carbon.identity.api.server.idp.v1.model.IdentityProviderPOSTRequest;
 import org.wso2.carbon.identity.api.server.idp.v1.model.IdentityProviderResponse;
 import org.wso2.carbon.identity.api.server.idp.v1.model.IdentityProviderTemplate;
@@ -96,9 +97,16 @@ public class IdentityProvidersApiServiceImpl implements IdentityProvidersApiServ
     }
 
     @Override
-    public Response getConnectedApps(String identityProviderId, Integer limit, Integer offset) {
+    public Response getConnectedApps(String identityProviderId, Integer limit, Integer offset, String cursor) {
 
-        return Response.ok().entity(idpManagementService.getConnectedApps(identityProviderId, limit, offset)).build();
+        return Response.ok().entity(idpManagementService.getConnectedApps(identityProviderId, limit, offset, cursor))
+                .build();
+    }
+
+    @Override
+    public Response getConnectedAppsIndex() {
+
+        return Response.ok().entity(idpManagementService.getConnectedAppsIndex()).build();
     }
 
     @Override
@@ -127,17 +135,18 @@ public class IdentityProvidersApiServiceImpl implements IdentityProvidersApiServ
     }
 
     @Override
-    public Response getIDPTemplates(Integer limit, Integer offset, SearchContext searchContext) {
+    public Response getIDPTemplates(Integer limit, Integer offset, String cursor, SearchContext searchContext) {
 
-        return Response.ok().entity(idpManagementService.getIDPTemplates(limit, offset, searchContext)).build();
+        return Response.ok().entity(idpManagementService.getIDPTemplates(limit, offset, cursor, searchContext))
+                .build();
     }
 
     @Override
-    public Response getIDPs(Integer limit, Integer offset, String filter, String sortOrder, String sortBy,
-                            String requiredAttributes) {
+    public Response getIDPs(Integer limit, Integer offset, String cursor, String filter, String sortOrder,
+                            String sortBy, String requiredAttributes) {
 
         return Response.ok().entity(idpManagementService.getIDPs(requiredAttributes, limit, offset, filter, sortBy,
-                sortOrder)).build();
+                sortOrder, cursor)).build();
     }
 
     @Override
@@ -203,6 +212,12 @@ public class IdentityProvidersApiServiceImpl implements IdentityProvidersApiServ
         return Response.ok().entity(idpManagementService.patchIDP(identityProviderId, patchRequest)).build();
     }
 
+    @Override
+    public Response processBulkRequest(IdentityProviderBulkRequest identityProviderBulkRequest) {
+
+        return Response.ok().entity(idpManagementService.processBulkRequest(identityProviderBulkRequest)).build();
+    }
+
     @Override
     public Response updateClaimConfig(String identityProviderId, Claims claims) {
 
@@ -0,0 +1,200 @@
+/*
+ * Copyright (c) 2020, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.wso2.carbon.identity.api.server.idp.v1.core;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.wso2.carbon.identity.application.common.model.IdentityProvider;
+import org.wso2.carbon.idp.mgt.IdpManager;
+import org.wso2.carbon.idp.mgt.model.ConnectedAppsResult;
+import org.wso2.carbon.idp.mgt.model.IdpSearchResult;
+
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests for {@link ConnectedAppsIndex}.
+ */
+public class ConnectedAppsIndexTest {
+
+    private static final String TENANT_DOMAIN = "carbon.super";
+    private static final int PAGE_SIZE = 2;
+    private static final long WAIT_TIMEOUT_SECONDS = 10L;
+
+    private final Map<String, List<String>> connectedApps = new LinkedHashMap<>();
+    private final AtomicInteger idpListingCount = new AtomicInteger();
+    private final AtomicInteger connectedAppsQueryCount = new AtomicInteger();
+    private volatile CountDownLatch buildStarted;
+    private volatile CountDownLatch buildReleased;
+    private ConnectedAppsIndex index;
+
+    @Before
+    public void setUp() {
+
+        connectedApps.put("idp-1", Arrays.asList("app-1", "app-2", "app-3", "app-4", "app-5"));
+        connectedApps.put("idp-2", Collections.emptyList());
+        connectedApps.put("idp-3", Collections.singletonList("app-1"));
+        index = new ConnectedAppsIndex(this::createIdentityProviderManager, () -> PAGE_SIZE);
+    }
+
+    @After
+    public void tearDown() {
+
+        index.close();
+    }
+
+    @Test
+    public void testIndexHoldsConnectedAppsOfEachIdP() throws Exception {
+
+        Map<String, List<String>> connectedAppsIndex = index.getConnectedApps(TENANT_DOMAIN);
+
+        assertEquals(connectedApps.get("idp-1"), connectedAppsIndex.get("idp-1"));
+        assertEquals(connectedApps.get("idp-3"), connectedAppsIndex.get("idp-3"));
+        assertFalse(connectedAppsIndex.containsKey("idp-2"));
+        // The identity providers and their connected applications are retrieved page by page.
+        assertEquals(2, idpListingCount.get());
+        assertEquals(3 + 1 + 1, connectedAppsQueryCount.get());
+    }
+
+    @Test
+    public void testIndexIsBuiltOnce() throws Exception {
+
+        index.getConnectedApps(TENANT_DOMAIN);
+        index.getConnectedApps(TENANT_DOMAIN);
+
+        assertEquals(2, idpListingCount.get());
+    }
+
+    @Test
+    public void testInvalidatedIndexShowsUpdatedApplications() throws Exception {
+
+        index.getConnectedApps(TENANT_DOMAIN);
+        // An application connected to the identity provider is updated.
+        connectedApps.put("idp-2", Collections.singletonList("app-6"));
+        index.invalidate(TENANT_DOMAIN);
+
+        assertEquals(Collections.singletonList("app-6"), index.getConnectedApps(TENANT_DOMAIN).get("idp-2"));
+    }
+
+    @Test
+    public void testIndexBuiltDuringInvalidationIsNotCached() throws Exception {
+
+        buildStarted = new CountDownLatch(1);
+        buildReleased = new CountDownLatch(1);
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            Future<Map<String, List<String>>> staleIndex =
+                    executor.submit(() -> index.getConnectedApps(TENANT_DOMAIN));
+            assertTrue(buildStarted.await(WAIT_TIMEOUT_SECONDS, TimeUnit.SECONDS));
+
+            // An application is updated after the index read the applications of the identity provider.
+            connectedApps.put("idp-3", Collections.singletonList("app-6"));
+            index.invalidate(TENANT_DOMAIN);
+            buildReleased.countDown();
+
+            assertEquals(Collections.singletonList("app-1"),
+                    staleIndex.get(WAIT_TIMEOUT_SECONDS, TimeUnit.SECONDS).get("idp-3"));
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertEquals(Collections.singletonList("app-6"), index.getConnectedApps(TENANT_DOMAIN).get("idp-3"));
+        assertEquals(4, idpListingCount.get());
+    }
+
+    @Test
+    public void testClosedIndexIsRebuilt() throws Exception {
+
+        index.getConnectedApps(TENANT_DOMAIN);
+        index.close();
+        index.getConnectedApps(TENANT_DOMAIN);
+
+        assertEquals(4, idpListingCount.get());
+    }
+
+    private IdpManager createIdentityProviderManager() {
+
+        return (IdpManager) Proxy.newProxyInstance(IdpManager.class.getClassLoader(), new Class[]{IdpManager.class},
+                (proxy, method, args) -> {
+                    switch (method.getName()) {
+                        case "getIdPs":
+                            idpListingCount.incrementAndGet();
+                            return listIdPs((Integer) args[0], (Integer) args[1]);
+                        case "getConnectedApplications":
+                            connectedAppsQueryCount.incrementAndGet();
+                            return getConnectedApplications((String) args[0], (Integer) args[1], (Integer) args[2]);
+                        default:
+                            throw new UnsupportedOperationException(method.getName());
+                    }
+                });
+    }
+
+    private IdpSearchResult listIdPs(int limit, int offset) {
+
+        List<String> resourceIds = new ArrayList<>(connectedApps.keySet());
+        List<IdentityProvider> identityProviders = new ArrayList<>();
+        for (String resourceId : page(resourceIds, limit, offset)) {
+            IdentityProvider identityProvider = new IdentityProvider();
+            identityProvider.setResourceId(resourceId);
+            identityProvider.setIdentityProviderName(resourceId + "-name");
+            identityProviders.add(identityProvider);
+        }
+        IdpSearchResult idpSearchResult = new IdpSearchResult();
+        idpSearchResult.setIdPs(identityProviders);
+        idpSearchResult.setTotalIDPCount(resourceIds.size());
+        return idpSearchResult;
+    }
+
+    private ConnectedAppsResult getConnectedApplications(String resourceId, int limit, int offset)
+            throws InterruptedException {
+
+        List<String> apps = connectedApps.get(resourceId);
+        ConnectedAppsResult connectedAppsResult = new ConnectedAppsResult();
+        connectedAppsResult.setApps(new ArrayList<>(page(apps, limit, offset)));
+        connectedAppsResult.setTotalAppCount(apps.size());
+
+        // Holds the first build of the index which reads the last identity provider, until it is released.
+        CountDownLatch started = buildStarted;
+        if (started != null && "idp-3".equals(resourceId) && started.getCount() > 0) {
+            started.countDown();
+            assertTrue(buildReleased.await(WAIT_TIMEOUT_SECONDS, TimeUnit.SECONDS));
+        }
+        return connectedAppsResult;
+    }
+
+    private static <T> List<T> page(List<T> items, int limit, int offset) {
+
+        int from = Math.min(offset, items.size());
+        return items.subList(from, Math.min(items.size(), from + limit));
+    }
+}
@@ -0,0 +1,108 @@
+/*
+ * Copyright (c) 2020, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.wso2.carbon.identity.api.server.idp.v1.core;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.wso2.carbon.identity.application.common.model.ClaimMapping;
+import org.wso2.carbon.identity.application.common.model.FederatedAuthenticatorConfig;
+import org.wso2.carbon.identity.application.common.model.IdentityProvider;
+import org.wso2.carbon.identity.application.common.model.Property;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.wso2.carbon.identity.api.server.idp.v1.core.ModelTestUtils.populate;
+import static org.wso2.carbon.identity.api.server.idp.v1.core.ModelTestUtils.serializationCopy;
+
+/**
+ * Compares {@link IdPCopier} with a full deep copy through Java serialization, for an identity provider with several
+ * authenticators and a large claim configuration, which the copier shares instead of copying.
+ * <p>
+ * Run with {@code mvn test-compile exec:java -Dexec.classpathScope=test -Dexec.mainClass=<this class>} or from the
+ * IDE through {@link #main(String[])}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class IdPCopierBenchmark {
+
+    private static final int PROPERTY_COUNT = 20;
+
+    @Param({"2", "10"})
+    private int authenticatorCount;
+
+    @Param({"10", "500"})
+    private int claimMappingCount;
+
+    private IdentityProvider identityProvider;
+
+    @Setup
+    public void setUp() {
+
+        identityProvider = populate(IdentityProvider.class);
+
+        FederatedAuthenticatorConfig[] authenticators = new FederatedAuthenticatorConfig[authenticatorCount];
+        for (int i = 0; i < authenticatorCount; i++) {
+            authenticators[i] = populate(FederatedAuthenticatorConfig.class);
+            Property[] properties = new Property[PROPERTY_COUNT];
+            for (int j = 0; j < PROPERTY_COUNT; j++) {
+                properties[j] = populate(Property.class);
+            }
+            authenticators[i].setProperties(properties);
+        }
+        identityProvider.setFederatedAuthenticatorConfigs(authenticators);
+        identityProvider.setDefaultAuthenticatorConfig(authenticators[0]);
+
+        ClaimMapping[] claimMappings = new ClaimMapping[claimMappingCount];
+        for (int i = 0; i < claimMappingCount; i++) {
+            claimMappings[i] = populate(ClaimMapping.class);
+        }
+        identityProvider.getClaimConfig().setClaimMappings(claimMappings);
+    }
+
+    @Benchmark
+    public IdentityProvider copyWithSerialization() {
+
+        return serializationCopy(identityProvider);
+    }
+
+    @Benchmark
+    public IdentityProvider copyWithCopier() {
+
+        return IdPCopier.copy(identityProvider);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+
+        new Runner(new OptionsBuilder().include(IdPCopierBenchmark.class.getSimpleName()).build()).run();
+    }
+}
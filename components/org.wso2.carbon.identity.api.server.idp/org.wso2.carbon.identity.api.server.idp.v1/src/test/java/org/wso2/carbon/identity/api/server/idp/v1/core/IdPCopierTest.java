@@ -0,0 +1,133 @@
+/*
+ * Copyright (c) 2020, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.wso2.carbon.identity.api.server.idp.v1.core;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.wso2.carbon.identity.application.common.model.ClaimConfig;
+import org.wso2.carbon.identity.application.common.model.FederatedAuthenticatorConfig;
+import org.wso2.carbon.identity.application.common.model.IdentityProvider;
+import org.wso2.carbon.identity.application.common.model.IdentityProviderProperty;
+import org.wso2.carbon.identity.application.common.model.JustInTimeProvisioningConfig;
+import org.wso2.carbon.identity.application.common.model.PermissionsAndRoleConfig;
+import org.wso2.carbon.identity.application.common.model.Property;
+import org.wso2.carbon.identity.application.common.model.ProvisioningConnectorConfig;
+
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.wso2.carbon.identity.api.server.idp.v1.core.ModelTestUtils.assertDeepEquals;
+import static org.wso2.carbon.identity.api.server.idp.v1.core.ModelTestUtils.populate;
+import static org.wso2.carbon.identity.api.server.idp.v1.core.ModelTestUtils.serializationCopy;
+
+/**
+ * Tests for {@link IdPCopier}.
+ */
+public class IdPCopierTest {
+
+    private IdentityProvider identityProvider;
+
+    @Before
+    public void setUp() {
+
+        identityProvider = populate(IdentityProvider.class);
+    }
+
+    @Test
+    public void testCopyOfNullIsNull() {
+
+        assertNull(IdPCopier.copy(null));
+    }
+
+    @Test
+    public void testCopyIsEquivalentToSerializationCopy() {
+
+        assertDeepEquals(serializationCopy(identityProvider), IdPCopier.copy(identityProvider), "identityProvider");
+    }
+
+    @Test
+    public void testCopyOfEmptyIdentityProviderIsEquivalentToSerializationCopy() {
+
+        IdentityProvider emptyIdentityProvider = new IdentityProvider();
+        assertDeepEquals(serializationCopy(emptyIdentityProvider), IdPCopier.copy(emptyIdentityProvider),
+                "identityProvider");
+    }
+
+    @Test
+    public void testCopyDoesNotShareMutatedObjects() {
+
+        IdentityProvider copy = IdPCopier.copy(identityProvider);
+
+        assertNotSame(identityProvider, copy);
+        assertNotSame(identityProvider.getFederatedAuthenticatorConfigs(), copy.getFederatedAuthenticatorConfigs());
+        assertNotSame(identityProvider.getFederatedAuthenticatorConfigs()[0],
+                copy.getFederatedAuthenticatorConfigs()[0]);
+        assertNotSame(identityProvider.getFederatedAuthenticatorConfigs()[0].getProperties(),
+                copy.getFederatedAuthenticatorConfigs()[0].getProperties());
+        assertNotSame(identityProvider.getDefaultAuthenticatorConfig(), copy.getDefaultAuthenticatorConfig());
+        assertNotSame(identityProvider.getProvisioningConnectorConfigs(), copy.getProvisioningConnectorConfigs());
+        assertNotSame(identityProvider.getProvisioningConnectorConfigs()[0],
+                copy.getProvisioningConnectorConfigs()[0]);
+        assertNotSame(identityProvider.getProvisioningConnectorConfigs()[0].getProvisioningProperties(),
+                copy.getProvisioningConnectorConfigs()[0].getProvisioningProperties());
+        assertNotSame(identityProvider.getDefaultProvisioningConnectorConfig(),
+                copy.getDefaultProvisioningConnectorConfig());
+        assertNotSame(identityProvider.getIdpProperties(), copy.getIdpProperties());
+        assertNotSame(identityProvider.getCertificateInfoArray(), copy.getCertificateInfoArray());
+    }
+
+    @Test
+    public void testCopyKeepsDefaultConfigsAmongConfigs() {
+
+        identityProvider.setDefaultAuthenticatorConfig(identityProvider.getFederatedAuthenticatorConfigs()[1]);
+        identityProvider.setDefaultProvisioningConnectorConfig(identityProvider.getProvisioningConnectorConfigs()[1]);
+
+        IdentityProvider copy = IdPCopier.copy(identityProvider);
+
+        assertSame(copy.getFederatedAuthenticatorConfigs()[1], copy.getDefaultAuthenticatorConfig());
+        assertSame(copy.getProvisioningConnectorConfigs()[1], copy.getDefaultProvisioningConnectorConfig());
+    }
+
+    @Test
+    public void testUpdatingCopyLeavesOriginalUnchanged() {
+
+        IdentityProvider snapshot = serializationCopy(identityProvider);
+        IdentityProvider copy = IdPCopier.copy(identityProvider);
+
+        // Patch operations.
+        copy.setIdentityProviderName("updated");
+        copy.setIdentityProviderDescription("updated");
+        copy.setPrimary(!identityProvider.isPrimary());
+        copy.setIdpProperties(new IdentityProviderProperty[0]);
+        // Single authenticator and connector updates.
+        copy.getFederatedAuthenticatorConfigs()[0] = new FederatedAuthenticatorConfig();
+        copy.getProvisioningConnectorConfigs()[0] = new ProvisioningConnectorConfig();
+        copy.setDefaultAuthenticatorConfig(null);
+        copy.setDefaultProvisioningConnectorConfig(null);
+        // Properties set by the identity provider manager while updating.
+        copy.getFederatedAuthenticatorConfigs()[1].setProperties(new Property[0]);
+        copy.getFederatedAuthenticatorConfigs()[1].setEnabled(!copy.getFederatedAuthenticatorConfigs()[1]
+                .isEnabled());
+        copy.getProvisioningConnectorConfigs()[1].setProvisioningProperties(new Property[0]);
+        // Claim, role and JIT updates.
+        copy.setClaimConfig(new ClaimConfig());
+        copy.setPermissionAndRoleConfig(new PermissionsAndRoleConfig());
+        copy.setJustInTimeProvisioningConfig(new JustInTimeProvisioningConfig());
+
+        assertDeepEquals(snapshot, identityProvider, "identityProvider");
+    }
+}
@@ -0,0 +1,164 @@
+/*
+ * Copyright (c) 2020, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.wso2.carbon.identity.api.server.idp.v1.core;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.wso2.carbon.identity.api.server.idp.v1.model.MetaFederatedAuthenticator;
+import org.wso2.carbon.identity.api.server.idp.v1.model.MetaProperty;
+import org.wso2.carbon.identity.application.common.model.FederatedAuthenticatorConfig;
+import org.wso2.carbon.identity.application.common.model.ProvisioningConnectorConfig;
+import org.wso2.carbon.idp.mgt.IdpManager;
+
+import java.lang.reflect.Proxy;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.wso2.carbon.identity.api.server.common.Util.base64URLEncode;
+
+/**
+ * Tests for {@link IdPMetadataRegistry}.
+ */
+public class IdPMetadataRegistryTest {
+
+    private static final String AUTHENTICATOR_NAME = "GoogleOIDCAuthenticator";
+
+    private final List<FederatedAuthenticatorConfig> authenticators = new ArrayList<>();
+    private final AtomicInteger registryBuildCount = new AtomicInteger();
+    private final AtomicInteger metaBuildCount = new AtomicInteger();
+    private IdPMetadataRegistry registry;
+
+    @Before
+    public void setUp() {
+
+        authenticators.add(buildAuthenticator(AUTHENTICATOR_NAME));
+        registry = new IdPMetadataRegistry(this::createIdentityProviderManager);
+    }
+
+    @After
+    public void tearDown() {
+
+        registry.close();
+    }
+
+    @Test
+    public void testMetaAuthenticatorIsBuiltOnce() throws Exception {
+
+        String authenticatorId = base64URLEncode(AUTHENTICATOR_NAME);
+
+        MetaFederatedAuthenticator first = registry.getMetaFederatedAuthenticator(authenticatorId, this::buildMeta);
+        MetaFederatedAuthenticator second = registry.getMetaFederatedAuthenticator(authenticatorId, this::buildMeta);
+
+        assertEquals(first, second);
+        assertEquals(1, metaBuildCount.get());
+        assertEquals(1, registryBuildCount.get());
+    }
+
+    @Test
+    public void testModifyingMetaAuthenticatorLeavesCachedOneUnchanged() throws Exception {
+
+        String authenticatorId = base64URLEncode(AUTHENTICATOR_NAME);
+        MetaFederatedAuthenticator first = registry.getMetaFederatedAuthenticator(authenticatorId, this::buildMeta);
+
+        first.setDisplayName("modified");
+        first.getProperties().get(0).setDisplayName("modified");
+        first.getProperties().add(new MetaProperty());
+        MetaFederatedAuthenticator second = registry.getMetaFederatedAuthenticator(authenticatorId, this::buildMeta);
+
+        assertNotSame(first, second);
+        assertEquals(AUTHENTICATOR_NAME + " display name", second.getDisplayName());
+        assertEquals(1, second.getProperties().size());
+        assertEquals("Client ID", second.getProperties().get(0).getDisplayName());
+    }
+
+    @Test
+    public void testUnsupportedAuthenticatorHasNoMeta() throws Exception {
+
+        assertNull(registry.getMetaFederatedAuthenticator(base64URLEncode("unknown"), this::buildMeta));
+        assertEquals(0, metaBuildCount.get());
+    }
+
+    @Test
+    public void testInvalidatedRegistryShowsDeployedAuthenticators() throws Exception {
+
+        String authenticatorId = base64URLEncode("SAMLSSOAuthenticator");
+        assertNull(registry.getFederatedAuthenticatorById(authenticatorId));
+
+        // A deployed authenticator service invalidates the registry through the service tracker.
+        authenticators.add(buildAuthenticator("SAMLSSOAuthenticator"));
+        registry.invalidate();
+
+        assertNotNull(registry.getFederatedAuthenticatorById(authenticatorId));
+        assertEquals(2, registry.getFederatedAuthenticators().size());
+        assertEquals(2, registryBuildCount.get());
+    }
+
+    @Test
+    public void testAuthenticatorIsFoundByNonCanonicalId() throws Exception {
+
+        String paddedId = Base64.getUrlEncoder().encodeToString(AUTHENTICATOR_NAME.getBytes(StandardCharsets.UTF_8));
+
+        assertNotNull(registry.getFederatedAuthenticatorById(paddedId));
+    }
+
+    private IdpManager createIdentityProviderManager() {
+
+        return (IdpManager) Proxy.newProxyInstance(IdpManager.class.getClassLoader(), new Class[]{IdpManager.class},
+                (proxy, method, args) -> {
+                    switch (method.getName()) {
+                        case "getAllFederatedAuthenticators":
+                            registryBuildCount.incrementAndGet();
+                            return authenticators.toArray(new FederatedAuthenticatorConfig[0]);
+                        case "getAllProvisioningConnectors":
+                            return new ProvisioningConnectorConfig[0];
+                        default:
+                            throw new UnsupportedOperationException(method.getName());
+                    }
+                });
+    }
+
+    private MetaFederatedAuthenticator buildMeta(FederatedAuthenticatorConfig authenticator) {
+
+        metaBuildCount.incrementAndGet();
+        MetaProperty property = new MetaProperty();
+        property.setKey("ClientId");
+        property.setDisplayName("Client ID");
+        MetaFederatedAuthenticator metaAuthenticator = new MetaFederatedAuthenticator();
+        metaAuthenticator.setName(authenticator.getName());
+        metaAuthenticator.setAuthenticatorId(base64URLEncode(authenticator.getName()));
+        metaAuthenticator.setDisplayName(authenticator.getDisplayName());
+        metaAuthenticator.setProperties(new ArrayList<>(Collections.singletonList(property)));
+        return metaAuthenticator;
+    }
+
+    private static FederatedAuthenticatorConfig buildAuthenticator(String name) {
+
+        FederatedAuthenticatorConfig authenticator = new FederatedAuthenticatorConfig();
+        authenticator.setName(name);
+        authenticator.setDisplayName(name + " display name");
+        return authenticator;
+    }
+}
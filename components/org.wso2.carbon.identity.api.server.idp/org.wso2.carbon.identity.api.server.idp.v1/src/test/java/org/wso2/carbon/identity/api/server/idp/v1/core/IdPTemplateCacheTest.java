@@ -0,0 +1,108 @@
+/*
+ * Copyright (c) 2020, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.wso2.carbon.identity.api.server.idp.v1.core;
+
+import org.junit.After;
+import org.junit.Test;
+import org.wso2.carbon.identity.api.server.idp.v1.model.IdentityProviderPOSTRequest;
+
+import java.io.IOException;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+
+/**
+ * Tests for {@link IdPTemplateCache}.
+ */
+public class IdPTemplateCacheTest {
+
+    private static final String TENANT_DOMAIN = "carbon.super";
+    private static final String OTHER_TENANT_DOMAIN = "wso2.com";
+    private static final String TEMPLATE_ID = "template-1";
+
+    private final IdPTemplateCache idpTemplateCache = IdPTemplateCache.getInstance();
+
+    @After
+    public void tearDown() {
+
+        idpTemplateCache.invalidate(TENANT_DOMAIN, TEMPLATE_ID);
+        idpTemplateCache.invalidate(OTHER_TENANT_DOMAIN, TEMPLATE_ID);
+    }
+
+    @Test
+    public void testIdPIsParsedFromTemplateScript() throws Exception {
+
+        IdentityProviderPOSTRequest idp = idpTemplateCache.getIdP(TENANT_DOMAIN, TEMPLATE_ID,
+                createTemplateScript("Google"));
+
+        assertEquals("Google", idp.getName());
+        assertEquals("Google IdP", idp.getDescription());
+    }
+
+    @Test
+    public void testReturnedIdPsAreNotShared() throws Exception {
+
+        String templateScript = createTemplateScript("Google");
+        IdentityProviderPOSTRequest idp = idpTemplateCache.getIdP(TENANT_DOMAIN, TEMPLATE_ID, templateScript);
+        // A response built from the template is modified.
+        idp.setName("modified");
+        idp.setDescription(null);
+
+        IdentityProviderPOSTRequest nextIdP = idpTemplateCache.getIdP(TENANT_DOMAIN, TEMPLATE_ID, templateScript);
+        assertNotSame(idp, nextIdP);
+        assertEquals("Google", nextIdP.getName());
+        assertEquals("Google IdP", nextIdP.getDescription());
+    }
+
+    @Test
+    public void testTemplatesOfTenantsAreSeparate() throws Exception {
+
+        idpTemplateCache.getIdP(TENANT_DOMAIN, TEMPLATE_ID, createTemplateScript("Google"));
+        idpTemplateCache.getIdP(OTHER_TENANT_DOMAIN, TEMPLATE_ID, createTemplateScript("Facebook"));
+        // The template of the other tenant is removed.
+        idpTemplateCache.invalidate(OTHER_TENANT_DOMAIN, TEMPLATE_ID);
+
+        assertEquals("Google", idpTemplateCache.getIdP(TENANT_DOMAIN, TEMPLATE_ID, createTemplateScript("Google"))
+                .getName());
+        assertEquals("Facebook", idpTemplateCache.getIdP(OTHER_TENANT_DOMAIN, TEMPLATE_ID,
+                createTemplateScript("Facebook")).getName());
+    }
+
+    @Test
+    public void testChangedTemplateScriptIsParsedAgain() throws Exception {
+
+        idpTemplateCache.getIdP(TENANT_DOMAIN, TEMPLATE_ID, createTemplateScript("Google"));
+
+        // The template is updated through another node, so the cached identity provider is not invalidated.
+        assertEquals("Facebook", idpTemplateCache.getIdP(TENANT_DOMAIN, TEMPLATE_ID,
+                createTemplateScript("Facebook")).getName());
+    }
+
+    @Test(expected = IOException.class)
+    public void testInvalidTemplateScriptIsRejected() throws Exception {
+
+        idpTemplateCache.getIdP(TENANT_DOMAIN, TEMPLATE_ID, "{\"name\": ");
+    }
+
+    private String createTemplateScript(String name) throws IOException {
+
+        IdentityProviderPOSTRequest idp = new IdentityProviderPOSTRequest();
+        idp.setName(name);
+        idp.setDescription(name + " IdP");
+        return idpTemplateCache.createTemplateScript(idp);
+    }
+}
@@ -0,0 +1,214 @@
+/*
+ * Copyright (c) 2020, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.wso2.carbon.identity.api.server.idp.v1.core;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
+import java.lang.reflect.Array;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+
+/**
+ * Reflection based helpers to build fully populated framework model objects and to compare model object graphs
+ * field by field, so that tests keep covering fields that are added to the model later.
+ */
+final class ModelTestUtils {
+
+    private static final String MODEL_PACKAGE = "org.wso2.carbon";
+    private static final int MAX_DEPTH = 6;
+    private static final int ARRAY_LENGTH = 2;
+
+    private ModelTestUtils() {
+
+    }
+
+    /**
+     * Create an instance of the given model class with every instance field set to a distinct value.
+     *
+     * @param type Model class.
+     * @param <T>  Type of the model.
+     * @return Populated instance.
+     */
+    static <T> T populate(Class<T> type) {
+
+        return type.cast(populate(type, new AtomicInteger(), 0));
+    }
+
+    /**
+     * Copy the given object through Java serialization, which is the reference deep copy of the model.
+     *
+     * @param object Object to copy.
+     * @param <T>    Type of the object.
+     * @return Copy of the object.
+     */
+    @SuppressWarnings("unchecked")
+    static <T extends Serializable> T serializationCopy(T object) {
+
+        try {
+            ByteArrayOutputStream byteArrayOutputStream = new ByteArrayOutputStream();
+            try (ObjectOutputStream objectOutputStream = new ObjectOutputStream(byteArrayOutputStream)) {
+                objectOutputStream.writeObject(object);
+            }
+            try (ObjectInputStream objectInputStream =
+                         new ObjectInputStream(new ByteArrayInputStream(byteArrayOutputStream.toByteArray()))) {
+                return (T) objectInputStream.readObject();
+            }
+        } catch (IOException | ClassNotFoundException e) {
+            throw new IllegalStateException("Error while copying the object through serialization.", e);
+        }
+    }
+
+    /**
+     * Assert that two object graphs hold the same values, comparing model objects field by field. Transient fields
+     * are not compared as they are not part of the serialized form.
+     *
+     * @param expected Expected object.
+     * @param actual   Actual object.
+     * @param path     Path of the objects in the graph, used in the failure messages.
+     */
+    static void assertDeepEquals(Object expected, Object actual, String path) {
+
+        if (expected == null) {
+            assertNull(path, actual);
+            return;
+        }
+        assertNotNull(path, actual);
+        assertEquals(path, expected.getClass(), actual.getClass());
+
+        Class<?> type = expected.getClass();
+        if (type.isArray()) {
+            assertEquals(path + ".length", Array.getLength(expected), Array.getLength(actual));
+            for (int i = 0; i < Array.getLength(expected); i++) {
+                assertDeepEquals(Array.get(expected, i), Array.get(actual, i), path + "[" + i + "]");
+            }
+            return;
+        }
+        if (!isModelType(type)) {
+            assertEquals(path, expected, actual);
+            return;
+        }
+        try {
+            for (Class<?> current = type; current != Object.class; current = current.getSuperclass()) {
+                for (Field field : current.getDeclaredFields()) {
+                    if (isSkipped(field)) {
+                        continue;
+                    }
+                    field.setAccessible(true);
+                    assertDeepEquals(field.get(expected), field.get(actual), path + "." + field.getName());
+                }
+            }
+        } catch (IllegalAccessException e) {
+            throw new IllegalStateException("Error while comparing " + path + ".", e);
+        }
+    }
+
+    private static Object populate(Class<?> type, AtomicInteger counter, int depth) {
+
+        try {
+            Constructor<?> constructor = type.getDeclaredConstructor();
+            constructor.setAccessible(true);
+            Object instance = constructor.newInstance();
+            for (Class<?> current = type; current != Object.class; current = current.getSuperclass()) {
+                for (Field field : current.getDeclaredFields()) {
+                    if (isSkipped(field) || Modifier.isFinal(field.getModifiers())) {
+                        continue;
+                    }
+                    field.setAccessible(true);
+                    Object value = valueOf(field.getType(), counter, depth + 1);
+                    if (value != null) {
+                        field.set(instance, value);
+                    }
+                }
+            }
+            return instance;
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("Error while populating " + type.getName() + ".", e);
+        }
+    }
+
+    private static Object valueOf(Class<?> type, AtomicInteger counter, int depth) {
+
+        if (type == String.class) {
+            return "value-" + counter.incrementAndGet();
+        }
+        if (type == int.class || type == Integer.class) {
+            return counter.incrementAndGet();
+        }
+        if (type == long.class || type == Long.class) {
+            return (long) counter.incrementAndGet();
+        }
+        if (type == boolean.class || type == Boolean.class) {
+            // The defaults of the model are mostly false, so true makes a missed field visible.
+            return Boolean.TRUE;
+        }
+        if (type.isEnum()) {
+            Object[] constants = type.getEnumConstants();
+            return constants.length > 0 ? constants[constants.length - 1] : null;
+        }
+        if (depth > MAX_DEPTH) {
+            return null;
+        }
+        if (type.isArray()) {
+            Object array = Array.newInstance(type.getComponentType(), ARRAY_LENGTH);
+            for (int i = 0; i < ARRAY_LENGTH; i++) {
+                Object element = valueOf(type.getComponentType(), counter, depth);
+                if (element == null) {
+                    return null;
+                }
+                Array.set(array, i, element);
+            }
+            return array;
+        }
+        if (isModelType(type) && Serializable.class.isAssignableFrom(type) && isInstantiable(type)) {
+            return populate(type, counter, depth);
+        }
+        return null;
+    }
+
+    private static boolean isInstantiable(Class<?> type) {
+
+        if (type.isInterface() || Modifier.isAbstract(type.getModifiers())) {
+            return false;
+        }
+        try {
+            type.getDeclaredConstructor();
+            return true;
+        } catch (NoSuchMethodException e) {
+            return false;
+        }
+    }
+
+    private static boolean isModelType(Class<?> type) {
+
+        return !type.isEnum() && type.getName().startsWith(MODEL_PACKAGE);
+    }
+
+    private static boolean isSkipped(Field field) {
+
+        int modifiers = field.getModifiers();
+        return Modifier.isStatic(modifiers) || Modifier.isTransient(modifiers) || field.isSynthetic();
+    }
+}
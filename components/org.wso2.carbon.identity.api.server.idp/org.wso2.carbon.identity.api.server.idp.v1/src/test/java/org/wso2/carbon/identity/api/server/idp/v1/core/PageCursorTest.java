@@ -0,0 +1,144 @@
+/*
+ * Copyright (c) 2020, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.wso2.carbon.identity.api.server.idp.v1.core;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.wso2.carbon.identity.api.server.common.Util.base64URLEncode;
+import static org.wso2.carbon.identity.api.server.idp.common.Constants.PAGE_CURSOR_ANCHOR_WINDOW;
+
+/**
+ * Tests for {@link PageCursor}, crawling an in-memory list the way the identity provider manager lists items, with
+ * the retrieved items capped at a maximum.
+ */
+public class PageCursorTest {
+
+    private static final int ITEM_COUNT = 200;
+    private static final int MAXIMUM_ITEMS_PER_PAGE = 50;
+
+    private final List<String> items = new ArrayList<>();
+
+    @Before
+    public void setUp() {
+
+        for (int i = 0; i < ITEM_COUNT; i++) {
+            items.add(String.format("item-%03d", i));
+        }
+    }
+
+    @Test
+    public void testCursorIsDecodedFromItsEncoding() {
+
+        PageCursor cursor = PageCursor.decode(new PageCursor(10, "item-009").encode());
+
+        assertNotNull(cursor);
+        assertEquals(new PageCursor(10, "item-009").encode(), cursor.encode());
+    }
+
+    @Test
+    public void testMalformedCursorsAreNotDecoded() {
+
+        assertNull(PageCursor.decode("not base64 !"));
+        assertNull(PageCursor.decode(base64URLEncode("item-009")));
+        assertNull(PageCursor.decode(base64URLEncode("ten:item-009")));
+        assertNull(PageCursor.decode(base64URLEncode("0:item-009")));
+        assertNull(PageCursor.decode(base64URLEncode("10:")));
+    }
+
+    @Test
+    public void testPageLimitLeavesRoomForAnchorWindow() {
+
+        assertEquals(10, PageCursor.getPageLimit(10, MAXIMUM_ITEMS_PER_PAGE));
+        assertEquals(MAXIMUM_ITEMS_PER_PAGE - 2 * PAGE_CURSOR_ANCHOR_WINDOW - 1,
+                PageCursor.getPageLimit(MAXIMUM_ITEMS_PER_PAGE, MAXIMUM_ITEMS_PER_PAGE));
+        assertEquals(1, PageCursor.getPageLimit(10, 2 * PAGE_CURSOR_ANCHOR_WINDOW));
+    }
+
+    @Test
+    public void testCrawlWithMaximumLimitReturnsFullPages() {
+
+        int pageLimit = PageCursor.getPageLimit(MAXIMUM_ITEMS_PER_PAGE, MAXIMUM_ITEMS_PER_PAGE);
+        List<String> crawled = new ArrayList<>(getPage(null, pageLimit));
+        while (crawled.size() < items.size()) {
+            List<String> page = getPage(new PageCursor(crawled.size(), crawled.get(crawled.size() - 1)), pageLimit);
+            if (crawled.size() + pageLimit <= items.size()) {
+                assertEquals(pageLimit, page.size());
+            }
+            crawled.addAll(page);
+        }
+        assertEquals(items, crawled);
+    }
+
+    @Test
+    public void testItemsRemovedBeforeCursorAreNotSkipped() {
+
+        List<String> firstPage = getPage(null, 20);
+        List<String> expectedNextPage = new ArrayList<>(items.subList(20, 40));
+        items.subList(0, PAGE_CURSOR_ANCHOR_WINDOW).clear();
+
+        assertEquals(expectedNextPage, getPage(new PageCursor(20, firstPage.get(19)), 20));
+    }
+
+    @Test
+    public void testItemsAddedBeforeCursorAreNotRepeated() {
+
+        List<String> firstPage = getPage(null, 20);
+        List<String> expectedNextPage = new ArrayList<>(items.subList(20, 40));
+        for (int i = 0; i < PAGE_CURSOR_ANCHOR_WINDOW; i++) {
+            items.add(0, "added-" + i);
+        }
+
+        assertEquals(expectedNextPage, getPage(new PageCursor(20, firstPage.get(19)), 20));
+    }
+
+    @Test
+    public void testExpectedPositionIsUsedIfAnchorIsRemoved() {
+
+        List<String> firstPage = getPage(null, 20);
+        items.remove(firstPage.get(19));
+
+        // The anchor is not listed anymore, so the page starts at the position expected by the cursor.
+        assertEquals(items.subList(20, 40), getPage(new PageCursor(20, firstPage.get(19)), 20));
+    }
+
+    private List<String> getPage(PageCursor cursor, int limit) {
+
+        if (cursor == null) {
+            return new ArrayList<>(list(limit, 0));
+        }
+        List<String> window = list(cursor.getWindowLimit(limit), cursor.getWindowOffset());
+        int pageStart = cursor.getPageStart(window, Function.identity());
+        return new ArrayList<>(window.subList(pageStart, Math.min(window.size(), pageStart + limit)));
+    }
+
+    /**
+     * List the items by offset, capping the number of items like the identity provider manager does.
+     */
+    private List<String> list(int limit, int offset) {
+
+        int from = Math.min(offset, items.size());
+        return items.subList(from, Math.min(items.size(), from + Math.min(limit, MAXIMUM_ITEMS_PER_PAGE)));
+    }
+}
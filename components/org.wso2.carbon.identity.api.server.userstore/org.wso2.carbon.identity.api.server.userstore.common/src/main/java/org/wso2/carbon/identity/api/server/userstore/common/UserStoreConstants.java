@@ -29,6 +29,30 @@ public class UserStoreConstants {
     public static final String USER_STORE_DOMAIN_NAME = "/domainName";
     public static final String USER_STORE_PROPERTIES = "/properties/";
 
+    // Time-to-live of the index of the user store types registered in the server, which bounds the staleness of the
+    // index after a user store manager is deployed or removed.
+    public static final long USER_STORE_TYPE_INDEX_TIMEOUT = 300000L;
+
+    // User store list attributes, which can be used to filter and sort the user stores.
+    public static final String ATTR_NAME = "name";
+    public static final String ATTR_TYPE_NAME = "typeName";
+    public static final String ATTR_ENABLED = "enabled";
+
+    // Pagination.
+    public static final String SORT_ORDER_ASCENDING = "asc";
+    public static final String SORT_ORDER_DESCENDING = "desc";
+    public static final String PAGE_LINK_REL_NEXT = "next";
+    public static final String PAGE_LINK_REL_PREVIOUS = "previous";
+    public static final String TOTAL_RESULTS_HEADER = "X-Total-Count";
+
+    // User store health checks. Results of a tenant are cached for a short time, so that frequent polling does not
+    // probe the user stores on every request.
+    public static final long USER_STORE_HEALTH_CACHE_TIMEOUT = 30000L;
+    public static final long USER_STORE_HEALTH_PROBE_TIMEOUT = 5000L;
+    public static final int USER_STORE_HEALTH_WORKER_COUNT = 8;
+    public static final int USER_STORE_HEALTH_QUEUE_SIZE = 500;
+    public static final long USER_STORE_HEALTH_WORKER_KEEP_ALIVE_TIME = 60000L;
+
     /**
      * Enum for user store related errors in the format of
      * Error Code - code to identify the error
@@ -54,15 +78,6 @@ public class UserStoreConstants {
                 "Unable to update the secondary user store configurations.",
                 "Server Encountered an error while updating the secondary user store configurations.",
                 Response.Status.INTERNAL_SERVER_ERROR),
-        ERROR_CODE_PAGINATION_NOT_IMPLEMENTED("65005",
-                "Pagination not supported.",
-                "Pagination capabilities are not supported in this version of the API."),
-        ERROR_CODE_FILTERING_NOT_IMPLEMENTED("65006",
-                "Filtering not supported.",
-                "Filtering capability is not supported in this version of the API."),
-        ERROR_CODE_SORTING_NOT_IMPLEMENTED("65007",
-                "Sorting not supported.",
-                "Sorting capability is not supported in this version of the API."),
         ERROR_CODE_DATASOURCE_CONNECTION("65008",
                 "Unable to check RDBMS connection Health",
                 "Server Encountered an error while checking the data source connection.",
@@ -75,6 +90,10 @@ public class UserStoreConstants {
                 "Unable to get the user store by its domain id.",
                 "Server Encountered an error while retrieving the user store by its domain id.",
                 Response.Status.INTERNAL_SERVER_ERROR),
+        ERROR_CODE_ERROR_CHECKING_USER_STORE_HEALTH("65011",
+                "Unable to check the health of the user stores.",
+                "Server Encountered an error while checking the health of the secondary user stores.",
+                Response.Status.INTERNAL_SERVER_ERROR),
 
         // For client errors,  allocated the error code range starting from 600
         ERROR_CODE_DOMAIN_ID_NOT_FOUND("60001",
@@ -86,7 +105,13 @@ public class UserStoreConstants {
         ERROR_CODE_MANDATORY_PROPERTIES_NOT_FOUND("60006", "Mandatory property is missing ",
                 " Required user store  property or its value is missing in the request "),
         ERROR_CODE_INVALID_INPUT("60004", "Invalid Input", "Provided Input is not valid.",
-                                 Response.Status.BAD_REQUEST);
+                                 Response.Status.BAD_REQUEST),
+        ERROR_CODE_INVALID_PAGINATION_PARAMETERS("60007", "Invalid pagination parameters.",
+                "Limit and offset cannot be negative.", Response.Status.BAD_REQUEST),
+        ERROR_CODE_INVALID_FILTER("60008", "Invalid filter.",
+                "The filter '%s' is invalid.", Response.Status.BAD_REQUEST),
+        ERROR_CODE_INVALID_SORT("60009", "Invalid sort.",
+                "The sort '%s' is invalid.", Response.Status.BAD_REQUEST);
 
         private final String code;
         private final String message;
@@ -29,6 +29,7 @@ import org.wso2.carbon.identity.api.server.userstore.v1.model.MetaUserStoreType;
 import org.wso2.carbon.identity.api.server.userstore.v1.model.PatchDocument;
 import org.wso2.carbon.identity.api.server.userstore.v1.model.RDBMSConnectionReq;
 import org.wso2.carbon.identity.api.server.userstore.v1.model.UserStoreConfigurationsRes;
+import org.wso2.carbon.identity.api.server.userstore.v1.model.UserStoreHealthRes;
 import org.wso2.carbon.identity.api.server.userstore.v1.model.UserStoreListResponse;
 import org.wso2.carbon.identity.api.server.userstore.v1.model.UserStoreReq;
 import org.wso2.carbon.identity.api.server.userstore.v1.model.UserStoreResponse;
@@ -129,12 +130,12 @@ public class UserstoresApi  {
     }, tags={ "User Store", })
     @ApiResponses(value = { 
         @ApiResponse(code = 200, message = "Successful response.", response = UserStoreListResponse.class, responseContainer = "List"),
+        @ApiResponse(code = 400, message = "Invalid input request.", response = Error.class),
         @ApiResponse(code = 401, message = "Unauthorized.", response = Void.class),
         @ApiResponse(code = 404, message = "The specified resource is not found.", response = Error.class),
-        @ApiResponse(code = 500, message = "Internal Server Error.", response = Error.class),
-        @ApiResponse(code = 501, message = "Not Implemented.", response = Error.class)
+        @ApiResponse(code = 500, message = "Internal Server Error.", response = Error.class)
     })
-    public Response getSecondaryUserStores(    @Valid@ApiParam(value = "maximum number of records to return")  @QueryParam("limit") Integer limit,     @Valid@ApiParam(value = "number of records to skip for pagination")  @QueryParam("offset") Integer offset,     @Valid@ApiParam(value = "Condition to filter the retrival of records.")  @QueryParam("filter") String filter,     @Valid@ApiParam(value = "Define the order how the retrieved records should be sorted.")  @QueryParam("sort") String sort,     @Valid@ApiParam(value = "Define set of user store attributes (as comma separated) to be returned.")  @QueryParam("requiredAttributes") String requiredAttributes) {
+    public Response getSecondaryUserStores(    @Valid@ApiParam(value = "maximum number of records to return")  @QueryParam("limit") Integer limit,     @Valid@ApiParam(value = "number of records to skip for pagination")  @QueryParam("offset") Integer offset,     @Valid@ApiParam(value = "Condition to filter the retrival of records. Supports 'eq', 'sw' and 'co' conditions on 'name', 'typeName' and 'enabled', joined with 'and'.")  @QueryParam("filter") String filter,     @Valid@ApiParam(value = "Define the order how the retrieved records should be sorted. Supports 'name', 'typeName' and 'enabled', followed by 'asc' or 'desc'. Disabled user stores come first in ascending order of 'enabled'.")  @QueryParam("sort") String sort,     @Valid@ApiParam(value = "Define set of user store attributes (as comma separated) to be returned.")  @QueryParam("requiredAttributes") String requiredAttributes) {
 
         return delegate.getSecondaryUserStores(limit,  offset,  filter,  sort,  requiredAttributes );
     }
@@ -161,6 +162,27 @@ public class UserstoresApi  {
         return delegate.getUserStoreByDomainId(userstoreDomainId );
     }
 
+    @Valid
+    @GET
+    @Path("/health")
+    
+    @Produces({ "application/json" })
+    @ApiOperation(value = "Check the health of the configured secondary user stores.", notes = "This API provides the capability to check the connection health of the configured secondary user stores. The user stores are probed concurrently, and a user store which does not respond within the probe timeout is reported as timed out. Results are cached for a short time. Probe metrics are node local.   <b>Permission required:</b>   *_/permission/admin ", response = UserStoreHealthRes.class, responseContainer = "List", authorizations = {
+        @Authorization(value = "BasicAuth"),
+        @Authorization(value = "OAuth2", scopes = {
+            
+        })
+    }, tags={ "User Store", })
+    @ApiResponses(value = { 
+        @ApiResponse(code = 200, message = "Successful response.", response = UserStoreHealthRes.class, responseContainer = "List"),
+        @ApiResponse(code = 401, message = "Unauthorized.", response = Void.class),
+        @ApiResponse(code = 500, message = "Internal Server Error.", response = Error.class)
+    })
+    public Response getUserStoreHealth() {
+
+        return delegate.getUserStoreHealth();
+    }
+
     @Valid
     @GET
     @Path("/meta/types/{type-id}")
@@ -174,15 +196,16 @@ public class UserstoresApi  {
     }, tags={ "Meta", })
     @ApiResponses(value = { 
         @ApiResponse(code = 200, message = "Successful response.", response = MetaUserStoreType.class),
+        @ApiResponse(code = 304, message = "Not Modified", response = Void.class),
         @ApiResponse(code = 400, message = "Invalid input request.", response = Error.class),
         @ApiResponse(code = 401, message = "Unauthorized.", response = Void.class),
         @ApiResponse(code = 404, message = "The specified resource is not found.", response = Error.class),
         @ApiResponse(code = 500, message = "Internal Server Error.", response = Error.class),
         @ApiResponse(code = 501, message = "Not Implemented.", response = Error.class)
     })
-    public Response getUserStoreManagerProperties(@ApiParam(value = "Id of the user store type",required=true) @PathParam("type-id") String typeId) {
+    public Response getUserStoreManagerProperties(@ApiParam(value = "Id of the user store type",required=true) @PathParam("type-id") String typeId, @ApiParam(value = "ETag of the user store type cached by the client. The user store type is not returned if it is not modified." ) @HeaderParam("If-None-Match") String ifNoneMatch) {
 
-        return delegate.getUserStoreManagerProperties(typeId);
+        return delegate.getUserStoreManagerProperties(typeId, ifNoneMatch);
     }
 
     @Valid
@@ -29,6 +29,7 @@ import org.wso2.carbon.identity.api.server.userstore.v1.model.MetaUserStoreType;
 import org.wso2.carbon.identity.api.server.userstore.v1.model.PatchDocument;
 import org.wso2.carbon.identity.api.server.userstore.v1.model.RDBMSConnectionReq;
 import org.wso2.carbon.identity.api.server.userstore.v1.model.UserStoreConfigurationsRes;
+import org.wso2.carbon.identity.api.server.userstore.v1.model.UserStoreHealthRes;
 import org.wso2.carbon.identity.api.server.userstore.v1.model.UserStoreListResponse;
 import org.wso2.carbon.identity.api.server.userstore.v1.model.UserStoreReq;
 import org.wso2.carbon.identity.api.server.userstore.v1.model.UserStoreResponse;
@@ -47,7 +48,9 @@ public interface UserstoresApiService {
 
       public Response getUserStoreByDomainId(String userstoreDomainId);
 
-      public Response getUserStoreManagerProperties(String typeId);
+      public Response getUserStoreHealth();
+
+      public Response getUserStoreManagerProperties(String typeId, String ifNoneMatch);
 
       public Response patchUserStore(String userstoreDomainId, List<PatchDocument> patchDocument);
 
@@ -0,0 +1,290 @@
+/*
+* Copyright (c) 2020, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+*
+* Licensed under the Apache License, Version 2.0 (the "License");
+* you may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+*
+* http://www.apache.org/licenses/LICENSE-2.0
+*
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+*/
+
+package org.wso2.carbon.identity.api.server.userstore.v1.model;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.annotation.JsonCreator;
+import io.swagger.annotations.ApiModel;
+import io.swagger.annotations.ApiModelProperty;
+import javax.validation.constraints.*;
+
+
+import io.swagger.annotations.*;
+import java.util.Objects;
+import javax.validation.Valid;
+import javax.xml.bind.annotation.*;
+
+public class UserStoreHealthRes  {
+  
+
+@XmlType(name="StatusEnum")
+@XmlEnum(String.class)
+public enum StatusEnum {
+
+    @XmlEnumValue("UP") UP(String.valueOf("UP")), @XmlEnumValue("DOWN") DOWN(String.valueOf("DOWN")), @XmlEnumValue("TIMEOUT") TIMEOUT(String.valueOf("TIMEOUT")), @XmlEnumValue("DISABLED") DISABLED(String.valueOf("DISABLED")), @XmlEnumValue("UNKNOWN") UNKNOWN(String.valueOf("UNKNOWN"));
+
+
+    private String value;
+
+    StatusEnum(String v) {
+        value = v;
+    }
+
+    public String value() {
+        return value;
+    }
+
+    @Override
+    public String toString() {
+        return String.valueOf(value);
+    }
+
+    public static StatusEnum fromValue(String value) {
+        for (StatusEnum b : StatusEnum.values()) {
+            if (b.value.equals(value)) {
+                return b;
+            }
+        }
+        throw new IllegalArgumentException("Unexpected value '" + value + "'");
+    }
+}
+
+    private String id;
+    private String name;
+    private StatusEnum status;
+    private Long latency;
+    private String message;
+    private Long probeCount;
+    private Long failureCount;
+    private Long averageLatency;
+
+    /**
+    * Id of the user store.
+    **/
+    public UserStoreHealthRes id(String id) {
+
+        this.id = id;
+        return this;
+    }
+    
+    @ApiModelProperty(example = "U0VDT05EQVJZ", required = true, value = "Id of the user store.")
+    @JsonProperty("id")
+    @Valid
+    @NotNull(message = "Property id cannot be null.")
+
+    public String getId() {
+        return id;
+    }
+    public void setId(String id) {
+        this.id = id;
+    }
+
+    /**
+    * Domain name of the user store.
+    **/
+    public UserStoreHealthRes name(String name) {
+
+        this.name = name;
+        return this;
+    }
+    
+    @ApiModelProperty(example = "SECONDARY", required = true, value = "Domain name of the user store.")
+    @JsonProperty("name")
+    @Valid
+    @NotNull(message = "Property name cannot be null.")
+
+    public String getName() {
+        return name;
+    }
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    /**
+    * Status of the user store. TIMEOUT if the user store did not respond within the probe timeout. UNKNOWN if the user store could not be probed since the health check workers were busy.
+    **/
+    public UserStoreHealthRes status(StatusEnum status) {
+
+        this.status = status;
+        return this;
+    }
+    
+    @ApiModelProperty(example = "UP", required = true, value = "Status of the user store. TIMEOUT if the user store did not respond within the probe timeout. UNKNOWN if the user store could not be probed since the health check workers were busy.")
+    @JsonProperty("status")
+    @Valid
+    @NotNull(message = "Property status cannot be null.")
+
+    public StatusEnum getStatus() {
+        return status;
+    }
+    public void setStatus(StatusEnum status) {
+        this.status = status;
+    }
+
+    /**
+    * Time taken by the probe in milliseconds. Not set if the user store was not probed.
+    **/
+    public UserStoreHealthRes latency(Long latency) {
+
+        this.latency = latency;
+        return this;
+    }
+    
+    @ApiModelProperty(example = "12", value = "Time taken by the probe in milliseconds. Not set if the user store was not probed.")
+    @JsonProperty("latency")
+    @Valid
+    public Long getLatency() {
+        return latency;
+    }
+    public void setLatency(Long latency) {
+        this.latency = latency;
+    }
+
+    /**
+    * Reason of the failure, if the user store is not available.
+    **/
+    public UserStoreHealthRes message(String message) {
+
+        this.message = message;
+        return this;
+    }
+    
+    @ApiModelProperty(example = "Probe failed.", value = "Reason of the failure, if the user store is not available.")
+    @JsonProperty("message")
+    @Valid
+    public String getMessage() {
+        return message;
+    }
+    public void setMessage(String message) {
+        this.message = message;
+    }
+
+    /**
+    * Number of probes of the user store on this node.
+    **/
+    public UserStoreHealthRes probeCount(Long probeCount) {
+
+        this.probeCount = probeCount;
+        return this;
+    }
+    
+    @ApiModelProperty(example = "42", value = "Number of probes of the user store on this node.")
+    @JsonProperty("probeCount")
+    @Valid
+    public Long getProbeCount() {
+        return probeCount;
+    }
+    public void setProbeCount(Long probeCount) {
+        this.probeCount = probeCount;
+    }
+
+    /**
+    * Number of failed or timed out probes of the user store on this node.
+    **/
+    public UserStoreHealthRes failureCount(Long failureCount) {
+
+        this.failureCount = failureCount;
+        return this;
+    }
+    
+    @ApiModelProperty(example = "1", value = "Number of failed or timed out probes of the user store on this node.")
+    @JsonProperty("failureCount")
+    @Valid
+    public Long getFailureCount() {
+        return failureCount;
+    }
+    public void setFailureCount(Long failureCount) {
+        this.failureCount = failureCount;
+    }
+
+    /**
+    * Average latency of the probes of the user store on this node in milliseconds.
+    **/
+    public UserStoreHealthRes averageLatency(Long averageLatency) {
+
+        this.averageLatency = averageLatency;
+        return this;
+    }
+    
+    @ApiModelProperty(example = "15", value = "Average latency of the probes of the user store on this node in milliseconds.")
+    @JsonProperty("averageLatency")
+    @Valid
+    public Long getAverageLatency() {
+        return averageLatency;
+    }
+    public void setAverageLatency(Long averageLatency) {
+        this.averageLatency = averageLatency;
+    }
+
+
+
+    @Override
+    public boolean equals(java.lang.Object o) {
+
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        UserStoreHealthRes userStoreHealthRes = (UserStoreHealthRes) o;
+        return Objects.equals(this.id, userStoreHealthRes.id) &&
+            Objects.equals(this.name, userStoreHealthRes.name) &&
+            Objects.equals(this.status, userStoreHealthRes.status) &&
+            Objects.equals(this.latency, userStoreHealthRes.latency) &&
+            Objects.equals(this.message, userStoreHealthRes.message) &&
+            Objects.equals(this.probeCount, userStoreHealthRes.probeCount) &&
+            Objects.equals(this.failureCount, userStoreHealthRes.failureCount) &&
+            Objects.equals(this.averageLatency, userStoreHealthRes.averageLatency);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(id, name, status, latency, message, probeCount, failureCount, averageLatency);
+    }
+
+    @Override
+    public String toString() {
+
+        StringBuilder sb = new StringBuilder();
+        sb.append("class UserStoreHealthRes {\n");
+        
+        sb.append("    id: ").append(toIndentedString(id)).append("\n");
+        sb.append("    name: ").append(toIndentedString(name)).append("\n");
+        sb.append("    status: ").append(toIndentedString(status)).append("\n");
+        sb.append("    latency: ").append(toIndentedString(latency)).append("\n");
+        sb.append("    message: ").append(toIndentedString(message)).append("\n");
+        sb.append("    probeCount: ").append(toIndentedString(probeCount)).append("\n");
+        sb.append("    failureCount: ").append(toIndentedString(failureCount)).append("\n");
+        sb.append("    averageLatency: ").append(toIndentedString(averageLatency)).append("\n");
+        sb.append("}");
+        return sb.toString();
+    }
+
+    /**
+    * Convert the given object to string with each line indented by 4 spaces
+    * (except the first line).
+    */
+    private String toIndentedString(java.lang.Object o) {
+
+        if (o == null) {
+            return "null";
+        }
+        return o.toString().replace("\n", "\n");
+    }
+}
+
@@ -21,7 +21,9 @@ import org.apache.commons.lang.ArrayUtils;
 import org.apache.commons.lang.StringUtils;
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
+import org.springframework.beans.factory.DisposableBean;
 
+import org.wso2.carbon.identity.api.server.common.AttributeFilter;
 import org.wso2.carbon.identity.api.server.common.ContextLoader;
 import org.wso2.carbon.identity.api.server.common.error.APIError;
 import org.wso2.carbon.identity.api.server.common.error.ErrorResponse;
@@ -37,6 +39,7 @@ import org.wso2.carbon.identity.api.server.userstore.v1.model.PatchDocument;
 import org.wso2.carbon.identity.api.server.userstore.v1.model.PropertiesRes;
 import org.wso2.carbon.identity.api.server.userstore.v1.model.RDBMSConnectionReq;
 import org.wso2.carbon.identity.api.server.userstore.v1.model.UserStoreConfigurationsRes;
+import org.wso2.carbon.identity.api.server.userstore.v1.model.UserStoreHealthRes;
 import org.wso2.carbon.identity.api.server.userstore.v1.model.UserStoreListResponse;
 import org.wso2.carbon.identity.api.server.userstore.v1.model.UserStorePropertiesRes;
 import org.wso2.carbon.identity.api.server.userstore.v1.model.UserStoreReq;
@@ -50,14 +53,21 @@ import org.wso2.carbon.identity.user.store.configuration.utils.IdentityUserStore
 import org.wso2.carbon.identity.user.store.configuration.utils.IdentityUserStoreServerException;
 import org.wso2.carbon.user.api.Properties;
 import org.wso2.carbon.user.api.Property;
+import org.wso2.carbon.user.core.UserCoreConstants;
 import org.wso2.carbon.user.core.tracker.UserStoreManagerRegistry;
 
+import java.io.UnsupportedEncodingException;
+import java.net.URLEncoder;
 import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Base64;
+import java.util.Collections;
+import java.util.Comparator;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
@@ -71,9 +81,23 @@ import static org.wso2.carbon.identity.api.server.common.Constants.V1_API_PATH_C
 /**
  * Call internal osgi services to perform user store related operations.
  */
-public class ServerUserStoreService {
+public class ServerUserStoreService implements DisposableBean {
 
     private static final Log LOG = LogFactory.getLog(ServerUserStoreService.class);
+    private static final Set<String> FILTER_ATTRIBUTES = Collections.unmodifiableSet(new HashSet<>(
+            Arrays.asList(UserStoreConstants.ATTR_NAME, UserStoreConstants.ATTR_TYPE_NAME,
+                    UserStoreConstants.ATTR_ENABLED)));
+    private static final Comparator<String> NULL_SAFE_STRING_ORDER =
+            Comparator.nullsLast(String.CASE_INSENSITIVE_ORDER);
+
+    /**
+     * Release the OSGi service tracking of the user store type index when the API is destroyed.
+     */
+    @Override
+    public void destroy() {
+
+        UserStoreTypeIndex.getInstance().close();
+    }
 
     /**
      * Add a userStore {@link UserStoreReq}.
@@ -87,6 +111,7 @@ public class ServerUserStoreService {
             validateMandatoryProperties(getUserStoreType(base64URLDecodeId(userStoreReq.getTypeId())), userStoreReq);
             UserStoreConfigService userStoreConfigService = UserStoreConfigServiceHolder.getUserStoreConfigService();
             userStoreConfigService.addUserStore(createUserStoreDTO(userStoreReq));
+            invalidateUserStoreHealth();
             return buildUserStoreResponseDTO(userStoreReq);
         } catch (IdentityUserStoreMgtException e) {
             UserStoreConstants.ErrorMessage errorEnum =
@@ -106,6 +131,7 @@ public class ServerUserStoreService {
             UserStoreConfigService userStoreConfigService = UserStoreConfigServiceHolder.
                     getUserStoreConfigService();
             userStoreConfigService.deleteUserStore(base64URLDecodeId(userstoreDomainId));
+            invalidateUserStoreHealth();
         } catch (IdentityUserStoreClientException e) {
             if (LOG.isDebugEnabled()) {
                 LOG.debug(e);
@@ -133,6 +159,7 @@ public class ServerUserStoreService {
         //         createUserStoreDTO(userStoreReq, domainId));
         try {
             userStoreConfigService.updateUserStore(createUserStoreDTO(userStoreReq), false);
+            invalidateUserStoreHealth();
             return buildUserStoreResponseDTO(userStoreReq);
         } catch (IdentityUserStoreMgtException e) {
             UserStoreConstants.ErrorMessage errorEnum =
@@ -156,10 +183,10 @@ public class ServerUserStoreService {
             List<AvailableUserStoreClassesRes> propertiesToAdd = new ArrayList<>();
             for (String className : classNames) {
                 AvailableUserStoreClassesRes availableUserStoreClassesResDTO = new AvailableUserStoreClassesRes();
-                String typeId = base64URLEncodeId(Objects.
-                        requireNonNull(getUserStoreTypeName(className)));
+                String typeName = getUserStoreTypeName(className);
+                String typeId = base64URLEncodeId(Objects.requireNonNull(typeName));
                 availableUserStoreClassesResDTO.setClassName(className);
-                availableUserStoreClassesResDTO.setTypeName(getUserStoreTypeName(className));
+                availableUserStoreClassesResDTO.setTypeName(typeName);
                 availableUserStoreClassesResDTO.setTypeId(typeId);
                 availableUserStoreClassesResDTO.setSelf(
                         ContextLoader.buildURIForBody(String.format(V1_API_PATH_COMPONENT +
@@ -177,21 +204,41 @@ public class ServerUserStoreService {
     /**
      * To retrieve the configured user store lists.
      *
-     * @param limit  items per page.
-     * @param offset 0 based index to get the results starting from this index + 1.
-     * @param filter to specify the filtering capabilities.
-     * @param sort   to specify the sorting order.
-     * @return List<UserStoreListResponse>.
+     * @param limit              items per page.
+     * @param offset             0 based index to get the results starting from this index + 1.
+     * @param filter             to specify the filtering capabilities.
+     * @param sort               to specify the sorting order.
+     * @param requiredAttributes comma separated user store properties to be returned.
+     * @return Requested page of user stores.
      */
-    public List<UserStoreListResponse> getUserStoreList(Integer limit, Integer offset, String filter, String sort,
-                                                        String requiredAttributes) {
+    public UserStoreListPage getUserStoreList(Integer limit, Integer offset, String filter, String sort,
+                                              String requiredAttributes) {
 
-        handleNotImplementedBehaviour(limit, offset, filter, sort);
+        validatePaginationParameters(limit, offset);
+        AttributeFilter userStoreFilter = parseFilter(filter);
+        Comparator<UserStoreDTO> comparator = getUserStoreComparator(sort);
+        Set<String> requestedAttributes = getRequestedAttributes(requiredAttributes);
 
         UserStoreConfigService userStoreConfigService = UserStoreConfigServiceHolder.getUserStoreConfigService();
         try {
             UserStoreDTO[] userStoreDTOS = userStoreConfigService.getUserStores();
-            return buildUserStoreListResponse(userStoreDTOS, requiredAttributes);
+            List<UserStoreDTO> userStoreList = new ArrayList<>();
+            if (ArrayUtils.isNotEmpty(userStoreDTOS)) {
+                for (UserStoreDTO userStoreDTO : userStoreDTOS) {
+                    if (userStoreFilter.matches(attribute ->
+                            Collections.singletonList(getUserStoreAttributeValue(userStoreDTO, attribute)))) {
+                        userStoreList.add(userStoreDTO);
+                    }
+                }
+            }
+            if (comparator != null) {
+                userStoreList.sort(comparator);
+            }
+
+            return new UserStoreListPage(
+                    buildUserStoreListResponse(getPage(userStoreList, limit, offset), requestedAttributes),
+                    userStoreList.size(),
+                    buildPaginationLinks(userStoreList.size(), limit, offset, filter, sort, requiredAttributes));
 
         } catch (IdentityUserStoreMgtException e) {
             UserStoreConstants.ErrorMessage errorEnum =
@@ -220,9 +267,9 @@ public class ServerUserStoreService {
             userStoreConfigurations.setClassName(userStoreDTO.getClassName());
             userStoreConfigurations.setDescription(userStoreDTO.getDescription());
             userStoreConfigurations.setName(userStoreDTO.getDomainId());
-            userStoreConfigurations.setTypeId(base64URLEncodeId(Objects.requireNonNull
-                    (getUserStoreTypeName(userStoreDTO.getClassName()))));
-            userStoreConfigurations.setTypeName(getUserStoreTypeName(userStoreDTO.getClassName()));
+            String typeName = getUserStoreTypeName(userStoreDTO.getClassName());
+            userStoreConfigurations.setTypeId(base64URLEncodeId(Objects.requireNonNull(typeName)));
+            userStoreConfigurations.setTypeName(typeName);
             PropertyDTO[] dtoProperties = userStoreDTO.getProperties();
             for (PropertyDTO propertyDTO : dtoProperties) {
                 AddUserStorePropertiesRes userStorePropertiesRes = new AddUserStorePropertiesRes();
@@ -244,22 +291,26 @@ public class ServerUserStoreService {
      * Retrieve the meta of user store type.
      *
      * @param typeId the user store type id.
-     * @return MetaUserStoreType.
+     * @return MetaUserStoreType along with its ETag.
      */
 
-    public MetaUserStoreType getUserStoreManagerProperties(String typeId) {
+    public UserStoreTypeIndex.CachedMetaUserStoreType getUserStoreManagerProperties(String typeId) {
 
         UserStoreConfigService userStoreConfigService = UserStoreConfigServiceHolder.getUserStoreConfigService();
         Set<String> classNames;
         try {
+            String typeName = base64URLDecodeId(typeId);
             classNames = userStoreConfigService.getAvailableUserStoreClasses();
-            if (CollectionUtils.isNotEmpty(classNames) &&
-                    classNames.contains(getUserStoreType(base64URLDecodeId(typeId)))) {
-                return buildUserStoreMetaResponse(typeId);
-            } else {
+            UserStoreTypeIndex.CachedMetaUserStoreType metaUserStoreType = null;
+            if (CollectionUtils.isNotEmpty(classNames) && classNames.contains(getUserStoreType(typeName))) {
+                metaUserStoreType = UserStoreTypeIndex.getInstance().getMetaUserStoreType(typeName,
+                        this::buildUserStoreMetaResponse);
+            }
+            if (metaUserStoreType == null) {
                 throw handleException(Response.Status.NOT_FOUND, UserStoreConstants.ErrorMessage.
                         ERROR_CODE_NOT_FOUND);
             }
+            return metaUserStoreType;
         } catch (IdentityUserStoreMgtException e) {
             UserStoreConstants.ErrorMessage errorEnum =
                     UserStoreConstants.ErrorMessage.ERROR_CODE_ERROR_RETRIEVING_USER_STORE;
@@ -294,6 +345,23 @@ public class ServerUserStoreService {
         return connectionEstablishedResponse;
     }
 
+    /**
+     * Check the health of the configured secondary user stores. The user stores are probed concurrently, and the
+     * results are cached for a short time.
+     *
+     * @return Health of each configured user store.
+     */
+    public List<UserStoreHealthRes> getUserStoreHealth() {
+
+        try {
+            return UserStoreHealthChecker.getInstance().getHealth(ContextLoader.getTenantDomainFromContext());
+        } catch (IdentityUserStoreMgtException e) {
+            UserStoreConstants.ErrorMessage errorEnum =
+                    UserStoreConstants.ErrorMessage.ERROR_CODE_ERROR_CHECKING_USER_STORE_HEALTH;
+            throw handleIdentityUserStoreMgtException(e, errorEnum);
+        }
+    }
+
     /**
      * To make a partial update or update the specific property of the user store config.
      *
@@ -349,6 +417,7 @@ public class ServerUserStoreService {
             }
             userStoreDTO.setProperties(propertyDTOS);
             userStoreConfigService.updateUserStore(userStoreDTO, false);
+            invalidateUserStoreHealth();
             return buildResponseForPatchReplace(userStoreDTO, propertyDTOS);
         } catch (IdentityUserStoreMgtException e) {
             UserStoreConstants.ErrorMessage errorEnum =
@@ -369,9 +438,9 @@ public class ServerUserStoreService {
         UserStoreResponse userStoreResponseDTO = new UserStoreResponse();
         userStoreResponseDTO.setId((base64URLEncodeId(userStoreDTO.getDomainId())));
         userStoreResponseDTO.setName(userStoreDTO.getDomainId());
-        userStoreResponseDTO.setTypeId(base64URLEncodeId(Objects.requireNonNull(getUserStoreTypeName
-                (userStoreDTO.getClassName()))));
-        userStoreResponseDTO.setTypeName(getUserStoreTypeName(userStoreDTO.getClassName()));
+        String typeName = getUserStoreTypeName(userStoreDTO.getClassName());
+        userStoreResponseDTO.setTypeId(base64URLEncodeId(Objects.requireNonNull(typeName)));
+        userStoreResponseDTO.setTypeName(typeName);
         userStoreResponseDTO.setDescription(userStoreDTO.getDescription());
         userStoreResponseDTO.setProperties(patchUserStoreProperties(propertyDTOS));
         return userStoreResponseDTO;
@@ -434,29 +503,27 @@ public class ServerUserStoreService {
     /**
      * Construct response list with configured user stores details.
      *
-     * @param userStoreDTOS array of UserStoreDTO object.
+     * @param userStoreDTOS       list of UserStoreDTO objects.
+     * @param requestedAttributes requested user store properties, or null if no properties are requested.
      * @return List<UserStoreListResponse>.
      */
-    private List<UserStoreListResponse> buildUserStoreListResponse(UserStoreDTO[] userStoreDTOS,
-                                                                   String requiredAttributes) {
+    private List<UserStoreListResponse> buildUserStoreListResponse(List<UserStoreDTO> userStoreDTOS,
+                                                                   Set<String> requestedAttributes) {
 
         List<UserStoreListResponse> userStoreListResponseToAdd = new ArrayList<>();
-        if (ArrayUtils.isNotEmpty(userStoreDTOS)) {
-            for (UserStoreDTO jsonObject : userStoreDTOS) {
-                UserStoreListResponse userStoreList = new UserStoreListResponse();
-                userStoreList.setDescription(jsonObject.getDescription());
-                userStoreList.setName(jsonObject.getDomainId());
-                userStoreList.setId(base64URLEncodeId(jsonObject.getDomainId()));
-                userStoreList.setSelf(ContextLoader.buildURIForBody(String.format(V1_API_PATH_COMPONENT +
-                                UserStoreConstants.USER_STORE_PATH_COMPONENT + "/%s",
-                        base64URLEncodeId(jsonObject.getDomainId()))).toString());
-
-                if (StringUtils.isNotBlank(requiredAttributes)) {
-                    String[] requiredAttributesArray = requiredAttributes.split(REGEX_COMMA);
-                    addUserstoreProperties(jsonObject, userStoreList, Arrays.asList(requiredAttributesArray));
-                }
-                userStoreListResponseToAdd.add(userStoreList);
+        for (UserStoreDTO jsonObject : userStoreDTOS) {
+            UserStoreListResponse userStoreList = new UserStoreListResponse();
+            userStoreList.setDescription(jsonObject.getDescription());
+            userStoreList.setName(jsonObject.getDomainId());
+            userStoreList.setId(base64URLEncodeId(jsonObject.getDomainId()));
+            userStoreList.setSelf(ContextLoader.buildURIForBody(String.format(V1_API_PATH_COMPONENT +
+                            UserStoreConstants.USER_STORE_PATH_COMPONENT + "/%s",
+                    base64URLEncodeId(jsonObject.getDomainId()))).toString());
+
+            if (requestedAttributes != null) {
+                addUserstoreProperties(jsonObject, userStoreList, requestedAttributes);
             }
+            userStoreListResponseToAdd.add(userStoreList);
         }
         return userStoreListResponseToAdd;
     }
@@ -464,15 +531,18 @@ public class ServerUserStoreService {
     /**
      * Add requested user store properties to the response.
      *
-     * @param userStoreDTO            userStoreDTO object.
-     * @param userStoreListResponse   userStoreListResponse object.
-     * @param requestedAttributesList Requested user store properties name list.
+     * @param userStoreDTO          userStoreDTO object.
+     * @param userStoreListResponse userStoreListResponse object.
+     * @param requestedAttributes   Requested user store property names.
      */
     private void addUserstoreProperties(UserStoreDTO userStoreDTO, UserStoreListResponse userStoreListResponse,
-                                        List<String> requestedAttributesList) {
+                                        Set<String> requestedAttributes) {
 
+        if (userStoreDTO.getProperties() == null) {
+            return;
+        }
         for (PropertyDTO propertyDTO : userStoreDTO.getProperties()) {
-            if (requestedAttributesList.contains(propertyDTO.getName()) &&
+            if (requestedAttributes.contains(propertyDTO.getName()) &&
                     StringUtils.isNotBlank(propertyDTO.getValue())) {
                 AddUserStorePropertiesRes addUserStorePropertiesRes = new AddUserStorePropertiesRes();
                 addUserStorePropertiesRes.setName(propertyDTO.getName());
@@ -485,14 +555,14 @@ public class ServerUserStoreService {
     /**
      * Construct the user store type's meta.
      *
-     * @param typeId        the type id of the user store.
+     * @param typeName      the type name of the user store.
      * @return MetaUserStoreType.
      */
-    private MetaUserStoreType buildUserStoreMetaResponse(String typeId) {
+    private MetaUserStoreType buildUserStoreMetaResponse(String typeName) {
 
-        String typeName = base64URLDecodeId(typeId);
-        Properties properties = UserStoreManagerRegistry.getUserStoreProperties(
-                getUserStoreType(typeName));
+        String typeId = base64URLEncodeId(typeName);
+        String className = getUserStoreType(typeName);
+        Properties properties = UserStoreManagerRegistry.getUserStoreProperties(className);
         MetaUserStoreType metaUserStore = new MetaUserStoreType();
         UserStorePropertiesRes userStorePropertiesRes = new UserStorePropertiesRes();
         if ((properties != null)) {
@@ -503,7 +573,7 @@ public class ServerUserStoreService {
         metaUserStore.setProperties(userStorePropertiesRes);
         metaUserStore.setTypeId(typeId);
         metaUserStore.setTypeName(typeName);
-        metaUserStore.setClassName(getUserStoreType(typeName));
+        metaUserStore.setClassName(className);
 
         return metaUserStore;
     }
@@ -559,14 +629,7 @@ public class ServerUserStoreService {
      */
     private String getUserStoreType(String typeName) {
 
-        HashMap<String, String> userStoreMap = getHashMap();
-        for (Map.Entry<String, String> stringEntry : userStoreMap.entrySet()) {
-            LOG.info(((Map.Entry) stringEntry).getKey() + " = " + ((Map.Entry) stringEntry).getValue());
-            if (typeName.equals(((Map.Entry) stringEntry).getValue())) {
-                return (String) ((Map.Entry) stringEntry).getKey();
-            }
-        }
-        return null;
+        return UserStoreTypeIndex.getInstance().getClassName(typeName);
     }
 
     /**
@@ -577,30 +640,7 @@ public class ServerUserStoreService {
      */
     private String getUserStoreTypeName(String className) {
 
-        HashMap<String, String> userStoreMap = getHashMap();
-        for (Map.Entry<String, String> stringEntry : userStoreMap.entrySet()) {
-            LOG.info(((Map.Entry) stringEntry).getKey() + " = " + ((Map.Entry) stringEntry).getValue());
-            if (className.equals(((Map.Entry) stringEntry).getKey())) {
-                return (String) ((Map.Entry) stringEntry).getValue();
-            }
-        }
-        return null;
-    }
-
-    /**
-     * Construct a map with class name and with the corresponding type name.
-     *
-     * @return HashMap.
-     */
-    private HashMap<String, String> getHashMap() {
-
-        Set<String> classNames = UserStoreManagerRegistry.getUserStoreManagerClasses();
-        HashMap<String, String> userStoreMap = new HashMap<>();
-
-        for (String className : classNames) {
-            userStoreMap.put(className, className.substring(className.lastIndexOf('.') + 1));
-        }
-        return userStoreMap;
+        return UserStoreTypeIndex.getInstance().getTypeName(className);
     }
 
     /**
@@ -727,33 +767,185 @@ public class ServerUserStoreService {
         return errorDescription;
     }
 
+    private void invalidateUserStoreHealth() {
+
+        UserStoreHealthChecker.getInstance().invalidate(ContextLoader.getTenantDomainFromContext());
+    }
+
+    /**
+     * Handle a client error of the request, such as an invalid query parameter.
+     *
+     * @param error Error Message information.
+     * @param data  Error data.
+     * @return APIError.
+     */
+    private APIError handleClientError(UserStoreConstants.ErrorMessage error, String... data) {
+
+        return new APIError(Response.Status.BAD_REQUEST, getErrorBuilder(error, data).build());
+    }
+
+    private void validatePaginationParameters(Integer limit, Integer offset) {
+
+        if ((limit != null && limit < 0) || (offset != null && offset < 0)) {
+            throw handleClientError(UserStoreConstants.ErrorMessage.ERROR_CODE_INVALID_PAGINATION_PARAMETERS);
+        }
+    }
+
+    private AttributeFilter parseFilter(String filter) {
+
+        try {
+            return AttributeFilter.parse(filter, FILTER_ATTRIBUTES);
+        } catch (IllegalArgumentException e) {
+            if (LOG.isDebugEnabled()) {
+                LOG.debug("Error while parsing the filter: " + filter, e);
+            }
+            throw handleClientError(UserStoreConstants.ErrorMessage.ERROR_CODE_INVALID_FILTER, filter);
+        }
+    }
+
     /**
-     * To return error responses for the input params for the get request which are not yet supported by the server.
+     * Build the comparator of a sort of the form {@code <attribute> [asc|desc]}.
      *
-     * @param limit  items per page.
-     * @param offset to specify the offset param.
-     * @param filter to specify the filtering capabilities.
-     * @param sort   to specify the sorting order.
+     * @param sort Sort string.
+     * @return Comparator of the user stores, or null if the user stores need not be sorted.
      */
-    private void handleNotImplementedBehaviour(Integer limit, Integer offset, String filter, String sort) {
+    private Comparator<UserStoreDTO> getUserStoreComparator(String sort) {
 
-        UserStoreConstants.ErrorMessage errorEnum = null;
+        if (StringUtils.isBlank(sort)) {
+            return null;
+        }
 
-        if (limit != null) {
-            errorEnum = UserStoreConstants.ErrorMessage.ERROR_CODE_PAGINATION_NOT_IMPLEMENTED;
-        } else if (offset != null) {
-            errorEnum = UserStoreConstants.ErrorMessage.ERROR_CODE_PAGINATION_NOT_IMPLEMENTED;
-        } else if (filter != null) {
-            errorEnum = UserStoreConstants.ErrorMessage.ERROR_CODE_FILTERING_NOT_IMPLEMENTED;
-        } else if (sort != null) {
-            errorEnum = UserStoreConstants.ErrorMessage.ERROR_CODE_SORTING_NOT_IMPLEMENTED;
+        String[] sortParts = sort.trim().split("\\s+");
+        if (sortParts.length > 2) {
+            throw handleClientError(UserStoreConstants.ErrorMessage.ERROR_CODE_INVALID_SORT, sort);
         }
+        Comparator<UserStoreDTO> comparator;
+        switch (sortParts[0]) {
+            case UserStoreConstants.ATTR_NAME:
+                comparator = Comparator.comparing(UserStoreDTO::getDomainId, NULL_SAFE_STRING_ORDER);
+                break;
+            case UserStoreConstants.ATTR_TYPE_NAME:
+                comparator = Comparator.comparing(userStoreDTO -> getUserStoreTypeName(userStoreDTO.getClassName()),
+                        NULL_SAFE_STRING_ORDER);
+                break;
+            case UserStoreConstants.ATTR_ENABLED:
+                comparator = Comparator.comparing(userStoreDTO -> !isUserStoreDisabled(userStoreDTO));
+                break;
+            default:
+                throw handleClientError(UserStoreConstants.ErrorMessage.ERROR_CODE_INVALID_SORT, sort);
+        }
+
+        if (sortParts.length == 2) {
+            String sortOrder = sortParts[1].toLowerCase(Locale.ENGLISH);
+            if (UserStoreConstants.SORT_ORDER_DESCENDING.equals(sortOrder)) {
+                return comparator.reversed();
+            } else if (!UserStoreConstants.SORT_ORDER_ASCENDING.equals(sortOrder)) {
+                throw handleClientError(UserStoreConstants.ErrorMessage.ERROR_CODE_INVALID_SORT, sort);
+            }
+        }
+        return comparator;
+    }
+
+    /**
+     * Parse the comma separated user store properties requested to be returned, once per request.
+     *
+     * @param requiredAttributes comma separated user store property names.
+     * @return Requested user store property names, or null if no properties are requested.
+     */
+    private Set<String> getRequestedAttributes(String requiredAttributes) {
+
+        if (StringUtils.isBlank(requiredAttributes)) {
+            return null;
+        }
+
+        Set<String> requestedAttributes = new HashSet<>();
+        for (String attribute : requiredAttributes.split(REGEX_COMMA)) {
+            if (StringUtils.isNotBlank(attribute)) {
+                requestedAttributes.add(attribute.trim());
+            }
+        }
+        return requestedAttributes;
+    }
 
-        if (errorEnum != null) {
-            ErrorResponse errorResponse = getErrorBuilder(errorEnum).build(LOG, errorEnum.getDescription());
-            Response.Status status = Response.Status.NOT_IMPLEMENTED;
+    private String getUserStoreAttributeValue(UserStoreDTO userStoreDTO, String attribute) {
 
-            throw new APIError(status, errorResponse);
+        switch (attribute) {
+            case UserStoreConstants.ATTR_NAME:
+                return userStoreDTO.getDomainId();
+            case UserStoreConstants.ATTR_TYPE_NAME:
+                return getUserStoreTypeName(userStoreDTO.getClassName());
+            case UserStoreConstants.ATTR_ENABLED:
+                return String.valueOf(!isUserStoreDisabled(userStoreDTO));
+            default:
+                return null;
+        }
+    }
+
+    private boolean isUserStoreDisabled(UserStoreDTO userStoreDTO) {
+
+        if (userStoreDTO.getProperties() != null) {
+            for (PropertyDTO propertyDTO : userStoreDTO.getProperties()) {
+                if (UserCoreConstants.RealmConfig.USER_STORE_DISABLED.equals(propertyDTO.getName())) {
+                    return Boolean.parseBoolean(propertyDTO.getValue());
+                }
+            }
+        }
+        return false;
+    }
+
+    private <T> List<T> getPage(List<T> list, Integer limit, Integer offset) {
+
+        int fromIndex = offset == null ? 0 : Math.min(offset, list.size());
+        int toIndex = limit == null ? list.size() : (int) Math.min((long) fromIndex + limit, list.size());
+        return list.subList(fromIndex, toIndex);
+    }
+
+    /**
+     * Build the links to the next and previous pages of user stores. Links are built only for limited requests and
+     * carry the filter, sort and required attributes of the request.
+     */
+    private Map<String, String> buildPaginationLinks(int totalResults, Integer limit, Integer offset, String filter,
+                                                     String sort, String requiredAttributes) {
+
+        Map<String, String> links = new HashMap<>();
+        if (limit == null || limit == 0) {
+            return links;
+        }
+
+        int currentOffset = offset == null ? 0 : offset;
+        if ((long) currentOffset + limit < totalResults) {
+            links.put(UserStoreConstants.PAGE_LINK_REL_NEXT, buildPageLink(currentOffset + limit, limit, filter, sort,
+                    requiredAttributes));
+        }
+        if (currentOffset > 0) {
+            // The previous page is shortened when the current offset is not a multiple of the limit.
+            int previousOffset = Math.max(currentOffset - limit, 0);
+            links.put(UserStoreConstants.PAGE_LINK_REL_PREVIOUS, buildPageLink(previousOffset,
+                    Math.min(limit, currentOffset), filter, sort, requiredAttributes));
+        }
+        return links;
+    }
+
+    private String buildPageLink(int offset, int limit, String filter, String sort, String requiredAttributes) {
+
+        StringBuilder pageLink = new StringBuilder(String.format(V1_API_PATH_COMPONENT +
+                UserStoreConstants.USER_STORE_PATH_COMPONENT + "?offset=%d&limit=%d", offset, limit));
+        appendQueryParam(pageLink, "filter", filter);
+        appendQueryParam(pageLink, "sort", sort);
+        appendQueryParam(pageLink, "requiredAttributes", requiredAttributes);
+        return ContextLoader.buildURIForBody(pageLink.toString()).toString();
+    }
+
+    private void appendQueryParam(StringBuilder url, String name, String value) {
+
+        if (StringUtils.isNotBlank(value)) {
+            try {
+                url.append('&').append(name).append('=').append(URLEncoder.encode(value,
+                        StandardCharsets.UTF_8.name()));
+            } catch (UnsupportedEncodingException e) {
+                // UTF-8 is supported by every JVM.
+                throw new IllegalStateException(e);
+            }
         }
     }
 
@@ -0,0 +1,452 @@
+/*
+ * Copyright (c) 2020, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.wso2.carbon.identity.api.server.userstore.v1.core;
+
+import org.apache.commons.lang.ArrayUtils;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.wso2.carbon.context.CarbonContext;
+import org.wso2.carbon.identity.api.server.common.Util;
+import org.wso2.carbon.identity.api.server.common.cache.ExpiringCache;
+import org.wso2.carbon.identity.api.server.userstore.common.UserStoreConfigServiceHolder;
+import org.wso2.carbon.identity.api.server.userstore.v1.model.UserStoreHealthRes;
+import org.wso2.carbon.identity.user.store.configuration.dto.PropertyDTO;
+import org.wso2.carbon.identity.user.store.configuration.dto.UserStoreDTO;
+import org.wso2.carbon.identity.user.store.configuration.utils.IdentityUserStoreMgtException;
+import org.wso2.carbon.user.core.UserCoreConstants;
+import org.wso2.carbon.user.core.UserStoreManager;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.wso2.carbon.identity.api.server.userstore.common.UserStoreConstants.USER_STORE_HEALTH_CACHE_TIMEOUT;
+import static org.wso2.carbon.identity.api.server.userstore.common.UserStoreConstants.USER_STORE_HEALTH_PROBE_TIMEOUT;
+import static org.wso2.carbon.identity.api.server.userstore.common.UserStoreConstants.USER_STORE_HEALTH_QUEUE_SIZE;
+import static org.wso2.carbon.identity.api.server.userstore.common.UserStoreConstants.USER_STORE_HEALTH_WORKER_COUNT;
+import static org.wso2.carbon.identity.api.server.userstore.common.UserStoreConstants
+        .USER_STORE_HEALTH_WORKER_KEEP_ALIVE_TIME;
+
+/**
+ * Checks the health of the secondary user stores of a tenant. Each enabled user store is probed by listing at most one
+ * of its users, which reaches the underlying database or directory of any user store type. The user stores are probed
+ * concurrently on a bounded pool of workers, and a probe which does not complete within the probe timeout is reported
+ * as timed out. A user store which could not be probed since the workers were busy is reported with an unknown status.
+ * <p>
+ * The results of a tenant are cached for a short time, and are invalidated when a user store of the tenant is
+ * modified through this API. Results with an unknown status are not cached. Concurrent requests of a tenant which miss
+ * the cache share a single round of probes. The probe metrics of the user stores are node local and are not
+ * persisted.
+ */
+public class UserStoreHealthChecker {
+
+    private static final Log LOG = LogFactory.getLog(UserStoreHealthChecker.class);
+    private static final UserStoreHealthChecker INSTANCE = new UserStoreHealthChecker();
+
+    private static final String PROBE_FILTER = "*";
+    private static final int PROBE_MAX_ITEM_LIMIT = 1;
+
+    private final ExpiringCache<String, List<UserStoreHealthRes>> cache =
+            new ExpiringCache<>(USER_STORE_HEALTH_CACHE_TIMEOUT);
+    private final ConcurrentMap<String, ConcurrentMap<String, ProbeMetrics>> metrics = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, CompletableFuture<List<UserStoreHealthRes>>> inFlightChecks =
+            new ConcurrentHashMap<>();
+    private final UserStoreAccess userStoreAccess;
+    private final long probeTimeout;
+    private final int workerCount;
+    private final ExecutorService executor;
+
+    private UserStoreHealthChecker() {
+
+        this(new CarbonUserStoreAccess(), USER_STORE_HEALTH_PROBE_TIMEOUT, USER_STORE_HEALTH_WORKER_COUNT,
+                USER_STORE_HEALTH_QUEUE_SIZE);
+    }
+
+    UserStoreHealthChecker(UserStoreAccess userStoreAccess, long probeTimeout, int workerCount, int queueSize) {
+
+        this.userStoreAccess = userStoreAccess;
+        this.probeTimeout = probeTimeout;
+        this.workerCount = workerCount;
+        this.executor = createExecutor(workerCount, queueSize);
+    }
+
+    public static UserStoreHealthChecker getInstance() {
+
+        return INSTANCE;
+    }
+
+    /**
+     * Get the health of the secondary user stores of a tenant, probing the user stores if the results are not cached.
+     *
+     * @param tenantDomain Tenant domain.
+     * @return Health of the user stores, in the order the user stores are configured.
+     * @throws IdentityUserStoreMgtException If an error occurred while retrieving the user stores.
+     */
+    public List<UserStoreHealthRes> getHealth(String tenantDomain) throws IdentityUserStoreMgtException {
+
+        List<UserStoreHealthRes> health = cache.get(tenantDomain);
+        if (health != null) {
+            return health;
+        }
+
+        // The first request of a tenant probes the user stores, while the concurrent requests wait for its results.
+        CompletableFuture<List<UserStoreHealthRes>> check = new CompletableFuture<>();
+        CompletableFuture<List<UserStoreHealthRes>> inFlightCheck = inFlightChecks.putIfAbsent(tenantDomain, check);
+        if (inFlightCheck != null) {
+            return awaitCheck(inFlightCheck, tenantDomain);
+        }
+        try {
+            health = cache.get(tenantDomain, key -> checkHealth(tenantDomain));
+            if (hasUnknownStatus(health)) {
+                // User stores which were not probed are probed again on the next request.
+                cache.remove(tenantDomain);
+            }
+            check.complete(health);
+            return health;
+        } catch (IdentityUserStoreMgtException | RuntimeException e) {
+            check.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlightChecks.remove(tenantDomain, check);
+        }
+    }
+
+    /**
+     * Remove the cached results of a tenant, so that the user stores are probed on the next request.
+     *
+     * @param tenantDomain Tenant domain.
+     */
+    public void invalidate(String tenantDomain) {
+
+        // Requests made after the invalidation do not wait for a check which started before it.
+        inFlightChecks.remove(tenantDomain);
+        cache.remove(tenantDomain);
+    }
+
+    private List<UserStoreHealthRes> awaitCheck(CompletableFuture<List<UserStoreHealthRes>> check,
+                                                String tenantDomain) throws IdentityUserStoreMgtException {
+
+        try {
+            return check.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IdentityUserStoreMgtException("Interrupted while waiting for the health check of tenant: " +
+                    tenantDomain, e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof IdentityUserStoreMgtException) {
+                throw (IdentityUserStoreMgtException) e.getCause();
+            }
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw new IdentityUserStoreMgtException("Error while checking the health of the user stores of tenant: " +
+                    tenantDomain, e.getCause());
+        }
+    }
+
+    private List<UserStoreHealthRes> checkHealth(String tenantDomain) throws IdentityUserStoreMgtException {
+
+        UserStoreDTO[] userStoreDTOS = userStoreAccess.getUserStores();
+        if (ArrayUtils.isEmpty(userStoreDTOS)) {
+            metrics.remove(tenantDomain);
+            return Collections.emptyList();
+        }
+
+        UserStoreManager userStoreManager = userStoreAccess.getUserStoreManager(tenantDomain);
+        ConcurrentMap<String, ProbeMetrics> tenantMetrics = metrics.computeIfAbsent(tenantDomain,
+                key -> new ConcurrentHashMap<>());
+        List<Probe> probes = new ArrayList<>();
+        Set<String> domainNames = new HashSet<>();
+        for (UserStoreDTO userStoreDTO : userStoreDTOS) {
+            Probe probe = new Probe(userStoreDTO.getDomainId(), isUserStoreDisabled(userStoreDTO),
+                    tenantMetrics.computeIfAbsent(userStoreDTO.getDomainId(), key -> new ProbeMetrics()));
+            if (!probe.disabled) {
+                submitProbe(probe, tenantDomain, userStoreManager);
+            }
+            probes.add(probe);
+            domainNames.add(userStoreDTO.getDomainId());
+        }
+        // Drop the metrics of the user stores which were removed.
+        tenantMetrics.keySet().retainAll(domainNames);
+
+        // Probes which are queued behind the workers start late, so the overall deadline allows a probe timeout for
+        // each round of workers. A probe which is still queued at the overall deadline is reported as timed out.
+        long probeTimeoutNanos = TimeUnit.MILLISECONDS.toNanos(probeTimeout);
+        int rounds = (probes.size() + workerCount - 1) / workerCount;
+        long overallDeadline = System.nanoTime() + probeTimeoutNanos * rounds;
+
+        List<UserStoreHealthRes> results = new ArrayList<>();
+        for (Probe probe : probes) {
+            results.add(awaitProbe(probe, probeTimeoutNanos, overallDeadline));
+        }
+        if (LOG.isDebugEnabled()) {
+            LOG.debug("Checked the health of " + probes.size() + " user stores of tenant: " + tenantDomain);
+        }
+        return Collections.unmodifiableList(results);
+    }
+
+    private void submitProbe(Probe probe, String tenantDomain, UserStoreManager userStoreManager) {
+
+        try {
+            probe.future = executor.submit(userStoreAccess.inRequestContext(tenantDomain, () -> {
+                probe.startTime = System.nanoTime();
+                if (userStoreManager.getSecondaryUserStoreManager(probe.domainName) == null) {
+                    throw new IllegalStateException("User store manager is not initialized.");
+                }
+                // Listing with a domain qualified filter reaches only the user store of the domain.
+                userStoreManager.listUsers(probe.domainName + UserCoreConstants.DOMAIN_SEPARATOR + PROBE_FILTER,
+                        PROBE_MAX_ITEM_LIMIT);
+                return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - probe.startTime);
+            }));
+        } catch (RejectedExecutionException e) {
+            LOG.warn("Health check workers are busy. Unable to probe the user store: " + probe.domainName);
+        }
+    }
+
+    private UserStoreHealthRes awaitProbe(Probe probe, long probeTimeoutNanos, long overallDeadline) {
+
+        UserStoreHealthRes userStoreHealthRes = new UserStoreHealthRes()
+                .id(Base64.getUrlEncoder().withoutPadding().encodeToString(
+                        probe.domainName.getBytes(StandardCharsets.UTF_8)))
+                .name(probe.domainName);
+        if (probe.disabled) {
+            return withMetrics(userStoreHealthRes.status(UserStoreHealthRes.StatusEnum.DISABLED), probe.metrics);
+        }
+        if (probe.future == null) {
+            // The user store was not probed, so the metrics of the user store are not affected.
+            return withMetrics(userStoreHealthRes.status(UserStoreHealthRes.StatusEnum.UNKNOWN)
+                    .message("Health check workers are busy."), probe.metrics);
+        }
+
+        while (true) {
+            // A probe which started while waiting gets the full probe timeout from its start. A queued probe is waited
+            // for at most a probe timeout at a time, so that its deadline is recomputed once it started.
+            Long startTime = probe.startTime;
+            long deadline = startTime == null ? overallDeadline :
+                    Math.min(startTime + probeTimeoutNanos, overallDeadline);
+            long remaining = deadline - System.nanoTime();
+            try {
+                if (remaining <= 0 && !probe.future.isDone()) {
+                    probe.future.cancel(true);
+                    return recordTimeout(userStoreHealthRes, probe, "Probe timed out.");
+                }
+                long wait = startTime == null ? Math.min(remaining, probeTimeoutNanos) : remaining;
+                long latency = probe.future.get(Math.max(wait, 0), TimeUnit.NANOSECONDS);
+                probe.metrics.recordProbe(latency, true);
+                return withMetrics(userStoreHealthRes.status(UserStoreHealthRes.StatusEnum.UP).latency(latency),
+                        probe.metrics);
+            } catch (TimeoutException e) {
+                // Recompute the deadline of the probe.
+            } catch (ExecutionException e) {
+                // The probe can fail before it started, such as while starting the tenant flow.
+                Long probeStartTime = probe.startTime;
+                Long latency = probeStartTime == null ? null :
+                        TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - probeStartTime);
+                probe.metrics.recordProbe(latency, false);
+                // The cause can reveal details of the underlying database or directory, so it is only logged.
+                if (LOG.isDebugEnabled()) {
+                    LOG.debug("Health check failed for the user store: " + probe.domainName, e.getCause());
+                }
+                return withMetrics(userStoreHealthRes.status(UserStoreHealthRes.StatusEnum.DOWN).latency(latency)
+                        .message("Probe failed."), probe.metrics);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                probe.future.cancel(true);
+                return recordTimeout(userStoreHealthRes, probe, "Health check was interrupted.");
+            }
+        }
+    }
+
+    private UserStoreHealthRes recordTimeout(UserStoreHealthRes userStoreHealthRes, Probe probe, String message) {
+
+        probe.metrics.recordProbe(probeTimeout, false);
+        return withMetrics(userStoreHealthRes.status(UserStoreHealthRes.StatusEnum.TIMEOUT).message(message),
+                probe.metrics);
+    }
+
+    private UserStoreHealthRes withMetrics(UserStoreHealthRes userStoreHealthRes, ProbeMetrics probeMetrics) {
+
+        synchronized (probeMetrics) {
+            return userStoreHealthRes.probeCount(probeMetrics.probeCount)
+                    .failureCount(probeMetrics.failureCount)
+                    .averageLatency(probeMetrics.latencyCount == 0 ? null :
+                            probeMetrics.totalLatency / probeMetrics.latencyCount);
+        }
+    }
+
+    private static boolean hasUnknownStatus(List<UserStoreHealthRes> health) {
+
+        for (UserStoreHealthRes userStoreHealthRes : health) {
+            if (userStoreHealthRes.getStatus() == UserStoreHealthRes.StatusEnum.UNKNOWN) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private boolean isUserStoreDisabled(UserStoreDTO userStoreDTO) {
+
+        if (userStoreDTO.getProperties() != null) {
+            for (PropertyDTO propertyDTO : userStoreDTO.getProperties()) {
+                if (UserCoreConstants.RealmConfig.USER_STORE_DISABLED.equals(propertyDTO.getName())) {
+                    return Boolean.parseBoolean(propertyDTO.getValue());
+                }
+            }
+        }
+        return false;
+    }
+
+    private static ExecutorService createExecutor(int workerCount, int queueSize) {
+
+        AtomicInteger threadCount = new AtomicInteger();
+        // Probes are rejected instead of running in the request thread when the queue is full, so that a request is
+        // never blocked by a probe beyond its timeout.
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(workerCount, workerCount,
+                USER_STORE_HEALTH_WORKER_KEEP_ALIVE_TIME, TimeUnit.MILLISECONDS,
+                new LinkedBlockingQueue<>(queueSize), runnable -> {
+                    Thread thread = new Thread(runnable, "userstore-health-worker-" + threadCount.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                }, new ThreadPoolExecutor.AbortPolicy());
+        executor.allowCoreThreadTimeOut(true);
+        return executor;
+    }
+
+    /**
+     * Access to the user stores of a tenant and to the context of the request, which the probes run in.
+     */
+    interface UserStoreAccess {
+
+        /**
+         * Get the secondary user stores of the tenant of the request.
+         *
+         * @return User stores.
+         * @throws IdentityUserStoreMgtException If an error occurred while retrieving the user stores.
+         */
+        UserStoreDTO[] getUserStores() throws IdentityUserStoreMgtException;
+
+        /**
+         * Get the user store manager of a tenant.
+         *
+         * @param tenantDomain Tenant domain.
+         * @return User store manager.
+         * @throws IdentityUserStoreMgtException If an error occurred while retrieving the user store manager.
+         */
+        UserStoreManager getUserStoreManager(String tenantDomain) throws IdentityUserStoreMgtException;
+
+        /**
+         * Wrap a probe so that it runs on a worker in the context of the current request.
+         *
+         * @param tenantDomain Tenant domain.
+         * @param probe        Probe which returns its latency in milliseconds.
+         * @return Probe which runs in the context of the request.
+         */
+        Callable<Long> inRequestContext(String tenantDomain, Callable<Long> probe);
+    }
+
+    /**
+     * Access to the user stores through the OSGi services and the carbon context of the request.
+     */
+    private static class CarbonUserStoreAccess implements UserStoreAccess {
+
+        @Override
+        public UserStoreDTO[] getUserStores() throws IdentityUserStoreMgtException {
+
+            return UserStoreConfigServiceHolder.getUserStoreConfigService().getUserStores();
+        }
+
+        @Override
+        public UserStoreManager getUserStoreManager(String tenantDomain) throws IdentityUserStoreMgtException {
+
+            try {
+                return (UserStoreManager) CarbonContext.getThreadLocalCarbonContext().getUserRealm()
+                        .getUserStoreManager();
+            } catch (org.wso2.carbon.user.api.UserStoreException e) {
+                throw new IdentityUserStoreMgtException("Error while retrieving the user store manager of tenant: " +
+                        tenantDomain, e);
+            }
+        }
+
+        @Override
+        public Callable<Long> inRequestContext(String tenantDomain, Callable<Long> probe) {
+
+            String username = CarbonContext.getThreadLocalCarbonContext().getUsername();
+            return () -> Util.runInTenantFlow(tenantDomain, username, probe::call);
+        }
+    }
+
+    /**
+     * Probe of a user store in a health check.
+     */
+    private static class Probe {
+
+        private final String domainName;
+        private final boolean disabled;
+        private final ProbeMetrics metrics;
+
+        private Future<Long> future;
+        private volatile Long startTime;
+
+        Probe(String domainName, boolean disabled, ProbeMetrics metrics) {
+
+            this.domainName = domainName;
+            this.disabled = disabled;
+            this.metrics = metrics;
+        }
+    }
+
+    /**
+     * Probe metrics of a user store on this node.
+     */
+    private static class ProbeMetrics {
+
+        private long probeCount;
+        private long failureCount;
+        private long latencyCount;
+        private long totalLatency;
+
+        synchronized void recordProbe(Long latency, boolean succeeded) {
+
+            probeCount++;
+            // Probes which failed before they started have no latency.
+            if (latency != null) {
+                latencyCount++;
+                totalLatency += latency;
+            }
+            if (!succeeded) {
+                failureCount++;
+            }
+        }
+    }
+}
@@ -0,0 +1,60 @@
+/*
+ * Copyright (c) 2020, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.wso2.carbon.identity.api.server.userstore.v1.core;
+
+import org.wso2.carbon.identity.api.server.userstore.v1.model.UserStoreListResponse;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A page of user stores along with the total number of user stores matching the request and the links to the
+ * adjacent pages.
+ */
+public class UserStoreListPage {
+
+    private final List<UserStoreListResponse> userStores;
+    private final int totalResults;
+    private final Map<String, String> links;
+
+    public UserStoreListPage(List<UserStoreListResponse> userStores, int totalResults, Map<String, String> links) {
+
+        this.userStores = userStores;
+        this.totalResults = totalResults;
+        this.links = links;
+    }
+
+    public List<UserStoreListResponse> getUserStores() {
+
+        return userStores;
+    }
+
+    public int getTotalResults() {
+
+        return totalResults;
+    }
+
+    /**
+     * Get the pagination links of the page keyed by the link relation.
+     *
+     * @return Pagination links.
+     */
+    public Map<String, String> getLinks() {
+
+        return links;
+    }
+}
@@ -0,0 +1,238 @@
+/*
+ * Copyright (c) 2020, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.wso2.carbon.identity.api.server.userstore.v1.core;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.wso2.carbon.identity.api.server.common.cache.ExpiringCache;
+import org.wso2.carbon.identity.api.server.common.cache.ServiceRegistrationTracker;
+import org.wso2.carbon.identity.api.server.userstore.v1.model.MetaUserStoreType;
+import org.wso2.carbon.user.core.tracker.UserStoreManagerRegistry;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+import static org.wso2.carbon.identity.api.server.userstore.common.UserStoreConstants.USER_STORE_TYPE_INDEX_TIMEOUT;
+
+/**
+ * Bidirectional index of the user store manager classes registered in the server and their type names. The type name
+ * of a user store manager class is its simple class name. The meta responses of the user store types are kept along
+ * with the index with an ETag of their content, so that they are built once and can be revalidated by clients.
+ * <p>
+ * User store managers are registered as OSGi services, so the index is rebuilt when such a service is registered or
+ * unregistered. The time-to-live of the index bounds the staleness if the services cannot be tracked. The services are
+ * tracked from the first lookup until {@link #close()} is called when the API is destroyed.
+ */
+public class UserStoreTypeIndex {
+
+    private static final Log LOG = LogFactory.getLog(UserStoreTypeIndex.class);
+    private static final UserStoreTypeIndex INSTANCE = new UserStoreTypeIndex();
+
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+    private static final String ETAG_DIGEST_ALGORITHM = "SHA-256";
+    private static final String INDEX_KEY = "index";
+    private static final String USER_STORE_MANAGER_SERVICE_CLASS = "org.wso2.carbon.user.api.UserStoreManager";
+    private static final String CORE_USER_STORE_MANAGER_SERVICE_CLASS = "org.wso2.carbon.user.core.UserStoreManager";
+
+    private final ExpiringCache<String, Index> cache = new ExpiringCache<>(USER_STORE_TYPE_INDEX_TIMEOUT);
+    private final ServiceRegistrationTracker serviceTracker = new ServiceRegistrationTracker(
+            UserStoreManagerRegistry.class, this::invalidate, USER_STORE_MANAGER_SERVICE_CLASS,
+            CORE_USER_STORE_MANAGER_SERVICE_CLASS);
+
+    private final Supplier<Set<String>> userStoreManagerClasses;
+
+    private UserStoreTypeIndex() {
+
+        this(UserStoreManagerRegistry::getUserStoreManagerClasses);
+    }
+
+    UserStoreTypeIndex(Supplier<Set<String>> userStoreManagerClasses) {
+
+        this.userStoreManagerClasses = userStoreManagerClasses;
+    }
+
+    public static UserStoreTypeIndex getInstance() {
+
+        return INSTANCE;
+    }
+
+    /**
+     * Get the user store manager class of a user store type.
+     *
+     * @param typeName User store type name.
+     * @return User store manager class name, or null if there is no such type.
+     */
+    public String getClassName(String typeName) {
+
+        return getIndex().classNamesByTypeName.get(typeName);
+    }
+
+    /**
+     * Get the user store type of a user store manager class.
+     *
+     * @param className User store manager class name.
+     * @return User store type name, or null if the class is not registered.
+     */
+    public String getTypeName(String className) {
+
+        return getIndex().typeNamesByClassName.get(className);
+    }
+
+    /**
+     * Get the meta response of a user store type, building it on the first request.
+     *
+     * @param typeName User store type name.
+     * @param builder  Builds the meta response of the user store type.
+     * @return Meta response along with its ETag, or null if there is no such type.
+     */
+    public CachedMetaUserStoreType getMetaUserStoreType(String typeName,
+                                                        Function<String, MetaUserStoreType> builder) {
+
+        Index index = getIndex();
+        if (!index.classNamesByTypeName.containsKey(typeName)) {
+            return null;
+        }
+        return index.metaUserStoreTypes.computeIfAbsent(typeName, name -> {
+            MetaUserStoreType metaUserStoreType = builder.apply(name);
+            return new CachedMetaUserStoreType(OBJECT_MAPPER.valueToTree(metaUserStoreType),
+                    buildETag(metaUserStoreType));
+        });
+    }
+
+    /**
+     * Remove the index along with the meta responses, so that they are rebuilt on the next lookup.
+     */
+    public void invalidate() {
+
+        cache.clear();
+    }
+
+    /**
+     * Stop tracking the user store manager services and remove the index. The services are tracked again on the next
+     * lookup.
+     */
+    public void close() {
+
+        serviceTracker.close();
+        invalidate();
+    }
+
+    private Index getIndex() {
+
+        // The services are tracked before the index is built, so that no registration is missed in between.
+        serviceTracker.open();
+        return cache.get(INDEX_KEY, key -> buildIndex());
+    }
+
+    private Index buildIndex() {
+
+        Set<String> classNames = userStoreManagerClasses.get();
+        Map<String, String> typeNamesByClassName = new HashMap<>();
+        Map<String, String> classNamesByTypeName = new HashMap<>();
+        if (classNames != null) {
+            for (String className : classNames) {
+                String typeName = className.substring(className.lastIndexOf('.') + 1);
+                typeNamesByClassName.put(className, typeName);
+                if (classNamesByTypeName.putIfAbsent(typeName, className) != null && LOG.isDebugEnabled()) {
+                    LOG.debug("User store type: " + typeName + " is implemented by more than one class. Type is " +
+                            "resolved to the class: " + classNamesByTypeName.get(typeName));
+                }
+            }
+        }
+        if (LOG.isDebugEnabled()) {
+            LOG.debug("Indexed user store types: " + typeNamesByClassName);
+        }
+        return new Index(typeNamesByClassName, classNamesByTypeName);
+    }
+
+    private String buildETag(MetaUserStoreType metaUserStoreType) {
+
+        try {
+            MessageDigest messageDigest = MessageDigest.getInstance(ETAG_DIGEST_ALGORITHM);
+            return Base64.getUrlEncoder().withoutPadding()
+                    .encodeToString(messageDigest.digest(OBJECT_MAPPER.writeValueAsBytes(metaUserStoreType)));
+        } catch (JsonProcessingException | NoSuchAlgorithmException e) {
+            // The user store type can still be served, only without conditional request support.
+            LOG.error("Error while computing the ETag of the user store type: " + metaUserStoreType.getTypeName(), e);
+            return null;
+        }
+    }
+
+    /**
+     * User store manager classes and type names indexed in both directions.
+     */
+    private static class Index {
+
+        private final Map<String, String> typeNamesByClassName;
+        private final Map<String, String> classNamesByTypeName;
+        private final ConcurrentMap<String, CachedMetaUserStoreType> metaUserStoreTypes = new ConcurrentHashMap<>();
+
+        Index(Map<String, String> typeNamesByClassName, Map<String, String> classNamesByTypeName) {
+
+            this.typeNamesByClassName = Collections.unmodifiableMap(typeNamesByClassName);
+            this.classNamesByTypeName = Collections.unmodifiableMap(classNamesByTypeName);
+        }
+    }
+
+    /**
+     * Meta response of a user store type along with the ETag of its content. The meta response is kept as a JSON tree
+     * which is shared between the requests, and a new meta response is read from it for each request.
+     */
+    public static class CachedMetaUserStoreType {
+
+        private final JsonNode metaUserStoreType;
+        private final String eTag;
+
+        CachedMetaUserStoreType(JsonNode metaUserStoreType, String eTag) {
+
+            this.metaUserStoreType = metaUserStoreType;
+            this.eTag = eTag;
+        }
+
+        /**
+         * Get a copy of the meta response.
+         *
+         * @return Meta response.
+         */
+        public MetaUserStoreType getMetaUserStoreType() {
+
+            return OBJECT_MAPPER.convertValue(metaUserStoreType, MetaUserStoreType.class);
+        }
+
+        /**
+         * Get the ETag of the meta response.
+         *
+         * @return ETag or null if it could not be computed.
+         */
+        public String getETag() {
+
+            return eTag;
+        }
+    }
+}
@@ -19,6 +19,8 @@ package org.wso2.carbon.identity.api.server.userstore.v1.impl;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.wso2.carbon.identity.api.server.userstore.v1.UserstoresApiService;
 import org.wso2.carbon.identity.api.server.userstore.v1.core.ServerUserStoreService;
+import org.wso2.carbon.identity.api.server.userstore.v1.core.UserStoreListPage;
+import org.wso2.carbon.identity.api.server.userstore.v1.core.UserStoreTypeIndex;
 import org.wso2.carbon.identity.api.server.userstore.v1.model.PatchDocument;
 import org.wso2.carbon.identity.api.server.userstore.v1.model.RDBMSConnectionReq;
 import org.wso2.carbon.identity.api.server.userstore.v1.model.UserStoreReq;
@@ -26,10 +28,15 @@ import org.wso2.carbon.identity.api.server.userstore.v1.model.UserStoreResponse;
 
 import java.net.URI;
 import java.util.List;
+import java.util.Map;
+import javax.ws.rs.core.EntityTag;
+import javax.ws.rs.core.Link;
 import javax.ws.rs.core.Response;
 
 import static org.wso2.carbon.identity.api.server.common.Constants.V1_API_PATH_COMPONENT;
 import static org.wso2.carbon.identity.api.server.common.ContextLoader.buildURIForHeader;
+import static org.wso2.carbon.identity.api.server.common.Util.isETagMatched;
+import static org.wso2.carbon.identity.api.server.userstore.common.UserStoreConstants.TOTAL_RESULTS_HEADER;
 import static org.wso2.carbon.identity.api.server.userstore.common.UserStoreConstants.USER_STORE_PATH_COMPONENT;
 
 /**
@@ -64,9 +71,17 @@ public class UserstoresApiServiceImpl implements UserstoresApiService {
     public Response getSecondaryUserStores(Integer limit, Integer offset, String filter, String sort,
                                            String requiredAttributes) {
 
-        return Response.ok()
-                .entity(serverUserStoreService.getUserStoreList(limit, offset, filter, sort, requiredAttributes))
-                .build();
+        UserStoreListPage userStoreListPage =
+                serverUserStoreService.getUserStoreList(limit, offset, filter, sort, requiredAttributes);
+        // The response body stays the list of user stores, while the total number of results and the pagination
+        // links are sent as headers to keep the response body compatible.
+        Response.ResponseBuilder responseBuilder = Response.ok()
+                .entity(userStoreListPage.getUserStores())
+                .header(TOTAL_RESULTS_HEADER, userStoreListPage.getTotalResults());
+        for (Map.Entry<String, String> link : userStoreListPage.getLinks().entrySet()) {
+            responseBuilder.links(Link.fromUri(link.getValue()).rel(link.getKey()).build());
+        }
+        return responseBuilder.build();
     }
 
     @Override
@@ -76,9 +91,24 @@ public class UserstoresApiServiceImpl implements UserstoresApiService {
     }
 
     @Override
-    public Response getUserStoreManagerProperties(String typeId) {
+    public Response getUserStoreHealth() {
 
-        return Response.ok().entity(serverUserStoreService.getUserStoreManagerProperties(typeId)).build();
+        return Response.ok().entity(serverUserStoreService.getUserStoreHealth()).build();
+    }
+
+    @Override
+    public Response getUserStoreManagerProperties(String typeId, String ifNoneMatch) {
+
+        UserStoreTypeIndex.CachedMetaUserStoreType metaUserStoreType =
+                serverUserStoreService.getUserStoreManagerProperties(typeId);
+        if (metaUserStoreType.getETag() == null) {
+            return Response.ok().entity(metaUserStoreType.getMetaUserStoreType()).build();
+        }
+        EntityTag eTag = new EntityTag(metaUserStoreType.getETag());
+        if (isETagMatched(eTag, ifNoneMatch)) {
+            return Response.notModified(eTag).build();
+        }
+        return Response.ok().entity(metaUserStoreType.getMetaUserStoreType()).tag(eTag).build();
     }
 
     @Override
@@ -0,0 +1,388 @@
+/*
+ * Copyright (c) 2020, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.wso2.carbon.identity.api.server.userstore.v1.core;
+
+import com.unboundid.ldap.listener.InMemoryDirectoryServer;
+import com.unboundid.ldap.listener.InMemoryDirectoryServerConfig;
+import com.unboundid.ldap.listener.InMemoryListenerConfig;
+import com.unboundid.ldap.sdk.Filter;
+import com.unboundid.ldap.sdk.LDAPConnection;
+import com.unboundid.ldap.sdk.LDAPException;
+import com.unboundid.ldap.sdk.SearchRequest;
+import com.unboundid.ldap.sdk.SearchResultEntry;
+import com.unboundid.ldap.sdk.SearchScope;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.wso2.carbon.identity.api.server.userstore.v1.model.UserStoreHealthRes;
+import org.wso2.carbon.identity.user.store.configuration.dto.PropertyDTO;
+import org.wso2.carbon.identity.user.store.configuration.dto.UserStoreDTO;
+import org.wso2.carbon.user.core.UserCoreConstants;
+import org.wso2.carbon.user.core.UserStoreException;
+import org.wso2.carbon.user.core.UserStoreManager;
+
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+
+/**
+ * Tests for {@link UserStoreHealthChecker}, probing a JDBC user store backed by an in-memory H2 database and an LDAP
+ * user store backed by an in-memory directory server.
+ */
+public class UserStoreHealthCheckerTest {
+
+    private static final String TENANT_DOMAIN = "carbon.super";
+    private static final String JDBC_DOMAIN = "JDBC";
+    private static final String LDAP_DOMAIN = "LDAP";
+    private static final String SLOW_DOMAIN = "SLOW";
+    private static final String USERS_DN = "ou=Users,dc=example,dc=com";
+    private static final long PROBE_TIMEOUT = 500L;
+    private static final long WAIT_TIMEOUT_SECONDS = 10L;
+
+    private static final AtomicInteger DATABASE_COUNT = new AtomicInteger();
+
+    private final List<UserStoreDTO> userStores = new ArrayList<>();
+    private final ConcurrentMap<String, AtomicInteger> probeCounts = new ConcurrentHashMap<>();
+    private final CountDownLatch slowProbeReleased = new CountDownLatch(1);
+    private volatile boolean requestContextFailing;
+    private String jdbcUrl;
+    private Connection databaseConnection;
+    private InMemoryDirectoryServer directoryServer;
+
+    @Before
+    public void setUp() throws Exception {
+
+        // The database is kept open by a connection, so that it outlives the connections of the probes.
+        jdbcUrl = "jdbc:h2:mem:userstore-health-" + DATABASE_COUNT.incrementAndGet();
+        databaseConnection = DriverManager.getConnection(jdbcUrl);
+        try (Statement statement = databaseConnection.createStatement()) {
+            statement.execute("CREATE TABLE UM_USER (UM_USER_NAME VARCHAR(255) NOT NULL PRIMARY KEY)");
+            statement.execute("INSERT INTO UM_USER (UM_USER_NAME) VALUES ('alice')");
+        }
+
+        InMemoryDirectoryServerConfig config = new InMemoryDirectoryServerConfig("dc=example,dc=com");
+        config.setListenerConfigs(InMemoryListenerConfig.createLDAPConfig("default", 0));
+        config.setSchema(null);
+        directoryServer = new InMemoryDirectoryServer(config);
+        directoryServer.add("dn: dc=example,dc=com", "objectClass: top", "objectClass: domain", "dc: example");
+        directoryServer.add("dn: " + USERS_DN, "objectClass: top", "objectClass: organizationalUnit", "ou: Users");
+        directoryServer.add("dn: uid=bob," + USERS_DN, "objectClass: top", "objectClass: person", "uid: bob",
+                "cn: bob", "sn: bob");
+        directoryServer.startListening();
+
+        userStores.add(createUserStore(JDBC_DOMAIN, false));
+        userStores.add(createUserStore(LDAP_DOMAIN, false));
+    }
+
+    @After
+    public void tearDown() throws Exception {
+
+        slowProbeReleased.countDown();
+        directoryServer.shutDown(true);
+        if (!databaseConnection.isClosed()) {
+            databaseConnection.close();
+        }
+    }
+
+    @Test
+    public void testReachableUserStoresAreUp() throws Exception {
+
+        List<UserStoreHealthRes> health = createHealthChecker(2, 10).getHealth(TENANT_DOMAIN);
+
+        assertEquals(2, health.size());
+        for (UserStoreHealthRes userStoreHealthRes : health) {
+            assertEquals(UserStoreHealthRes.StatusEnum.UP, userStoreHealthRes.getStatus());
+            assertNotNull(userStoreHealthRes.getLatency());
+            assertEquals(Long.valueOf(1), userStoreHealthRes.getProbeCount());
+            assertEquals(Long.valueOf(0), userStoreHealthRes.getFailureCount());
+        }
+        assertEquals(JDBC_DOMAIN, health.get(0).getName());
+        assertEquals(LDAP_DOMAIN, health.get(1).getName());
+    }
+
+    @Test
+    public void testShutDownDatabaseIsDown() throws Exception {
+
+        try (Statement statement = databaseConnection.createStatement()) {
+            statement.execute("SHUTDOWN");
+        }
+
+        List<UserStoreHealthRes> health = createHealthChecker(2, 10).getHealth(TENANT_DOMAIN);
+
+        UserStoreHealthRes jdbcHealth = getHealth(health, JDBC_DOMAIN);
+        assertEquals(UserStoreHealthRes.StatusEnum.DOWN, jdbcHealth.getStatus());
+        assertEquals("Probe failed.", jdbcHealth.getMessage());
+        assertNotNull(jdbcHealth.getLatency());
+        assertEquals(Long.valueOf(1), jdbcHealth.getFailureCount());
+        assertEquals(UserStoreHealthRes.StatusEnum.UP, getHealth(health, LDAP_DOMAIN).getStatus());
+    }
+
+    @Test
+    public void testStoppedDirectoryServerIsDown() throws Exception {
+
+        directoryServer.shutDown(true);
+
+        List<UserStoreHealthRes> health = createHealthChecker(2, 10).getHealth(TENANT_DOMAIN);
+
+        UserStoreHealthRes ldapHealth = getHealth(health, LDAP_DOMAIN);
+        assertEquals(UserStoreHealthRes.StatusEnum.DOWN, ldapHealth.getStatus());
+        assertEquals(Long.valueOf(1), ldapHealth.getFailureCount());
+        assertEquals(UserStoreHealthRes.StatusEnum.UP, getHealth(health, JDBC_DOMAIN).getStatus());
+    }
+
+    @Test
+    public void testDisabledUserStoreIsNotProbed() throws Exception {
+
+        userStores.set(1, createUserStore(LDAP_DOMAIN, true));
+
+        List<UserStoreHealthRes> health = createHealthChecker(2, 10).getHealth(TENANT_DOMAIN);
+
+        UserStoreHealthRes ldapHealth = getHealth(health, LDAP_DOMAIN);
+        assertEquals(UserStoreHealthRes.StatusEnum.DISABLED, ldapHealth.getStatus());
+        assertEquals(Long.valueOf(0), ldapHealth.getProbeCount());
+        assertNull(ldapHealth.getLatency());
+        assertEquals(0, getProbeCount(LDAP_DOMAIN));
+    }
+
+    @Test
+    public void testUnresponsiveUserStoreTimesOut() throws Exception {
+
+        userStores.add(createUserStore(SLOW_DOMAIN, false));
+
+        List<UserStoreHealthRes> health = createHealthChecker(3, 10).getHealth(TENANT_DOMAIN);
+
+        UserStoreHealthRes slowHealth = getHealth(health, SLOW_DOMAIN);
+        assertEquals(UserStoreHealthRes.StatusEnum.TIMEOUT, slowHealth.getStatus());
+        assertEquals(Long.valueOf(PROBE_TIMEOUT), slowHealth.getAverageLatency());
+        assertEquals(Long.valueOf(1), slowHealth.getFailureCount());
+        assertEquals(UserStoreHealthRes.StatusEnum.UP, getHealth(health, JDBC_DOMAIN).getStatus());
+        assertEquals(UserStoreHealthRes.StatusEnum.UP, getHealth(health, LDAP_DOMAIN).getStatus());
+    }
+
+    @Test
+    public void testUnscheduledProbeIsReportedAsUnknown() throws Exception {
+
+        // The slow user store occupies the only worker, the JDBC user store fills the queue and the LDAP user store
+        // cannot be scheduled.
+        userStores.add(0, createUserStore(SLOW_DOMAIN, false));
+        UserStoreHealthChecker healthChecker = createHealthChecker(1, 1);
+
+        List<UserStoreHealthRes> health = healthChecker.getHealth(TENANT_DOMAIN);
+
+        UserStoreHealthRes ldapHealth = getHealth(health, LDAP_DOMAIN);
+        assertEquals(UserStoreHealthRes.StatusEnum.UNKNOWN, ldapHealth.getStatus());
+        assertEquals(Long.valueOf(0), ldapHealth.getProbeCount());
+        assertEquals(Long.valueOf(0), ldapHealth.getFailureCount());
+        assertEquals(UserStoreHealthRes.StatusEnum.TIMEOUT, getHealth(health, SLOW_DOMAIN).getStatus());
+        assertEquals(UserStoreHealthRes.StatusEnum.UP, getHealth(health, JDBC_DOMAIN).getStatus());
+        assertEquals(0, getProbeCount(LDAP_DOMAIN));
+
+        // The results are not cached, so the user store is probed on the next request. The other user stores are
+        // removed, so that the probe fits in the queue while the worker is still finishing the previous probe.
+        userStores.removeIf(userStoreDTO -> !LDAP_DOMAIN.equals(userStoreDTO.getDomainId()));
+        health = healthChecker.getHealth(TENANT_DOMAIN);
+
+        assertEquals(1, health.size());
+        assertEquals(UserStoreHealthRes.StatusEnum.UP, health.get(0).getStatus());
+        assertEquals(Long.valueOf(1), health.get(0).getProbeCount());
+        assertEquals(1, getProbeCount(LDAP_DOMAIN));
+    }
+
+    @Test
+    public void testProbeFailingBeforeItStartsHasNoLatency() throws Exception {
+
+        requestContextFailing = true;
+
+        List<UserStoreHealthRes> health = createHealthChecker(2, 10).getHealth(TENANT_DOMAIN);
+
+        for (UserStoreHealthRes userStoreHealthRes : health) {
+            assertEquals(UserStoreHealthRes.StatusEnum.DOWN, userStoreHealthRes.getStatus());
+            assertNull(userStoreHealthRes.getLatency());
+            assertNull(userStoreHealthRes.getAverageLatency());
+            assertEquals(Long.valueOf(1), userStoreHealthRes.getFailureCount());
+        }
+        assertEquals(0, getProbeCount(JDBC_DOMAIN));
+    }
+
+    @Test
+    public void testResultsAreCachedUntilInvalidated() throws Exception {
+
+        UserStoreHealthChecker healthChecker = createHealthChecker(2, 10);
+        healthChecker.getHealth(TENANT_DOMAIN);
+        List<UserStoreHealthRes> health = healthChecker.getHealth(TENANT_DOMAIN);
+
+        assertEquals(1, getProbeCount(JDBC_DOMAIN));
+        assertEquals(Long.valueOf(1), getHealth(health, JDBC_DOMAIN).getProbeCount());
+
+        // A user store of the tenant is modified.
+        healthChecker.invalidate(TENANT_DOMAIN);
+        health = healthChecker.getHealth(TENANT_DOMAIN);
+
+        assertEquals(2, getProbeCount(JDBC_DOMAIN));
+        assertEquals(Long.valueOf(2), getHealth(health, JDBC_DOMAIN).getProbeCount());
+    }
+
+    private UserStoreHealthChecker createHealthChecker(int workerCount, int queueSize) {
+
+        UserStoreManager userStoreManager = createUserStoreManager();
+        return new UserStoreHealthChecker(new UserStoreHealthChecker.UserStoreAccess() {
+
+            @Override
+            public UserStoreDTO[] getUserStores() {
+
+                return userStores.toArray(new UserStoreDTO[0]);
+            }
+
+            @Override
+            public UserStoreManager getUserStoreManager(String tenantDomain) {
+
+                return userStoreManager;
+            }
+
+            @Override
+            public Callable<Long> inRequestContext(String tenantDomain, Callable<Long> probe) {
+
+                if (requestContextFailing) {
+                    return () -> {
+                        throw new IllegalStateException("Unable to start the tenant flow.");
+                    };
+                }
+                return probe;
+            }
+        }, PROBE_TIMEOUT, workerCount, queueSize);
+    }
+
+    private UserStoreManager createUserStoreManager() {
+
+        return (UserStoreManager) Proxy.newProxyInstance(UserStoreManager.class.getClassLoader(),
+                new Class[]{UserStoreManager.class}, (proxy, method, args) -> {
+                    switch (method.getName()) {
+                        case "getSecondaryUserStoreManager":
+                            return proxy;
+                        case "listUsers":
+                            return listUsers((String) args[0], (Integer) args[1]);
+                        default:
+                            throw new UnsupportedOperationException(method.getName());
+                    }
+                });
+    }
+
+    private String[] listUsers(String filter, int maxItemLimit) throws UserStoreException {
+
+        int separatorIndex = filter.indexOf(UserCoreConstants.DOMAIN_SEPARATOR);
+        String domainName = filter.substring(0, separatorIndex);
+        String userFilter = filter.substring(separatorIndex + 1);
+        probeCounts.computeIfAbsent(domainName, key -> new AtomicInteger()).incrementAndGet();
+        switch (domainName) {
+            case JDBC_DOMAIN:
+                return listDatabaseUsers(userFilter.replace('*', '%'), maxItemLimit);
+            case LDAP_DOMAIN:
+                return listDirectoryUsers(userFilter, maxItemLimit);
+            case SLOW_DOMAIN:
+                try {
+                    if (!slowProbeReleased.await(WAIT_TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+                        throw new UserStoreException("Slow user store was not released.");
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new UserStoreException("Probe of the slow user store was interrupted.", e);
+                }
+                return new String[0];
+            default:
+                throw new UserStoreException("Unknown user store: " + domainName);
+        }
+    }
+
+    private String[] listDatabaseUsers(String filter, int maxItemLimit) throws UserStoreException {
+
+        List<String> users = new ArrayList<>();
+        try (Connection connection = DriverManager.getConnection(jdbcUrl + ";IFEXISTS=TRUE");
+             PreparedStatement statement = connection.prepareStatement(
+                     "SELECT UM_USER_NAME FROM UM_USER WHERE UM_USER_NAME LIKE ? LIMIT ?")) {
+            statement.setString(1, filter);
+            statement.setInt(2, maxItemLimit);
+            try (ResultSet resultSet = statement.executeQuery()) {
+                while (resultSet.next()) {
+                    users.add(JDBC_DOMAIN + UserCoreConstants.DOMAIN_SEPARATOR + resultSet.getString(1));
+                }
+            }
+        } catch (SQLException e) {
+            throw new UserStoreException("Error while listing the users of the database.", e);
+        }
+        return users.toArray(new String[0]);
+    }
+
+    private String[] listDirectoryUsers(String filter, int maxItemLimit) throws UserStoreException {
+
+        List<String> users = new ArrayList<>();
+        try (LDAPConnection connection = new LDAPConnection("localhost", directoryServer.getListenPort())) {
+            Filter userFilter = "*".equals(filter) ? Filter.createPresenceFilter("uid") :
+                    Filter.createEqualityFilter("uid", filter);
+            SearchRequest searchRequest = new SearchRequest(USERS_DN, SearchScope.ONE, userFilter, "uid");
+            searchRequest.setSizeLimit(maxItemLimit);
+            for (SearchResultEntry entry : connection.search(searchRequest).getSearchEntries()) {
+                users.add(LDAP_DOMAIN + UserCoreConstants.DOMAIN_SEPARATOR + entry.getAttributeValue("uid"));
+            }
+        } catch (LDAPException e) {
+            throw new UserStoreException("Error while listing the users of the directory.", e);
+        }
+        return users.toArray(new String[0]);
+    }
+
+    private int getProbeCount(String domainName) {
+
+        AtomicInteger probeCount = probeCounts.get(domainName);
+        return probeCount == null ? 0 : probeCount.get();
+    }
+
+    private static UserStoreHealthRes getHealth(List<UserStoreHealthRes> health, String domainName) {
+
+        for (UserStoreHealthRes userStoreHealthRes : health) {
+            if (domainName.equals(userStoreHealthRes.getName())) {
+                return userStoreHealthRes;
+            }
+        }
+        throw new AssertionError("No health reported for the user store: " + domainName);
+    }
+
+    private static UserStoreDTO createUserStore(String domainName, boolean disabled) {
+
+        PropertyDTO disabledProperty = new PropertyDTO();
+        disabledProperty.setName(UserCoreConstants.RealmConfig.USER_STORE_DISABLED);
+        disabledProperty.setValue(String.valueOf(disabled));
+        UserStoreDTO userStoreDTO = new UserStoreDTO();
+        userStoreDTO.setDomainId(domainName);
+        userStoreDTO.setProperties(new PropertyDTO[]{disabledProperty});
+        return userStoreDTO;
+    }
+}
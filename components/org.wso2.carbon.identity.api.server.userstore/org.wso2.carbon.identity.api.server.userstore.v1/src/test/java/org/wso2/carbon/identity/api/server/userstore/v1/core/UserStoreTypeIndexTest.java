@@ -0,0 +1,211 @@
+/*
+ * Copyright (c) 2020, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.wso2.carbon.identity.api.server.userstore.v1.core;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.wso2.carbon.identity.api.server.userstore.v1.model.MetaUserStoreType;
+import org.wso2.carbon.identity.api.server.userstore.v1.model.PropertiesRes;
+import org.wso2.carbon.identity.api.server.userstore.v1.model.UserStorePropertiesRes;
+
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArraySet;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests for {@link UserStoreTypeIndex}.
+ */
+public class UserStoreTypeIndexTest {
+
+    private static final String JDBC_USER_STORE_MANAGER =
+            "org.wso2.carbon.user.core.jdbc.UniqueIDJDBCUserStoreManager";
+    private static final String LDAP_USER_STORE_MANAGER =
+            "org.wso2.carbon.user.core.ldap.UniqueIDReadWriteLDAPUserStoreManager";
+    private static final String CUSTOM_USER_STORE_MANAGER = "org.example.CustomUserStoreManager";
+    private static final long WAIT_TIMEOUT_SECONDS = 10L;
+
+    private final Set<String> userStoreManagerClasses = new CopyOnWriteArraySet<>();
+    private final AtomicInteger indexBuildCount = new AtomicInteger();
+    private final AtomicInteger metaBuildCount = new AtomicInteger();
+    private volatile CountDownLatch buildStarted;
+    private volatile CountDownLatch buildReleased;
+    private UserStoreTypeIndex index;
+
+    @Before
+    public void setUp() {
+
+        userStoreManagerClasses.add(JDBC_USER_STORE_MANAGER);
+        userStoreManagerClasses.add(LDAP_USER_STORE_MANAGER);
+        index = new UserStoreTypeIndex(this::getUserStoreManagerClasses);
+    }
+
+    @After
+    public void tearDown() {
+
+        index.close();
+    }
+
+    @Test
+    public void testTypesAreIndexedInBothDirections() {
+
+        assertEquals(JDBC_USER_STORE_MANAGER, index.getClassName("UniqueIDJDBCUserStoreManager"));
+        assertEquals("UniqueIDReadWriteLDAPUserStoreManager", index.getTypeName(LDAP_USER_STORE_MANAGER));
+        assertNull(index.getClassName("CustomUserStoreManager"));
+        assertEquals(1, indexBuildCount.get());
+    }
+
+    @Test
+    public void testMetaUserStoreTypeIsBuiltOnce() {
+
+        UserStoreTypeIndex.CachedMetaUserStoreType first =
+                index.getMetaUserStoreType("UniqueIDJDBCUserStoreManager", this::buildMeta);
+        UserStoreTypeIndex.CachedMetaUserStoreType second =
+                index.getMetaUserStoreType("UniqueIDJDBCUserStoreManager", this::buildMeta);
+
+        assertEquals(first.getMetaUserStoreType(), second.getMetaUserStoreType());
+        assertNotNull(first.getETag());
+        assertEquals(first.getETag(), second.getETag());
+        assertEquals(1, metaBuildCount.get());
+    }
+
+    @Test
+    public void testModifyingMetaUserStoreTypeLeavesCachedOneUnchanged() {
+
+        UserStoreTypeIndex.CachedMetaUserStoreType cachedMeta =
+                index.getMetaUserStoreType("UniqueIDJDBCUserStoreManager", this::buildMeta);
+        MetaUserStoreType first = cachedMeta.getMetaUserStoreType();
+
+        first.setTypeName("modified");
+        first.getProperties().getMandatory().get(0).setDescription("modified");
+        first.getProperties().addMandatoryItem(new PropertiesRes());
+        MetaUserStoreType second = cachedMeta.getMetaUserStoreType();
+
+        assertNotSame(first, second);
+        assertEquals("UniqueIDJDBCUserStoreManager", second.getTypeName());
+        assertEquals(1, second.getProperties().getMandatory().size());
+        assertEquals("Connection URL", second.getProperties().getMandatory().get(0).getDescription());
+    }
+
+    @Test
+    public void testMetaUserStoreTypeIsRebuiltWhenUserStoreManagersChange() {
+
+        index.getMetaUserStoreType("UniqueIDJDBCUserStoreManager", this::buildMeta);
+        // An updated version of the user store manager bundle is registered.
+        index.invalidate();
+        UserStoreTypeIndex.CachedMetaUserStoreType cachedMeta =
+                index.getMetaUserStoreType("UniqueIDJDBCUserStoreManager", this::buildMeta);
+
+        assertEquals("UniqueIDJDBCUserStoreManager", cachedMeta.getMetaUserStoreType().getTypeName());
+        assertEquals(2, metaBuildCount.get());
+    }
+
+    @Test
+    public void testUnknownTypeHasNoMeta() {
+
+        assertNull(index.getMetaUserStoreType("CustomUserStoreManager", this::buildMeta));
+        assertEquals(0, metaBuildCount.get());
+    }
+
+    @Test
+    public void testInvalidatedIndexShowsRegisteredUserStoreManagers() {
+
+        assertNull(index.getClassName("CustomUserStoreManager"));
+        index.getMetaUserStoreType("UniqueIDJDBCUserStoreManager", this::buildMeta);
+
+        // A user store manager is deployed and the JDBC user store manager is removed.
+        userStoreManagerClasses.add(CUSTOM_USER_STORE_MANAGER);
+        userStoreManagerClasses.remove(JDBC_USER_STORE_MANAGER);
+        index.invalidate();
+
+        assertEquals(CUSTOM_USER_STORE_MANAGER, index.getClassName("CustomUserStoreManager"));
+        assertNull(index.getMetaUserStoreType("UniqueIDJDBCUserStoreManager", this::buildMeta));
+        assertEquals(2, indexBuildCount.get());
+    }
+
+    @Test
+    public void testIndexBuiltDuringRegistrationIsNotCached() throws Exception {
+
+        buildStarted = new CountDownLatch(1);
+        buildReleased = new CountDownLatch(1);
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            Future<String> staleLookup = executor.submit(() -> index.getClassName("CustomUserStoreManager"));
+            assertTrue(buildStarted.await(WAIT_TIMEOUT_SECONDS, TimeUnit.SECONDS));
+
+            // A user store manager is registered after the index read the registered classes.
+            userStoreManagerClasses.add(CUSTOM_USER_STORE_MANAGER);
+            index.invalidate();
+            buildReleased.countDown();
+
+            assertNull(staleLookup.get(WAIT_TIMEOUT_SECONDS, TimeUnit.SECONDS));
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertEquals(CUSTOM_USER_STORE_MANAGER, index.getClassName("CustomUserStoreManager"));
+        assertEquals(2, indexBuildCount.get());
+    }
+
+    @Test
+    public void testClosedIndexIsRebuilt() {
+
+        index.getClassName("UniqueIDJDBCUserStoreManager");
+        index.close();
+        index.getClassName("UniqueIDJDBCUserStoreManager");
+
+        assertEquals(2, indexBuildCount.get());
+    }
+
+    private Set<String> getUserStoreManagerClasses() {
+
+        indexBuildCount.incrementAndGet();
+        Set<String> classNames = new CopyOnWriteArraySet<>(userStoreManagerClasses);
+
+        // Holds the first build of the index after it read the registered classes, until it is released.
+        CountDownLatch started = buildStarted;
+        if (started != null && started.getCount() > 0) {
+            started.countDown();
+            try {
+                assertTrue(buildReleased.await(WAIT_TIMEOUT_SECONDS, TimeUnit.SECONDS));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        return classNames;
+    }
+
+    private MetaUserStoreType buildMeta(String typeName) {
+
+        metaBuildCount.incrementAndGet();
+        UserStorePropertiesRes properties = new UserStorePropertiesRes();
+        properties.addMandatoryItem(new PropertiesRes().name("url").description("Connection URL"));
+        return new MetaUserStoreType().typeName(typeName).className(index.getClassName(typeName))
+                .properties(properties);
+    }
+}